@@ -14,6 +14,8 @@
 package io.nats.examples.autobench;
 
 import io.nats.client.Options;
+import io.nats.client.impl.ChannelDataPort;
+import io.nats.client.impl.SocketDataPort;
 
 import javax.net.ssl.SSLContext;
 import java.security.Provider;
@@ -34,13 +36,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class NatsAutoBench {
     static final String usageString =
             "\nUsage: java -cp <classpath> NatsAutoBench" +
-                    "\n[serverURL] [help] [tiny|small|med|large] [conscrypt] [jsfile]" +
+                    "\n[serverURL] [help] [tiny|small|med|large] [conscrypt] [channel] [jsfile]" +
                     "\n[PubOnly] [PubOnlyWithHeaders] [PubSub] [PubDispatch] [ReqReply] [Latency] " +
                     "\n[JsPubSync] [JsPubAsync] [JsSub] [JsPubRounds]" +
                     "[-lcsv <filespec>] \n\n"
             + "If no specific test name(s) are supplied all will be run, otherwise only supplied tests will be run."
             + "\n\nUse tls:// or opentls:// to require tls, via the Default SSLContext\n"
-            + "\n\ntiny, small and med reduce the number of messages used for tests, which can help on slower machines\n";
+            + "\n\ntiny, small and med reduce the number of messages used for tests, which can help on slower machines\n"
+            + "\nchannel uses the ChannelDataPort instead of the default SocketDataPort, to compare the two\n";
 
     public static void main(String[] args) {
 
@@ -79,6 +82,11 @@ public class NatsAutoBench {
             if (a.server.startsWith("tls")) {
                 System.out.println("Security Provider - "+ SSLContext.getDefault().getProvider().getInfo());
             }
+
+            if (a.channel) {
+                builder.dataPortType(ChannelDataPort.class.getCanonicalName());
+            }
+            System.out.println("Data Port - " + (a.channel ? ChannelDataPort.class.getSimpleName() : SocketDataPort.class.getSimpleName()));
                     
             Options connectOptions = builder.build();                   
             List<AutoBenchmark> tests = buildTestList(a);
@@ -285,6 +293,7 @@ public class NatsAutoBench {
     static class Arguments {
         String server = Options.DEFAULT_URL;
         boolean conscrypt = false;
+        boolean channel = false;
         int baseMsgs = 100_000;
         int latencyMsgs = 5_000;
         long maxSize = 8192;
@@ -312,6 +321,9 @@ public class NatsAutoBench {
                     case "conscrypt":
                         a.conscrypt = true;
                         break;
+                    case "channel":
+                        a.channel = true;
+                        break;
                     case "large":
                         a.baseMsgs = 500_000;
                         a.latencyMsgs = 25_000;
@@ -0,0 +1,124 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client;
+
+import java.time.Duration;
+
+/**
+ * Ack Batch Options turn on batching of the acks of a subscription or consumer.
+ * Instead of publishing each {@link Message#ack()} as it is made, acks are collected
+ * and published together when there are {@link #getMaxAcks()} of them or the oldest
+ * is {@link #getMaxDelay()} old, whichever comes first.
+ * When the consumer's ack policy is {@link io.nats.client.api.AckPolicy#All}
+ * only the ack of the highest consumer sequence in the batch is published.
+ * <p>Other acknowledgements, nak, in progress, term and ackSync, are not batched,
+ * they publish any waiting acks first to keep the order.
+ * Waiting acks are published when the subscription is unsubscribed or drained.
+ * The max delay should be well under the consumer's ack wait.</p>
+ */
+public class AckBatchOptions {
+    public static final int DEFAULT_MAX_ACKS = 100;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(10);
+
+    private final int maxAcks;
+    private final Duration maxDelay;
+
+    private AckBatchOptions(Builder b) {
+        this.maxAcks = b.maxAcks;
+        this.maxDelay = b.maxDelay;
+    }
+
+    /**
+     * The number of acks that triggers publishing the batch
+     * @return the max acks
+     */
+    public int getMaxAcks() {
+        return maxAcks;
+    }
+
+    /**
+     * The longest time an ack waits in the batch before it is published
+     * @return the max delay
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    @Override
+    public String toString() {
+        return "AckBatchOptions{" +
+            "maxAcks=" + maxAcks +
+            ", maxDelay=" + maxDelay +
+            '}';
+    }
+
+    /**
+     * Creates a builder for the Ack Batch Options.
+     * @return an ack batch options builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * AckBatchOptions is created using a Builder. The builder supports chaining and will
+     * create a default set of options if no methods are calls.
+     *
+     * <p>{@code AckBatchOptions.builder().build()} will batch up to {@value #DEFAULT_MAX_ACKS} acks for up to 10 milliseconds.
+     */
+    public static class Builder {
+        private int maxAcks = DEFAULT_MAX_ACKS;
+        private Duration maxDelay = DEFAULT_MAX_DELAY;
+
+        /**
+         * Set the number of acks that triggers publishing the batch.
+         * Less than 1 means the default of {@value #DEFAULT_MAX_ACKS}
+         * @param maxAcks the max acks
+         * @return the builder
+         */
+        public Builder maxAcks(int maxAcks) {
+            this.maxAcks = maxAcks < 1 ? DEFAULT_MAX_ACKS : maxAcks;
+            return this;
+        }
+
+        /**
+         * Set the longest time an ack waits in the batch before it is published.
+         * Null or less than 1 millisecond means the default of 10 milliseconds.
+         * @param maxDelay the max delay
+         * @return the builder
+         */
+        public Builder maxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay == null || maxDelay.toMillis() < 1 ? DEFAULT_MAX_DELAY : maxDelay;
+            return this;
+        }
+
+        /**
+         * Set the longest time in milliseconds an ack waits in the batch before it is published.
+         * Less than 1 means the default of 10 milliseconds.
+         * @param maxDelayMillis the max delay in milliseconds
+         * @return the builder
+         */
+        public Builder maxDelay(long maxDelayMillis) {
+            return maxDelay(Duration.ofMillis(maxDelayMillis));
+        }
+
+        /**
+         * Build the Ack Batch Options
+         * @return the options
+         */
+        public AckBatchOptions build() {
+            return new AckBatchOptions(this);
+        }
+    }
+}
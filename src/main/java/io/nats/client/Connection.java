@@ -384,6 +384,41 @@ public interface Connection extends AutoCloseable {
      */
     Dispatcher createDispatcher(MessageHandler handler);
 
+    /**
+     * Create a {@code Dispatcher} that runs its handlers on several worker threads, from the
+     * connection's executor, see {@link Options.Builder#executor(java.util.concurrent.ExecutorService)}.
+     * The ordering says which messages must still be handled in the order they arrived,
+     * messages with the same ordering key are always handled one at a time by the same worker.
+     *
+     * <p>Pending limits, slow consumer detection and drain count a message as pending until its
+     * handler returns. With one worker, or on a connection that does not support workers,
+     * this is the same as {@link #createDispatcher(MessageHandler)} and every message is handled in order.
+     *
+     * @param handler The target for the messages
+     * @param workers the number of worker threads
+     * @param ordering which messages are handled in order
+     * @return a new Dispatcher
+     */
+    default Dispatcher createDispatcher(MessageHandler handler, int workers, DispatchOrdering ordering) {
+        return createDispatcher(handler);
+    }
+
+    /**
+     * Create a {@code Dispatcher} that runs the handler for each message as its own task on the
+     * connection's executor, so handlers may block without holding up other messages. Messages are
+     * not handled in order. This is meant for {@link Options.Builder#virtualThreads() virtual threads},
+     * where a thread per message is cheap; pending limits bound how many run at once, since a message
+     * counts as pending until its handler returns.
+     *
+     * <p>On a connection that does not support it, this is the same as {@link #createDispatcher(MessageHandler)}.
+     *
+     * @param handler The target for the messages
+     * @return a new Dispatcher
+     */
+    default Dispatcher createPerMessageDispatcher(MessageHandler handler) {
+        return createDispatcher(handler);
+    }
+
     /**
      * Convenience method to create a dispatcher with no default handler. Only used
      * with JetStream push subscriptions that require specific handlers per subscription.
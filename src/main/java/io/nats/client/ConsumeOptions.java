@@ -19,8 +19,11 @@ package io.nats.client;
 public class ConsumeOptions extends BaseConsumeOptions {
     public static ConsumeOptions DEFAULT_CONSUME_OPTIONS = ConsumeOptions.builder().build();
 
+    private final AckBatchOptions ackBatch;
+
     private ConsumeOptions(Builder b) {
         super(b);
+        ackBatch = b.ackBatch;
     }
 
     /**
@@ -38,6 +41,14 @@ public class ConsumeOptions extends BaseConsumeOptions {
         return bytes;
     }
 
+    /**
+     * The ack batch options, null if acks are not batched.
+     * @return the ack batch options
+     */
+    public AckBatchOptions getAckBatch() {
+        return ackBatch;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -45,6 +56,8 @@ public class ConsumeOptions extends BaseConsumeOptions {
     public static class Builder
         extends BaseConsumeOptions.Builder<Builder, ConsumeOptions> {
 
+        private AckBatchOptions ackBatch;
+
         protected Builder getThis() { return this; }
 
         /**
@@ -74,6 +87,17 @@ public class ConsumeOptions extends BaseConsumeOptions {
             return bytes(batchBytes);
         }
 
+        /**
+         * Batch the acks of the consumed messages, see {@link AckBatchOptions}.
+         * Null turns batching off, which is the default.
+         * @param ackBatch the ack batch options
+         * @return the builder
+         */
+        public Builder ackBatch(AckBatchOptions ackBatch) {
+            this.ackBatch = ackBatch;
+            return this;
+        }
+
         /**
          * Build the ConsumeOptions.
          * @return a ConsumeOptions instance
@@ -0,0 +1,36 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client;
+
+/**
+ * Which messages a dispatcher with several workers hands to its handlers in the order they arrived,
+ * see {@link Connection#createDispatcher(MessageHandler, int, DispatchOrdering)}.
+ * Messages that share an ordering key always go to the same worker, one at a time.
+ */
+public enum DispatchOrdering {
+    /**
+     * No order, any worker takes the next message.
+     */
+    NONE,
+
+    /**
+     * Messages of the same subscription are handled in order.
+     */
+    PER_SUBSCRIPTION,
+
+    /**
+     * Messages with the same subject are handled in order, by a hash of the subject.
+     */
+    PER_SUBJECT
+}
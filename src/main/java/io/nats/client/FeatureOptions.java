@@ -21,10 +21,14 @@ import java.time.Duration;
 public abstract class FeatureOptions {
 
     private final JetStreamOptions jso;
+    private final Dispatcher watchDispatcher;
+    private final int watchDispatcherPoolSize;
 
     @SuppressWarnings("rawtypes") // Don't need the type of the builder to get its vars
     protected FeatureOptions(Builder b) {
         jso = b.jsoBuilder.build();
+        watchDispatcher = b.watchDispatcher;
+        watchDispatcherPoolSize = b.watchDispatcherPoolSize;
     }
 
     /**
@@ -35,6 +39,22 @@ public abstract class FeatureOptions {
         return jso;
     }
 
+    /**
+     * Gets the dispatcher supplied for watches, null if none was supplied.
+     * @return the dispatcher
+     */
+    public Dispatcher getWatchDispatcher() {
+        return watchDispatcher;
+    }
+
+    /**
+     * Gets the number of dispatchers watches share, 0 means every watch has its own dispatcher.
+     * @return the pool size
+     */
+    public int getWatchDispatcherPoolSize() {
+        return watchDispatcherPoolSize;
+    }
+
     /**
      * KeyValueOptions can be created using a Builder. The builder supports chaining and will
      * create a default set of options if no methods are calls.
@@ -42,6 +62,8 @@ public abstract class FeatureOptions {
     protected static abstract class Builder<B, FO> {
 
         private JetStreamOptions.Builder jsoBuilder;
+        private Dispatcher watchDispatcher;
+        private int watchDispatcherPoolSize;
 
         protected abstract B getThis();
         
@@ -52,6 +74,8 @@ public abstract class FeatureOptions {
         protected Builder(FeatureOptions oso) {
             if (oso != null) {
                 jsoBuilder = JetStreamOptions.builder(oso.jso);
+                watchDispatcher = oso.watchDispatcher;
+                watchDispatcherPoolSize = oso.watchDispatcherPoolSize;
             }
             else {
                 jsoBuilder = JetStreamOptions.builder();
@@ -103,6 +127,32 @@ public abstract class FeatureOptions {
             return getThis();
         }
 
+        /**
+         * Sets a dispatcher every watch delivers on, instead of each watch creating its own.
+         * The dispatcher belongs to the caller, unsubscribing a watch does not close it.
+         * Each watch is still delivered in order, but a slow watcher delays the other watches
+         * and subscriptions on the same dispatcher. Takes precedence over the pool size.
+         * @param watchDispatcher the dispatcher, null to not use one
+         * @return the builder.
+         */
+        public B watchDispatcher(Dispatcher watchDispatcher) {
+            this.watchDispatcher = watchDispatcher;
+            return getThis();
+        }
+
+        /**
+         * Sets the number of dispatchers the watches of the bucket or store share. Each watch stays on one
+         * dispatcher so it is still delivered in order, and watches are spread across the dispatchers,
+         * which bounds the number of threads no matter how many watches there are.
+         * Values less than 1 mean every watch has its own dispatcher, which is the default.
+         * @param watchDispatcherPoolSize the number of dispatchers
+         * @return the builder.
+         */
+        public B watchDispatcherPoolSize(int watchDispatcherPoolSize) {
+            this.watchDispatcherPoolSize = Math.max(0, watchDispatcherPoolSize);
+            return getThis();
+        }
+
         /**
          * Builds the Feature options.
          * @return Feature options
@@ -222,4 +222,18 @@ public interface KeyValue {
      * @throws InterruptedException if the thread is interrupted
      */
     KeyValueStatus getStatus() throws IOException, JetStreamApiException, InterruptedException;
+
+    /**
+     * Create a local, in memory view of the bucket, or of the keys with a prefix, built from a watch
+     * of the bucket and updated as changes are made. get, keys and history are answered locally when the
+     * view holds the data, otherwise they are passed through to the bucket. Writes go to the bucket.
+     * The view must be closed when it is no longer needed.
+     * @param options the view options, null for a view of the whole bucket with no key limit
+     * @return the view
+     * @throws IOException covers various communication issues with the NATS
+     *         server such as timeout or interruption
+     * @throws JetStreamApiException the request had an error related to the data
+     * @throws InterruptedException if the thread is interrupted
+     */
+    KeyValueView view(KeyValueViewOptions options) throws IOException, JetStreamApiException, InterruptedException;
 }
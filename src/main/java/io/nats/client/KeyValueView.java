@@ -0,0 +1,42 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client;
+
+/**
+ * A local, in memory copy of a key value bucket or of the keys with a prefix, kept up to date by a watch.
+ * Reads of keys held by the view are answered locally, writes go to the bucket and show up in the view
+ * once the watch delivers them. See {@link KeyValue#view(io.nats.client.api.KeyValueViewOptions)}
+ */
+public interface KeyValueView extends KeyValue, AutoCloseable {
+
+    /**
+     * The revision, the stream sequence, of the last update the view has applied.
+     * A write that returned this revision or lower is visible in the view.
+     * @return the revision
+     */
+    long getRevision();
+
+    /**
+     * Whether the view has loaded the data that was in the bucket when the view was created.
+     * Until then reads of keys the view does not hold yet are passed through to the bucket.
+     * @return true if the initial data is loaded
+     */
+    boolean isInitialDataLoaded();
+
+    /**
+     * Stop watching the bucket. The view no longer receives updates.
+     */
+    @Override
+    void close();
+}
@@ -18,6 +18,7 @@ import io.nats.client.impl.Headers;
 import io.nats.client.impl.NatsJetStreamMetaData;
 import io.nats.client.support.Status;
 
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.concurrent.TimeoutException;
 
@@ -163,4 +164,23 @@ public interface Message {
 	 * @return the consumption byte count or -1 if the message implementation does not support this method
 	 */
 	default long consumeByteCount() { return -1; }
+
+	/**
+	 * Get the payload as a read only ByteBuffer. When the connection uses pooled message buffers
+	 * the ByteBuffer is a view of the pooled buffer and is only valid until the message is released,
+	 * otherwise it wraps the same bytes returned by {@link #getData() getData()}.
+	 * @return the payload as a read only ByteBuffer
+	 */
+	default ByteBuffer getDataBuffer() {
+		byte[] data = getData();
+		return data == null ? ByteBuffer.allocate(0).asReadOnlyBuffer() : ByteBuffer.wrap(data).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Release any pooled buffer holding the payload of this message. Only has an effect when the connection
+	 * uses pooled message buffers. Messages handed to a Dispatcher handler are released when the handler returns.
+	 * After release, {@link #getDataBuffer() getDataBuffer()} and {@link #getData() getData()} can no longer be used
+	 * unless getData() was called before the release.
+	 */
+	default void release() {}
 }
@@ -20,7 +20,9 @@ import static io.nats.client.support.RandomUtils.*;
 /**
  * A highly performant unique identifier generator. The library uses this to generate
  * an inbox for request-replies. Applications can use their own NUID to generate
- * subjects as well. A shareable Global instance is also available via {@link #nextGlobal nextGlobal()}.
+ * subjects as well. A shareable Global generator is also available via {@link #nextGlobal nextGlobal()}.
+ * The global generator is striped, each thread is mapped to one of several NUID instances,
+ * each with its own random prefix, so threads do not contend on a single lock.
  */
 public final class NUID {
     /*
@@ -44,19 +46,37 @@ public final class NUID {
     static final long maxInc = 333L;
     static final int totalLen = preLen + seqLen;
 
+    /**
+     * The number of bytes written by {@link #next(byte[], int)}
+     */
+    public static final int NUID_LENGTH = totalLen;
+
     // Instance fields
     char[] pre;
     private long seq;
     private long inc;
 
-    private static final NUID globalNUID;
+    // Global stripes. Every stripe has its own crypto random prefix, so two stripes
+    // cannot produce the same NUID any more than two separate NUID instances can.
+    private static final NUID[] stripes;
+    private static final int stripeMask;
 
     static {
-        globalNUID = new NUID();
+        int count = 1;
+        int wanted = Math.min(64, Runtime.getRuntime().availableProcessors() * 2);
+        while (count < wanted) {
+            count <<= 1;
+        }
+        stripes = new NUID[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new NUID();
+        }
+        stripeMask = count - 1;
     }
 
     static NUID getInstance() {
-        return globalNUID;
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (id >>> 32) & stripeMask];
     }
 
     /**
@@ -80,17 +100,28 @@ public final class NUID {
     }
 
     /**
-     * @return the next NUID string from a shared global NUID instance
+     * @return the next NUID string from the shared global NUID generator
+     */
+    public static String nextGlobal() {
+        return getInstance().next();
+    }
+
+    /**
+     * Write the next NUID from the shared global NUID generator into a byte array
+     * as {@link #NUID_LENGTH} ascii bytes, without creating a string.
+     * @param dest the destination array
+     * @param destPosition the position in the destination to start writing at
+     * @return the number of bytes written, always {@link #NUID_LENGTH}
      */
-    public static synchronized String nextGlobal() {
-        return globalNUID.next();
+    public static int nextGlobal(byte[] dest, int destPosition) {
+        return getInstance().next(dest, destPosition);
     }
 
     /**
-     * @return the next sequence portion of the NUID string from a shared global NUID instance
+     * @return the next sequence portion of the NUID string from the shared global NUID generator
      */
-    public static synchronized String nextGlobalSequence() {
-        return globalNUID.nextSequence();
+    public static String nextGlobalSequence() {
+        return getInstance().nextSequence();
     }
 
     /**
@@ -98,47 +129,71 @@ public final class NUID {
      *
      * @return the next NUID string from this instance.
      */
-    public synchronized String next() {
-        // Increment and capture.
-        seq += inc;
-        if (seq >= maxSeq) {
-            randomizePrefix();
-            resetSequential();
-        }
-
-        // Copy prefix
+    public String next() {
         char[] b = new char[totalLen];
-        System.arraycopy(pre, 0, b, 0, preLen);
+        long l;
+        synchronized (this) {
+            l = nextSeq();
+            System.arraycopy(pre, 0, b, 0, preLen);
+        }
 
         // copy in the seq
-        int i = b.length;
-        for (long l = seq; i > preLen; l /= base) {
+        for (int i = totalLen; i > preLen; l /= base) {
             b[--i] = digits[(int) (l % base)];
         }
         return new String(b);
     }
 
+    /**
+     * Write the next NUID from this instance into a byte array as {@link #NUID_LENGTH}
+     * ascii bytes, without creating a string.
+     * @param dest the destination array
+     * @param destPosition the position in the destination to start writing at
+     * @return the number of bytes written, always {@link #NUID_LENGTH}
+     */
+    public int next(byte[] dest, int destPosition) {
+        long l;
+        synchronized (this) {
+            l = nextSeq();
+            for (int i = 0; i < preLen; i++) {
+                dest[destPosition + i] = (byte) pre[i];
+            }
+        }
+
+        for (int i = destPosition + totalLen, end = destPosition + preLen; i > end; l /= base) {
+            dest[--i] = (byte) digits[(int) (l % base)];
+        }
+        return totalLen;
+    }
+
     /**
      * Generate the next NUID string from this instance and return only the sequence portion.
-     * @return the next sequence portion of the NUID string from a shared global NUID instance
+     * @return the next sequence portion of the NUID string from this instance
      */
-    public synchronized String nextSequence() {
-        // Increment and capture.
-        seq += inc;
-        if (seq >= maxSeq) {
-            randomizePrefix();
-            resetSequential();
+    public String nextSequence() {
+        long l;
+        synchronized (this) {
+            l = nextSeq();
         }
 
         char[] b = new char[seqLen];
         // copy in the seq
-        int ix = seqLen;
-        for (long l = seq; ix > 0; l /= base) {
+        for (int ix = seqLen; ix > 0; l /= base) {
             b[--ix] = digits[(int) (l % base)];
         }
         return new String(b);
     }
 
+    // Increment and capture, must be called holding the instance lock
+    private long nextSeq() {
+        seq += inc;
+        if (seq >= maxSeq) {
+            randomizePrefix();
+            resetSequential();
+        }
+        return seq;
+    }
+
     // Resets the sequential portion of the NUID
     void resetSequential() {
         seq = nextLong(PRAND, maxSeq);
@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
@@ -96,6 +97,23 @@ public interface ObjectStore {
      */
     ObjectInfo get(String objectName, OutputStream outputStream) throws IOException, JetStreamApiException, InterruptedException, NoSuchAlgorithmException;
 
+    /**
+     * Get an object by name from the store, writing it to the channel, if the object exists.
+     * Chunks are pulled with an ordered consumer that keeps fetching ahead while chunks are being written.
+     * The number of chunks fetched ahead is set with {@link ObjectStoreOptions.Builder#prefetchChunks(int)}.
+     * If the channel is a {@link java.nio.channels.FileChannel} the chunks are written at their offsets
+     * from the channel's current position, which is advanced past the object when done.
+     * OBJECT STORE IMPLEMENTATION IS EXPERIMENTAL AND SUBJECT TO CHANGE.
+     * @param objectName The name of the object
+     * @param channel the destination channel.
+     * @return the ObjectInfo for the object name or throw an exception if it does not exist or is deleted.
+     * @throws IOException covers various communication issues with the NATS server such as timeout or interruption
+     * @throws JetStreamApiException the request had an error related to the data
+     * @throws InterruptedException if the thread is interrupted
+     * @throws NoSuchAlgorithmException if the Digest Algorithm is not known. Currently, the only supported algorithm is SHA-256
+     */
+    ObjectInfo get(String objectName, WritableByteChannel channel) throws IOException, JetStreamApiException, InterruptedException, NoSuchAlgorithmException;
+
     /**
      * Get the info for an object if the object exists / is not deleted.
      * OBJECT STORE IMPLEMENTATION IS EXPERIMENTAL AND SUBJECT TO CHANGE.
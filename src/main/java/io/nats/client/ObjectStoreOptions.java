@@ -20,8 +20,50 @@ package io.nats.client;
  */
 public class ObjectStoreOptions extends FeatureOptions {
 
+    /**
+     * The default number of chunks a put keeps in flight, 1 means each chunk waits for its ack.
+     */
+    public static final int DEFAULT_PUT_WINDOW_SIZE = 1;
+
+    /**
+     * The default number of chunks a channel get fetches ahead.
+     */
+    public static final int DEFAULT_PREFETCH_CHUNKS = 64;
+
+    private final int putWindowSize;
+    private final boolean putBufferPooling;
+    private final int prefetchChunks;
+
     private ObjectStoreOptions(Builder b) {
         super(b);
+        putWindowSize = b.putWindowSize;
+        putBufferPooling = b.putBufferPooling;
+        prefetchChunks = b.prefetchChunks;
+    }
+
+    /**
+     * Gets the number of chunks a put publishes before waiting for the oldest chunk's ack.
+     * @return the window size
+     */
+    public int getPutWindowSize() {
+        return putWindowSize;
+    }
+
+    /**
+     * Whether a pipelined put reuses chunk buffers once their chunk is acknowledged
+     * instead of allocating a buffer for every chunk.
+     * @return true if chunk buffers are pooled
+     */
+    public boolean isPutBufferPooling() {
+        return putBufferPooling;
+    }
+
+    /**
+     * Gets the number of chunks a channel get pulls in each batch, which is how far it fetches ahead.
+     * @return the prefetch depth in chunks
+     */
+    public int getPrefetchChunks() {
+        return prefetchChunks;
     }
 
     /**
@@ -56,6 +98,10 @@ public class ObjectStoreOptions extends FeatureOptions {
      */
     public static class Builder extends FeatureOptions.Builder<Builder, ObjectStoreOptions> {
 
+        private int putWindowSize = DEFAULT_PUT_WINDOW_SIZE;
+        private boolean putBufferPooling;
+        private int prefetchChunks = DEFAULT_PREFETCH_CHUNKS;
+
         @Override
         protected Builder getThis() {
             return this;
@@ -67,6 +113,46 @@ public class ObjectStoreOptions extends FeatureOptions {
 
         public Builder(ObjectStoreOptions oso) {
             super(oso);
+            if (oso != null) {
+                putWindowSize = oso.putWindowSize;
+                putBufferPooling = oso.putBufferPooling;
+                prefetchChunks = oso.prefetchChunks;
+            }
+        }
+
+        /**
+         * Sets the number of chunks a channel get pulls in each batch. The next batch is requested
+         * while the current one is still being written, so this is also how far the get fetches ahead.
+         * Values less than 1 mean the default of {@value ObjectStoreOptions#DEFAULT_PREFETCH_CHUNKS}.
+         * @param prefetchChunks the prefetch depth in chunks
+         * @return the builder.
+         */
+        public Builder prefetchChunks(int prefetchChunks) {
+            this.prefetchChunks = prefetchChunks < 1 ? DEFAULT_PREFETCH_CHUNKS : prefetchChunks;
+            return this;
+        }
+
+        /**
+         * Sets the number of chunks a put keeps in flight. Chunks are published asynchronously
+         * and the put only waits for an ack once the window is full. Values less than 1
+         * mean the default, which publishes each chunk and waits for its ack.
+         * @param putWindowSize the window size
+         * @return the builder.
+         */
+        public Builder putWindowSize(int putWindowSize) {
+            this.putWindowSize = putWindowSize < 1 ? DEFAULT_PUT_WINDOW_SIZE : putWindowSize;
+            return this;
+        }
+
+        /**
+         * Sets whether a pipelined put reuses chunk buffers once their chunk is acknowledged.
+         * Only applies when the put window size is greater than 1.
+         * @param putBufferPooling true to pool chunk buffers
+         * @return the builder.
+         */
+        public Builder putBufferPooling(boolean putBufferPooling) {
+            this.putBufferPooling = putBufferPooling;
+            return this;
         }
 
         /**
@@ -21,6 +21,7 @@ import io.nats.client.support.HttpRequest;
 import io.nats.client.support.NatsConstants;
 import io.nats.client.support.NatsUri;
 import io.nats.client.support.SSLUtils;
+import io.nats.client.support.VirtualThreads;
 
 import javax.net.ssl.SSLContext;
 import java.io.File;
@@ -115,6 +116,12 @@ public class Options {
      */
     public static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(2);
 
+    /**
+     * Default time between the starts of raced connection attempts, see {@link #getConnectionRaceStagger() getConnectionRaceStagger()}.
+     * This property is defined as 250 milliseconds.
+     */
+    public static final Duration DEFAULT_CONNECTION_RACE_STAGGER = Duration.ofMillis(250);
+
     /**
      * Default server ping interval. The client will send a ping to the server on this interval to insure liveness.
      * The server may send pings to the client as well, these are handled automatically by the library,
@@ -132,6 +139,19 @@ public class Options {
      */
     public static final Duration DEFAULT_REQUEST_CLEANUP_INTERVAL = Duration.ofSeconds(5);
 
+    /**
+     * Default time JetStream stream and consumer metadata is cached by a connection,
+     * {@link #getJetStreamCacheTtl() getJetStreamCacheTtl()}.
+     * <p>This property is defined as 30 seconds.</p>
+     */
+    public static final Duration DEFAULT_JETSTREAM_CACHE_TTL = Duration.ofSeconds(30);
+
+    /**
+     * Default maximum number of JetStream metadata entries cached by a connection,
+     * {@link #getJetStreamCacheMaxEntries() getJetStreamCacheMaxEntries()}.
+     */
+    public static final int DEFAULT_JETSTREAM_CACHE_MAX_ENTRIES = 1000;
+
     /**
      * Default maximum number of pings have not received a response allowed by the
      * client, {@link #getMaxPingsOut() getMaxPingsOut()}.
@@ -211,6 +231,19 @@ public class Options {
      */
     public static final boolean DEFAULT_DISCARD_MESSAGES_WHEN_OUTGOING_QUEUE_FULL = false;
 
+    /**
+     * Default largest LZ77 window, in bits, the server may use to compress websocket messages, {@value}.
+     * 15 is the maximum and does not ask the server to limit its window.
+     * See {@link Builder#websocketCompressionWindowBits(int) websocketCompressionWindowBits}
+     */
+    public static final int DEFAULT_WEBSOCKET_COMPRESSION_WINDOW_BITS = 15;
+
+    /**
+     * Default size in bytes below which websocket messages are sent uncompressed, {@value}.
+     * See {@link Builder#websocketCompressionThreshold(int) websocketCompressionThreshold}
+     */
+    public static final int DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD = 128;
+
     // ----------------------------------------------------------------------------------------------------
     // ENVIRONMENT PROPERTIES
     // ----------------------------------------------------------------------------------------------------
@@ -251,11 +284,31 @@ public class Options {
      * requestCleanupInterval}.
      */
     public static final String PROP_CLEANUP_INTERVAL = PFX + "cleanupinterval";
+    /**
+     * Property used to configure a builder from a Properties object. {@value}, see {@link Builder#jetStreamCacheTtl(Duration)
+     * jetStreamCacheTtl}.
+     */
+    public static final String PROP_JETSTREAM_CACHE_TTL = PFX + "jetstream.cache.ttl";
+    /**
+     * Property used to configure a builder from a Properties object. {@value}, see {@link Builder#jetStreamCacheMaxEntries(int)
+     * jetStreamCacheMaxEntries}.
+     */
+    public static final String PROP_JETSTREAM_CACHE_MAX_ENTRIES = PFX + "jetstream.cache.maxentries";
     /**
      * Property used to configure a builder from a Properties object. {@value}, see
      * {@link Builder#connectionTimeout(Duration) connectionTimeout}.
      */
     public static final String PROP_CONNECTION_TIMEOUT = PFX + "timeout";
+    /**
+     * Property used to configure a builder from a Properties object. {@value}, see
+     * {@link Builder#connectionRace(int) connectionRace}.
+     */
+    public static final String PROP_CONNECTION_RACE = PFX + "connection.race";
+    /**
+     * Property used to configure a builder from a Properties object. {@value}, see
+     * {@link Builder#connectionRaceStagger(Duration) connectionRaceStagger}.
+     */
+    public static final String PROP_CONNECTION_RACE_STAGGER = PFX + "connection.race.stagger";
     /**
      * Property used to configure a builder from a Properties object. {@value}, see
      * {@link Builder#reconnectBufferSize(long) reconnectBufferSize}.
@@ -438,6 +491,28 @@ public class Options {
      * to do TLS upgrade first, before INFO
      */
     public static final String PROP_TLS_FIRST = PFX + "tls.first";
+    /**
+     * Property used to turn on pooled message buffers, see {@link Builder#pooledMessageBuffers() pooledMessageBuffers}.
+     */
+    public static final String PROP_POOLED_MESSAGE_BUFFERS = PFX + "pooled.message.buffers";
+    /**
+     * Property used to turn on virtual threads, see {@link Builder#virtualThreads() virtualThreads}.
+     */
+    public static final String PROP_VIRTUAL_THREADS = PFX + "virtual.threads";
+    /**
+     * Property used to turn on websocket compression, see {@link Builder#websocketCompression() websocketCompression}.
+     */
+    public static final String PROP_WEBSOCKET_COMPRESSION = PFX + "websocket.compression";
+    /**
+     * Property used to configure a builder from a Properties object. {@value}, see
+     * {@link Builder#websocketCompressionWindowBits(int) websocketCompressionWindowBits}.
+     */
+    public static final String PROP_WEBSOCKET_COMPRESSION_WINDOW_BITS = PFX + "websocket.compression.windowbits";
+    /**
+     * Property used to configure a builder from a Properties object. {@value}, see
+     * {@link Builder#websocketCompressionThreshold(int) websocketCompressionThreshold}.
+     */
+    public static final String PROP_WEBSOCKET_COMPRESSION_THRESHOLD = PFX + "websocket.compression.threshold";
     /**
      * This property is used to enable support for UTF8 subjects. See {@link Builder#supportUTF8Subjects() supportUTF8Subjects()}
      * @deprecated only plain ascii subjects are supported
@@ -553,8 +628,12 @@ public class Options {
     private final Duration reconnectJitter;
     private final Duration reconnectJitterTls;
     private final Duration connectionTimeout;
+    private final int connectionRace;
+    private final Duration connectionRaceStagger;
     private final Duration pingInterval;
     private final Duration requestCleanupInterval;
+    private final Duration jetStreamCacheTtl;
+    private final int jetStreamCacheMaxEntries;
     private final int maxPingsOut;
     private final long reconnectBufferSize;
     private final char[] username;
@@ -571,6 +650,8 @@ public class Options {
     private final boolean discardMessagesWhenOutgoingQueueFull;
     private final boolean ignoreDiscoveredServers;
     private final boolean tlsFirst;
+    private final boolean pooledMessageBuffers;
+    private final boolean virtualThreads;
 
     private final AuthHandler authHandler;
     private final ReconnectDelayHandler reconnectDelayHandler;
@@ -588,6 +669,9 @@ public class Options {
     private final DispatcherFactory dispatcherFactory;
 
     private final List<java.util.function.Consumer<HttpRequest>> httpRequestInterceptors;
+    private final boolean websocketCompression;
+    private final int websocketCompressionWindowBits;
+    private final int websocketCompressionThreshold;
     private final Proxy proxy;
 
     static class DefaultThreadFactory implements ThreadFactory {
@@ -659,8 +743,12 @@ public class Options {
         private Duration reconnectJitter = DEFAULT_RECONNECT_JITTER;
         private Duration reconnectJitterTls = DEFAULT_RECONNECT_JITTER_TLS;
         private Duration connectionTimeout = DEFAULT_CONNECTION_TIMEOUT;
+        private int connectionRace = 1;
+        private Duration connectionRaceStagger = DEFAULT_CONNECTION_RACE_STAGGER;
         private Duration pingInterval = DEFAULT_PING_INTERVAL;
         private Duration requestCleanupInterval = DEFAULT_REQUEST_CLEANUP_INTERVAL;
+        private Duration jetStreamCacheTtl = DEFAULT_JETSTREAM_CACHE_TTL;
+        private int jetStreamCacheMaxEntries = DEFAULT_JETSTREAM_CACHE_MAX_ENTRIES;
         private int maxPingsOut = DEFAULT_MAX_PINGS_OUT;
         private long reconnectBufferSize = DEFAULT_RECONNECT_BUF_SIZE;
         private char[] username = null;
@@ -679,6 +767,8 @@ public class Options {
         private boolean discardMessagesWhenOutgoingQueueFull = DEFAULT_DISCARD_MESSAGES_WHEN_OUTGOING_QUEUE_FULL;
         private boolean ignoreDiscoveredServers = false;
         private boolean tlsFirst = false;
+        private boolean pooledMessageBuffers = false;
+        private boolean virtualThreads = false;
         private ServerPool serverPool = null;
         private DispatcherFactory dispatcherFactory = null;
 
@@ -691,6 +781,9 @@ public class Options {
         private String dataPortType = DEFAULT_DATA_PORT_TYPE;
         private ExecutorService executor;
         private List<java.util.function.Consumer<HttpRequest>> httpRequestInterceptors;
+        private boolean websocketCompression = false;
+        private int websocketCompressionWindowBits = DEFAULT_WEBSOCKET_COMPRESSION_WINDOW_BITS;
+        private int websocketCompressionThreshold = DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD;
         private Proxy proxy;
 
         private boolean useDefaultTls;
@@ -786,10 +879,14 @@ public class Options {
             durationProperty(props, PROP_RECONNECT_JITTER_TLS, DEFAULT_RECONNECT_JITTER_TLS, d -> this.reconnectJitterTls = d);
             longProperty(props, PROP_RECONNECT_BUF_SIZE, DEFAULT_RECONNECT_BUF_SIZE, l -> this.reconnectBufferSize = l);
             durationProperty(props, PROP_CONNECTION_TIMEOUT, DEFAULT_CONNECTION_TIMEOUT, d -> this.connectionTimeout = d);
+            intProperty(props, PROP_CONNECTION_RACE, 1, this::connectionRace);
+            durationProperty(props, PROP_CONNECTION_RACE_STAGGER, DEFAULT_CONNECTION_RACE_STAGGER, this::connectionRaceStagger);
 
             intGtEqZeroProperty(props, PROP_MAX_CONTROL_LINE, DEFAULT_MAX_CONTROL_LINE, i -> this.maxControlLine = i);
             durationProperty(props, PROP_PING_INTERVAL, DEFAULT_PING_INTERVAL, d -> this.pingInterval = d);
             durationProperty(props, PROP_CLEANUP_INTERVAL, DEFAULT_REQUEST_CLEANUP_INTERVAL, d -> this.requestCleanupInterval = d);
+            durationProperty(props, PROP_JETSTREAM_CACHE_TTL, DEFAULT_JETSTREAM_CACHE_TTL, d -> this.jetStreamCacheTtl = d);
+            intGtEqZeroProperty(props, PROP_JETSTREAM_CACHE_MAX_ENTRIES, DEFAULT_JETSTREAM_CACHE_MAX_ENTRIES, i -> this.jetStreamCacheMaxEntries = i);
             intProperty(props, PROP_MAX_PINGS, DEFAULT_MAX_PINGS_OUT, i -> this.maxPingsOut = i);
             booleanProperty(props, PROP_USE_OLD_REQUEST_STYLE, b -> this.useOldRequestStyle = b);
 
@@ -804,6 +901,11 @@ public class Options {
 
             booleanProperty(props, PROP_IGNORE_DISCOVERED_SERVERS, b -> this.ignoreDiscoveredServers = b);
             booleanProperty(props, PROP_TLS_FIRST, b -> this.tlsFirst = b);
+            booleanProperty(props, PROP_POOLED_MESSAGE_BUFFERS, b -> this.pooledMessageBuffers = b);
+            booleanProperty(props, PROP_VIRTUAL_THREADS, b -> this.virtualThreads = b);
+            booleanProperty(props, PROP_WEBSOCKET_COMPRESSION, b -> this.websocketCompression = b);
+            intProperty(props, PROP_WEBSOCKET_COMPRESSION_WINDOW_BITS, DEFAULT_WEBSOCKET_COMPRESSION_WINDOW_BITS, this::websocketCompressionWindowBits);
+            intGtEqZeroProperty(props, PROP_WEBSOCKET_COMPRESSION_THRESHOLD, DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD, this::websocketCompressionThreshold);
 
             classnameProperty(props, PROP_SERVERS_POOL_IMPLEMENTATION_CLASS, o -> this.serverPool = (ServerPool) o);
             classnameProperty(props, PROP_DISPATCHER_FACTORY_CLASS, o -> this.dispatcherFactory = (DispatcherFactory) o);
@@ -1190,6 +1292,32 @@ public class Options {
             return this;
         }
 
+        /**
+         * Race connection attempts to up to this many servers, or addresses of a server, at once, on connect
+         * and on reconnect. Attempts start one {@link #connectionRaceStagger(Duration) stagger} apart, or right
+         * away when the one before fails, and the first to connect and get the server INFO wins, the others
+         * are closed. A dead server then costs a stagger instead of a whole {@link #connectionTimeout(Duration) connectionTimeout}.
+         * The TLS upgrade, the CONNECT and the PING are done on the winner only. The default is 1, one at a time.
+         *
+         * @param candidates the most attempts in a race, less than 1 is the same as 1
+         * @return the Builder for chaining
+         */
+        public Builder connectionRace(int candidates) {
+            this.connectionRace = Math.max(1, candidates);
+            return this;
+        }
+
+        /**
+         * Set the time between the starts of raced connection attempts, see {@link #connectionRace(int) connectionRace}.
+         *
+         * @param time the time between attempts, null or negative is the default
+         * @return the Builder for chaining
+         */
+        public Builder connectionRaceStagger(Duration time) {
+            this.connectionRaceStagger = time == null || time.isNegative() ? DEFAULT_CONNECTION_RACE_STAGGER : time;
+            return this;
+        }
+
         /**
          * Set the interval between attempts to pings the server. These pings are automated,
          * and capped by {@link #maxPingsOut(int) maxPingsOut()}. As of 2.4.4 the library
@@ -1224,6 +1352,33 @@ public class Options {
             return this;
         }
 
+        /**
+         * Set how long the connection caches JetStream metadata: stream subjects and settings, which stream
+         * a subject belongs to, and the info of durable consumers. The cache saves api round trips when
+         * subscribing and getting messages. Changes made through this connection update the cache, changes
+         * made elsewhere can take up to the ttl to be seen. Null or zero turns the cache off.
+         *
+         * @param ttl the time to live of cached entries
+         * @return the Builder for chaining
+         */
+        public Builder jetStreamCacheTtl(Duration ttl) {
+            this.jetStreamCacheTtl = ttl == null || ttl.isNegative() ? Duration.ZERO : ttl;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of entries in the connection's JetStream metadata cache,
+         * the least recently used entry is dropped when it is full. Zero turns the cache off.
+         * Negative values mean the default of {@value Options#DEFAULT_JETSTREAM_CACHE_MAX_ENTRIES}.
+         *
+         * @param maxEntries the maximum number of entries
+         * @return the Builder for chaining
+         */
+        public Builder jetStreamCacheMaxEntries(int maxEntries) {
+            this.jetStreamCacheMaxEntries = maxEntries < 0 ? DEFAULT_JETSTREAM_CACHE_MAX_ENTRIES : maxEntries;
+            return this;
+        }
+
         /**
          * Set the maximum number of pings the client can have in flight.
          *
@@ -1420,6 +1575,48 @@ public class Options {
             return this;
         }
 
+        /**
+         * Offer the server permessage-deflate compression (rfc7692) when connecting with websockets.
+         * If the server accepts, messages of at least the {@link #websocketCompressionThreshold(int) threshold}
+         * are compressed and compressed messages from the server are inflated. If it does not, the connection
+         * works without compression. Compression trades cpu for bandwidth and helps most with text payloads
+         * like JSON over slow or metered links.
+         *
+         * @return the Builder for chaining
+         */
+        public Builder websocketCompression() {
+            this.websocketCompression = true;
+            return this;
+        }
+
+        /**
+         * Ask the server to compress with an LZ77 window of at most 2^windowBits bytes, which limits
+         * the memory the server keeps for the connection. Values outside 8 to 15 mean the default of
+         * {@value Options#DEFAULT_WEBSOCKET_COMPRESSION_WINDOW_BITS}, which does not limit the window.
+         * Messages sent by the client always use the full window.
+         *
+         * @param windowBits the window size in bits
+         * @return the Builder for chaining
+         */
+        public Builder websocketCompressionWindowBits(int windowBits) {
+            this.websocketCompressionWindowBits = windowBits < 8 || windowBits > 15
+                ? DEFAULT_WEBSOCKET_COMPRESSION_WINDOW_BITS
+                : windowBits;
+            return this;
+        }
+
+        /**
+         * Set the size in bytes below which websocket messages are sent uncompressed, since small messages
+         * do not compress well. Negative values mean the default of {@value Options#DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD}.
+         *
+         * @param threshold the minimum size to compress
+         * @return the Builder for chaining
+         */
+        public Builder websocketCompressionThreshold(int threshold) {
+            this.websocketCompressionThreshold = threshold < 0 ? DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD : threshold;
+            return this;
+        }
+
         /**
          * Define a proxy to use when connecting.
          *
@@ -1433,7 +1630,9 @@ public class Options {
 
         /**
          * The class to use for this connections data port. This is an advanced setting
-         * and primarily useful for testing.
+         * and primarily useful for testing. {@link io.nats.client.impl.ChannelDataPort ChannelDataPort}
+         * is an alternative to the default that avoids copying large payloads, but does not support
+         * proxies or websockets.
          *
          * @param dataPortClassName a valid and accessible class name
          * @return the Builder for chaining
@@ -1489,6 +1688,33 @@ public class Options {
             return this;
         }
 
+        /**
+         * Turn on pooled message buffers. Incoming message payloads are read into shared, reference counted
+         * buffers instead of a new byte[] per message. Messages handed to a {@link Dispatcher} handler expose the
+         * payload with {@link Message#getDataBuffer()} and are released when the handler returns, so the
+         * handler must not keep the message or the buffer. {@link Message#getData()} still works and copies the payload.
+         * Messages delivered to synchronous subscriptions and request replies are copied out of the pool.
+         * @return the Builder for chaining
+         */
+        public Builder pooledMessageBuffers() {
+            this.pooledMessageBuffers = true;
+            return this;
+        }
+
+        /**
+         * Run connection tasks on virtual threads when the JDK supports them, 21 and later.
+         * Unless an {@link #executor(ExecutorService) executor} is set, the default executor starts a virtual
+         * thread per task, so the reader, the writer, every Dispatcher and its workers are virtual threads.
+         * The connect, error and connection listener callbacks run on a single virtual thread each, in order as before.
+         * See also {@link Connection#createPerMessageDispatcher(MessageHandler)} for handlers that block.
+         * On older JDKs this option has no effect and platform threads are used.
+         * @return the Builder for chaining
+         */
+        public Builder virtualThreads() {
+            this.virtualThreads = true;
+            return this;
+        }
+
         /**
          * Set the ServerPool implementation for connections to use instead of the default implementation
          * @param serverPool the implementation
@@ -1509,6 +1735,10 @@ public class Options {
             return this;
         }
 
+        private String getThreadPrefix() {
+            return nullOrEmpty(this.connectionName) ? DEFAULT_THREAD_NAME_PREFIX : this.connectionName;
+        }
+
         /**
          * Build an Options object from this Builder.
          *
@@ -1601,8 +1831,12 @@ public class Options {
                 authHandler = Nats.credentials(file.toString());
             }
 
+            if (this.executor == null && this.virtualThreads) {
+                this.executor = VirtualThreads.newThreadPerTaskExecutor(getThreadPrefix());
+            }
+
             if (this.executor == null) {
-                String threadPrefix = nullOrEmpty(this.connectionName) ? DEFAULT_THREAD_NAME_PREFIX : this.connectionName;
+                String threadPrefix = getThreadPrefix();
                 this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
                     500L, TimeUnit.MILLISECONDS,
                     new SynchronousQueue<>(),
@@ -1634,8 +1868,12 @@ public class Options {
             this.reconnectJitter = o.reconnectJitter;
             this.reconnectJitterTls = o.reconnectJitterTls;
             this.connectionTimeout = o.connectionTimeout;
+            this.connectionRace = o.connectionRace;
+            this.connectionRaceStagger = o.connectionRaceStagger;
             this.pingInterval = o.pingInterval;
             this.requestCleanupInterval = o.requestCleanupInterval;
+            this.jetStreamCacheTtl = o.jetStreamCacheTtl;
+            this.jetStreamCacheMaxEntries = o.jetStreamCacheMaxEntries;
             this.maxPingsOut = o.maxPingsOut;
             this.reconnectBufferSize = o.reconnectBufferSize;
             this.username = o.username;
@@ -1663,10 +1901,15 @@ public class Options {
             this.trackAdvancedStats = o.trackAdvancedStats;
             this.executor = o.executor;
             this.httpRequestInterceptors = o.httpRequestInterceptors;
+            this.websocketCompression = o.websocketCompression;
+            this.websocketCompressionWindowBits = o.websocketCompressionWindowBits;
+            this.websocketCompressionThreshold = o.websocketCompressionThreshold;
             this.proxy = o.proxy;
 
             this.ignoreDiscoveredServers = o.ignoreDiscoveredServers;
             this.tlsFirst = o.tlsFirst;
+            this.pooledMessageBuffers = o.pooledMessageBuffers;
+            this.virtualThreads = o.virtualThreads;
 
             this.serverPool = o.serverPool;
             this.dispatcherFactory = o.dispatcherFactory;
@@ -1696,8 +1939,12 @@ public class Options {
         this.reconnectJitter = b.reconnectJitter;
         this.reconnectJitterTls = b.reconnectJitterTls;
         this.connectionTimeout = b.connectionTimeout;
+        this.connectionRace = b.connectionRace;
+        this.connectionRaceStagger = b.connectionRaceStagger;
         this.pingInterval = b.pingInterval;
         this.requestCleanupInterval = b.requestCleanupInterval;
+        this.jetStreamCacheTtl = b.jetStreamCacheTtl;
+        this.jetStreamCacheMaxEntries = b.jetStreamCacheMaxEntries;
         this.maxPingsOut = b.maxPingsOut;
         this.reconnectBufferSize = b.reconnectBufferSize;
         this.username = b.username;
@@ -1725,10 +1972,15 @@ public class Options {
         this.trackAdvancedStats = b.trackAdvancedStats;
         this.executor = b.executor;
         this.httpRequestInterceptors = b.httpRequestInterceptors;
+        this.websocketCompression = b.websocketCompression;
+        this.websocketCompressionWindowBits = b.websocketCompressionWindowBits;
+        this.websocketCompressionThreshold = b.websocketCompressionThreshold;
         this.proxy = b.proxy;
 
         this.ignoreDiscoveredServers = b.ignoreDiscoveredServers;
         this.tlsFirst = b.tlsFirst;
+        this.pooledMessageBuffers = b.pooledMessageBuffers;
+        this.virtualThreads = b.virtualThreads && VirtualThreads.isSupported();
 
         this.serverPool = b.serverPool;
         this.dispatcherFactory = b.dispatcherFactory;
@@ -1753,6 +2005,27 @@ public class Options {
             : Collections.unmodifiableList(this.httpRequestInterceptors);
     }
 
+    /**
+     * @return whether permessage-deflate is offered on websocket connections, see {@link Builder#websocketCompression() websocketCompression()} in the builder doc
+     */
+    public boolean isWebsocketCompression() {
+        return websocketCompression;
+    }
+
+    /**
+     * @return the largest window the server may compress with, in bits, see {@link Builder#websocketCompressionWindowBits(int) websocketCompressionWindowBits()} in the builder doc
+     */
+    public int getWebsocketCompressionWindowBits() {
+        return websocketCompressionWindowBits;
+    }
+
+    /**
+     * @return the size below which websocket messages are not compressed, see {@link Builder#websocketCompressionThreshold(int) websocketCompressionThreshold()} in the builder doc
+     */
+    public int getWebsocketCompressionThreshold() {
+        return websocketCompressionThreshold;
+    }
+
     /**
      * @return the proxy to used for all sockets.
      */
@@ -1984,6 +2257,20 @@ public class Options {
         return connectionTimeout;
     }
 
+    /**
+     * @return the most connection attempts raced at once, see {@link Builder#connectionRace(int) connectionRace()} in the builder doc
+     */
+    public int getConnectionRace() {
+        return connectionRace;
+    }
+
+    /**
+     * @return the time between raced connection attempts, see {@link Builder#connectionRaceStagger(Duration) connectionRaceStagger()} in the builder doc
+     */
+    public Duration getConnectionRaceStagger() {
+        return connectionRaceStagger;
+    }
+
     /**
      * @return the pingInterval, see {@link Builder#pingInterval(Duration) pingInterval()} in the builder doc
      */
@@ -1998,6 +2285,20 @@ public class Options {
         return requestCleanupInterval;
     }
 
+    /**
+     * @return the time to live of the JetStream metadata cache, see {@link Builder#jetStreamCacheTtl(Duration) jetStreamCacheTtl()} in the builder doc
+     */
+    public Duration getJetStreamCacheTtl() {
+        return jetStreamCacheTtl;
+    }
+
+    /**
+     * @return the maximum number of entries in the JetStream metadata cache, see {@link Builder#jetStreamCacheMaxEntries(int) jetStreamCacheMaxEntries()} in the builder doc
+     */
+    public int getJetStreamCacheMaxEntries() {
+        return jetStreamCacheMaxEntries;
+    }
+
     /**
      * @return the maxPingsOut to limit the number of pings on the wire, see {@link Builder#maxPingsOut(int) maxPingsOut()} in the builder doc
      */
@@ -2114,6 +2415,22 @@ public class Options {
         return tlsFirst;
     }
 
+    /**
+     * Get whether incoming message payloads use pooled buffers
+     * @return the flag
+     */
+    public boolean isPooledMessageBuffers() {
+        return pooledMessageBuffers;
+    }
+
+    /**
+     * Get whether connection tasks run on virtual threads. Only true when the option is on and the JDK supports them.
+     * @return the flag
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
     /**
      * Get the ServerPool implementation. If null, a default implementation is used.
      * @return the ServerPool implementation
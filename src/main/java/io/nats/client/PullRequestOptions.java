@@ -13,8 +13,8 @@
 
 package io.nats.client;
 
-import io.nats.client.support.JsonSerializable;
-import io.nats.client.support.JsonUtils;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 
 import java.time.Duration;
 
@@ -24,7 +24,7 @@ import static io.nats.client.support.Validator.validateGtZero;
 /**
  * The PullRequestOptions class specifies the options for pull requests
  */
-public class PullRequestOptions implements JsonSerializable {
+public class PullRequestOptions implements JsonWritable {
 
     private final int batchSize;
     private final long maxBytes;
@@ -41,14 +41,14 @@ public class PullRequestOptions implements JsonSerializable {
     }
 
     @Override
-    public String toJson() {
-        StringBuilder sb = JsonUtils.beginJson();
-        JsonUtils.addField(sb, BATCH, batchSize);
-        JsonUtils.addField(sb, MAX_BYTES, maxBytes);
-        JsonUtils.addFldWhenTrue(sb, NO_WAIT, noWait);
-        JsonUtils.addFieldAsNanos(sb, EXPIRES, expiresIn);
-        JsonUtils.addFieldAsNanos(sb, IDLE_HEARTBEAT, idleHeartbeat);
-        return JsonUtils.endJson(sb).toString();
+    public void writeJson(JsonWriter writer) {
+        writer.beginObject();
+        writer.addField(BATCH, batchSize);
+        writer.addField(MAX_BYTES, maxBytes);
+        writer.addFldWhenTrue(NO_WAIT, noWait);
+        writer.addFieldAsNanos(EXPIRES, expiresIn);
+        writer.addFieldAsNanos(IDLE_HEARTBEAT, idleHeartbeat);
+        writer.endObject();
     }
 
     /**
@@ -13,6 +13,8 @@
 
 package io.nats.client;
 
+import io.nats.client.support.LatencyHistogram;
+
 /**
  * Connections can provide an instance of Statistics, {@link Connection#getStatistics() getStatistics()}. The statistics
  * object provides information about key metrics related to the connection over its entire lifecycle.
@@ -104,4 +106,51 @@ public interface Statistics {
      * @return the count of outstanding of requests from this connection.
      */
     long getOutstandingRequests();
+
+    /**
+     * The histogram of request round trip times in nanoseconds, from sending a request to receiving its reply.
+     * The histogram is live, use {@link LatencyHistogram#snapshot()} or {@link LatencyHistogram#snapshotAndReset()}
+     * to take an interval of it.
+     * <p>NOTE: This is only recorded if advanced stats are enabled.</p>
+     * @return the histogram or null if this implementation does not track it
+     */
+    default LatencyHistogram getRequestLatency() {
+        return null;
+    }
+
+    /**
+     * The histogram of JetStream publish times in nanoseconds, from publishing to receiving the publish ack.
+     * The histogram is live, see {@link #getRequestLatency()}.
+     * <p>NOTE: This is only recorded if advanced stats are enabled.</p>
+     * @return the histogram or null if this implementation does not track it
+     */
+    default LatencyHistogram getPublishAckLatency() {
+        return null;
+    }
+
+    /**
+     * The histogram of times in nanoseconds from reading a message off the socket to handing it
+     * to a dispatcher's message handler. The histogram is live, see {@link #getRequestLatency()}.
+     * <p>NOTE: This is only recorded if advanced stats are enabled.</p>
+     * @return the histogram or null if this implementation does not track it
+     */
+    default LatencyHistogram getDispatchLatency() {
+        return null;
+    }
+
+    /**
+     * @return the total number of JetStream acks that went through an ack batch, see {@link AckBatchOptions}
+     */
+    default long getBatchedAcks() {
+        return 0;
+    }
+
+    /**
+     * The number of ack messages published for batched acks. Compared to {@link #getBatchedAcks()}
+     * it shows how much batching saved, they are only different for ack policy all consumers.
+     * @return the total number of ack messages published for batched acks
+     */
+    default long getBatchedAckPublishes() {
+        return 0;
+    }
 }
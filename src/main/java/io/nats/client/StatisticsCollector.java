@@ -131,4 +131,32 @@ public interface StatisticsCollector extends Statistics {
      * @param bytes the number of bytes being written
      */
     void registerWrite(long bytes);
+
+    /**
+     * Registers the round trip time of a request, from sending the request to receiving its reply.
+     * <p>NOTE: Implementations should only count this if advanced stats are enabled.</p>
+     * @param nanos the round trip time in nanoseconds
+     */
+    default void registerRequestLatency(long nanos) {}
+
+    /**
+     * Registers the time from a JetStream publish to receiving its publish ack.
+     * <p>NOTE: Implementations should only count this if advanced stats are enabled.</p>
+     * @param nanos the time in nanoseconds
+     */
+    default void registerPublishAckLatency(long nanos) {}
+
+    /**
+     * Registers the time from reading a message off the socket to handing it to a dispatcher's message handler.
+     * <p>NOTE: Implementations should only count this if advanced stats are enabled.</p>
+     * @param nanos the time in nanoseconds
+     */
+    default void registerDispatchLatency(long nanos) {}
+
+    /**
+     * Registers the publishing of a batch of JetStream acks.
+     * @param acks the number of acks in the batch
+     * @param publishes the number of ack messages published for the batch
+     */
+    default void registerAckBatch(long acks, long publishes) {}
 }
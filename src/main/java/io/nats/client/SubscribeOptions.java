@@ -37,6 +37,7 @@ public abstract class SubscribeOptions {
     protected final long pendingMessageLimit; // Only applicable for non dispatched (sync) push consumers.
     protected final long pendingByteLimit; // Only applicable for non dispatched (sync) push consumers.
     protected final String name;
+    protected final AckBatchOptions ackBatch;
 
     @SuppressWarnings("rawtypes") // Don't need the type of the builder to get its vars
     protected SubscribeOptions(Builder builder, boolean isPull,
@@ -48,6 +49,7 @@ public abstract class SubscribeOptions {
         bind = fastBind || builder.bind;
         ordered = builder.ordered;
         messageAlarmTime = builder.messageAlarmTime;
+        ackBatch = builder.ackBatch;
 
         if (ordered && bind) {
             throw JsSoOrderedNotAllowedWithBind.instance();
@@ -202,6 +204,14 @@ public abstract class SubscribeOptions {
         return messageAlarmTime;
     }
 
+    /**
+     * Gets the ack batch options, null if acks are not batched.
+     * @return the ack batch options
+     */
+    public AckBatchOptions getAckBatch() {
+        return ackBatch;
+    }
+
     /**
      * Gets the consumer configuration.
      * @return the consumer configuration.
@@ -248,6 +258,7 @@ public abstract class SubscribeOptions {
         protected ConsumerConfiguration cc;
         protected long messageAlarmTime = -1;
         protected boolean ordered;
+        protected AckBatchOptions ackBatch;
 
         protected abstract B getThis();
 
@@ -321,6 +332,18 @@ public abstract class SubscribeOptions {
             return getThis();
         }
 
+        /**
+         * Batch the acks of the subscription's messages, including the acks
+         * made by an auto ack handler, see {@link AckBatchOptions}.
+         * Null turns batching off, which is the default.
+         * @param ackBatch the ack batch options
+         * @return the builder
+         */
+        public B ackBatch(AckBatchOptions ackBatch) {
+            this.ackBatch = ackBatch;
+            return getThis();
+        }
+
         /**
          * Builds the subscribe options.
          * @return subscribe options
@@ -29,19 +29,24 @@ public abstract class ApiResponse<T> {
 
     protected final JsonValue jv;
 
-    private final String type;
-    private final Error error;
+    // responses read with a JsonReader keep the json and only make the tree if it is asked for
+    private final byte[] json;
+    private JsonValue lazyJv;
+
+    private String type;
+    private Error error;
 
     public ApiResponse(Message msg) {
         this(parseMessage(msg));
     }
 
     protected static JsonValue parseMessage(Message msg) {
-        if (msg == null) {
-            return null;
-        }
+        return msg == null ? null : parseJson(msg.getData());
+    }
+
+    private static JsonValue parseJson(byte[] json) {
         try {
-            return JsonParser.parse(msg.getData());
+            return JsonParser.parse(json);
         }
         catch (JsonParseException e) {
             return JsonValueUtils.mapBuilder()
@@ -53,6 +58,7 @@ public abstract class ApiResponse<T> {
 
     public ApiResponse(JsonValue jsonValue) {
         jv = jsonValue;
+        json = null;
         if (jv == null) {
             error = null;
             type = null;
@@ -72,10 +78,53 @@ public abstract class ApiResponse<T> {
 
     public ApiResponse() {
         jv = null;
+        json = null;
         error = null;
         type = NO_TYPE;
     }
 
+    /**
+     * For a subclass that reads its fields from the json with a {@link JsonReader}.
+     * The subclass passes the top level names to {@link #readApiField(String, JsonReader)} so
+     * the error and type are read, and calls {@link #parseError(JsonParseException)} if reading fails.
+     * @param json the json of the response
+     */
+    protected ApiResponse(byte[] json) {
+        this.jv = null;
+        this.json = json;
+        error = null;
+        type = NO_TYPE;
+    }
+
+    /**
+     * Read the field if it is one that all responses have
+     * @param name the name of the field
+     * @param reader the reader, positioned at the value of the field
+     * @return true if the field was read, false if the subclass must read or skip it
+     * @throws JsonParseException if the json is not valid
+     */
+    protected boolean readApiField(String name, JsonReader reader) throws JsonParseException {
+        if (ERROR.equals(name)) {
+            error = Error.optionalInstance(reader.nextValue());
+            return true;
+        }
+        if (TYPE.equals(name)) {
+            String temp = reader.nextString();
+            type = temp == null ? NO_TYPE : temp;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Make the response a parse error response
+     * @param e the exception from reading the json
+     */
+    protected void parseError(JsonParseException e) {
+        error = new Error(500, "Error parsing: " + e.getMessage());
+        type = PARSE_ERROR_TYPE;
+    }
+
     @SuppressWarnings("unchecked")
     public T throwOnHasError() throws JetStreamApiException {
         if (hasError()) {
@@ -85,7 +134,17 @@ public abstract class ApiResponse<T> {
     }
 
     public JsonValue getJv() {
-        return jv;
+        if (jv != null || json == null) {
+            return jv;
+        }
+        if (lazyJv == null) {
+            JsonValue temp = parseJson(json);
+            if (temp.map != null) {
+                temp.map.remove(TYPE); // same as the tree constructor
+            }
+            lazyJv = temp;
+        }
+        return lazyJv;
     }
 
     public boolean hasError() {
@@ -118,8 +177,9 @@ public abstract class ApiResponse<T> {
 
     @Override
     public String toString() {
-        return jv == null
+        JsonValue v = getJv();
+        return v == null
             ? JsonUtils.toKey(getClass()) + "\":null"
-            : jv.toString(getClass());
+            : v.toString(getClass());
     }
 }
@@ -16,17 +16,15 @@ package io.nats.client.api;
 import io.nats.client.PullSubscribeOptions;
 import io.nats.client.PushSubscribeOptions;
 import io.nats.client.support.ApiConstants;
-import io.nats.client.support.JsonSerializable;
-import io.nats.client.support.JsonUtils;
 import io.nats.client.support.JsonValue;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
 
 import static io.nats.client.support.ApiConstants.*;
-import static io.nats.client.support.JsonUtils.beginJson;
-import static io.nats.client.support.JsonUtils.endJson;
 import static io.nats.client.support.JsonValueUtils.*;
 import static io.nats.client.support.NatsJetStreamClientError.JsConsumerNameDurableMismatch;
 import static io.nats.client.support.Validator.*;
@@ -36,7 +34,7 @@ import static io.nats.client.support.Validator.*;
  * if necessary the server.
  * Options are created using a ConsumerConfiguration.Builder.
  */
-public class ConsumerConfiguration implements JsonSerializable {
+public class ConsumerConfiguration implements JsonWritable {
     @Deprecated
     public static final Duration DURATION_MIN = Duration.ofNanos(1);
 
@@ -198,48 +196,49 @@ public class ConsumerConfiguration implements JsonSerializable {
     }
 
     /**
-     * Returns a JSON representation of this consumer configuration.
+     * Writes the JSON representation of this consumer configuration.
      *
-     * @return json consumer configuration json string
+     * @param writer the writer
      */
-    public String toJson() {
-        StringBuilder sb = beginJson();
-        JsonUtils.addField(sb, DESCRIPTION, description);
-        JsonUtils.addField(sb, DURABLE_NAME, durable);
-        JsonUtils.addField(sb, NAME, name);
-        JsonUtils.addField(sb, DELIVER_SUBJECT, deliverSubject);
-        JsonUtils.addField(sb, DELIVER_GROUP, deliverGroup);
-        JsonUtils.addField(sb, DELIVER_POLICY, GetOrDefault(deliverPolicy).toString());
-        JsonUtils.addFieldWhenGtZero(sb, OPT_START_SEQ, startSeq);
-        JsonUtils.addField(sb, OPT_START_TIME, startTime);
-        JsonUtils.addField(sb, ACK_POLICY, GetOrDefault(ackPolicy).toString());
-        JsonUtils.addFieldAsNanos(sb, ACK_WAIT, ackWait);
-        JsonUtils.addFieldWhenGtZero(sb, MAX_DELIVER, maxDeliver);
-        JsonUtils.addField(sb, MAX_ACK_PENDING, maxAckPending);
-        JsonUtils.addField(sb, REPLAY_POLICY, GetOrDefault(replayPolicy).toString());
-        JsonUtils.addField(sb, SAMPLE_FREQ, sampleFrequency);
-        JsonUtils.addFieldWhenGtZero(sb, RATE_LIMIT_BPS, rateLimit);
-        JsonUtils.addFieldAsNanos(sb, IDLE_HEARTBEAT, idleHeartbeat);
-        JsonUtils.addFldWhenTrue(sb, FLOW_CONTROL, flowControl);
-        JsonUtils.addField(sb, ApiConstants.MAX_WAITING, maxPullWaiting);
-        JsonUtils.addFldWhenTrue(sb, HEADERS_ONLY, headersOnly);
-        JsonUtils.addField(sb, MAX_BATCH, maxBatch);
-        JsonUtils.addField(sb, MAX_BYTES, maxBytes);
-        JsonUtils.addFieldAsNanos(sb, MAX_EXPIRES, maxExpires);
-        JsonUtils.addFieldAsNanos(sb, INACTIVE_THRESHOLD, inactiveThreshold);
-        JsonUtils.addDurations(sb, BACKOFF, backoff);
-        JsonUtils.addField(sb, NUM_REPLICAS, numReplicas);
-        JsonUtils.addField(sb, MEM_STORAGE, memStorage);
-        JsonUtils.addField(sb, METADATA, metadata);
+    @Override
+    public void writeJson(JsonWriter writer) {
+        writer.beginObject();
+        writer.addField(DESCRIPTION, description);
+        writer.addField(DURABLE_NAME, durable);
+        writer.addField(NAME, name);
+        writer.addField(DELIVER_SUBJECT, deliverSubject);
+        writer.addField(DELIVER_GROUP, deliverGroup);
+        writer.addField(DELIVER_POLICY, GetOrDefault(deliverPolicy).toString());
+        writer.addFieldWhenGtZero(OPT_START_SEQ, startSeq);
+        writer.addField(OPT_START_TIME, startTime);
+        writer.addField(ACK_POLICY, GetOrDefault(ackPolicy).toString());
+        writer.addFieldAsNanos(ACK_WAIT, ackWait);
+        writer.addFieldWhenGtZero(MAX_DELIVER, maxDeliver);
+        writer.addField(MAX_ACK_PENDING, maxAckPending);
+        writer.addField(REPLAY_POLICY, GetOrDefault(replayPolicy).toString());
+        writer.addField(SAMPLE_FREQ, sampleFrequency);
+        writer.addFieldWhenGtZero(RATE_LIMIT_BPS, rateLimit);
+        writer.addFieldAsNanos(IDLE_HEARTBEAT, idleHeartbeat);
+        writer.addFldWhenTrue(FLOW_CONTROL, flowControl);
+        writer.addField(ApiConstants.MAX_WAITING, maxPullWaiting);
+        writer.addFldWhenTrue(HEADERS_ONLY, headersOnly);
+        writer.addField(MAX_BATCH, maxBatch);
+        writer.addField(MAX_BYTES, maxBytes);
+        writer.addFieldAsNanos(MAX_EXPIRES, maxExpires);
+        writer.addFieldAsNanos(INACTIVE_THRESHOLD, inactiveThreshold);
+        writer.addDurations(BACKOFF, backoff);
+        writer.addField(NUM_REPLICAS, numReplicas);
+        writer.addField(MEM_STORAGE, memStorage);
+        writer.addField(METADATA, metadata);
         if (filterSubjects != null) {
             if (filterSubjects.size() > 1) {
-                JsonUtils.addStrings(sb, FILTER_SUBJECTS, filterSubjects);
+                writer.addStrings(FILTER_SUBJECTS, filterSubjects);
             }
             else if (filterSubjects.size() == 1) {
-                JsonUtils.addField(sb, FILTER_SUBJECT, filterSubjects.get(0));
+                writer.addField(FILTER_SUBJECT, filterSubjects.get(0));
             }
         }
-        return endJson(sb).toString();
+        writer.endObject();
     }
 
     /**
@@ -13,17 +13,16 @@
 
 package io.nats.client.api;
 
-import io.nats.client.support.JsonSerializable;
-import io.nats.client.support.JsonUtils;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 
 import static io.nats.client.support.ApiConstants.CONFIG;
 import static io.nats.client.support.ApiConstants.STREAM_NAME;
-import static io.nats.client.support.JsonUtils.*;
 
 /**
  * Object used to make a request to create a consumer. Used Internally
  */
-public class ConsumerCreateRequest implements JsonSerializable {
+public class ConsumerCreateRequest implements JsonWritable {
     private final String streamName;
     private final ConsumerConfiguration config;
 
@@ -41,13 +40,13 @@ public class ConsumerCreateRequest implements JsonSerializable {
     }
 
     @Override
-    public String toJson() {
-        StringBuilder sb = beginJson();
+    public void writeJson(JsonWriter writer) {
+        writer.beginObject();
 
-        addField(sb, STREAM_NAME, streamName);
-        JsonUtils.addField(sb, CONFIG, config);
+        writer.addField(STREAM_NAME, streamName);
+        writer.addField(CONFIG, config);
 
-        return endJson(sb).toString();
+        writer.endObject();
     }
 
     @Override
@@ -14,6 +14,8 @@
 package io.nats.client.api;
 
 import io.nats.client.Message;
+import io.nats.client.support.JsonParseException;
+import io.nats.client.support.JsonReader;
 import io.nats.client.support.JsonValue;
 
 import java.time.ZonedDateTime;
@@ -41,7 +43,64 @@ public class ConsumerInfo extends ApiResponse<ConsumerInfo> {
     private final ZonedDateTime timestamp;
 
     public ConsumerInfo(Message msg) {
-        this(parseMessage(msg));
+        super(msg == null ? null : msg.getData());
+        JsonValue vConfig = null;
+        String tStream = null;
+        String tName = null;
+        ZonedDateTime tCreated = null;
+        JsonValue vDelivered = null;
+        JsonValue vAckFloor = null;
+        long tNumAckPending = 0;
+        long tNumRedelivered = 0;
+        long tNumPending = 0;
+        long tNumWaiting = 0;
+        JsonValue vCluster = null;
+        boolean tPushBound = false;
+        ZonedDateTime tTimestamp = null;
+        try {
+            JsonReader reader = new JsonReader(msg == null ? null : msg.getData());
+            if (reader.peek() != JsonReader.Token.END) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String fieldName = reader.nextName();
+                    if (!readApiField(fieldName, reader)) {
+                        switch (fieldName) {
+                            case CONFIG: vConfig = reader.nextValue(); break;
+                            case STREAM_NAME: tStream = reader.nextString(); break;
+                            case NAME: tName = reader.nextString(); break;
+                            case CREATED: tCreated = reader.nextDate(); break;
+                            case DELIVERED: vDelivered = reader.nextValue(); break;
+                            case ACK_FLOOR: vAckFloor = reader.nextValue(); break;
+                            case NUM_ACK_PENDING: tNumAckPending = reader.nextLong(0); break;
+                            case NUM_REDELIVERED: tNumRedelivered = reader.nextLong(0); break;
+                            case NUM_PENDING: tNumPending = reader.nextLong(0); break;
+                            case NUM_WAITING: tNumWaiting = reader.nextLong(0); break;
+                            case CLUSTER: vCluster = reader.nextValue(); break;
+                            case PUSH_BOUND: tPushBound = reader.nextBoolean(false); break;
+                            case TIMESTAMP: tTimestamp = reader.nextDate(); break;
+                            default: reader.skipValue();
+                        }
+                    }
+                }
+                reader.endObject();
+            }
+        }
+        catch (JsonParseException e) {
+            parseError(e);
+        }
+        configuration = new ConsumerConfiguration(vConfig == null ? JsonValue.EMPTY_MAP : vConfig);
+        stream = tStream;
+        name = tName;
+        created = tCreated;
+        delivered = new SequenceInfo(vDelivered == null ? JsonValue.EMPTY_MAP : vDelivered);
+        ackFloor = new SequenceInfo(vAckFloor == null ? JsonValue.EMPTY_MAP : vAckFloor);
+        numAckPending = tNumAckPending;
+        numRedelivered = tNumRedelivered;
+        numPending = tNumPending;
+        numWaiting = tNumWaiting;
+        clusterInfo = ClusterInfo.optionalInstance(vCluster);
+        pushBound = tPushBound;
+        timestamp = tTimestamp;
     }
 
     public ConsumerInfo(JsonValue vConsumerInfo) {
@@ -13,24 +13,22 @@
 
 package io.nats.client.api;
 
-import io.nats.client.support.JsonSerializable;
-import io.nats.client.support.JsonUtils;
 import io.nats.client.support.JsonValue;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 
 import java.time.Duration;
 
 import static io.nats.client.api.ConsumerConfiguration.*;
 import static io.nats.client.support.ApiConstants.INACTIVE_THRESHOLD;
 import static io.nats.client.support.ApiConstants.MAX_ACK_PENDING;
-import static io.nats.client.support.JsonUtils.beginJson;
-import static io.nats.client.support.JsonUtils.endJson;
 import static io.nats.client.support.JsonValueUtils.readInteger;
 import static io.nats.client.support.JsonValueUtils.readNanos;
 
 /**
  * ConsumerLimits
  */
-public class ConsumerLimits implements JsonSerializable {
+public class ConsumerLimits implements JsonWritable {
     private final Duration inactiveThreshold;
     private final Integer maxAckPending;
 
@@ -64,11 +62,12 @@ public class ConsumerLimits implements JsonSerializable {
         return getOrUnset(maxAckPending);
     }
 
-    public String toJson() {
-        StringBuilder sb = beginJson();
-        JsonUtils.addFieldAsNanos(sb, INACTIVE_THRESHOLD, inactiveThreshold);
-        JsonUtils.addField(sb, MAX_ACK_PENDING, maxAckPending);
-        return endJson(sb).toString();
+    @Override
+    public void writeJson(JsonWriter writer) {
+        writer.beginObject();
+        writer.addFieldAsNanos(INACTIVE_THRESHOLD, inactiveThreshold);
+        writer.addField(MAX_ACK_PENDING, maxAckPending);
+        writer.endObject();
     }
 
     /**
@@ -13,18 +13,18 @@
 
 package io.nats.client.api;
 
-import io.nats.client.support.JsonSerializable;
 import io.nats.client.support.JsonValue;
 import io.nats.client.support.JsonValueUtils;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 
 import static io.nats.client.support.ApiConstants.API;
 import static io.nats.client.support.ApiConstants.DELIVER;
-import static io.nats.client.support.JsonUtils.*;
 
 /**
  * External configuration referencing a stream source in another account
  */
-public class External implements JsonSerializable {
+public class External implements JsonWritable {
     private final String api;
     private final String deliver;
 
@@ -48,15 +48,16 @@ public class External implements JsonSerializable {
     }
 
     /**
-     * Returns a JSON representation of this mirror
+     * Writes the JSON representation of this external
      *
-     * @return json mirror json string
+     * @param writer the writer
      */
-    public String toJson() {
-        StringBuilder sb = beginJson();
-        addField(sb, API, api);
-        addField(sb, DELIVER, deliver);
-        return endJson(sb).toString();
+    @Override
+    public void writeJson(JsonWriter writer) {
+        writer.beginObject();
+        writer.addField(API, api);
+        writer.addField(DELIVER, deliver);
+        writer.endObject();
     }
 
     /**
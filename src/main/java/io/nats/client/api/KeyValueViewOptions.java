@@ -0,0 +1,99 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.api;
+
+/**
+ * The options for a local view of a key value bucket, see {@link io.nats.client.KeyValue#view(KeyValueViewOptions)}
+ */
+public class KeyValueViewOptions {
+
+    /**
+     * The default maximum number of keys held by a view, unlimited.
+     */
+    public static final int DEFAULT_MAX_KEYS = -1;
+
+    private final String keyPrefix;
+    private final int maxKeys;
+
+    private KeyValueViewOptions(Builder b) {
+        this.keyPrefix = b.keyPrefix;
+        this.maxKeys = b.maxKeys;
+    }
+
+    /**
+     * The prefix of the keys held by the view, null for the whole bucket.
+     * @return the prefix
+     */
+    public String getKeyPrefix() {
+        return keyPrefix;
+    }
+
+    /**
+     * The maximum number of keys held by the view, less than 1 for unlimited.
+     * @return the maximum
+     */
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * Creates a builder for the Key Value View Options.
+     * @return a key value view options builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * KeyValueViewOptions is created using a Builder. The builder supports chaining and will
+     * create a default set of options if no methods are calls.
+     *
+     * <p>{@code KeyValueViewOptions.builder().build()} will create a view of the whole bucket with no key limit.
+     */
+    public static class Builder {
+        private String keyPrefix;
+        private int maxKeys = DEFAULT_MAX_KEYS;
+
+        /**
+         * Only hold keys starting with this prefix, for instance "config." Null or empty holds the whole bucket.
+         * Reads of keys outside the prefix are passed through to the bucket.
+         * @param keyPrefix the prefix
+         * @return The builder
+         */
+        public Builder keyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix == null || keyPrefix.isEmpty() ? null : keyPrefix;
+            return this;
+        }
+
+        /**
+         * The maximum number of keys held by the view. When it is reached the least recently used key
+         * is evicted, reads of evicted keys are passed through to the bucket.
+         * Less than 1 means unlimited.
+         * @param maxKeys the maximum
+         * @return The builder
+         */
+        public Builder maxKeys(int maxKeys) {
+            this.maxKeys = maxKeys < 1 ? DEFAULT_MAX_KEYS : maxKeys;
+            return this;
+        }
+
+        /**
+         * Build the Key Value View Options
+         * @return the options
+         */
+        public KeyValueViewOptions build() {
+            return new KeyValueViewOptions(this);
+        }
+    }
+}
@@ -13,8 +13,9 @@
 
 package io.nats.client.api;
 
-import io.nats.client.support.JsonSerializable;
 import io.nats.client.support.JsonValue;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 import io.nats.client.support.Validator;
 
 import java.util.Arrays;
@@ -22,14 +23,13 @@ import java.util.List;
 
 import static io.nats.client.support.ApiConstants.CLUSTER;
 import static io.nats.client.support.ApiConstants.TAGS;
-import static io.nats.client.support.JsonUtils.*;
 import static io.nats.client.support.JsonValueUtils.readOptionalStringList;
 import static io.nats.client.support.JsonValueUtils.readString;
 
 /**
  * Placement directives to consider when placing replicas of a stream
  */
-public class Placement implements JsonSerializable {
+public class Placement implements JsonWritable {
     private final String cluster;
     private final List<String> tags;
 
@@ -76,11 +76,12 @@ public class Placement implements JsonSerializable {
                 '}';
     }
 
-    public String toJson() {
-        StringBuilder sb = beginJson();
-        addField(sb, CLUSTER, cluster);
-        addStrings(sb, TAGS, tags);
-        return endJson(sb).toString();
+    @Override
+    public void writeJson(JsonWriter writer) {
+        writer.beginObject();
+        writer.addField(CLUSTER, cluster);
+        writer.addStrings(TAGS, tags);
+        writer.endObject();
     }
 
     /**
@@ -14,7 +14,8 @@ package io.nats.client.api;
 
 import io.nats.client.JetStreamApiException;
 import io.nats.client.Message;
-import io.nats.client.support.JsonValueUtils;
+import io.nats.client.support.JsonParseException;
+import io.nats.client.support.JsonReader;
 
 import java.io.IOException;
 
@@ -38,18 +39,44 @@ public class PublishAck extends ApiResponse<PublishAck> {
      * @throws JetStreamApiException the request had an error related to the request
      */
     public PublishAck(Message msg) throws IOException, JetStreamApiException {
-        super(msg);
+        super(msg == null ? null : msg.getData());
+        String tStream = null;
+        long tSeq = -1;
+        String tDomain = null;
+        boolean tDuplicate = false;
+        try {
+            JsonReader reader = new JsonReader(msg == null ? null : msg.getData());
+            if (reader.peek() != JsonReader.Token.END) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (!readApiField(name, reader)) {
+                        switch (name) {
+                            case STREAM: tStream = reader.nextString(); break;
+                            case SEQ: tSeq = reader.nextLong(-1); break;
+                            case DOMAIN: tDomain = reader.nextString(); break;
+                            case DUPLICATE: tDuplicate = reader.nextBoolean(false); break;
+                            default: reader.skipValue();
+                        }
+                    }
+                }
+                reader.endObject();
+            }
+        }
+        catch (JsonParseException e) {
+            parseError(e);
+        }
         throwOnHasError();
-        stream = JsonValueUtils.readString(jv, STREAM);
+        stream = tStream;
         if (stream == null) {
             throw new IOException("Invalid JetStream ack.");
         }
-        seq = JsonValueUtils.readLong(jv, SEQ, -1);
+        seq = tSeq;
         if (seq < 0) {
             throw new IOException("Invalid JetStream ack.");
         }
-        domain = JsonValueUtils.readString(jv, DOMAIN);
-        duplicate = JsonValueUtils.readBoolean(jv, DUPLICATE);
+        domain = tDomain;
+        duplicate = tDuplicate;
     }
 
     /**
@@ -13,19 +13,19 @@
 
 package io.nats.client.api;
 
-import io.nats.client.support.JsonSerializable;
 import io.nats.client.support.JsonValue;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 import io.nats.client.support.Validator;
 
 import static io.nats.client.support.ApiConstants.*;
-import static io.nats.client.support.JsonUtils.*;
 import static io.nats.client.support.JsonValueUtils.readBoolean;
 import static io.nats.client.support.JsonValueUtils.readString;
 
 /**
  * Republish Configuration
  */
-public class Republish implements JsonSerializable {
+public class Republish implements JsonWritable {
     private final String source;
     private final String destination;
     private final boolean headersOnly;
@@ -78,12 +78,13 @@ public class Republish implements JsonSerializable {
         return headersOnly;
     }
 
-    public String toJson() {
-        StringBuilder sb = beginJson();
-        addField(sb, SRC, source);
-        addField(sb, DEST, destination);
-        addFldWhenTrue(sb, HEADERS_ONLY, headersOnly);
-        return endJson(sb).toString();
+    @Override
+    public void writeJson(JsonWriter writer) {
+        writer.beginObject();
+        writer.addField(SRC, source);
+        writer.addField(DEST, destination);
+        writer.addFldWhenTrue(HEADERS_ONLY, headersOnly);
+        writer.endObject();
     }
 
     /**
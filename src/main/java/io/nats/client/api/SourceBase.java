@@ -13,10 +13,11 @@
 
 package io.nats.client.api;
 
-import io.nats.client.support.JsonSerializable;
 import io.nats.client.support.JsonUtils;
 import io.nats.client.support.JsonValue;
 import io.nats.client.support.JsonValueUtils;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -26,12 +27,10 @@ import java.util.Objects;
 
 import static io.nats.client.JetStreamOptions.convertDomainToPrefix;
 import static io.nats.client.support.ApiConstants.*;
-import static io.nats.client.support.JsonUtils.beginJson;
-import static io.nats.client.support.JsonUtils.endJson;
 import static io.nats.client.support.JsonValueUtils.readValue;
 import static io.nats.client.support.Validator.consumerFilterSubjectsAreEquivalent;
 
-public abstract class SourceBase implements JsonSerializable {
+public abstract class SourceBase implements JsonWritable {
     private final String name;
     private final long startSeq;
     private final ZonedDateTime startTime;
@@ -59,18 +58,19 @@ public abstract class SourceBase implements JsonSerializable {
     }
 
     /**
-     * Returns a JSON representation of this mirror
-     * @return json mirror json string
+     * Writes the JSON representation of this mirror or source
+     * @param writer the writer
      */
-    public String toJson() {
-        StringBuilder sb = beginJson();
-        JsonUtils.addField(sb, NAME, name);
-        JsonUtils.addFieldWhenGreaterThan(sb, OPT_START_SEQ, startSeq, 0);
-        JsonUtils.addField(sb, OPT_START_TIME, startTime);
-        JsonUtils.addField(sb, FILTER_SUBJECT, filterSubject);
-        JsonUtils.addField(sb, EXTERNAL, external);
-        JsonUtils.addJsons(sb, SUBJECT_TRANSFORMS, subjectTransforms);
-        return endJson(sb).toString();
+    @Override
+    public void writeJson(JsonWriter writer) {
+        writer.beginObject();
+        writer.addField(NAME, name);
+        writer.addFieldWhenGreaterThan(OPT_START_SEQ, startSeq, 0);
+        writer.addField(OPT_START_TIME, startTime);
+        writer.addField(FILTER_SUBJECT, filterSubject);
+        writer.addField(EXTERNAL, external);
+        writer.addJsons(SUBJECT_TRANSFORMS, subjectTransforms);
+        writer.endObject();
     }
 
     /**
@@ -13,15 +13,14 @@
 
 package io.nats.client.api;
 
-import io.nats.client.support.JsonSerializable;
-import io.nats.client.support.JsonUtils;
 import io.nats.client.support.JsonValue;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 
 import java.time.Duration;
 import java.util.*;
 
 import static io.nats.client.support.ApiConstants.*;
-import static io.nats.client.support.JsonUtils.*;
 import static io.nats.client.support.JsonValueUtils.readBoolean;
 import static io.nats.client.support.JsonValueUtils.readInteger;
 import static io.nats.client.support.JsonValueUtils.readLong;
@@ -34,7 +33,7 @@ import static io.nats.client.support.Validator.*;
  * The StreamConfiguration class specifies the configuration for creating a JetStream stream on the server.
  * Options are created using a {@link StreamConfiguration.Builder Builder}.
  */
-public class StreamConfiguration implements JsonSerializable {
+public class StreamConfiguration implements JsonWritable {
 
     // see builder for defaults
     private final String name;
@@ -144,48 +143,49 @@ public class StreamConfiguration implements JsonSerializable {
     }
 
     /**
-     * Returns a JSON representation of this consumer configuration.
-     * 
-     * @return json consumer configuration to send to the server.
+     * Writes the JSON representation of this stream configuration, to send to the server.
+     *
+     * @param writer the writer
      */
-    public String toJson() {
-
-        StringBuilder sb = beginJson();
-
-        addField(sb, NAME, name);
-        JsonUtils.addField(sb, DESCRIPTION, description);
-        addStrings(sb, SUBJECTS, subjects);
-        addField(sb, RETENTION, retentionPolicy.toString());
-        addEnumWhenNot(sb, COMPRESSION, compressionOption, CompressionOption.None);
-        addField(sb, MAX_CONSUMERS, maxConsumers);
-        addField(sb, MAX_MSGS, maxMsgs);
-        addField(sb, MAX_MSGS_PER_SUB, maxMsgsPerSubject);
-        addField(sb, MAX_BYTES, maxBytes);
-        addFieldAsNanos(sb, MAX_AGE, maxAge);
-        addField(sb, MAX_MSG_SIZE, maxMsgSize);
-        addField(sb, STORAGE, storageType.toString());
-        addField(sb, NUM_REPLICAS, replicas);
-        addFldWhenTrue(sb, NO_ACK, noAck);
-        addField(sb, TEMPLATE_OWNER, templateOwner);
-        addField(sb, DISCARD, discardPolicy.toString());
-        addFieldAsNanos(sb, DUPLICATE_WINDOW, duplicateWindow);
-        addField(sb, PLACEMENT, placement);
-        addField(sb, REPUBLISH, republish);
-        addField(sb, SUBJECT_TRANSFORM, subjectTransform);
-        addField(sb, CONSUMER_LIMITS, consumerLimits);
-        addField(sb, MIRROR, mirror);
-        addJsons(sb, SOURCES, sources);
-        addFldWhenTrue(sb, SEALED, sealed);
-        addFldWhenTrue(sb, ALLOW_ROLLUP_HDRS, allowRollup);
-        addFldWhenTrue(sb, ALLOW_DIRECT, allowDirect);
-        addFldWhenTrue(sb, MIRROR_DIRECT, mirrorDirect);
-        addFldWhenTrue(sb, DENY_DELETE, denyDelete);
-        addFldWhenTrue(sb, DENY_PURGE, denyPurge);
-        addFldWhenTrue(sb, DISCARD_NEW_PER_SUBJECT, discardNewPerSubject);
-        addField(sb, METADATA, metadata);
-        addFieldWhenGreaterThan(sb, FIRST_SEQ, firstSequence, 1);
-
-        return endJson(sb).toString();
+    @Override
+    public void writeJson(JsonWriter writer) {
+
+        writer.beginObject();
+
+        writer.addField(NAME, name);
+        writer.addField(DESCRIPTION, description);
+        writer.addStrings(SUBJECTS, subjects);
+        writer.addField(RETENTION, retentionPolicy.toString());
+        writer.addEnumWhenNot(COMPRESSION, compressionOption, CompressionOption.None);
+        writer.addField(MAX_CONSUMERS, maxConsumers);
+        writer.addField(MAX_MSGS, maxMsgs);
+        writer.addField(MAX_MSGS_PER_SUB, maxMsgsPerSubject);
+        writer.addField(MAX_BYTES, maxBytes);
+        writer.addFieldAsNanos(MAX_AGE, maxAge);
+        writer.addField(MAX_MSG_SIZE, maxMsgSize);
+        writer.addField(STORAGE, storageType.toString());
+        writer.addField(NUM_REPLICAS, replicas);
+        writer.addFldWhenTrue(NO_ACK, noAck);
+        writer.addField(TEMPLATE_OWNER, templateOwner);
+        writer.addField(DISCARD, discardPolicy.toString());
+        writer.addFieldAsNanos(DUPLICATE_WINDOW, duplicateWindow);
+        writer.addField(PLACEMENT, placement);
+        writer.addField(REPUBLISH, republish);
+        writer.addField(SUBJECT_TRANSFORM, subjectTransform);
+        writer.addField(CONSUMER_LIMITS, consumerLimits);
+        writer.addField(MIRROR, mirror);
+        writer.addJsons(SOURCES, sources);
+        writer.addFldWhenTrue(SEALED, sealed);
+        writer.addFldWhenTrue(ALLOW_ROLLUP_HDRS, allowRollup);
+        writer.addFldWhenTrue(ALLOW_DIRECT, allowDirect);
+        writer.addFldWhenTrue(MIRROR_DIRECT, mirrorDirect);
+        writer.addFldWhenTrue(DENY_DELETE, denyDelete);
+        writer.addFldWhenTrue(DENY_PURGE, denyPurge);
+        writer.addFldWhenTrue(DISCARD_NEW_PER_SUBJECT, discardNewPerSubject);
+        writer.addField(METADATA, metadata);
+        writer.addFieldWhenGreaterThan(FIRST_SEQ, firstSequence, 1);
+
+        writer.endObject();
     }
 
     /**
@@ -14,13 +14,14 @@
 package io.nats.client.api;
 
 import io.nats.client.Message;
+import io.nats.client.support.JsonParseException;
+import io.nats.client.support.JsonReader;
 import io.nats.client.support.JsonValue;
 
 import java.time.ZonedDateTime;
 import java.util.List;
 
 import static io.nats.client.support.ApiConstants.*;
-import static io.nats.client.support.JsonParser.parseUnchecked;
 import static io.nats.client.support.JsonValueUtils.readDate;
 import static io.nats.client.support.JsonValueUtils.readValue;
 
@@ -38,7 +39,44 @@ public class StreamInfo extends ApiResponse<StreamInfo> {
     private final ZonedDateTime timestamp;
 
     public StreamInfo(Message msg) {
-        this(parseUnchecked(msg.getData()));
+        super(msg.getData());
+        ZonedDateTime tCreateTime = null;
+        JsonValue vConfig = null;
+        StreamState tStreamState = null;
+        JsonValue vCluster = null;
+        JsonValue vMirror = null;
+        JsonValue vSources = null;
+        ZonedDateTime tTimestamp = null;
+        try {
+            JsonReader reader = new JsonReader(msg.getData());
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (!readApiField(name, reader)) {
+                    switch (name) {
+                        case CREATED: tCreateTime = reader.nextDate(); break;
+                        case CONFIG: vConfig = reader.nextValue(); break;
+                        case STATE: tStreamState = new StreamState(reader); break;
+                        case CLUSTER: vCluster = reader.nextValue(); break;
+                        case MIRROR: vMirror = reader.nextValue(); break;
+                        case SOURCES: vSources = reader.nextValue(); break;
+                        case TIMESTAMP: tTimestamp = reader.nextDate(); break;
+                        default: reader.skipValue();
+                    }
+                }
+            }
+            reader.endObject();
+        }
+        catch (JsonParseException e) {
+            throw new RuntimeException(e);
+        }
+        createTime = tCreateTime;
+        config = StreamConfiguration.instance(vConfig);
+        streamState = tStreamState == null ? new StreamState((JsonValue) null) : tStreamState;
+        clusterInfo = ClusterInfo.optionalInstance(vCluster);
+        mirrorInfo = MirrorInfo.optionalInstance(vMirror);
+        sourceInfos = SourceInfo.optionalListOf(vSources);
+        timestamp = tTimestamp;
     }
 
     public StreamInfo(JsonValue vStreamInfo) {
@@ -102,6 +140,6 @@ public class StreamInfo extends ApiResponse<StreamInfo> {
 
     @Override
     public String toString() {
-        return "StreamInfo " + jv;
+        return "StreamInfo " + getJv();
     }
 }
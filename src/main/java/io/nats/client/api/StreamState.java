@@ -13,9 +13,12 @@
 
 package io.nats.client.api;
 
+import io.nats.client.support.JsonParseException;
+import io.nats.client.support.JsonReader;
 import io.nats.client.support.JsonValue;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static io.nats.client.support.ApiConstants.*;
@@ -50,6 +53,57 @@ public class StreamState {
         lostStreamData = LostStreamData.optionalInstance(readValue(vStreamState, LOST));
     }
 
+    StreamState(JsonReader reader) throws JsonParseException {
+        long tMsgs = 0;
+        long tBytes = 0;
+        long tFirstSeq = 0;
+        long tLastSeq = 0;
+        long tConsumerCount = 0;
+        long tSubjectCount = 0;
+        long tDeletedCount = 0;
+        ZonedDateTime tFirstTime = null;
+        ZonedDateTime tLastTime = null;
+        List<Subject> tSubjects = null;
+        List<Long> tDeleted = null;
+        LostStreamData tLost = null;
+        if (reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case MESSAGES: tMsgs = reader.nextLong(0); break;
+                    case BYTES: tBytes = reader.nextLong(0); break;
+                    case FIRST_SEQ: tFirstSeq = reader.nextLong(0); break;
+                    case LAST_SEQ: tLastSeq = reader.nextLong(0); break;
+                    case CONSUMER_COUNT: tConsumerCount = reader.nextLong(0); break;
+                    case FIRST_TS: tFirstTime = reader.nextDate(); break;
+                    case LAST_TS: tLastTime = reader.nextDate(); break;
+                    case NUM_SUBJECTS: tSubjectCount = reader.nextLong(0); break;
+                    case NUM_DELETED: tDeletedCount = reader.nextLong(0); break;
+                    case SUBJECTS: tSubjects = Subject.readList(reader); break;
+                    case DELETED: tDeleted = reader.nextLongList(); break;
+                    case LOST: tLost = LostStreamData.optionalInstance(reader.nextValue()); break;
+                    default: reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        else {
+            reader.skipValue();
+        }
+        msgs = tMsgs;
+        bytes = tBytes;
+        firstSeq = tFirstSeq;
+        lastSeq = tLastSeq;
+        consumerCount = tConsumerCount;
+        firstTime = tFirstTime;
+        lastTime = tLastTime;
+        subjectCount = tSubjectCount;
+        deletedCount = tDeletedCount;
+        subjects = tSubjects == null ? new ArrayList<>() : tSubjects;
+        deletedStreamSequences = tDeleted == null ? new ArrayList<>() : tDeleted;
+        lostStreamData = tLost;
+    }
+
     /**
      * Gets the message count of the stream.
      *
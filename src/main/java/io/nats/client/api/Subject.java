@@ -13,6 +13,8 @@
 
 package io.nats.client.api;
 
+import io.nats.client.support.JsonParseException;
+import io.nats.client.support.JsonReader;
 import io.nats.client.support.JsonValue;
 
 import java.util.ArrayList;
@@ -37,6 +39,24 @@ public class Subject implements Comparable<Subject> {
         return list;
     }
 
+    static List<Subject> readList(JsonReader reader) throws JsonParseException {
+        List<Subject> list = new ArrayList<>();
+        if (reader.peek() != JsonReader.Token.BEGIN_OBJECT) {
+            reader.skipValue();
+            return list;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String subject = reader.nextName();
+            long count = reader.nextLong(-1);
+            if (count >= 0) {
+                list.add(new Subject(subject, count));
+            }
+        }
+        reader.endObject();
+        return list;
+    }
+
     private Subject(String name, long count) {
         this.name = name;
         this.count = count;
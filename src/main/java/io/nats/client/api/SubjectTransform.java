@@ -13,22 +13,22 @@
 
 package io.nats.client.api;
 
-import io.nats.client.support.JsonSerializable;
 import io.nats.client.support.JsonValue;
 import io.nats.client.support.JsonValueUtils;
+import io.nats.client.support.JsonWritable;
+import io.nats.client.support.JsonWriter;
 
 import java.util.List;
 import java.util.Objects;
 
 import static io.nats.client.support.ApiConstants.DEST;
 import static io.nats.client.support.ApiConstants.SRC;
-import static io.nats.client.support.JsonUtils.*;
 import static io.nats.client.support.JsonValueUtils.readString;
 
 /**
  * SubjectTransform
  */
-public class SubjectTransform implements JsonSerializable {
+public class SubjectTransform implements JsonWritable {
     private final String source;
     private final String destination;
 
@@ -71,11 +71,12 @@ public class SubjectTransform implements JsonSerializable {
         return destination;
     }
 
-    public String toJson() {
-        StringBuilder sb = beginJson();
-        addField(sb, SRC, source);
-        addField(sb, DEST, destination);
-        return endJson(sb).toString();
+    @Override
+    public void writeJson(JsonWriter writer) {
+        writer.beginObject();
+        writer.addField(SRC, source);
+        writer.addField(DEST, destination);
+        writer.endObject();
     }
 
     /**
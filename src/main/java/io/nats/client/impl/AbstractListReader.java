@@ -19,8 +19,6 @@ import io.nats.client.support.JsonValue;
 
 import java.util.List;
 
-import static io.nats.client.support.JsonValueUtils.readArray;
-
 abstract class AbstractListReader {
 
     private final String objectName;
@@ -28,8 +26,8 @@ abstract class AbstractListReader {
     protected ListRequestEngine engine;
 
     void process(Message msg) throws JetStreamApiException {
-        engine = new ListRequestEngine(msg);
-        processItems(readArray(engine.getJv(), objectName));
+        engine = new ListRequestEngine(msg, objectName);
+        processItems(engine.items);
     }
 
     abstract void processItems(List<JsonValue> items);
@@ -0,0 +1,411 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.Options;
+import io.nats.client.support.NatsUri;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A data port on a blocking {@link SocketChannel}. Writes are gathering, so the connection writer
+ * can hand over large payloads without copying them into its send buffer. Secure connections go through
+ * an {@link SSLEngine} that encrypts straight out of those buffers into a direct buffer, and decrypts
+ * straight into the reader's buffer.
+ * <p>Select it with {@link Options.Builder#dataPortType(String)}. Proxies and websockets are not supported,
+ * use the {@link SocketDataPort} for those.</p>
+ * <p>This class is not thread-safe beyond the one reading thread and the one writing thread the
+ * connection uses.</p>
+ */
+public class ChannelDataPort implements DataPort {
+
+    private static final int SOCKET_BUFFER_SIZE = 2 * 1024 * 1024;
+    private static final int NET_OUT_PACKETS = 4; // tls records wrapped before a channel write
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private NatsConnection connection;
+    private String host;
+    private int port;
+    private SocketChannel channel;
+
+    // tls, all null until upgradeToSecure
+    private SSLEngine engine;
+    private ByteBuffer netIn;   // encrypted bytes read from the channel, in write mode
+    private ByteBuffer netOut;  // encrypted bytes to write to the channel
+    private ByteBuffer appIn;   // decrypted bytes that did not fit in the reader's buffer, in write mode
+    private final ReentrantLock wrapLock = new ReentrantLock(); // the reader may have to wrap handshake messages
+
+    @Override
+    public void connect(String serverURI, NatsConnection conn, long timeoutNanos) throws IOException {
+        try {
+            connect(conn, new NatsUri(serverURI), timeoutNanos);
+        }
+        catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void connect(NatsConnection conn, NatsUri nuri, long timeoutNanos) throws IOException {
+        connection = conn;
+        Options options = connection.getOptions();
+        long timeout = timeoutNanos / 1_000_000; // convert to millis
+        host = nuri.getHost();
+        port = nuri.getPort();
+
+        if (options.getProxy() != null && options.getProxy().type() != Proxy.Type.DIRECT) {
+            throw new IOException("ChannelDataPort does not support proxies.");
+        }
+        if (nuri.isWebsocket()) {
+            throw new IOException("ChannelDataPort does not support websockets.");
+        }
+
+        try {
+            channel = SocketChannel.open();
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, SOCKET_BUFFER_SIZE);
+            channel.setOption(StandardSocketOptions.SO_SNDBUF, SOCKET_BUFFER_SIZE);
+            channel.socket().connect(new InetSocketAddress(host, port), (int) timeout);
+        }
+        catch (Exception e) {
+            try { channel.close(); } catch (Exception ignore) {}
+            channel = null;
+            if (e instanceof IOException) {
+                throw e;
+            }
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Upgrade the port to SSL. If it is already secured, this is a no-op.
+     * The handshake must finish within the connection timeout.
+     */
+    @Override
+    public void upgradeToSecure() throws IOException {
+        if (engine != null) {
+            return;
+        }
+
+        Options options = connection.getOptions();
+        SSLContext context = options.getSslContext();
+        SSLEngine sslEngine = context.createSSLEngine(host, port);
+        sslEngine.setUseClientMode(true);
+
+        int packetSize = sslEngine.getSession().getPacketBufferSize();
+        netIn = ByteBuffer.allocateDirect(packetSize);
+        netOut = ByteBuffer.allocateDirect(packetSize * NET_OUT_PACKETS);
+        appIn = ByteBuffer.allocate(sslEngine.getSession().getApplicationBufferSize());
+
+        long deadline = System.nanoTime() + options.getConnectionTimeout().toNanos();
+        channel.configureBlocking(false);
+        try {
+            try (Selector selector = Selector.open()) {
+                SelectionKey key = channel.register(selector, 0);
+                sslEngine.beginHandshake();
+                handshake(sslEngine, key, deadline);
+            }
+        }
+        finally {
+            channel.configureBlocking(true);
+        }
+        engine = sslEngine;
+    }
+
+    private void handshake(SSLEngine sslEngine, SelectionKey key, long deadline) throws IOException {
+        SSLEngineResult.HandshakeStatus hs = sslEngine.getHandshakeStatus();
+        while (hs != SSLEngineResult.HandshakeStatus.FINISHED && hs != SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING) {
+            SSLEngineResult result;
+            switch (hs) {
+                case NEED_WRAP:
+                    netOut.clear();
+                    result = sslEngine.wrap(EMPTY, netOut);
+                    if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                        netOut = grow(netOut, sslEngine.getSession().getPacketBufferSize(), true);
+                        break;
+                    }
+                    if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                        throw new SSLException("Connection closed during the TLS handshake.");
+                    }
+                    netOut.flip();
+                    while (netOut.hasRemaining()) {
+                        if (channel.write(netOut) == 0) {
+                            await(key, SelectionKey.OP_WRITE, deadline);
+                        }
+                    }
+                    hs = result.getHandshakeStatus();
+                    break;
+
+                case NEED_UNWRAP:
+                    netIn.flip();
+                    result = sslEngine.unwrap(netIn, appIn);
+                    netIn.compact();
+                    switch (result.getStatus()) {
+                        case BUFFER_UNDERFLOW:
+                            if (!netIn.hasRemaining()) {
+                                netIn = grow(netIn, sslEngine.getSession().getPacketBufferSize(), true);
+                            }
+                            int read = channel.read(netIn);
+                            if (read < 0) {
+                                throw new EOFException("Connection closed during the TLS handshake.");
+                            }
+                            if (read == 0) {
+                                await(key, SelectionKey.OP_READ, deadline);
+                            }
+                            break;
+                        case BUFFER_OVERFLOW:
+                            appIn = grow(appIn, sslEngine.getSession().getApplicationBufferSize(), false);
+                            break;
+                        case CLOSED:
+                            throw new SSLException("Connection closed during the TLS handshake.");
+                    }
+                    hs = result.getHandshakeStatus();
+                    break;
+
+                case NEED_TASK:
+                    runDelegatedTasks(sslEngine);
+                    hs = sslEngine.getHandshakeStatus();
+                    break;
+
+                default:
+                    throw new SSLException("Unexpected TLS handshake status " + hs);
+            }
+        }
+    }
+
+    private static void await(SelectionKey key, int ops, long deadline) throws IOException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new SocketTimeoutException("Timed out waiting for the TLS handshake.");
+        }
+        key.interestOps(ops);
+        key.selector().select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+        key.selector().selectedKeys().clear();
+    }
+
+    private static void runDelegatedTasks(SSLEngine sslEngine) {
+        Runnable task;
+        while ((task = sslEngine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int atLeast, boolean direct) {
+        int size = Math.max(buffer.capacity() * 2, buffer.position() + atLeast);
+        ByteBuffer bigger = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        buffer.flip();
+        bigger.put(buffer);
+        return bigger;
+    }
+
+    @Override
+    public int read(byte[] dst, int off, int len) throws IOException {
+        if (engine == null) {
+            return channel.read(ByteBuffer.wrap(dst, off, len));
+        }
+
+        // whatever did not fit last time goes first
+        if (appIn.position() > 0) {
+            appIn.flip();
+            int n = Math.min(len, appIn.remaining());
+            appIn.get(dst, off, n);
+            appIn.compact();
+            return n;
+        }
+
+        // decrypt into the caller's buffer, only the overflow lands in appIn
+        ByteBuffer[] dsts = new ByteBuffer[]{ByteBuffer.wrap(dst, off, len), appIn};
+        boolean needData = netIn.position() == 0;
+        while (true) {
+            if (needData && channel.read(netIn) < 0) {
+                try { engine.closeInbound(); } catch (SSLException ignore) {}
+                return -1;
+            }
+
+            netIn.flip();
+            SSLEngineResult result = engine.unwrap(netIn, dsts);
+            netIn.compact();
+            handlePostHandshake(result.getHandshakeStatus());
+
+            int got = dsts[0].position() - off;
+            switch (result.getStatus()) {
+                case OK:
+                    if (got > 0) {
+                        return got;
+                    }
+                    needData = netIn.position() == 0;
+                    break;
+                case BUFFER_UNDERFLOW:
+                    if (got > 0) {
+                        return got;
+                    }
+                    if (!netIn.hasRemaining()) {
+                        netIn = grow(netIn, engine.getSession().getPacketBufferSize(), true);
+                    }
+                    needData = true;
+                    break;
+                case BUFFER_OVERFLOW:
+                    appIn = grow(appIn, engine.getSession().getApplicationBufferSize(), false);
+                    dsts[1] = appIn;
+                    needData = false;
+                    break;
+                case CLOSED:
+                    return got > 0 ? got : -1;
+            }
+        }
+    }
+
+    // the server may send handshake messages after the handshake, tls 1.3 key updates for instance
+    private void handlePostHandshake(SSLEngineResult.HandshakeStatus hs) throws IOException {
+        while (true) {
+            if (hs == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                runDelegatedTasks(engine);
+                hs = engine.getHandshakeStatus();
+            }
+            else if (hs == SSLEngineResult.HandshakeStatus.NEED_WRAP) {
+                wrapLock.lock();
+                try {
+                    netOut.clear();
+                    hs = engine.wrap(EMPTY, netOut).getHandshakeStatus();
+                    netOut.flip();
+                    writeFully(netOut);
+                }
+                finally {
+                    wrapLock.unlock();
+                }
+            }
+            else {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void write(byte[] src, int toWrite) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(src, 0, toWrite);
+        if (engine == null) {
+            writeFully(buffer);
+        }
+        else {
+            secureWrite(new ByteBuffer[]{buffer}, 1);
+        }
+    }
+
+    @Override
+    public boolean supportsGatheringWrites() {
+        return true;
+    }
+
+    @Override
+    public void write(ByteBuffer[] srcs, int count) throws IOException {
+        if (engine == null) {
+            long remaining = remaining(srcs, count);
+            while (remaining > 0) {
+                remaining -= channel.write(srcs, 0, count);
+            }
+        }
+        else {
+            secureWrite(srcs, count);
+        }
+    }
+
+    private void secureWrite(ByteBuffer[] srcs, int count) throws IOException {
+        wrapLock.lock();
+        try {
+            int packetSize = engine.getSession().getPacketBufferSize();
+            long remaining = remaining(srcs, count);
+            while (remaining > 0) {
+                // wrap as many records as fit, then write them together
+                netOut.clear();
+                while (remaining > 0 && netOut.remaining() >= packetSize) {
+                    SSLEngineResult result = engine.wrap(srcs, 0, count, netOut);
+                    if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                        throw new SSLException("The TLS connection is closed.");
+                    }
+                    if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                        if (netOut.position() > 0) {
+                            break; // write what we have first
+                        }
+                        netOut = grow(netOut, packetSize, true);
+                        continue;
+                    }
+                    if (result.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                        runDelegatedTasks(engine);
+                    }
+                    remaining -= result.bytesConsumed();
+                    if (result.bytesConsumed() == 0 && result.bytesProduced() == 0) {
+                        // waiting on the reader to unwrap a handshake message, which may need the lock
+                        wrapLock.unlock();
+                        Thread.yield();
+                        wrapLock.lock();
+                    }
+                }
+                netOut.flip();
+                writeFully(netOut);
+            }
+        }
+        finally {
+            wrapLock.unlock();
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static long remaining(ByteBuffer[] buffers, int count) {
+        long remaining = 0;
+        for (int i = 0; i < count; i++) {
+            remaining += buffers[i].remaining();
+        }
+        return remaining;
+    }
+
+    @Override
+    public void shutdownInput() throws IOException {
+        channel.shutdownInput();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // no close_notify, writing it could block on a peer that stopped reading
+        if (engine != null) {
+            engine.closeOutbound();
+        }
+        channel.close();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // writes go straight to the channel, there is nothing buffered
+    }
+}
@@ -0,0 +1,226 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.Options;
+import io.nats.client.support.NatsUri;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Races connection attempts to several candidates, see {@link Options.Builder#connectionRace(int)}.
+ * Attempts start a stagger apart, or as soon as the one before fails. An attempt connects the data port and,
+ * unless tls first is on, reads the server INFO, the first to get there wins and every other port is closed.
+ * The TLS upgrade is left to the winner, since a data port reports a failed handshake to the connection.
+ */
+class ConnectionRace {
+
+    static class Candidate {
+        final NatsUri server;
+        final NatsUri resolved;
+        DataPort dataPort;
+        String info;
+        long startNanos;
+        Exception error;
+        boolean failed;
+        boolean timedOut;
+
+        Candidate(NatsUri server, NatsUri resolved) {
+            this.server = server;
+            this.resolved = resolved;
+        }
+
+        @Override
+        public String toString() {
+            return resolved.toString();
+        }
+    }
+
+    private final NatsConnection conn;
+    private final Options options;
+    private final List<Candidate> candidates;
+    private final LinkedBlockingQueue<Candidate> finished;
+    private final List<Candidate> inFlight;
+    private final Object lock;
+    private boolean decided;
+
+    ConnectionRace(NatsConnection conn, List<Candidate> candidates) {
+        this.conn = conn;
+        this.options = conn.getOptions();
+        this.candidates = candidates;
+        finished = new LinkedBlockingQueue<>();
+        inFlight = new ArrayList<>();
+        lock = new Object();
+    }
+
+    /**
+     * Run the race
+     * @return the winner, with its data port connected, or null if every attempt failed or timed out
+     * @throws InterruptedException if interrupted while waiting, the attempts are closed
+     */
+    Candidate run() throws InterruptedException {
+        long stagger = options.getConnectionRaceStagger().toNanos();
+        long timeout = options.getConnectionTimeout().toNanos();
+        int started = 0;
+        long nextStart = 0;
+        Candidate won = null;
+        try {
+            while (won == null && (started < candidates.size() || !inFlight.isEmpty())) {
+                long now = System.nanoTime();
+                if (started < candidates.size() && (inFlight.isEmpty() || now - nextStart >= 0)) {
+                    start(candidates.get(started++), now, timeout);
+                    nextStart = now + stagger;
+                    continue;
+                }
+
+                // wait for the next start or the first attempt to run out of time
+                long until = inFlight.get(0).startNanos + timeout;
+                if (started < candidates.size() && nextStart - until < 0) {
+                    until = nextStart;
+                }
+                Candidate c = finished.poll(Math.max(0, until - now), TimeUnit.NANOSECONDS);
+                if (c == null) {
+                    if (expire(System.nanoTime(), timeout)) {
+                        nextStart = System.nanoTime(); // start the next one now
+                    }
+                }
+                else {
+                    inFlight.remove(c);
+                    if (c.failed) {
+                        conn.processException(c.error);
+                        nextStart = System.nanoTime(); // start the next one now
+                    }
+                    else {
+                        won = c;
+                    }
+                }
+            }
+        }
+        finally {
+            decide(won);
+        }
+        return won;
+    }
+
+    private void start(Candidate c, long now, long timeout) {
+        c.startNanos = now;
+        try {
+            c.dataPort = options.buildDataPort();
+            inFlight.add(c);
+            conn.getExecutor().execute(() -> attempt(c, timeout));
+        }
+        catch (RejectedExecutionException e) {
+            inFlight.remove(c);
+            c.error = e;
+            c.failed = true;
+            finished.add(c);
+        }
+    }
+
+    private void attempt(Candidate c, long timeout) {
+        Exception error = null;
+        try {
+            c.dataPort.connect(c.resolved.toString(), conn, timeout);
+            if (!options.isTlsFirst()) {
+                c.info = conn.readInfo(c.dataPort);
+            }
+        }
+        catch (Exception e) {
+            error = e;
+        }
+        synchronized (lock) {
+            if (decided || c.timedOut) {
+                close(c); // lost, or already counted
+            }
+            else {
+                if (error != null) {
+                    c.error = error;
+                    c.failed = true;
+                    close(c);
+                }
+                finished.add(c);
+            }
+        }
+    }
+
+    // fail and close attempts that have run out of time
+    private boolean expire(long now, long timeout) {
+        List<Candidate> expired = new ArrayList<>();
+        synchronized (lock) {
+            for (Candidate c : inFlight) {
+                if (now - (c.startNanos + timeout) >= 0) {
+                    c.timedOut = true;
+                    c.failed = true;
+                    expired.add(c);
+                }
+            }
+        }
+        for (Candidate c : expired) {
+            inFlight.remove(c);
+            finished.remove(c); // in case it finished just now
+            close(c);
+            conn.processException(new TimeoutException("connection timed out"));
+        }
+        return !expired.isEmpty();
+    }
+
+    private void decide(Candidate won) {
+        synchronized (lock) {
+            decided = true;
+        }
+        for (Candidate c : inFlight) {
+            close(c);
+        }
+        Candidate c;
+        while ((c = finished.poll()) != null) {
+            if (c != won) {
+                close(c);
+            }
+        }
+    }
+
+    private static void close(Candidate c) {
+        try {
+            c.dataPort.close();
+        }
+        catch (Exception ignore) {
+            // a port that was never connected may not close
+        }
+    }
+
+    /**
+     * The candidates to count as failed after an attempt, the ones that failed in the race and the winner
+     * if it failed afterwards. If no candidate got as far as failing, the first counts, as if it was tried alone.
+     * @param candidates the candidates
+     * @param won the winner or null
+     * @return the failed candidates
+     */
+    static List<Candidate> failed(List<Candidate> candidates, Candidate won) {
+        List<Candidate> failed = new ArrayList<>();
+        for (Candidate c : candidates) {
+            if (c.failed || c == won) {
+                failed.add(c);
+            }
+        }
+        if (failed.isEmpty()) {
+            failed.add(candidates.get(0));
+        }
+        return failed;
+    }
+}
@@ -16,6 +16,7 @@ package io.nats.client.impl;
 import io.nats.client.support.NatsUri;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * A data port represents the connection to the network. This could have been called
@@ -45,6 +46,31 @@ public interface DataPort {
      */
     void write(byte[] src, int toWrite) throws IOException;
 
+    /**
+     * Whether the port writes the buffers given to {@link #write(ByteBuffer[], int)} without
+     * copying them first or changing them, which lets the writer hand it large payloads in place.
+     * @return true if gathering writes are supported
+     */
+    default boolean supportsGatheringWrites() {
+        return false;
+    }
+
+    /**
+     * Write the remaining bytes of the first count buffers, in order. The default copies each
+     * buffer and writes it with {@link #write(byte[], int)}.
+     * @param srcs the buffers
+     * @param count the number of buffers to write
+     * @throws IOException if the write fails
+     */
+    default void write(ByteBuffer[] srcs, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            ByteBuffer src = srcs[i];
+            byte[] bytes = new byte[src.remaining()];
+            src.get(bytes);
+            write(bytes, bytes.length);
+        }
+    }
+
     void shutdownInput() throws IOException;
 
     void close() throws IOException;
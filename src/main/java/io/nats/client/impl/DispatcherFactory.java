@@ -13,6 +13,7 @@
 
 package io.nats.client.impl;
 
+import io.nats.client.DispatchOrdering;
 import io.nats.client.MessageHandler;
 
 /**
@@ -25,4 +26,12 @@ public class DispatcherFactory {
     NatsDispatcher createDispatcher(NatsConnection conn, MessageHandler handler) {
         return new NatsDispatcher(conn, handler);
     }
+
+    NatsDispatcher createWorkerDispatcher(NatsConnection conn, MessageHandler handler, int workers, DispatchOrdering ordering) {
+        return new NatsWorkerDispatcher(conn, handler, workers, ordering);
+    }
+
+    NatsDispatcher createPerMessageDispatcher(NatsConnection conn, MessageHandler handler) {
+        return new NatsWorkerDispatcher(conn, handler);
+    }
 }
@@ -22,13 +22,16 @@ import static io.nats.client.support.NatsJetStreamConstants.JS_ACK_SUBJECT_PREFI
 // Incoming Message Factory - internal use only
 // ----------------------------------------------------------------------------------------------------
 class IncomingMessageFactory {
-    private final String sid;
-    private final String subject;
-    private final String replyTo;
-    private final int protocolLineLength;
-    private final boolean utf8mode;
+    private String sid;
+    private String subject;
+    private String replyTo;
+    private int protocolLineLength;
+    private boolean utf8mode;
 
     private byte[] data;
+    private MessageBufferPool.PooledBuffer pooledBuffer;
+    private int pooledOffset;
+    private int pooledLength;
     private Headers headers;
     private Status status;
     private int headerLen;
@@ -36,11 +39,23 @@ class IncomingMessageFactory {
     // Create an incoming message for a subscriber
     // Doesn't check control line size, since the server sent us the message
     IncomingMessageFactory(String sid, String subject, String replyTo, int protocolLength, boolean utf8mode) {
+        reset(sid, subject, replyTo, protocolLength, utf8mode);
+    }
+
+    // The reader keeps one factory and resets it for every message instead of allocating
+    IncomingMessageFactory() {}
+
+    void reset(String sid, String subject, String replyTo, int protocolLength, boolean utf8mode) {
         this.sid = sid;
         this.subject = subject;
         this.replyTo = replyTo;
         this.protocolLineLength = protocolLength;
         this.utf8mode = utf8mode;
+        this.data = null;
+        this.pooledBuffer = null;
+        this.headers = null;
+        this.status = null;
+        this.headerLen = 0;
     }
 
     void setHeaders(IncomingHeadersProcessor ihp) {
@@ -53,6 +68,13 @@ class IncomingMessageFactory {
         this.data = data;
     }
 
+    // The message takes over the caller's reference to the pooled buffer
+    void setPooledData(MessageBufferPool.PooledBuffer pooledBuffer, int offset, int length) {
+        this.pooledBuffer = pooledBuffer;
+        this.pooledOffset = offset;
+        this.pooledLength = length;
+    }
+
     NatsMessage getMessage() {
         NatsMessage message;
         if (status != null) {
@@ -64,6 +86,14 @@ class IncomingMessageFactory {
         else {
             message = new IncomingMessage(data);
         }
+        if (pooledBuffer != null) {
+            if (status == null) {
+                message.setPooledData(pooledBuffer, pooledOffset, pooledLength);
+            }
+            else {
+                pooledBuffer.release(); // status messages don't carry data
+            }
+        }
         message.sid = sid;
         message.subject = subject;
         message.replyTo = replyTo;
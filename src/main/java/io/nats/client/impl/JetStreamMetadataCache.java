@@ -0,0 +1,206 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.api.ConsumerConfiguration;
+import io.nats.client.api.ConsumerInfo;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// ----------------------------------------------------------------------------------------------------
+// Per connection cache of JetStream metadata - internal use only
+// Holds stream info (the subjects and allow direct), which stream a subject belongs to and the info of
+// durable consumers, so subscribing and direct gets don't cost an api round trip every time. Entries are
+// keyed by the api prefix, which covers the domain, expire after the ttl, and the least recently used
+// entry is dropped when the cache is full. Deleting or updating a stream or deleting a consumer
+// through the connection invalidates what is cached about it.
+// ----------------------------------------------------------------------------------------------------
+class JetStreamMetadataCache {
+    private static final char STREAM = 'S';
+    private static final char SUBJECT = 'L';
+    private static final char CONSUMER = 'C';
+
+    private final long ttlNanos;
+    private final ReentrantLock lock;
+    private final LinkedHashMap<String, Cached> entries;
+    private final Supplier<Long> clock;
+
+    private static class Cached {
+        final String stream; // the stream this entry is about, for invalidation
+        final Object value;
+        final long expiresAt;
+
+        Cached(String stream, Object value, long expiresAt) {
+            this.stream = stream;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    JetStreamMetadataCache(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    JetStreamMetadataCache(Duration ttl, int maxEntries, Supplier<Long> clock) {
+        this.ttlNanos = ttl == null || maxEntries < 1 ? 0 : ttl.toNanos();
+        this.lock = new ReentrantLock();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Cached>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    boolean isEnabled() {
+        return ttlNanos > 0;
+    }
+
+    NatsJetStreamImpl.CachedStreamInfo getStream(String prefix, String stream) {
+        return (NatsJetStreamImpl.CachedStreamInfo) get(key(STREAM, prefix, stream, null));
+    }
+
+    void putStream(String prefix, String stream, NatsJetStreamImpl.CachedStreamInfo csi) {
+        lock.lock();
+        try {
+            // if the subjects changed, which stream a subject belongs to may have too
+            Cached e = entries.get(key(STREAM, prefix, stream, null));
+            if (e != null && !((NatsJetStreamImpl.CachedStreamInfo) e.value).subjects.equals(csi.subjects)) {
+                removeStreamEntries(prefix, stream, false);
+            }
+            put(key(STREAM, prefix, stream, null), stream, csi);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    String getStreamBySubject(String prefix, String subject) {
+        return (String) get(key(SUBJECT, prefix, subject, null));
+    }
+
+    void putStreamBySubject(String prefix, String subject, String stream) {
+        put(key(SUBJECT, prefix, subject, null), stream, stream);
+    }
+
+    ConsumerInfo getConsumer(String prefix, String stream, String consumer) {
+        return (ConsumerInfo) get(key(CONSUMER, prefix, stream, consumer));
+    }
+
+    // Only durable consumers that are never deleted by the server on their own are held, anything else
+    // could be gone before the entry expires
+    void putConsumer(String prefix, ConsumerInfo ci) {
+        ConsumerConfiguration cc = ci.getConsumerConfiguration();
+        if (cc.getDurable() != null && (cc.getInactiveThreshold() == null || cc.getInactiveThreshold().isZero())) {
+            put(key(CONSUMER, prefix, ci.getStreamName(), ci.getName()), ci.getStreamName(), ci);
+        }
+    }
+
+    void removeConsumer(String prefix, String stream, String consumer) {
+        lock.lock();
+        try {
+            entries.remove(key(CONSUMER, prefix, stream, consumer));
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    void removeStream(String prefix, String stream) {
+        lock.lock();
+        try {
+            removeStreamEntries(prefix, stream, true);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    // must be called under the lock
+    private void removeStreamEntries(String prefix, String stream, boolean andConsumers) {
+        String streamKey = key(STREAM, prefix, stream, null);
+        String subjectPrefix = key(SUBJECT, prefix, "", null);
+        String consumerPrefix = key(CONSUMER, prefix, stream, "");
+        Iterator<Map.Entry<String, Cached>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Cached> e = iterator.next();
+            String key = e.getKey();
+            if (key.equals(streamKey)
+                || (key.startsWith(subjectPrefix) && e.getValue().stream.equals(stream))
+                || (andConsumers && key.startsWith(consumerPrefix)))
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    private Object get(String key) {
+        if (ttlNanos == 0) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Cached e = entries.get(key);
+            if (e == null) {
+                return null;
+            }
+            if (clock.get() - e.expiresAt >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return e.value;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(String key, String stream, Object value) {
+        if (ttlNanos == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(key, new Cached(stream, value, clock.get() + ttlNanos));
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private static String key(char kind, String prefix, String name, String consumer) {
+        StringBuilder sb = new StringBuilder(prefix.length() + name.length() + 4 + (consumer == null ? 0 : consumer.length()))
+            .append(kind).append(' ').append(prefix).append(' ').append(name);
+        if (consumer != null) {
+            sb.append(' ').append(consumer);
+        }
+        return sb.toString();
+    }
+}
@@ -16,11 +16,15 @@ package io.nats.client.impl;
 import io.nats.client.JetStreamApiException;
 import io.nats.client.Message;
 import io.nats.client.api.ApiResponse;
+import io.nats.client.support.JsonParseException;
+import io.nats.client.support.JsonReader;
+import io.nats.client.support.JsonValue;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import static io.nats.client.support.ApiConstants.*;
-import static io.nats.client.support.JsonValueUtils.readInteger;
 
 class ListRequestEngine extends ApiResponse<ListRequestEngine> {
 
@@ -29,19 +33,67 @@ class ListRequestEngine extends ApiResponse<ListRequestEngine> {
     protected int total = Integer.MAX_VALUE; // so always has the first "at least one more"
     protected int limit = 0;
     protected int lastOffset = 0;
+    protected List<JsonValue> items;
 
     ListRequestEngine() {
         super();
     }
 
     ListRequestEngine(Message msg) throws JetStreamApiException {
-        super(msg);
+        this(msg, null);
+    }
+
+    // the items array is only kept when its name is given, everything else is skipped without making a tree
+    ListRequestEngine(Message msg, String itemsName) throws JetStreamApiException {
+        super(msg == null ? null : msg.getData());
+        int tTotal = -1;
+        int tLimit = 0;
+        int tOffset = 0;
+        List<JsonValue> tItems = new ArrayList<>();
+        try {
+            JsonReader reader = new JsonReader(msg == null ? null : msg.getData());
+            if (reader.peek() != JsonReader.Token.END) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (!readApiField(name, reader)) {
+                        if (TOTAL.equals(name)) {
+                            tTotal = reader.nextInt(-1);
+                        }
+                        else if (LIMIT.equals(name)) {
+                            tLimit = reader.nextInt(0);
+                        }
+                        else if (OFFSET.equals(name)) {
+                            tOffset = reader.nextInt(0);
+                        }
+                        else if (name.equals(itemsName) && reader.peek() == JsonReader.Token.BEGIN_ARRAY) {
+                            reader.beginArray();
+                            while (reader.hasNext()) {
+                                JsonValue v = reader.nextValue();
+                                if (v != null) {
+                                    tItems.add(v);
+                                }
+                            }
+                            reader.endArray();
+                        }
+                        else {
+                            reader.skipValue();
+                        }
+                    }
+                }
+                reader.endObject();
+            }
+        }
+        catch (JsonParseException e) {
+            parseError(e);
+        }
         if (hasError()) {
             throw new JetStreamApiException(this);
         }
-        total = readInteger(jv, TOTAL, -1);
-        limit = readInteger(jv, LIMIT, 0);
-        lastOffset = readInteger(jv, OFFSET, 0);
+        total = tTotal;
+        limit = tLimit;
+        lastOffset = tOffset;
+        items = tItems;
     }
 
     boolean hasMore() {
@@ -0,0 +1,96 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ----------------------------------------------------------------------------------------------------
+// Pool of reference counted buffers that incoming message payloads are packed into - internal use only
+// The reader holds a reference to the buffer it is filling, every message in the buffer holds one more.
+// When the last reference is released the buffer goes back to the pool, or to the garbage collector
+// if the pool is already full. Buffers are never handed out while referenced.
+// ----------------------------------------------------------------------------------------------------
+class MessageBufferPool {
+    static final int MAX_POOLED_BUFFERS = 64;
+
+    private final int bufferSize;
+    private final ArrayBlockingQueue<PooledBuffer> available;
+
+    MessageBufferPool(int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.available = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    int available() {
+        return available.size();
+    }
+
+    // The caller owns the one reference the buffer starts with
+    PooledBuffer acquire() {
+        PooledBuffer pb = available.poll();
+        if (pb == null) {
+            pb = new PooledBuffer(this, new byte[bufferSize]);
+        }
+        pb.refs.set(1);
+        pb.position = 0;
+        return pb;
+    }
+
+    private void recycle(PooledBuffer pb) {
+        available.offer(pb); // if the pool is full let it be collected
+    }
+
+    static class PooledBuffer {
+        final byte[] bytes;
+        private final MessageBufferPool pool;
+        private final AtomicInteger refs;
+        int position; // only used by the reader filling the buffer
+
+        private PooledBuffer(MessageBufferPool pool, byte[] bytes) {
+            this.pool = pool;
+            this.bytes = bytes;
+            this.refs = new AtomicInteger();
+        }
+
+        int remaining() {
+            return bytes.length - position;
+        }
+
+        // reserves length bytes for a message payload, returning the offset
+        int reserve(int length) {
+            int offset = position;
+            position += length;
+            return offset;
+        }
+
+        void retain() {
+            refs.incrementAndGet();
+        }
+
+        void release() {
+            if (refs.decrementAndGet() == 0) {
+                pool.recycle(this);
+            }
+        }
+
+        int refCount() {
+            return refs.get();
+        }
+    }
+}
@@ -18,8 +18,8 @@ import io.nats.client.PullRequestOptions;
 import io.nats.client.SubscribeOptions;
 
 import java.time.Duration;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 abstract class MessageManager {
     public enum ManageResult {MESSAGE, STATUS_HANDLED, STATUS_TERMINUS, STATUS_ERROR}
@@ -41,8 +41,7 @@ abstract class MessageManager {
     protected boolean hb;
     protected long idleHeartbeatSetting;
     protected long alarmPeriodSetting;
-    protected TimerTask heartbeatTimerTask;
-    protected Timer heartbeatTimer;
+    protected ScheduledFuture<?> heartbeatTask;
 
     protected MessageManager(NatsConnection conn, SubscribeOptions so, boolean syncMode) {
         stateChangeLock = new Object();
@@ -125,25 +124,21 @@ abstract class MessageManager {
     protected void initOrResetHeartbeatTimer() {
         synchronized (stateChangeLock) {
             shutdownHeartbeatTimer();
-            heartbeatTimer = new Timer();
-            heartbeatTimerTask = new TimerTask() {
-                @Override
-                public void run() {
-                    long sinceLast = System.currentTimeMillis() - lastMsgReceived;
-                    if (sinceLast > alarmPeriodSetting) {
-                        handleHeartbeatError();
-                    }
+            // the check runs on the connection's shared scheduler instead of a timer thread per manager
+            heartbeatTask = conn.scheduleWithFixedDelay(() -> {
+                long sinceLast = System.currentTimeMillis() - lastMsgReceived;
+                if (sinceLast > alarmPeriodSetting) {
+                    handleHeartbeatError();
                 }
-            };
-            heartbeatTimer.schedule(heartbeatTimerTask, alarmPeriodSetting, alarmPeriodSetting);
+            }, alarmPeriodSetting, alarmPeriodSetting, TimeUnit.MILLISECONDS);
         }
     }
 
     protected void shutdownHeartbeatTimer() {
         synchronized (stateChangeLock) {
-            if (heartbeatTimer != null) {
-                heartbeatTimer.cancel();
-                heartbeatTimer = null;
+            if (heartbeatTask != null) {
+                heartbeatTask.cancel(false);
+                heartbeatTask = null;
             }
         }
     }
@@ -0,0 +1,333 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+// ----------------------------------------------------------------------------------------------------
+// Lock free multi producer, single consumer message queue used for the writer's outgoing queues.
+// Producers push onto a stack linked through NatsMessage.next with a single compare and set, so
+// there is no lock and no node allocation per message. The consumer takes the whole stack at once
+// and reverses it onto a private list that only it touches, which keeps the order messages were
+// pushed in. The consumer lock is only there so filter can run while the writer is still winding
+// down, it is never contended by producers. Producers only take a lock when the queue is full and
+// they have to wait for the consumer to make space.
+// ----------------------------------------------------------------------------------------------------
+class MpscMessageQueue extends MessageQueue {
+    static final int SPIN_TRIES = 100;
+    static final int YIELD_TRIES = 10;
+    static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final long FULL_WAIT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final int maxLength;
+    private final AtomicReference<NatsMessage> stack;
+    private final ReentrantLock consumerLock;
+    private final ReentrantLock fullLock;
+    private final Condition notFull;
+    private final AtomicInteger waitingProducers;
+    private volatile Thread parkedConsumer;
+
+    // only touched by the consumer, under the consumer lock
+    private NatsMessage first;
+    private NatsMessage last;
+
+    MpscMessageQueue(int publishHighwaterMark, boolean discardWhenFull) {
+        super(true, 0, discardWhenFull);
+        this.maxLength = publishHighwaterMark;
+        this.stack = new AtomicReference<>();
+        this.consumerLock = new ReentrantLock();
+        this.fullLock = new ReentrantLock();
+        this.notFull = fullLock.newCondition();
+        this.waitingProducers = new AtomicInteger();
+    }
+
+    MpscMessageQueue() {
+        this(0, false);
+    }
+
+    @Override
+    boolean push(NatsMessage msg, boolean internal) {
+        if (maxLength > 0 && !reserve()) {
+            if (!internal && discardWhenFull) {
+                return false;
+            }
+            if (!waitToReserve()) {
+                throw new IllegalStateException("Output queue is full " + length.get());
+            }
+        } else if (maxLength <= 0) {
+            length.incrementAndGet();
+        }
+        sizeInBytes.getAndAdd(msg.getSizeInBytes());
+
+        NatsMessage top;
+        do {
+            top = stack.get();
+            msg.next = top; // published by the compare and set
+        } while (!stack.compareAndSet(top, msg));
+
+        Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    private boolean reserve() {
+        long current = length.get();
+        while (current < maxLength) {
+            if (length.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = length.get();
+        }
+        return false;
+    }
+
+    // Same limit as the blocking queue offer. Waiting is registered before trying again,
+    // so either the retry sees the space or the consumer sees the waiter and signals.
+    private boolean waitToReserve() {
+        long nanos = FULL_WAIT_NANOS;
+        fullLock.lock();
+        waitingProducers.incrementAndGet();
+        try {
+            while (!reserve()) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        } finally {
+            waitingProducers.decrementAndGet();
+            fullLock.unlock();
+        }
+    }
+
+    private void signalNotFull() {
+        if (waitingProducers.get() > 0) {
+            fullLock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                fullLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    void poisonTheQueue() {
+        // nothing to poison, just make sure a parked consumer sees the state change
+        Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    boolean offer(NatsMessage msg) {
+        return push(msg, true);
+    }
+
+    @Override
+    NatsMessage pop(Duration timeout) throws InterruptedException {
+        NatsMessage msg = super.pop(timeout);
+        if (msg != null) {
+            signalNotFull();
+        }
+        return msg;
+    }
+
+    @Override
+    NatsMessage poll(Duration timeout) throws InterruptedException {
+        NatsMessage msg = takeFirst();
+        if (msg != null || timeout == null || isDraining()) {
+            return msg;
+        }
+
+        long nanos = timeout.toNanos();
+        long deadline = System.nanoTime() + nanos;
+        int tries = 0;
+        while (this.running.get() == RUNNING) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            long remaining = nanos == 0 ? MAX_PARK_NANOS : deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+
+            if (tries < SPIN_TRIES) {
+                tries++;
+            } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+                tries++;
+                Thread.yield();
+            } else {
+                parkedConsumer = Thread.currentThread();
+                if (stack.get() == null && this.running.get() == RUNNING) {
+                    LockSupport.parkNanos(this, Math.min(remaining, MAX_PARK_NANOS));
+                }
+                parkedConsumer = null;
+            }
+
+            msg = takeFirst();
+            if (msg != null) {
+                return msg;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    NatsMessage accumulate(long maxSize, long maxMessages, Duration timeout) throws InterruptedException {
+        if (!this.isRunning()) {
+            return null;
+        }
+
+        NatsMessage msg = this.poll(timeout);
+
+        if (msg == null) {
+            return null;
+        }
+
+        long size = msg.getSizeInBytes();
+        long count = 1;
+
+        if (maxMessages > 1 && size < maxSize) {
+            consumerLock.lock();
+            try {
+                NatsMessage cursor = msg;
+                while (true) {
+                    NatsMessage next = peekFirst();
+                    if (next == null) { // Didn't meet max condition
+                        break;
+                    }
+                    long s = next.getSizeInBytes();
+                    if (maxSize >= 0 && (size + s) >= maxSize) { // One more is too far
+                        break;
+                    }
+                    size += s;
+                    count++;
+                    cursor.next = removeFirst();
+                    cursor = cursor.next;
+                    if (count == maxMessages) {
+                        break;
+                    }
+                }
+            } finally {
+                consumerLock.unlock();
+            }
+        }
+
+        this.sizeInBytes.addAndGet(-size);
+        this.length.addAndGet(-count);
+        signalNotFull();
+
+        return msg;
+    }
+
+    @Override
+    void filter(Predicate<NatsMessage> p) {
+        consumerLock.lock();
+        try {
+            if (this.isRunning()) {
+                throw new IllegalStateException("Filter is only supported when the queue is paused");
+            }
+            takeStack();
+            NatsMessage prev = null;
+            NatsMessage cursor = first;
+            while (cursor != null) {
+                NatsMessage next = cursor.next;
+                if (p.test(cursor)) {
+                    if (prev == null) {
+                        first = next;
+                    } else {
+                        prev.next = next;
+                    }
+                    if (cursor == last) {
+                        last = prev;
+                    }
+                    cursor.next = null;
+                    this.sizeInBytes.addAndGet(-cursor.getSizeInBytes());
+                    this.length.decrementAndGet();
+                } else {
+                    prev = cursor;
+                }
+                cursor = next;
+            }
+        } finally {
+            consumerLock.unlock();
+        }
+        signalNotFull();
+    }
+
+    private NatsMessage takeFirst() {
+        consumerLock.lock();
+        try {
+            return peekFirst() == null ? null : removeFirst();
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+    // consumer lock must be held
+    private NatsMessage peekFirst() {
+        if (first == null) {
+            takeStack();
+        }
+        return first;
+    }
+
+    // consumer lock must be held and peekFirst must have returned a message
+    private NatsMessage removeFirst() {
+        NatsMessage msg = first;
+        first = msg.next;
+        if (first == null) {
+            last = null;
+        }
+        msg.next = null;
+        return msg;
+    }
+
+    // consumer lock must be held, moves everything pushed so far to the end of the private list
+    private void takeStack() {
+        NatsMessage top = stack.getAndSet(null);
+        if (top == null) {
+            return;
+        }
+        NatsMessage reversed = null;
+        NatsMessage newest = top;
+        while (top != null) {
+            NatsMessage next = top.next;
+            top.next = reversed;
+            reversed = top;
+            top = next;
+        }
+        if (last == null) {
+            first = reversed;
+        } else {
+            last.next = reversed;
+        }
+        last = newest;
+    }
+}
@@ -20,6 +20,7 @@ import io.nats.client.support.ByteArrayBuilder;
 import io.nats.client.support.NatsRequestCompletableFuture;
 import io.nats.client.support.NatsUri;
 import io.nats.client.support.Validator;
+import io.nats.client.support.VirtualThreads;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -75,18 +76,21 @@ class NatsConnection implements Connection {
     private final Map<String, NatsDispatcher> dispatchers; // use a concurrent map so we get more consistent iteration
                                                      // behavior
     private final Collection<ConnectionListener> connectionListeners;
-    private final Map<String, NatsRequestCompletableFuture> responsesAwaiting;
-    private final Map<String, NatsRequestCompletableFuture> responsesRespondedTo;
+    private final RequestTimeoutWheel responsesAwaiting;
+    private final RequestTimeoutWheel responsesRespondedTo;
     private final ConcurrentLinkedDeque<CompletableFuture<Boolean>> pongQueue;
 
     private final String mainInbox;
     private final AtomicReference<NatsDispatcher> inboxDispatcher;
     private Timer timer;
+    private final ScheduledThreadPoolExecutor scheduler;
 
     private final AtomicBoolean needPing;
 
     private final AtomicLong nextSid;
-    private final NUID nuid;
+    private final byte[] respInboxPrefix;
+    private final SubjectBytesCache subjectBytesCache;
+    final JetStreamMetadataCache jsMetadataCache;
 
     private final AtomicReference<String> connectError;
     private final AtomicReference<String> lastError;
@@ -126,15 +130,14 @@ class NatsConnection implements Connection {
 
         this.dispatchers = new ConcurrentHashMap<>();
         this.subscribers = new ConcurrentHashMap<>();
-        this.responsesAwaiting = new ConcurrentHashMap<>();
-        this.responsesRespondedTo = new ConcurrentHashMap<>();
+        this.responsesAwaiting = new RequestTimeoutWheel();
+        this.responsesRespondedTo = new RequestTimeoutWheel();
 
         this.serverAuthErrors = new HashMap<>();
 
         this.nextSid = new AtomicLong(1);
-        timeTrace(trace, "creating NUID");
-        this.nuid = new NUID();
         this.mainInbox = createInbox() + ".*";
+        this.respInboxPrefix = mainInbox.substring(0, getRespInboxLength()).getBytes(UTF_8);
 
         this.lastError = new AtomicReference<>();
         this.connectError = new AtomicReference<>();
@@ -144,11 +147,27 @@ class NatsConnection implements Connection {
         this.pongQueue = new ConcurrentLinkedDeque<>();
         this.draining = new AtomicReference<>();
         this.blockPublishForDrain = new AtomicBoolean();
+        this.subjectBytesCache = new SubjectBytesCache();
+        this.jsMetadataCache = new JetStreamMetadataCache(options.getJetStreamCacheTtl(), options.getJetStreamCacheMaxEntries());
 
         timeTrace(trace, "creating executors");
-        this.callbackRunner = Executors.newSingleThreadExecutor();
+        if (options.isVirtualThreads()) {
+            String threadPrefix = options.getConnectionName() == null || options.getConnectionName().isEmpty()
+                ? Options.DEFAULT_THREAD_NAME_PREFIX : options.getConnectionName();
+            this.callbackRunner = VirtualThreads.newSingleThreadExecutor(threadPrefix + ":callback");
+            this.connectExecutor = VirtualThreads.newSingleThreadExecutor(threadPrefix + ":connect");
+        }
+        else {
+            this.callbackRunner = Executors.newSingleThreadExecutor();
+            this.connectExecutor = Executors.newSingleThreadExecutor();
+        }
         this.executor = options.getExecutor();
-        this.connectExecutor = Executors.newSingleThreadExecutor();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "Nats Connection Scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true); // heartbeat tasks are cancelled and rescheduled often
 
         timeTrace(trace, "creating reader and writer");
         this.reader = new NatsConnectionReader(this);
@@ -204,11 +223,11 @@ class NatsConnection implements Connection {
                 updateStatus(Status.CONNECTING);
 
                 timeTrace(trace, "trying to connect to %s", cur);
-                NatsUri resolved = resolvedList.remove(0);
-                tryToConnect(cur, resolved, System.nanoTime());
+                List<ConnectionRace.Candidate> candidates = raceCandidates(cur, resolvedList, first);
+                ConnectionRace.Candidate won = tryToConnect(candidates, System.nanoTime());
 
                 if (isConnected()) {
-                    serverPool.connectSucceeded(cur);
+                    serverPool.connectSucceeded(won.server);
                     keepGoing = false;
                     break;
                 }
@@ -216,13 +235,15 @@ class NatsConnection implements Connection {
                 timeTrace(trace, "setting status to disconnected");
                 updateStatus(Status.DISCONNECTED);
 
-                failList.add(cur);
-                serverPool.connectFailed(cur);
+                for (ConnectionRace.Candidate failed : ConnectionRace.failed(candidates, won)) {
+                    failList.add(failed.server);
+                    serverPool.connectFailed(failed.server);
+                }
 
                 String err = connectError.get();
 
                 if (this.isAuthenticationError(err)) {
-                    this.serverAuthErrors.put(resolved, err);
+                    this.serverAuthErrors.put(won == null ? candidates.get(0).resolved : won.resolved, err);
                 }
             }
         }
@@ -295,16 +316,19 @@ class NatsConnection implements Connection {
                         else {
                             updateStatus(Status.RECONNECTING);
 
-                            NatsUri resolved = resolvedList.remove(0);
-                            tryToConnect(cur, resolved, System.nanoTime());
+                            List<ConnectionRace.Candidate> candidates = raceCandidates(cur, resolvedList, first);
+                            ConnectionRace.Candidate won = tryToConnect(candidates, System.nanoTime());
 
                             if (isConnected()) {
-                                serverPool.connectSucceeded(cur);
+                                serverPool.connectSucceeded(won.server);
                                 statistics.incrementReconnects();
                                 keepGoing = false;
                             }
                             else {
-                                serverPool.connectFailed(cur);
+                                for (ConnectionRace.Candidate failed : ConnectionRace.failed(candidates, won)) {
+                                    serverPool.connectFailed(failed.server);
+                                }
+                                NatsUri resolved = won == null ? candidates.get(0).resolved : won.resolved;
                                 String err = connectError.get();
                                 if (this.isAuthenticationError(err)) {
                                     if (err.equals(this.serverAuthErrors.get(resolved))) {
@@ -352,6 +376,31 @@ class NatsConnection implements Connection {
         processConnectionEvent(Events.RESUBSCRIBED);
     }
 
+    // the next resolved address of the server, then with racing on more addresses of it and of the servers
+    // after it in the pool, up to the one the loop started with, so a round still tries each server once
+    // websocket servers are not raced, a failed wss handshake is reported to the connection
+    private List<ConnectionRace.Candidate> raceCandidates(NatsUri cur, List<NatsUri> resolvedList, NatsUri first) {
+        List<ConnectionRace.Candidate> candidates = new ArrayList<>();
+        candidates.add(new ConnectionRace.Candidate(cur, resolvedList.remove(0)));
+        int max = cur.isWebsocket() ? 1 : options.getConnectionRace();
+        while (candidates.size() < max && !resolvedList.isEmpty()) {
+            candidates.add(new ConnectionRace.Candidate(cur, resolvedList.remove(0)));
+        }
+        while (candidates.size() < max) {
+            NatsUri next = serverPool.peekNextServer();
+            if (next == null || next.equals(first) || next.equals(cur) || next.isWebsocket()) {
+                break;
+            }
+            serverPool.nextServer();
+            for (NatsUri resolved : resolveHost(next)) {
+                if (candidates.size() < max) {
+                    candidates.add(new ConnectionRace.Candidate(next, resolved));
+                }
+            }
+        }
+        return candidates;
+    }
+
     void timeTrace(boolean trace, String format, Object... args) {
         if (trace) {
             _trace(String.format(format, args));
@@ -389,7 +438,14 @@ class NatsConnection implements Connection {
     // will wait for any previous attempt to complete, using the reader.stop and
     // writer.stop
     void tryToConnect(NatsUri cur, NatsUri resolved, long now) {
+        tryToConnect(Collections.singletonList(new ConnectionRace.Candidate(cur, resolved)), now);
+    }
+
+    // with more than one candidate the data port connections are raced, returns the candidate
+    // that was used, or null if none got a data port
+    ConnectionRace.Candidate tryToConnect(List<ConnectionRace.Candidate> candidates, long now) {
         currentServer = null;
+        ConnectionRace.Candidate won = null;
 
         try {
             Duration connectTimeout = options.getConnectionTimeout();
@@ -400,7 +456,7 @@ class NatsConnection implements Connection {
             statusLock.lock();
             try {
                 if (this.connecting) {
-                    return;
+                    return null;
                 }
                 this.connecting = true;
                 statusChanged.signalAll();
@@ -422,19 +478,40 @@ class NatsConnection implements Connection {
             cleanUpPongQueue();
 
             timeoutNanos = timeCheck(trace, end, "connecting data port");
-            DataPort newDataPort = this.options.buildDataPort();
-            newDataPort.connect(resolved.toString(), this, timeoutNanos);
+            if (candidates.size() == 1) {
+                DataPort newDataPort = this.options.buildDataPort();
+                newDataPort.connect(candidates.get(0).resolved.toString(), this, timeoutNanos);
+                won = candidates.get(0);
+                won.dataPort = newDataPort;
+            }
+            else {
+                timeTrace(trace, "racing connections to %s", candidates);
+                won = new ConnectionRace(this, candidates).run();
+                if (won == null) {
+                    throw new IOException("Unable to connect to any of " + candidates);
+                }
+                timeTrace(trace, "connection race won by %s", won);
+                end = won.startNanos + connectTimeout.toNanos();
+            }
+            NatsUri cur = won.server;
+            NatsUri resolved = won.resolved;
+            String info = won.info;
 
             // Notify any threads waiting on the sockets
-            this.dataPort = newDataPort;
+            this.dataPort = won.dataPort;
             this.dataPortFuture.complete(this.dataPort);
 
-            // Wait for the INFO message manually
+            // Wait for the INFO message manually, unless the race read it already
             // all other traffic will use the reader and writer
             // TLS First, don't read info until after upgrade
             Callable<Object> connectTask = () -> {
                 if (!options.isTlsFirst()) {
-                    readInitialInfo();
+                    if (info == null) {
+                        readInitialInfo();
+                    }
+                    else {
+                        handleInfo(info);
+                    }
                     checkVersionRequirements();
                 }
                 long start = System.nanoTime();
@@ -539,6 +616,7 @@ class NatsConnection implements Connection {
                 statusLock.unlock();
             }
         }
+        return won;
     }
 
     void checkVersionRequirements() throws IOException {
@@ -697,6 +775,8 @@ class NatsConnection implements Connection {
             timer = null;
         }
 
+        scheduler.shutdownNow();
+
         cleanResponses(true);
 
         cleanUpPongQueue();
@@ -844,7 +924,7 @@ class NatsConnection implements Connection {
             throw new IllegalStateException("Connection is Draining"); // Ok to publish while waiting on subs
         }
 
-        NatsMessage nm = new NatsMessage(subject, replyTo, new Headers(headers), data);
+        NatsMessage nm = new PublishMessage(subject, subjectBytesCache.get(subject), replyTo, headers, data);
 
         Connection.Status stat = this.status;
         if ((stat == Status.RECONNECTING || stat == Status.DISCONNECTED)
@@ -991,16 +1071,18 @@ class NatsConnection implements Connection {
      */
     @Override
     public String createInbox() {
-        return options.getInboxPrefix() + nuid.next();
+        return options.getInboxPrefix() + NUID.nextGlobal();
     }
 
     int getRespInboxLength() {
         return options.getInboxPrefix().length() + 22 + 1; // 22 for nuid, 1 for .
     }
 
-    String createResponseInbox(String inbox) {
-        // Substring gets rid of the * [trailing]
-        return inbox.substring(0, getRespInboxLength()) + nuid.next();
+    String createResponseInbox() {
+        // The main inbox without the * [trailing], the nuid is written straight into the bytes
+        byte[] b = Arrays.copyOf(respInboxPrefix, respInboxPrefix.length + NUID.NUID_LENGTH);
+        NUID.nextGlobal(b, respInboxPrefix.length);
+        return new String(b, UTF_8);
     }
 
     // If the inbox is long enough, pull out the end part, otherwise, just use the
@@ -1014,45 +1096,23 @@ class NatsConnection implements Connection {
     }
 
     void cleanResponses(boolean closing) {
-        ArrayList<String> toRemove = new ArrayList<>();
+        // only the requests whose deadline came due since the last pass are visited,
+        // futures completed or cancelled by the application are dropped at their deadline
+        long now = System.currentTimeMillis();
+        responsesAwaiting.expire(now, future -> {
+            future.cancelTimedOut();
+            statistics.decrementOutstandingRequests();
+        });
 
-        responsesAwaiting.forEach((key, future) -> {
-            boolean remove = false;
-            if (future.hasExceededTimeout()) {
-                remove = true;
-                future.cancelTimedOut();
-            }
-            else if (closing) {
-                remove = true;
+        if (closing) {
+            responsesAwaiting.removeAll(future -> {
                 future.cancelClosing();
-            }
-            else if (future.isDone()) {
-                // done should have already been removed, not sure if
-                // this even needs checking, but it won't hurt
-                remove = true;
-            }
-
-            if (remove) {
-                toRemove.add(key);
                 statistics.decrementOutstandingRequests();
-            }
-        });
-
-        for (String token : toRemove) {
-            responsesAwaiting.remove(token);
+            });
         }
 
         if (advancedTracking) {
-            toRemove.clear(); // just reuse this
-            responsesRespondedTo.forEach((key, future) -> {
-                if (future.hasExceededTimeout()) {
-                    toRemove.add(key);
-                }
-            });
-
-            for (String token : toRemove) {
-                responsesRespondedTo.remove(token);
-            }
+            responsesRespondedTo.expire(now, future -> {});
         }
     }
 
@@ -1157,7 +1217,7 @@ class NatsConnection implements Connection {
             // in between the time thread 1 did get above and tried to compareAndSet
             // really thin edge condition - could have used a lock, but this is probably enough
             if (inboxDispatcher.compareAndSet(null, d)) {
-                String id = this.nuid.next();
+                String id = NUID.nextGlobal();
                 this.dispatchers.put(id, d);
                 d.start(id);
                 d.subscribe(this.mainInbox);
@@ -1165,7 +1225,7 @@ class NatsConnection implements Connection {
         }
 
         boolean oldStyle = options.isOldRequestStyle();
-        String responseInbox = oldStyle ? createInbox() : createResponseInbox(this.mainInbox);
+        String responseInbox = oldStyle ? createInbox() : createResponseInbox();
         String responseToken = getResponseToken(responseInbox);
         NatsRequestCompletableFuture future =
             new NatsRequestCompletableFuture(cancelAction,
@@ -1205,6 +1265,7 @@ class NatsConnection implements Connection {
         if (f != null) {
             if (advancedTracking) {
                 responsesRespondedTo.put(key, f);
+                statistics.registerRequestLatency(System.nanoTime() - f.getStartNanos());
             }
             statistics.decrementOutstandingRequests();
             if (msg.isStatusMessage() && msg.getStatus().getCode() == 503) {
@@ -1241,14 +1302,35 @@ class NatsConnection implements Connection {
     }
 
     public Dispatcher createDispatcher(MessageHandler handler) {
+        checkCanCreateDispatcher();
+        return startDispatcher(dispatcherFactory.createDispatcher(this, handler));
+    }
+
+    @Override
+    public Dispatcher createDispatcher(MessageHandler handler, int workers, DispatchOrdering ordering) {
+        if (workers <= 1) {
+            return createDispatcher(handler);
+        }
+        checkCanCreateDispatcher();
+        return startDispatcher(dispatcherFactory.createWorkerDispatcher(this, handler, workers, ordering));
+    }
+
+    @Override
+    public Dispatcher createPerMessageDispatcher(MessageHandler handler) {
+        checkCanCreateDispatcher();
+        return startDispatcher(dispatcherFactory.createPerMessageDispatcher(this, handler));
+    }
+
+    private void checkCanCreateDispatcher() {
         if (isClosed()) {
             throw new IllegalStateException("Connection is Closed");
         } else if (isDraining()) {
             throw new IllegalStateException("Connection is Draining");
         }
+    }
 
-        NatsDispatcher dispatcher = dispatcherFactory.createDispatcher(this, handler);
-        String id = this.nuid.next();
+    private Dispatcher startDispatcher(NatsDispatcher dispatcher) {
+        String id = NUID.nextGlobal();
         this.dispatchers.put(id, dispatcher);
         dispatcher.start(id);
         return dispatcher;
@@ -1450,13 +1532,18 @@ class NatsConnection implements Connection {
     }
 
     void readInitialInfo() throws IOException {
+        handleInfo(readInfo(this.dataPort));
+    }
+
+    // reads the INFO line from a port, without handling it
+    String readInfo(DataPort port) throws IOException {
         byte[] readBuffer = new byte[options.getBufferSize()];
         ByteBuffer protocolBuffer = ByteBuffer.allocate(options.getBufferSize());
         boolean gotCRLF = false;
         boolean gotCR = false;
 
         while (!gotCRLF) {
-            int read = this.dataPort.read(readBuffer, 0, readBuffer.length);
+            int read = port.read(readBuffer, 0, readBuffer.length);
 
             if (read < 0) {
                 break;
@@ -1503,7 +1590,7 @@ class NatsConnection implements Connection {
             throw new IOException("Received non-info initial message.");
         }
 
-        handleInfo(infoJson);
+        return infoJson;
     }
 
     void handleInfo(String infoJson) {
@@ -1552,10 +1639,17 @@ class NatsConnection implements Connection {
             NatsConsumer c = (d == null) ? sub : d;
             MessageQueue q = ((d == null) ? sub.getMessageQueue() : d.getMessageQueue());
 
+            // Only dispatcher handlers release messages when they are done with them,
+            // anything else gets its own copy of the data so the pooled buffer can be reused.
+            if (msg.isPooled() && (d == null || d == inboxDispatcher.get())) {
+                msg.detachPooledData();
+            }
+
             if (c.hasReachedPendingLimits()) {
                 // Drop the message and count it
                 this.statistics.incrementDroppedCount();
                 c.incrementDroppedCount();
+                msg.release();
 
                 // Notify the first time
                 if (!c.isMarkedSlow()) {
@@ -1569,13 +1663,17 @@ class NatsConnection implements Connection {
                 if (sub.getBeforeQueueProcessor().apply(msg)) {
                     q.push(msg);
                 }
+                else {
+                    msg.release();
+                }
             }
 
         }
-//        else {
-//            // Drop messages we don't have a subscriber for (could be extras on an
-//            // auto-unsub for example)
-//        }
+        else {
+            // Drop messages we don't have a subscriber for (could be extras on an
+            // auto-unsub for example)
+            msg.release();
+        }
     }
 
     void processOK() {
@@ -1656,6 +1754,19 @@ class NatsConnection implements Connection {
         }
     }
 
+    // All message managers share the one scheduler thread, so tasks must be short and not block.
+    // Returns null if the connection has been closed.
+    ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay, TimeUnit unit) {
+        if (!scheduler.isShutdown()) {
+            try {
+                return scheduler.scheduleWithFixedDelay(task, initialDelay, delay, unit);
+            } catch (RejectedExecutionException re) {
+                // Timing with shutdown, let it go
+            }
+        }
+        return null;
+    }
+
     void processConnectionEvent(Events type) {
         if (!this.callbackRunner.isShutdown()) {
             try {
@@ -51,6 +51,16 @@ class NatsConnectionReader implements Runnable {
     private final char[] msgLineChars;
     private int msgLinePosition;
 
+    // start and end of the space separated elements of a MSG/HMSG control line,
+    // so the line can be parsed in place without building a String per element
+    private static final int MAX_MSG_LINE_ELEMENTS = 5;
+    private final int[] elementStarts;
+    private final int[] elementEnds;
+
+    // direct mapped cache for sid and subject strings, which repeat for a subscription
+    private static final int STRING_CACHE_SIZE = 1024; // must be a power of 2
+    private final String[] stringCache;
+
     private Mode mode;
 
     private IncomingMessageFactory incoming;
@@ -58,6 +68,13 @@ class NatsConnectionReader implements Runnable {
     private byte[] msgData;
     private int msgHeadersPosition;
     private int msgDataPosition;
+    private int msgDataStart;
+    private int msgDataEnd;
+
+    // only when the options turn on pooled message buffers
+    private final MessageBufferPool bufferPool;
+    private MessageBufferPool.PooledBuffer pooledBuffer;
+    private boolean msgDataPooled;
 
     private final byte[] buffer;
     private int bufferPosition;
@@ -69,6 +86,10 @@ class NatsConnectionReader implements Runnable {
 
     private final boolean utf8Mode;
 
+    // when the current buffer was read, only taken with advanced stats for the dispatch latency
+    private final boolean trackLatency;
+    private long readNanos;
+
     NatsConnectionReader(NatsConnection connection) {
         this.connection = connection;
 
@@ -79,10 +100,17 @@ class NatsConnectionReader implements Runnable {
         this.protocolBuffer = ByteBuffer.allocate(this.connection.getOptions().getMaxControlLine());
         this.msgLineChars = new char[this.connection.getOptions().getMaxControlLine()];
         this.opArray = new char[MAX_PROTOCOL_RECEIVE_OP_LENGTH];
+        this.elementStarts = new int[MAX_MSG_LINE_ELEMENTS];
+        this.elementEnds = new int[MAX_MSG_LINE_ELEMENTS];
+        this.stringCache = new String[STRING_CACHE_SIZE];
+        this.incoming = new IncomingMessageFactory();
         this.buffer = new byte[connection.getOptions().getBufferSize()];
         this.bufferPosition = 0;
 
         this.utf8Mode = connection.getOptions().supportUTF8Subjects();
+        this.trackLatency = connection.getOptions().isTrackAdvancedStats();
+        this.bufferPool = connection.getOptions().isPooledMessageBuffers()
+            ? new MessageBufferPool(connection.getOptions().getBufferSize()) : null;
     }
 
     // Should only be called if the current thread has exited.
@@ -122,34 +150,11 @@ class NatsConnectionReader implements Runnable {
                 int bytesRead = dataPort.read(this.buffer, 0, this.buffer.length);
 
                 if (bytesRead > 0) {
-                    connection.getNatsStatistics().registerRead(bytesRead);
-
-                    while (this.bufferPosition < bytesRead) {
-                        if (this.mode == Mode.GATHER_OP) {
-                            this.gatherOp(bytesRead);
-                        }
-                        else if (this.mode == Mode.GATHER_MSG_HMSG_PROTO) {
-                            if (this.utf8Mode) {
-                                this.gatherProtocol(bytesRead);
-                            } else {
-                                this.gatherMessageProtocol(bytesRead);
-                            }
-                        }
-                        else if (this.mode == Mode.GATHER_PROTO) {
-                            this.gatherProtocol(bytesRead);
-                        }
-                        else if (this.mode == Mode.GATHER_HEADERS) {
-                            this.gatherHeaders(bytesRead);
-                        }
-                        else {  // Mode.GATHER_DATA
-                            this.gatherMessageData(bytesRead);
-                        }
-
-                        if (this.mode == Mode.PARSE_PROTO) { // Could be the end of the read
-                            this.parseProtocolMessage();
-                            this.protocolBuffer.clear();
-                        }
+                    if (trackLatency) {
+                        readNanos = System.nanoTime();
                     }
+                    connection.getNatsStatistics().registerRead(bytesRead);
+                    processBuffer(bytesRead);
                 } else if (bytesRead < 0) {
                     throw new IOException("Read channel closed.");
                 } else {
@@ -165,6 +170,40 @@ class NatsConnectionReader implements Runnable {
             // Clear the buffers, since they are only used inside this try/catch
             // We will reuse later
             this.protocolBuffer.clear();
+            if (this.pooledBuffer != null) {
+                this.pooledBuffer.release();
+                this.pooledBuffer = null;
+            }
+        }
+    }
+
+    // Process everything in the buffer up to bytesRead
+    void processBuffer(int bytesRead) throws IOException {
+        while (this.bufferPosition < bytesRead) {
+            if (this.mode == Mode.GATHER_OP) {
+                this.gatherOp(bytesRead);
+            }
+            else if (this.mode == Mode.GATHER_MSG_HMSG_PROTO) {
+                if (this.utf8Mode) {
+                    this.gatherProtocol(bytesRead);
+                } else {
+                    this.gatherMessageProtocol(bytesRead);
+                }
+            }
+            else if (this.mode == Mode.GATHER_PROTO) {
+                this.gatherProtocol(bytesRead);
+            }
+            else if (this.mode == Mode.GATHER_HEADERS) {
+                this.gatherHeaders(bytesRead);
+            }
+            else {  // Mode.GATHER_DATA
+                this.gatherMessageData(bytesRead);
+            }
+
+            if (this.mode == Mode.PARSE_PROTO) { // Could be the end of the read
+                this.parseProtocolMessage();
+                this.protocolBuffer.clear();
+            }
         }
     }
 
@@ -308,7 +347,7 @@ class NatsConnectionReader implements Runnable {
         try {
             while(this.bufferPosition < maxPos) {
                 int possible = maxPos - this.bufferPosition;
-                int want = msgData.length - msgDataPosition;
+                int want = msgDataEnd - msgDataPosition;
 
                 // Grab all we can, until we get to the CR/LF
                 if (want > 0 && want <= possible) {
@@ -328,11 +367,18 @@ class NatsConnectionReader implements Runnable {
 
                 if (gotCR) {
                     if (b == LF) {
-                        incoming.setData(msgData);
-                        this.connection.deliverMessage(incoming.getMessage());
+                        if (msgDataPooled) {
+                            pooledBuffer.retain(); // the message's reference
+                            incoming.setPooledData(pooledBuffer, msgDataStart, msgDataEnd - msgDataStart);
+                        }
+                        else {
+                            incoming.setData(msgData);
+                        }
+                        NatsMessage msg = incoming.getMessage();
+                        msg.receivedNanos = readNanos;
+                        this.connection.deliverMessage(msg);
                         msgData = null;
                         msgDataPosition = 0;
-                        incoming = null;
                         gotCR = false;
                         this.op = UNKNOWN_OP;
                         this.mode = Mode.GATHER_OP;
@@ -351,25 +397,6 @@ class NatsConnectionReader implements Runnable {
         }
     }
 
-    public String grabNextMessageLineElement(int max) {
-        if (this.msgLinePosition >= max) {
-            return null;
-        }
-
-        int start = this.msgLinePosition;
-
-        while (this.msgLinePosition < max) {
-            char c = this.msgLineChars[this.msgLinePosition];
-            this.msgLinePosition++;
-
-            if (c == SP || c == TAB) {
-                return new String(this.msgLineChars, start, this.msgLinePosition - start -1); //don't grab the space, avoid an intermediate char sequence
-            }
-        }
-
-        return new String(this.msgLineChars, start, this.msgLinePosition-start);
-    }
-
     static String opFor(char[] chars, int length) {
         if (length == 3) {
             if ((chars[0] == 'M' || chars[0] == 'm') &&
@@ -441,6 +468,86 @@ class NatsConnectionReader implements Runnable {
         return retVal;
     }
 
+    static int parseLength(char[] chars, int start, int end) throws NumberFormatException {
+        int length = end - start;
+        if (length > TENS.length) {
+            throw new NumberFormatException("Long in message length \"" + new String(chars, start, length) + "\" "+length+" > "+TENS.length);
+        }
+
+        int retVal = 0;
+        for (int i = start; i < end; i++) {
+            int d = chars[i] - '0';
+            if (d < 0 || d > 9) {
+                throw new NumberFormatException("Invalid char in message length '" + chars[i] + "'");
+            }
+            retVal = retVal * 10 + d;
+        }
+        return retVal;
+    }
+
+    // Finds the elements of the message line, splitting on each space or tab, so two delimiters
+    // in a row make an empty element. Returns the number of elements found, at most 5.
+    int splitMessageLine(int max) {
+        int count = 0;
+        int pos = 0;
+        while (pos < max && count < MAX_MSG_LINE_ELEMENTS) {
+            elementStarts[count] = pos;
+            while (pos < max) {
+                char c = msgLineChars[pos];
+                if (c == SP || c == TAB) {
+                    break;
+                }
+                pos++;
+            }
+            elementEnds[count++] = pos;
+            pos++; // skip the delimiter
+        }
+        return count;
+    }
+
+    String elementString(int element) {
+        int start = elementStarts[element];
+        return new String(msgLineChars, start, elementEnds[element] - start);
+    }
+
+    int elementLength(int element) {
+        return parseLength(msgLineChars, elementStarts[element], elementEnds[element]);
+    }
+
+    boolean elementIsEmpty(int element) {
+        return elementStarts[element] == elementEnds[element];
+    }
+
+    // Returns a previously built String with the same content as the element if there is one,
+    // otherwise builds one and remembers it.
+    String cachedElementString(int element) {
+        int start = elementStarts[element];
+        int end = elementEnds[element];
+        int index = stringCacheIndex(msgLineChars, start, end);
+        String cached = stringCache[index];
+        if (cached != null && cached.length() == end - start) {
+            int i = start;
+            while (i < end && cached.charAt(i - start) == msgLineChars[i]) {
+                i++;
+            }
+            if (i == end) {
+                return cached;
+            }
+        }
+        cached = new String(msgLineChars, start, end - start);
+        stringCache[index] = cached;
+        return cached;
+    }
+
+    // the cache slot for the chars, from the same hash String.hashCode computes
+    static int stringCacheIndex(char[] chars, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        return (hash ^ (hash >>> 16)) & (STRING_CACHE_SIZE - 1);
+    }
+
     void parseProtocolMessage() throws IOException {
         try {
             switch (this.op) {
@@ -456,29 +563,19 @@ class NatsConnectionReader implements Runnable {
                         buff.get(this.msgLineChars, 0, protocolLength);
                     }
 
-                    this.msgLinePosition = 0;
-                    String subject = grabNextMessageLineElement(protocolLength);
-                    String sid = grabNextMessageLineElement(protocolLength);
-                    String replyTo = grabNextMessageLineElement(protocolLength);
-                    String lengthChars = null;
-
-                    if (this.msgLinePosition < protocolLength) {
-                        lengthChars = grabNextMessageLineElement(protocolLength);
-                    } else {
-                        lengthChars = replyTo;
-                        replyTo = null;
-                    }
-
-                    if(subject==null || subject.length() == 0 || sid==null || sid.length() == 0 || lengthChars==null) {
+                    // subject sid [replyTo] length
+                    int elements = splitMessageLine(protocolLength);
+                    if (elements < 3 || elementIsEmpty(0) || elementIsEmpty(1)) {
                         throw new IllegalStateException("Bad MSG control line, missing required fields");
                     }
 
-                    int incomingLength = parseLength(lengthChars);
+                    int lengthElement = elements == 3 ? 2 : 3;
+                    int incomingLength = elementLength(lengthElement);
 
-                    this.incoming = new IncomingMessageFactory(sid, subject, replyTo, protocolLineLength, utf8Mode);
+                    this.incoming.reset(cachedElementString(1), cachedElementString(0),
+                        elements == 3 ? null : elementString(2), protocolLineLength, utf8Mode);
                     this.mode = Mode.GATHER_DATA;
-                    this.msgData = new byte[incomingLength];
-                    this.msgDataPosition = 0;
+                    prepareMessageData(incomingLength);
                     this.msgLinePosition = 0;
                     break;
                 case OP_HMSG:
@@ -493,36 +590,31 @@ class NatsConnectionReader implements Runnable {
                         buff.get(this.msgLineChars, 0, hProtocolLength);
                     }
 
-                    this.msgLinePosition = 0;
-                    String hSubject = grabNextMessageLineElement(hProtocolLength);
-                    String hSid = grabNextMessageLineElement(hProtocolLength);
-                    String replyToOrHdrLen = grabNextMessageLineElement(hProtocolLength);
-                    String hdrLenOrTotLen = grabNextMessageLineElement(hProtocolLength);
+                    // subject sid [replyTo] hdrLen totLen
+                    int hElements = splitMessageLine(hProtocolLength);
+                    if (hElements < 4 || elementIsEmpty(0) || elementIsEmpty(1)) {
+                        throw new IllegalStateException("Bad HMSG control line, missing required fields");
+                    }
 
                     String hReplyTo = null;
-                    int hdrLen = -1;
-                    int totLen = -1;
+                    int hdrLen;
+                    int totLen;
 
                     // if there is more it must be replyTo hdrLen totLen instead of just hdrLen totLen
-                    if (this.msgLinePosition < hProtocolLength) {
-                        hReplyTo = replyToOrHdrLen;
-                        hdrLen = parseLength(hdrLenOrTotLen);
-                        totLen = parseLength(grabNextMessageLineElement(hProtocolLength));
+                    if (hElements > 4) {
+                        hReplyTo = elementString(2);
+                        hdrLen = elementLength(3);
+                        totLen = elementLength(4);
                     } else {
-                        hdrLen = parseLength(replyToOrHdrLen);
-                        totLen = parseLength(hdrLenOrTotLen);
+                        hdrLen = elementLength(2);
+                        totLen = elementLength(3);
                     }
 
-                    if(hSubject==null || hSubject.length() == 0 || hSid==null || hSid.length() == 0) {
-                        throw new IllegalStateException("Bad HMSG control line, missing required fields");
-                    }
-
-                    this.incoming = new IncomingMessageFactory(hSid, hSubject, hReplyTo, hProtocolLineLength, utf8Mode);
+                    this.incoming.reset(cachedElementString(1), cachedElementString(0), hReplyTo, hProtocolLineLength, utf8Mode);
                     this.msgHeaders = new byte[hdrLen];
-                    this.msgData = new byte[totLen - hdrLen];
+                    prepareMessageData(totLen - hdrLen);
                     this.mode = Mode.GATHER_HEADERS;
                     this.msgHeadersPosition = 0;
-                    this.msgDataPosition = 0;
                     this.msgLinePosition = 0;
                     break;
                 case OP_OK:
@@ -560,6 +652,28 @@ class NatsConnectionReader implements Runnable {
         }
     }
 
+    // Sets up where the payload is gathered, a slot in the pooled buffer if pooling, otherwise its own array
+    private void prepareMessageData(int length) {
+        if (bufferPool != null && length > 0 && length <= bufferPool.getBufferSize()) {
+            if (pooledBuffer == null || pooledBuffer.remaining() < length) {
+                if (pooledBuffer != null) {
+                    pooledBuffer.release(); // the reader is done with it, messages may still hold it
+                }
+                pooledBuffer = bufferPool.acquire();
+            }
+            msgDataPooled = true;
+            msgData = pooledBuffer.bytes;
+            msgDataStart = pooledBuffer.reserve(length);
+        }
+        else {
+            msgDataPooled = false;
+            msgData = new byte[length];
+            msgDataStart = 0;
+        }
+        msgDataPosition = msgDataStart;
+        msgDataEnd = msgDataStart + length;
+    }
+
     void encounteredProtocolError(Exception ex) throws IOException {
         throw new IOException(ex);
     }
@@ -572,6 +686,12 @@ class NatsConnectionReader implements Runnable {
         this.mode = Mode.GATHER_OP;
     }
 
+    //For testing
+    int splitMessageLineForTest(String line) {
+        line.getChars(0, line.length(), this.msgLineChars, 0);
+        return splitMessageLine(line.length());
+    }
+
     String currentOp() {
         return this.op;
     }
@@ -18,7 +18,9 @@ import io.nats.client.StatisticsCollector;
 
 import java.io.IOException;
 import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -32,6 +34,8 @@ import static io.nats.client.support.NatsConstants.*;
 
 class NatsConnectionWriter implements Runnable {
     private static final int BUFFER_BLOCK_SIZE = 256;
+    private static final int GATHER_MIN_PAYLOAD = 8 * 1024; // smaller payloads are cheaper to copy
+    private static final int GATHER_MAX_BUFFERS = 64;
 
     private final NatsConnection connection;
 
@@ -43,6 +47,7 @@ class NatsConnectionWriter implements Runnable {
     private final ReentrantLock startStopLock;
 
     private byte[] sendBuffer;
+    private final ByteBuffer[] gather = new ByteBuffer[GATHER_MAX_BUFFERS];
     private final AtomicInteger sendBufferLength;
 
     private final MessageQueue outgoing;
@@ -63,12 +68,12 @@ class NatsConnectionWriter implements Runnable {
         sendBufferLength = new AtomicInteger(sbl);
         sendBuffer = new byte[sbl];
 
-        outgoing = new MessageQueue(true,
+        outgoing = new MpscMessageQueue(
                 options.getMaxMessagesInOutgoingQueue(),
                 options.isDiscardMessagesWhenOutgoingQueueFull());
 
         // The "reconnect" buffer contains internal messages, and we will keep it unlimited in size
-        reconnectOutgoing = new MessageQueue(true, 0);
+        reconnectOutgoing = new MpscMessageQueue();
         reconnectBufferSize = options.getReconnectBufferSize();
     }
 
@@ -115,34 +120,46 @@ class NatsConnectionWriter implements Runnable {
         int sendPosition = 0;
         int sbl = sendBufferLength.get();
 
+        // when the port can gather, large payloads are written from the message instead of copied,
+        // the send buffer bytes between them go in as slices
+        boolean gathering = dataPort.supportsGatheringWrites();
+        int segmentStart = 0;
+        int gathered = 0;
+
         while (msg != null) {
             long size = msg.getSizeInBytes();
+            byte[] bytes = msg.isProtocol() ? null : msg.getData(); // guaranteed to not be null if not protocol
+            boolean gatherBytes = gathering && bytes != null && bytes.length >= GATHER_MIN_PAYLOAD;
+            long inBuffer = gatherBytes ? size - bytes.length : size;
 
-            if (sendPosition + size > sbl) {
-                if (sendPosition > 0) {
-                    dataPort.write(sendBuffer, sendPosition);
-                    connection.getNatsStatistics().registerWrite(sendPosition);
+            if (sendPosition + inBuffer > sbl || (gatherBytes && gathered + 3 > GATHER_MAX_BUFFERS)) {
+                if (sendPosition > 0 || gathered > 0) {
+                    writeBatch(dataPort, sendPosition, segmentStart, gathered);
                     sendPosition = 0;
+                    segmentStart = 0;
+                    gathered = 0;
                 }
-                if (size > sbl) { // have to resize b/c can't fit 1 message
-                    sbl = bufferAllocSize((int)size, BUFFER_BLOCK_SIZE);
+                if (inBuffer > sbl) { // have to resize b/c can't fit 1 message
+                    sbl = bufferAllocSize((int)inBuffer, BUFFER_BLOCK_SIZE);
                     sendBufferLength.set(sbl);
                     sendBuffer = new byte[sbl];
                 }
             }
 
-            int blen = msg.protocolBab.length();
-            System.arraycopy(msg.protocolBab.internalArray(), 0, sendBuffer, sendPosition, blen);
-            sendPosition += blen;
+            sendPosition += msg.copyControlLine(sendPosition, sendBuffer);
 
             sendBuffer[sendPosition++] = CR;
             sendBuffer[sendPosition++] = LF;
 
-            if (!msg.isProtocol()) {
+            if (bytes != null) {
                 sendPosition += msg.copyNotEmptyHeaders(sendPosition, sendBuffer);
 
-                byte[] bytes = msg.getData(); // guaranteed to not be null
-                if (bytes.length > 0) {
+                if (gatherBytes) {
+                    gather[gathered++] = ByteBuffer.wrap(sendBuffer, segmentStart, sendPosition - segmentStart);
+                    gather[gathered++] = ByteBuffer.wrap(bytes);
+                    segmentStart = sendPosition;
+                }
+                else if (bytes.length > 0) {
                     System.arraycopy(bytes, 0, sendBuffer, sendPosition, bytes.length);
                     sendPosition += bytes.length;
                 }
@@ -157,8 +174,30 @@ class NatsConnectionWriter implements Runnable {
             msg = msg.next;
         }
 
-        dataPort.write(sendBuffer, sendPosition);
-        connection.getNatsStatistics().registerWrite(sendPosition);
+        writeBatch(dataPort, sendPosition, segmentStart, gathered);
+    }
+
+    private void writeBatch(DataPort dataPort, int sendPosition, int segmentStart, int gathered) throws IOException {
+        if (gathered == 0) {
+            dataPort.write(sendBuffer, sendPosition);
+            connection.getNatsStatistics().registerWrite(sendPosition);
+            return;
+        }
+
+        if (sendPosition > segmentStart) {
+            gather[gathered++] = ByteBuffer.wrap(sendBuffer, segmentStart, sendPosition - segmentStart);
+        }
+        long bytes = 0;
+        for (int i = 0; i < gathered; i++) {
+            bytes += gather[i].remaining();
+        }
+        try {
+            dataPort.write(gather, gathered);
+        }
+        finally {
+            Arrays.fill(gather, 0, gathered, null); // don't hold on to the payloads
+        }
+        connection.getNatsStatistics().registerWrite(bytes);
     }
 
     @Override
@@ -89,30 +89,7 @@ class NatsDispatcher extends NatsConsumer implements Dispatcher, Runnable {
                 NatsMessage msg = this.incoming.pop(this.waitForMessage);
 
                 if (msg != null) {
-                    NatsSubscription sub = msg.getNatsSubscription();
-                    if (sub != null && sub.isActive()) {
-                        MessageHandler handler = subscriptionHandlers.get(sub.getSID());
-                        if (handler == null) {
-                            handler = defaultHandler;
-                        }
-                        // A dispatcher can have a null defaultHandler. You can't subscribe without a handler,
-                        // but messages might come in while the dispatcher is being closed or after unsubscribe
-                        // and the [non-default] handler has already been removed from subscriptionHandlers
-                        if (handler != null) {
-                            sub.incrementDeliveredCount();
-                            this.incrementDeliveredCount();
-
-                            try {
-                                handler.onMessage(msg);
-                            } catch (Exception exp) {
-                                connection.processException(exp);
-                            }
-
-                            if (sub.reachedUnsubLimit()) {
-                                connection.invalidate(sub);
-                            }
-                        }
-                    }
+                    dispatch(msg);
                 }
 
                 if (breakRunLoop()) {
@@ -131,6 +108,47 @@ class NatsDispatcher extends NatsConsumer implements Dispatcher, Runnable {
         }
     }
 
+    // Runs the message's handler on the dispatcher thread, subclasses can hand it off instead
+    void dispatch(NatsMessage msg) {
+        NatsSubscription sub = msg.getNatsSubscription();
+        MessageHandler handler = handlerFor(sub);
+        if (handler == null) {
+            msg.release();
+            return;
+        }
+        sub.incrementDeliveredCount();
+        this.incrementDeliveredCount();
+        deliver(msg, sub, handler);
+    }
+
+    MessageHandler handlerFor(NatsSubscription sub) {
+        if (sub == null || !sub.isActive()) {
+            return null;
+        }
+        MessageHandler handler = subscriptionHandlers.get(sub.getSID());
+        // A dispatcher can have a null defaultHandler. You can't subscribe without a handler,
+        // but messages might come in while the dispatcher is being closed or after unsubscribe
+        // and the [non-default] handler has already been removed from subscriptionHandlers
+        return handler == null ? defaultHandler : handler;
+    }
+
+    void deliver(NatsMessage msg, NatsSubscription sub, MessageHandler handler) {
+        if (msg.receivedNanos != 0) {
+            connection.getNatsStatistics().registerDispatchLatency(System.nanoTime() - msg.receivedNanos);
+        }
+
+        try {
+            handler.onMessage(msg);
+        } catch (Exception exp) {
+            connection.processException(exp);
+        }
+
+        if (sub.reachedUnsubLimit()) {
+            connection.invalidate(sub);
+        }
+        msg.release(); // the handler is done with it, only matters for pooled message buffers
+    }
+
     void stop(boolean unsubscribeAll) {
         this.running.set(false);
         this.incoming.pause();
@@ -28,16 +28,24 @@ public class NatsFeatureBase {
 
     protected final NatsJetStream js;
     protected final JetStreamManagement jsm;
+    protected final NatsDispatcher watchDispatcher;
+    protected final WatchDispatcherPool watchDispatcherPool;
     protected String streamName;
 
     NatsFeatureBase(NatsConnection connection, FeatureOptions fo) throws IOException {
         if (fo == null) {
             js = new NatsJetStream(connection, null);
             jsm = new NatsJetStreamManagement(connection, null);
+            watchDispatcher = null;
+            watchDispatcherPool = null;
         }
         else {
             js = new NatsJetStream(connection, fo.getJetStreamOptions());
             jsm = new NatsJetStreamManagement(connection, fo.getJetStreamOptions());
+            watchDispatcher = (NatsDispatcher) fo.getWatchDispatcher();
+            watchDispatcherPool = watchDispatcher == null && fo.getWatchDispatcherPoolSize() > 0
+                ? new WatchDispatcherPool(connection, fo.getWatchDispatcherPoolSize())
+                : null;
         }
     }
 
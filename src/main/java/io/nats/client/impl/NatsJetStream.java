@@ -149,7 +149,9 @@ public class NatsJetStream extends NatsJetStreamImpl implements JetStream {
 
         Duration timeout = options == null ? jso.getRequestTimeout() : options.getStreamTimeout();
 
+        long start = System.nanoTime();
         Message resp = makeInternalRequestResponseRequired(subject, merged, data, timeout, CancelAction.COMPLETE);
+        conn.getNatsStatistics().registerPublishAckLatency(System.nanoTime() - start);
         return processPublishResponse(resp, options);
     }
 
@@ -161,9 +163,11 @@ public class NatsJetStream extends NatsJetStreamImpl implements JetStream {
             return null;
         }
 
+        long start = System.nanoTime();
         CompletableFuture<Message> future = conn.requestFutureInternal(subject, merged, data, knownTimeout, CancelAction.COMPLETE);
 
         return future.thenCompose(resp -> {
+            conn.getNatsStatistics().registerPublishAckLatency(System.nanoTime() - start);
             try {
                 responseRequired(resp);
                 return CompletableFuture.completedFuture(processPublishResponse(resp, options));
@@ -342,7 +346,9 @@ public class NatsJetStream extends NatsJetStreamImpl implements JetStream {
         // 4. Does this consumer already exist? FastBind bypasses the lookup;
         //    the dev better know what they are doing...
         if (!so.isFastBind() && consumerName != null) {
-            ConsumerInfo serverInfo = lookupConsumerInfo(settledStream, consumerName);
+            // whether a push consumer without a queue is already bound is state, not configuration
+            boolean useCache = isPullMode || settledDeliverGroup != null;
+            ConsumerInfo serverInfo = lookupConsumerInfo(settledStream, consumerName, useCache);
 
             if (serverInfo != null) { // the consumer for that durable already exists
                 serverCC = serverInfo.getConsumerConfiguration();
@@ -445,13 +451,18 @@ public class NatsJetStream extends NatsJetStreamImpl implements JetStream {
         }
 
         // 7. create the subscription. lambda needs final or effectively final vars
+        //    fast bind does not know the ack policy, explicit is the safe assumption for batching acks
+        final AckPolicy settledAckPolicy = settledCC == null ? AckPolicy.Explicit : settledCC.getAckPolicy();
         final MessageManager mm;
         final NatsSubscriptionFactory subFactory;
         if (isPullMode) {
             MessageManagerFactory mmFactory = so.isOrdered() ? _pullOrderedMessageManagerFactory : _pullMessageManagerFactory;
             mm = mmFactory.createMessageManager(conn, this, settledStream, so, settledCC, false, dispatcher == null);
-            subFactory = (sid, lSubject, lQgroup, lConn, lDispatcher)
-                -> new NatsJetStreamPullSubscription(sid, lSubject, lConn, lDispatcher, this, settledStream, settledConsumerName, mm);
+            subFactory = (sid, lSubject, lQgroup, lConn, lDispatcher) -> {
+                NatsJetStreamPullSubscription nsub = new NatsJetStreamPullSubscription(sid, lSubject, lConn, lDispatcher, this, settledStream, settledConsumerName, mm);
+                nsub.batchAcks(so.getAckBatch(), settledAckPolicy);
+                return nsub;
+            };
         }
         else {
             MessageManagerFactory mmFactory = so.isOrdered() ? _pushOrderedMessageManagerFactory : _pushMessageManagerFactory;
@@ -462,6 +473,7 @@ public class NatsJetStream extends NatsJetStreamImpl implements JetStream {
                 if (lDispatcher == null) {
                     nsub.setPendingLimits(so.getPendingMessageLimit(), so.getPendingByteLimit());
                 }
+                nsub.batchAcks(so.getAckBatch(), settledAckPolicy);
                 return nsub;
             };
         }
@@ -554,8 +566,7 @@ public class NatsJetStream extends NatsJetStreamImpl implements JetStream {
     }
 
     private String lookupStreamSubject(String stream) throws IOException, JetStreamApiException {
-        StreamInfo si = _getStreamInfo(stream, null);
-        List<String> streamSubjects = si.getConfiguration().getSubjects();
+        List<String> streamSubjects = getCachedStreamInfo(stream).subjects;
         return streamSubjects.size() == 1 ? streamSubjects.get(0) : null;
     }
 
@@ -0,0 +1,161 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.AckBatchOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.nats.client.impl.AckType.AckAck;
+
+// ----------------------------------------------------------------------------------------------------
+// Ack batcher - internal use only, one per subscription that has ack batch options
+// Acks are collected and published together when the batch is full or by the periodic flush.
+// The server has no multi message ack, so with an explicit ack policy a batch is still one publish per
+// ack, but they go out as a burst and coalesce in the outgoing queue. With ack policy all, acking the
+// highest consumer sequence acks everything before it, so only that one is published.
+// Once closed, acks are published as they come in.
+// ----------------------------------------------------------------------------------------------------
+class NatsJetStreamAckBatcher {
+
+    private final NatsConnection conn;
+    private final int maxAcks;
+    private final boolean highestOnly;
+    private final ReentrantLock lock;
+    private final ScheduledFuture<?> flushTask;
+
+    // guarded by the lock
+    private List<String> replyTos;
+    private String highestReplyTo;
+    private long highestSequence;
+    private int acks;
+    private boolean closed;
+
+    NatsJetStreamAckBatcher(NatsConnection conn, AckBatchOptions options, boolean highestOnly) {
+        this.conn = conn;
+        this.maxAcks = options.getMaxAcks();
+        this.highestOnly = highestOnly;
+        this.lock = new ReentrantLock();
+        this.replyTos = new ArrayList<>();
+        long delay = options.getMaxDelay().toMillis();
+        this.flushTask = conn.scheduleWithFixedDelay(this::flush, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    void ack(NatsMessage msg) {
+        List<String> toPublish = null;
+        int batched = 0;
+        lock.lock();
+        try {
+            if (closed) {
+                batched = 1;
+                toPublish = Collections.singletonList(msg.getReplyTo());
+            }
+            else if (highestOnly) {
+                long seq = msg.metaData().consumerSequence();
+                if (highestReplyTo == null || seq > highestSequence) {
+                    highestReplyTo = msg.getReplyTo();
+                    highestSequence = seq;
+                }
+            }
+            else {
+                replyTos.add(msg.getReplyTo());
+            }
+            if (!closed && ++acks >= maxAcks) {
+                batched = acks;
+                toPublish = take();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        if (toPublish != null) {
+            publish(toPublish, batched);
+        }
+    }
+
+    void flush() {
+        List<String> toPublish;
+        int batched;
+        lock.lock();
+        try {
+            if (acks == 0) {
+                return;
+            }
+            batched = acks;
+            toPublish = take();
+        }
+        finally {
+            lock.unlock();
+        }
+        publish(toPublish, batched);
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+        }
+        finally {
+            lock.unlock();
+        }
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        flush();
+    }
+
+    int pending() {
+        lock.lock();
+        try {
+            return acks;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    // must be called with the lock held
+    private List<String> take() {
+        List<String> taken;
+        if (highestOnly) {
+            taken = new ArrayList<>(1);
+            taken.add(highestReplyTo);
+            highestReplyTo = null;
+            highestSequence = 0;
+        }
+        else {
+            taken = replyTos;
+            replyTos = new ArrayList<>(taken.size());
+        }
+        acks = 0;
+        return taken;
+    }
+
+    private void publish(List<String> toPublish, int batched) {
+        try {
+            for (String replyTo : toPublish) {
+                conn.publish(replyTo, AckAck.bytes);
+            }
+            conn.getNatsStatistics().registerAckBatch(batched, toPublish.size());
+        }
+        catch (IllegalStateException e) {
+            // the connection is closed, the acks can't be sent and the server will redeliver
+        }
+    }
+}
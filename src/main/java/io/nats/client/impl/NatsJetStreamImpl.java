@@ -23,7 +23,6 @@ import io.nats.client.support.NatsJetStreamConstants;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static io.nats.client.support.NatsConstants.GT;
 import static io.nats.client.support.NatsJetStreamClientError.JsConsumerCreate290NotAvailable;
@@ -32,17 +31,17 @@ import static io.nats.client.support.NatsRequestCompletableFuture.CancelAction;
 
 class NatsJetStreamImpl implements NatsJetStreamConstants {
 
-    // currently the only thing we care about caching is the allowDirect setting
+    // the stream settings used by the client itself, kept in the connection's metadata cache
     static class CachedStreamInfo {
         public final boolean allowDirect;
+        public final List<String> subjects;
 
         public CachedStreamInfo(StreamInfo si) {
             allowDirect = si.getConfiguration().getAllowDirect();
+            subjects = si.getConfiguration().getSubjects();
         }
     }
 
-    private static final ConcurrentHashMap<String, CachedStreamInfo> CACHED_STREAM_INFO_MAP = new ConcurrentHashMap<>();
-
     final NatsConnection conn;
     final JetStreamOptions jso;
     final boolean consumerCreate290Available;
@@ -113,7 +112,9 @@ class NatsJetStreamImpl implements NatsJetStreamConstants {
 
         ConsumerCreateRequest ccr = new ConsumerCreateRequest(streamName, config);
         Message resp = makeRequestResponseRequired(subj, ccr.serialize(), jso.getRequestTimeout());
-        return new ConsumerInfo(resp).throwOnHasError();
+        ConsumerInfo ci = new ConsumerInfo(resp).throwOnHasError();
+        conn.jsMetadataCache.putConsumer(jso.getPrefix(), ci);
+        return ci;
     }
 
     void _createConsumerUnsubscribeOnException(String stream, ConsumerConfiguration cc, NatsJetStreamSubscription sub) throws IOException, JetStreamApiException {
@@ -148,12 +149,12 @@ class NatsJetStreamImpl implements NatsJetStreamConstants {
     }
 
     StreamInfo cacheStreamInfo(String streamName, StreamInfo si) {
-        CACHED_STREAM_INFO_MAP.put(streamName, new CachedStreamInfo(si));
+        conn.jsMetadataCache.putStream(jso.getPrefix(), streamName, new CachedStreamInfo(si));
         return si;
     }
 
     List<StreamInfo> cacheStreamInfo(List<StreamInfo> list) {
-        list.forEach(si -> CACHED_STREAM_INFO_MAP.put(si.getConfiguration().getName(), new CachedStreamInfo(si)));
+        list.forEach(si -> cacheStreamInfo(si.getConfiguration().getName(), si));
         return list;
     }
 
@@ -187,8 +188,21 @@ class NatsJetStreamImpl implements NatsJetStreamConstants {
     }
 
     ConsumerInfo lookupConsumerInfo(String streamName, String consumerName) throws IOException, JetStreamApiException {
+        return lookupConsumerInfo(streamName, consumerName, false);
+    }
+
+    // The cached info is fine when only the configuration matters, not the state, for instance whether it is bound
+    ConsumerInfo lookupConsumerInfo(String streamName, String consumerName, boolean useCache) throws IOException, JetStreamApiException {
+        if (useCache) {
+            ConsumerInfo ci = conn.jsMetadataCache.getConsumer(jso.getPrefix(), streamName, consumerName);
+            if (ci != null) {
+                return ci;
+            }
+        }
         try {
-            return _getConsumerInfo(streamName, consumerName);
+            ConsumerInfo ci = _getConsumerInfo(streamName, consumerName);
+            conn.jsMetadataCache.putConsumer(jso.getPrefix(), ci);
+            return ci;
         }
         catch (JetStreamApiException e) {
             // the right side of this condition...  ( starting here \/ ) is for backward compatibility with server versions that did not provide api error codes
@@ -200,8 +214,15 @@ class NatsJetStreamImpl implements NatsJetStreamConstants {
     }
 
     String lookupStreamBySubject(String subject) throws IOException, JetStreamApiException {
-        List<String> list = _getStreamNames(subject);
-        return list.size() == 1 ? list.get(0) : null;
+        String stream = conn.jsMetadataCache.getStreamBySubject(jso.getPrefix(), subject);
+        if (stream == null) {
+            List<String> list = _getStreamNames(subject);
+            if (list.size() == 1) {
+                stream = list.get(0);
+                conn.jsMetadataCache.putStreamBySubject(jso.getPrefix(), subject, stream);
+            }
+        }
+        return stream;
     }
 
     // ----------------------------------------------------------------------------------------------------
@@ -235,11 +256,10 @@ class NatsJetStreamImpl implements NatsJetStreamConstants {
     }
 
     CachedStreamInfo getCachedStreamInfo(String streamName) throws IOException, JetStreamApiException {
-        CachedStreamInfo csi = CACHED_STREAM_INFO_MAP.get(streamName);
+        CachedStreamInfo csi = conn.jsMetadataCache.getStream(jso.getPrefix(), streamName);
         if (csi != null) {
             return csi;
         }
-        _getStreamInfo(streamName, null);
-        return CACHED_STREAM_INFO_MAP.get(streamName);
+        return new CachedStreamInfo(_getStreamInfo(streamName, null));
     }
 }
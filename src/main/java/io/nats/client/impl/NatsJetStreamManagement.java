@@ -62,7 +62,7 @@ public class NatsJetStreamManagement extends NatsJetStreamImpl implements JetStr
         }
 
         String subj = String.format(template, streamName);
-        Message resp = makeRequestResponseRequired(subj, config.toJson().getBytes(StandardCharsets.UTF_8), jso.getRequestTimeout());
+        Message resp = makeRequestResponseRequired(subj, config.serialize(), jso.getRequestTimeout());
         return createAndCacheStreamInfoThrowOnError(streamName, resp);
     }
 
@@ -73,6 +73,7 @@ public class NatsJetStreamManagement extends NatsJetStreamImpl implements JetStr
     public boolean deleteStream(String streamName) throws IOException, JetStreamApiException {
         validateNotNull(streamName, "Stream Name");
         String subj = String.format(JSAPI_STREAM_DELETE, streamName);
+        conn.jsMetadataCache.removeStream(jso.getPrefix(), streamName);
         Message resp = makeRequestResponseRequired(subj, null, jso.getRequestTimeout());
         return new SuccessApiResponse(resp).throwOnHasError().getSuccess();
     }
@@ -137,6 +138,7 @@ public class NatsJetStreamManagement extends NatsJetStreamImpl implements JetStr
         validateNotNull(streamName, "Stream Name");
         validateNotNull(consumerName, "Consumer Name");
         String subj = String.format(JSAPI_CONSUMER_DELETE, streamName, consumerName);
+        conn.jsMetadataCache.removeConsumer(jso.getPrefix(), streamName, consumerName);
         Message resp = makeRequestResponseRequired(subj, null, jso.getRequestTimeout());
         return new SuccessApiResponse(resp).throwOnHasError().getSuccess();
     }
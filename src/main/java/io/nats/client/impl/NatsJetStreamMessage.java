@@ -46,6 +46,10 @@ class NatsJetStreamMessage extends IncomingMessage {
         if (ackHasntBeenTermed()) {
             validateDurationRequired(d);
             Connection nc = getJetStreamValidatedConnection();
+            NatsJetStreamAckBatcher batcher = getAckBatcher();
+            if (batcher != null) {
+                batcher.flush();
+            }
             if (nc.request(replyTo, AckAck.bytes, d) == null) {
                 throw new TimeoutException("Ack response timed out.");
             }
@@ -115,11 +119,26 @@ class NatsJetStreamMessage extends IncomingMessage {
     private void ackReply(AckType ackType, long delayNanos) {
         if (ackHasntBeenTermed()) {
             Connection nc = getJetStreamValidatedConnection();
-            nc.publish(replyTo, ackType.bodyBytes(delayNanos));
+            NatsJetStreamAckBatcher batcher = getAckBatcher();
+            if (batcher == null) {
+                nc.publish(replyTo, ackType.bodyBytes(delayNanos));
+            }
+            else if (ackType == AckAck) {
+                batcher.ack(this);
+            }
+            else {
+                // keep the order, the waiting acks go first
+                batcher.flush();
+                nc.publish(replyTo, ackType.bodyBytes(delayNanos));
+            }
             lastAck = ackType;
         }
     }
 
+    private NatsJetStreamAckBatcher getAckBatcher() {
+        return subscription instanceof NatsJetStreamSubscription ? ((NatsJetStreamSubscription) subscription).ackBatcher : null;
+    }
+
     private boolean ackHasntBeenTermed() {
         return lastAck == null || !lastAck.terminal;
     }
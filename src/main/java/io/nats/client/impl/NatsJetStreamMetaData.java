@@ -24,29 +24,40 @@ import java.time.ZonedDateTime;
 public class NatsJetStreamMetaData {
 
     private static final long NANO_FACTOR = 10_00_000_000;
-
-    private final String prefix;
-    private final String domain;
-    private final String accountHash;
-    private final String stream;
-    private final String consumer;
+    private static final long MAX_TENTH = Long.MAX_VALUE / 10; // one more digit on anything bigger overflows
+
+    // the names are kept as positions in the reply subject and only made into Strings when asked for
+    private final String replyTo;
+    private final int prefixEnd;
+    private final int domainStart;
+    private final int accountHashStart;
+    private final int streamStart;
+    private final int consumerStart;
+    private final int consumerEnd;
     private final long delivered;
     private final long streamSeq;
     private final long consumerSeq;
-    private final ZonedDateTime timestamp;
+    private final long timestampNanos;
     private final long pending;
 
+    private String prefix;
+    private String domain;
+    private String accountHash;
+    private String stream;
+    private String consumer;
+    private ZonedDateTime timestamp;
+
     @Override
     public String toString() {
         return "NatsJetStreamMetaData{" +
-                "prefix='" + prefix + '\'' +
-                ", domain='" + domain + '\'' +
-                ", stream='" + stream + '\'' +
-                ", consumer='" + consumer + '\'' +
+                "prefix='" + getPrefix() + '\'' +
+                ", domain='" + getDomain() + '\'' +
+                ", stream='" + getStream() + '\'' +
+                ", consumer='" + getConsumer() + '\'' +
                 ", delivered=" + delivered +
                 ", streamSeq=" + streamSeq +
                 ", consumerSeq=" + consumerSeq +
-                ", timestamp=" + timestamp +
+                ", timestamp=" + timestamp() +
                 ", pending=" + pending +
                 '}';
     }
@@ -62,56 +73,84 @@ public class NatsJetStreamMetaData {
             throw new IllegalArgumentException(notAJetStreamMessage(natsMessage.getReplyTo()));
         }
 
-        String[] parts = natsMessage.getReplyTo().split("\\.");
-        if (parts.length < 8 || !"ACK".equals(parts[1])) {
-            throw new IllegalArgumentException(notAJetStreamMessage(natsMessage.getReplyTo()));
-        }
+        replyTo = natsMessage.getReplyTo();
 
-        int streamIndex;
-        boolean hasPending;
-        boolean hasDomainAndHash;
-        if (parts.length == 8) {
-            streamIndex = 2;
-            hasPending = false;
-            hasDomainAndHash = false;
+        // one pass finding where the tokens start, the version is known from the number of tokens
+        prefixEnd = replyTo.indexOf('.');
+        if (prefixEnd == -1 || !replyTo.startsWith("ACK.", prefixEnd + 1)) {
+            throw new IllegalArgumentException(notAJetStreamMessage(replyTo));
         }
-        else if (parts.length == 9) {
-            streamIndex = 2;
-            hasPending = true;
-            hasDomainAndHash = false;
+        int t2 = prefixEnd + 5;
+        int t3 = nextTokenStart(t2);
+        int t4 = nextTokenStart(t3);
+        int t5 = nextTokenStart(t4);
+        int t6 = nextTokenStart(t5);
+        int t7 = nextTokenStart(t6);
+        int t8 = nextTokenStart(t7);
+        int t9 = nextTokenStart(t8);
+        int t10 = nextTokenStart(t9);
+
+        if (t3 == 0 || t4 == 0 || t5 == 0 || t6 == 0 || t7 == 0 || (t9 != 0 && t10 == 0)) {
+            // fewer than 8 tokens or exactly 10
+            throw new IllegalArgumentException(notAJetStreamMessage(replyTo));
         }
-        else if (parts.length >= 11) {
-            streamIndex = 4;
-            hasPending = true;
-            hasDomainAndHash = true;
+
+        if (t10 == 0) { // v0 or v1
+            domainStart = -1;
+            accountHashStart = -1;
+            streamStart = t2;
+            consumerStart = t3;
+            consumerEnd = t4 - 1;
+            delivered = parseLong(t4);
+            streamSeq = parseLong(t5);
+            consumerSeq = parseLong(t6);
+            timestampNanos = parseLong(t7);
+            pending = t8 == 0 ? -1L : parseLong(t8);
         }
         else {
-            throw new IllegalArgumentException(notAJetStreamMessage(natsMessage.getReplyTo()));
+            domainStart = t2;
+            accountHashStart = t3;
+            streamStart = t4;
+            consumerStart = t5;
+            consumerEnd = t6 - 1;
+            delivered = parseLong(t6);
+            streamSeq = parseLong(t7);
+            consumerSeq = parseLong(t8);
+            timestampNanos = parseLong(t9);
+            pending = parseLong(t10);
         }
+    }
 
-        try {
-            prefix = parts[0];
-            // "ack" = parts[1]
-            domain = hasDomainAndHash ? parts[2] : null;
-            accountHash = hasDomainAndHash ? parts[3] : null;
-            stream = parts[streamIndex];
-            consumer = parts[streamIndex + 1];
-            delivered = Long.parseLong(parts[streamIndex + 2]);
-            streamSeq = Long.parseLong(parts[streamIndex + 3]);
-            consumerSeq = Long.parseLong(parts[streamIndex + 4]);
-
-            // not so clever way to separate nanos from seconds
-            long tsi = Long.parseLong(parts[streamIndex + 5]);
-            long seconds = tsi / NANO_FACTOR;
-            int nanos = (int) (tsi - ((tsi / NANO_FACTOR) * NANO_FACTOR));
-            LocalDateTime ltd = LocalDateTime.ofEpochSecond(seconds, nanos, OffsetDateTime.now().getOffset());
-            timestamp = ZonedDateTime.of(ltd, ZoneId.systemDefault()); // I think this is safe b/c the zone should match local
-
-            this.pending = hasPending ? Long.parseLong(parts[streamIndex + 6]) : -1L;
+    // the start of the token after the one starting at the index, 0 when there are no more tokens
+    private int nextTokenStart(int at) {
+        return at == 0 ? 0 : replyTo.indexOf('.', at) + 1;
+    }
+    // parses the unsigned number token starting at the index
+    private long parseLong(int at) {
+        long value = 0;
+        int i = at;
+        for (int len = replyTo.length(); i < len; i++) {
+            char ch = replyTo.charAt(i);
+            if (ch == '.') {
+                break;
+            }
+            int digit = ch - '0';
+            if (digit < 0 || digit > 9 || (value >= MAX_TENTH && (value > MAX_TENTH || digit > 7))) {
+                throw new IllegalArgumentException(notAJetStreamMessage(replyTo));
+            }
+            value = value * 10 + digit;
         }
-        catch (Exception e) {
-            throw new IllegalArgumentException(notAJetStreamMessage(natsMessage.getReplyTo()));
+        if (i == at) {
+            throw new IllegalArgumentException(notAJetStreamMessage(replyTo));
+        }
+        return value;
+    }
+
+    private String getPrefix() {
+        if (prefix == null) {
+            prefix = replyTo.substring(0, prefixEnd);
         }
+        return prefix;
     }
 
     /**
@@ -119,6 +158,9 @@ public class NatsJetStreamMetaData {
      * @return the domain
      */
     public String getDomain() {
+        if (domain == null && domainStart != -1) {
+            domain = replyTo.substring(domainStart, accountHashStart - 1);
+        }
         return domain;
     }
 
@@ -128,6 +170,9 @@ public class NatsJetStreamMetaData {
      * @return the stream.
      */
     public String getStream() {
+        if (stream == null) {
+            stream = replyTo.substring(streamStart, consumerStart - 1);
+        }
         return stream;
     }
 
@@ -137,6 +182,9 @@ public class NatsJetStreamMetaData {
      * @return the consumer.
      */
     public String getConsumer() {
+        if (consumer == null) {
+            consumer = replyTo.substring(consumerStart, consumerEnd);
+        }
         return consumer;
     }
 
@@ -182,10 +230,20 @@ public class NatsJetStreamMetaData {
      * @return the timestamp
      */
     public ZonedDateTime timestamp() {
+        if (timestamp == null) {
+            // not so clever way to separate nanos from seconds
+            long seconds = timestampNanos / NANO_FACTOR;
+            int nanos = (int) (timestampNanos - (seconds * NANO_FACTOR));
+            LocalDateTime ltd = LocalDateTime.ofEpochSecond(seconds, nanos, OffsetDateTime.now().getOffset());
+            timestamp = ZonedDateTime.of(ltd, ZoneId.systemDefault()); // I think this is safe b/c the zone should match local
+        }
         return timestamp;
     }
 
     String getAccountHash() {
+        if (accountHash == null && accountHashStart != -1) {
+            accountHash = replyTo.substring(accountHashStart, streamStart - 1);
+        }
         return accountHash;
     }
 
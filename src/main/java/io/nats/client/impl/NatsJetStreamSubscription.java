@@ -14,6 +14,7 @@
 package io.nats.client.impl;
 
 import io.nats.client.*;
+import io.nats.client.api.AckPolicy;
 import io.nats.client.api.ConsumerInfo;
 import io.nats.client.support.NatsJetStreamConstants;
 
@@ -38,6 +39,8 @@ public class NatsJetStreamSubscription extends NatsSubscription implements JetSt
 
     protected MessageManager manager;
 
+    protected NatsJetStreamAckBatcher ackBatcher;
+
     NatsJetStreamSubscription(String sid, String subject, String queueName,
                               NatsConnection connection, NatsDispatcher dispatcher,
                               NatsJetStream js,
@@ -73,8 +76,22 @@ public class NatsJetStreamSubscription extends NatsSubscription implements JetSt
 
     MessageManager getManager() { return manager; } // internal, for testing
 
+    // must be called before messages are delivered to the subscription
+    void batchAcks(AckBatchOptions ackBatchOptions, AckPolicy ackPolicy) {
+        if (ackBatchOptions != null && ackPolicy != AckPolicy.None) {
+            ackBatcher = new NatsJetStreamAckBatcher(connection, ackBatchOptions, ackPolicy == AckPolicy.All);
+        }
+    }
+
+    NatsJetStreamAckBatcher getAckBatcher() {
+        return ackBatcher;
+    }
+
     @Override
     void invalidate() {
+        if (ackBatcher != null) {
+            ackBatcher.close();
+        }
         manager.shutdown();
         super.invalidate();
     }
@@ -16,6 +16,7 @@ package io.nats.client.impl;
 import io.nats.client.JetStreamApiException;
 import io.nats.client.KeyValue;
 import io.nats.client.KeyValueOptions;
+import io.nats.client.KeyValueView;
 import io.nats.client.PurgeOptions;
 import io.nats.client.api.*;
 import io.nats.client.support.DateTimeUtils;
@@ -317,4 +318,12 @@ public class NatsKeyValue extends NatsFeatureBase implements KeyValue {
     public KeyValueStatus getStatus() throws IOException, JetStreamApiException, InterruptedException {
         return new KeyValueStatus(jsm.getStreamInfo(streamName));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeyValueView view(KeyValueViewOptions options) throws IOException, JetStreamApiException, InterruptedException {
+        return new NatsKeyValueView(this, options == null ? KeyValueViewOptions.builder().build() : options);
+    }
 }
@@ -0,0 +1,376 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.JetStreamApiException;
+import io.nats.client.KeyValueView;
+import io.nats.client.api.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.nats.client.support.Validator.validateNonWildcardKvKeyRequired;
+
+// ----------------------------------------------------------------------------------------------------
+// Materialized key value view - internal use only, users get it as a KeyValueView
+// An ordered consumer watch with history feeds every update into a local map. Keys are kept in
+// least recently used order and the eldest is evicted when there is a key limit. Until the initial
+// data is loaded every read goes to the bucket. After that, while nothing has been evicted, the map is
+// the whole truth, so a key that is not there does not exist. After an eviction a miss is read through
+// to the bucket and the result is held.
+// ----------------------------------------------------------------------------------------------------
+class NatsKeyValueView implements KeyValueView {
+
+    private final NatsKeyValue kv;
+    private final String keyPrefix;
+    private final int maxKeys;
+    private final long maxHistory;
+    private final ReentrantLock lock;
+    private final LinkedHashMap<String, Held> held;
+    private final NatsKeyValueWatchSubscription watchSub;
+
+    // guarded by the lock
+    private long evictions;
+
+    private volatile long revision;
+    private volatile boolean initialDataLoaded;
+
+    static class Held {
+        final List<KeyValueEntry> history = new ArrayList<>(1);
+        boolean fullHistory; // false when it was read through, the watch only adds from there on
+
+        KeyValueEntry latest() {
+            return history.get(history.size() - 1);
+        }
+    }
+
+    NatsKeyValueView(NatsKeyValue kv, KeyValueViewOptions options) throws IOException, JetStreamApiException, InterruptedException {
+        this.kv = kv;
+        this.keyPrefix = options.getKeyPrefix();
+        this.maxKeys = options.getMaxKeys();
+        this.maxHistory = Math.max(1, kv.getStatus().getMaxHistoryPerKey());
+        this.lock = new ReentrantLock();
+        this.held = new LinkedHashMap<String, Held>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Held> eldest) {
+                if (maxKeys > 0 && size() > maxKeys) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        // a prefix that ends a token can be filtered by the server, otherwise filter here
+        String pattern = keyPrefix != null && keyPrefix.endsWith(".") ? keyPrefix + ">" : ">";
+        KeyValueWatcher watcher = new KeyValueWatcher() {
+            @Override
+            public void watch(KeyValueEntry kve) {
+                apply(kve);
+            }
+
+            @Override
+            public void endOfData() {
+                initialDataLoaded = true;
+            }
+        };
+        watchSub = new NatsKeyValueWatchSubscription(kv, pattern, watcher, KeyValueWatchOption.INCLUDE_HISTORY);
+    }
+
+    boolean holds(String key) {
+        return keyPrefix == null || key.startsWith(keyPrefix);
+    }
+
+    void apply(KeyValueEntry kve) {
+        lock.lock();
+        try {
+            if (kve.getRevision() > revision) {
+                revision = kve.getRevision();
+            }
+            String key = kve.getKey();
+            if (!holds(key)) {
+                return;
+            }
+            Held h = held.get(key);
+            if (h == null) {
+                h = new Held();
+                h.fullHistory = evictions == 0; // otherwise it might have been held and evicted before
+                held.put(key, h);
+            }
+            else if (h.latest().getRevision() >= kve.getRevision()) {
+                return; // already have it
+            }
+
+            if (kve.getOperation() == KeyValueOperation.PURGE) {
+                h.history.clear(); // a purge rolls up the history of the key
+            }
+            h.history.add(kve);
+            while (h.history.size() > maxHistory) {
+                h.history.remove(0);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isInitialDataLoaded() {
+        return initialDataLoaded;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        watchSub.unsubscribe();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getBucketName() {
+        return kv.getBucketName();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeyValueEntry get(String key) throws IOException, JetStreamApiException {
+        validateNonWildcardKvKeyRequired(key);
+        if (!initialDataLoaded || !holds(key)) {
+            return kv.get(key);
+        }
+
+        long evictionsBefore;
+        lock.lock();
+        try {
+            Held h = held.get(key);
+            if (h != null) {
+                return kv.existingOnly(h.latest());
+            }
+            if (evictions == 0) {
+                return null;
+            }
+            evictionsBefore = evictions;
+        } finally {
+            lock.unlock();
+        }
+
+        KeyValueEntry kve = kv._get(key);
+        if (kve != null) {
+            lock.lock();
+            try {
+                // if anything was evicted in the meantime, a newer update of this key may have been
+                // applied and evicted already, so only hold it when that cannot have happened
+                if (held.get(key) == null && evictions == evictionsBefore) {
+                    Held h = new Held();
+                    h.history.add(kve);
+                    held.put(key, h);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return kv.existingOnly(kve);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeyValueEntry get(String key, long revision) throws IOException, JetStreamApiException {
+        validateNonWildcardKvKeyRequired(key);
+        if (initialDataLoaded && holds(key)) {
+            lock.lock();
+            try {
+                Held h = held.get(key);
+                if (h != null) {
+                    for (KeyValueEntry kve : h.history) {
+                        if (kve.getRevision() == revision) {
+                            return kv.existingOnly(kve);
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return kv.get(key, revision);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> keys() throws IOException, JetStreamApiException, InterruptedException {
+        if (keyPrefix == null && initialDataLoaded) {
+            lock.lock();
+            try {
+                if (evictions == 0) {
+                    List<String> list = new ArrayList<>();
+                    for (Map.Entry<String, Held> entry : held.entrySet()) {
+                        if (entry.getValue().latest().getOperation() == KeyValueOperation.PUT) {
+                            list.add(entry.getKey());
+                        }
+                    }
+                    return list;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return kv.keys();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<KeyValueEntry> history(String key) throws IOException, JetStreamApiException, InterruptedException {
+        validateNonWildcardKvKeyRequired(key);
+        if (initialDataLoaded && holds(key)) {
+            lock.lock();
+            try {
+                Held h = held.get(key);
+                if (h != null && h.fullHistory) {
+                    return new ArrayList<>(h.history);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return kv.history(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long put(String key, byte[] value) throws IOException, JetStreamApiException {
+        return kv.put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long put(String key, String value) throws IOException, JetStreamApiException {
+        return kv.put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long put(String key, Number value) throws IOException, JetStreamApiException {
+        return kv.put(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long create(String key, byte[] value) throws IOException, JetStreamApiException {
+        return kv.create(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long update(String key, byte[] value, long expectedRevision) throws IOException, JetStreamApiException {
+        return kv.update(key, value, expectedRevision);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long update(String key, String value, long expectedRevision) throws IOException, JetStreamApiException {
+        return kv.update(key, value, expectedRevision);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(String key) throws IOException, JetStreamApiException {
+        kv.delete(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purge(String key) throws IOException, JetStreamApiException {
+        kv.purge(key);
+    }
+
+    @Override
+    public NatsKeyValueWatchSubscription watch(String key, KeyValueWatcher watcher, KeyValueWatchOption... watchOptions) throws IOException, JetStreamApiException, InterruptedException {
+        return kv.watch(key, watcher, watchOptions);
+    }
+
+    @Override
+    public NatsKeyValueWatchSubscription watchAll(KeyValueWatcher watcher, KeyValueWatchOption... watchOptions) throws IOException, JetStreamApiException, InterruptedException {
+        return kv.watchAll(watcher, watchOptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purgeDeletes() throws IOException, JetStreamApiException, InterruptedException {
+        kv.purgeDeletes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void purgeDeletes(KeyValuePurgeOptions options) throws IOException, JetStreamApiException, InterruptedException {
+        kv.purgeDeletes(options);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeyValueStatus getStatus() throws IOException, JetStreamApiException, InterruptedException {
+        return kv.getStatus();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeyValueView view(KeyValueViewOptions options) throws IOException, JetStreamApiException, InterruptedException {
+        return kv.view(options);
+    }
+}
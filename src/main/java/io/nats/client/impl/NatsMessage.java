@@ -19,9 +19,11 @@ import io.nats.client.Subscription;
 import io.nats.client.support.ByteArrayBuilder;
 import io.nats.client.support.Status;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.concurrent.TimeoutException;
 
 import static io.nats.client.support.NatsConstants.*;
@@ -52,8 +54,17 @@ public class NatsMessage implements Message {
     protected int headerLen = 0;
     protected int dataLen;
 
+    // incoming with pooled message buffers : the payload is in the pooled buffer until copied or released
+    // volatile for the unlocked checks, data and released are set before it is cleared
+    protected volatile MessageBufferPool.PooledBuffer pooledBuffer;
+    protected int pooledOffset;
+    protected boolean released;
+
     protected NatsSubscription subscription;
 
+    // incoming : when the bytes were read off the socket, only set when advanced stats are tracked
+    long receivedNanos;
+
     NatsMessage next; // for linked list
 
     protected AckType lastAck;
@@ -182,6 +193,30 @@ public class NatsMessage implements Message {
         return subscription;
     }
 
+    void setPooledData(MessageBufferPool.PooledBuffer pooledBuffer, int offset, int length) {
+        this.data = null;
+        this.pooledBuffer = pooledBuffer;
+        this.pooledOffset = offset;
+        this.dataLen = length;
+    }
+
+    boolean isPooled() {
+        return pooledBuffer != null;
+    }
+
+    // Copy the payload out of the pooled buffer so the message no longer holds it
+    void detachPooledData() {
+        if (pooledBuffer != null) {
+            synchronized (this) {
+                if (pooledBuffer != null) {
+                    data = Arrays.copyOfRange(pooledBuffer.bytes, pooledOffset, pooledOffset + dataLen);
+                    pooledBuffer.release();
+                    pooledBuffer = null;
+                }
+            }
+        }
+    }
+
     // ----------------------------------------------------------------------------------------------------
     // Public Interface Methods
     // ----------------------------------------------------------------------------------------------------
@@ -217,6 +252,17 @@ public class NatsMessage implements Message {
         return replyTo;
     }
 
+    /**
+     * @param destPosition the position index in destination byte array to start
+     * @param dest the byte array to write to
+     * @return the length of the control line, not including the CRLF
+     */
+    int copyControlLine(int destPosition, byte[] dest) {
+        int len = protocolBab.length();
+        System.arraycopy(protocolBab.internalArray(), 0, dest, destPosition, len);
+        return len;
+    }
+
     /**
      * @param destPosition the position index in destination byte array to start
      * @param dest the byte array to write to
@@ -266,9 +312,43 @@ public class NatsMessage implements Message {
      */
     @Override
     public byte[] getData() {
+        if (data == null) {
+            detachPooledData();
+            if (data == null && released) {
+                throw new IllegalStateException("Message data has been released.");
+            }
+        }
         return data;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ByteBuffer getDataBuffer() {
+        MessageBufferPool.PooledBuffer pb = pooledBuffer;
+        if (pb != null) {
+            return ByteBuffer.wrap(pb.bytes, pooledOffset, dataLen).slice().asReadOnlyBuffer();
+        }
+        return ByteBuffer.wrap(getData()).asReadOnlyBuffer();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void release() {
+        if (pooledBuffer != null) {
+            synchronized (this) {
+                if (pooledBuffer != null) {
+                    pooledBuffer.release();
+                    released = true;
+                    pooledBuffer = null;
+                }
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -403,7 +483,9 @@ public class NatsMessage implements Message {
     }
 
     private String dataToString() {
-
+        if (data == null) {
+            return "<" + dataLen + " pooled bytes>";
+        }
         if (data.length == 0) {
             return "<no data>";
         }
@@ -52,6 +52,9 @@ class NatsMessageConsumer extends NatsMessageConsumerBase implements PullManager
             }
         };
         initSub(subscriptionMaker.subscribe(mh, userDispatcher));
+        if (opts.getAckBatch() != null && cachedConsumerInfo != null) {
+            sub.batchAcks(opts.getAckBatch(), cachedConsumerInfo.getConsumerConfiguration().getAckPolicy());
+        }
         sub._pull(PullRequestOptions.builder(bm)
                 .maxBytes(bb)
                 .expiresIn(opts.getExpiresInMillis())
@@ -20,12 +20,19 @@ import io.nats.client.support.Digester;
 import io.nats.client.support.Validator;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static io.nats.client.support.NatsJetStreamClientError.*;
 import static io.nats.client.support.NatsObjectStoreUtil.*;
@@ -118,13 +125,16 @@ public class NatsObjectStore extends NatsFeatureBase implements ObjectStore {
             chunkSize = DEFAULT_CHUNK_SIZE;
         }
 
+        int windowSize = oso == null ? ObjectStoreOptions.DEFAULT_PUT_WINDOW_SIZE : oso.getPutWindowSize();
+        PutWindow window = windowSize > 1 ? new PutWindow(windowSize, oso.isPutBufferPooling(), chunkSize) : null;
+
         try {
             Digester digester = new Digester();
             long totalSize = 0; // track total bytes read to make sure
             int chunks = 0;
 
             // working with chunkSize number of bytes each time.
-            byte[] buffer = new byte[chunkSize];
+            byte[] buffer = window == null ? new byte[chunkSize] : window.buffer();
             int red = inputStream.read(buffer);
             while (red != -1) { // keep reading while not receiving the end of file mark (-1)
                 // copy if red is less than buffer length
@@ -134,7 +144,17 @@ public class NatsObjectStore extends NatsFeatureBase implements ObjectStore {
                 digester.update(payload);
 
                 // publish the payload
-                js.publish(chunkSubject, payload);
+                if (window == null) {
+                    js.publish(chunkSubject, payload);
+                }
+                else {
+                    // chunks are published in read order from this thread, so stream order matches
+                    window.add(js.publishAsync(chunkSubject, payload), payload);
+                    if (payload != buffer) {
+                        window.recycle(buffer);
+                    }
+                    buffer = window.buffer();
+                }
 
                 // track total chunks and bytes
                 chunks++;
@@ -143,6 +163,10 @@ public class NatsObjectStore extends NatsFeatureBase implements ObjectStore {
                 red = inputStream.read(buffer);
             }
 
+            if (window != null) {
+                window.awaitAll();
+            }
+
             return publishMeta(ObjectInfo.builder(bucketName, meta)
                 .size(totalSize)
                 .chunks(chunks)
@@ -152,6 +176,9 @@ public class NatsObjectStore extends NatsFeatureBase implements ObjectStore {
                 .build());
         }
         catch (IOException | JetStreamApiException | NoSuchAlgorithmException e) {
+            if (window != null) {
+                window.awaitAllQuietly(); // so no chunk lands after the purge
+            }
             try {
                 jsm.purgeStream(streamName, PurgeOptions.subject(rawChunkSubject(nuid)));
             }
@@ -263,6 +290,108 @@ public class NatsObjectStore extends NatsFeatureBase implements ObjectStore {
         return oi;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ObjectInfo get(String objectName, WritableByteChannel channel) throws IOException, JetStreamApiException, InterruptedException, NoSuchAlgorithmException {
+        Validator.validateNotNull(channel, "WritableByteChannel");
+        ObjectInfo oi = getInfo(objectName, false);
+        if (oi == null) {
+            throw OsObjectNotFound.instance();
+        }
+
+        if (oi.isLink()) {
+            ObjectLink link = oi.getLink();
+            if (link.isBucketLink()) {
+                throw OsGetLinkToBucket.instance();
+            }
+
+            // is the link in the same bucket
+            if (link.getBucket().equals(bucketName)) {
+                return get(link.getObjectName(), channel);
+            }
+
+            // different bucket
+            // get the store for the linked bucket, then get the linked object
+            return js.conn.objectStore(link.getBucket(), oso).get(link.getObjectName(), channel);
+        }
+
+        Digester digester = new Digester();
+        long totalBytes = 0;
+        long totalChunks = 0;
+
+        // a file channel is written at offsets from where it is now, anything else is written in order
+        FileChannel fileChannel = channel instanceof FileChannel ? (FileChannel) channel : null;
+        long start = fileChannel == null ? 0 : fileChannel.position();
+
+        if (oi.getChunks() == 1) {
+            MessageInfo mi = jsm.getLastMessage(streamName, rawChunkSubject(oi.getNuid()));
+            ByteBuffer data = ByteBuffer.wrap(mi.getData());
+            totalChunks = 1;
+            digester.update(data.duplicate());
+            totalBytes = writeChunk(data, channel, fileChannel, start);
+        }
+        else if (oi.getChunks() > 1) {
+            int prefetch = oso == null ? ObjectStoreOptions.DEFAULT_PREFETCH_CHUNKS : oso.getPrefetchChunks();
+            ConsumeOptions co = ConsumeOptions.builder().batchSize(prefetch).build();
+            NatsStreamContext streamContext = new NatsStreamContext(streamName, js, js.conn, js.jso);
+            OrderedConsumerContext occ = streamContext.createOrderedConsumer(
+                new OrderedConsumerConfiguration().filterSubject(rawChunkSubject(oi.getNuid())));
+
+            // the consumer keeps pulling the next batch in the background while chunks are written
+            IterableConsumer consumer = occ.iterate(co);
+            try {
+                while (totalChunks < oi.getChunks()) {
+                    Message m = consumer.nextMessage(co.getExpiresInMillis());
+                    if (m == null) {
+                        break; // the mismatch checks will report it
+                    }
+                    try {
+                        ByteBuffer data = m.getDataBuffer();
+                        totalChunks++;
+                        digester.update(data.duplicate());
+                        totalBytes += writeChunk(data, channel, fileChannel, start + totalBytes);
+                    }
+                    finally {
+                        m.release();
+                    }
+                }
+            }
+            catch (JetStreamStatusCheckedException e) {
+                throw new IOException(e);
+            }
+            finally {
+                try { consumer.close(); } catch (Exception ignore) {}
+            }
+        }
+
+        if (fileChannel != null) {
+            fileChannel.position(start + totalBytes);
+        }
+
+        if (totalBytes != oi.getSize()) { throw OsGetSizeMismatch.instance(); }
+        if (totalChunks != oi.getChunks()) { throw OsGetChunksMismatch.instance(); }
+        if (!digester.matches(oi.getDigest())) { throw OsGetDigestMismatch.instance(); }
+
+        return oi;
+    }
+
+    private static long writeChunk(ByteBuffer data, WritableByteChannel channel, FileChannel fileChannel, long position) throws IOException {
+        long len = data.remaining();
+        if (fileChannel == null) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+        else {
+            while (data.hasRemaining()) {
+                position += fileChannel.write(data, position);
+            }
+        }
+        return len;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -433,4 +562,92 @@ public class NatsObjectStore extends NatsFeatureBase implements ObjectStore {
     public ObjectStoreStatus getStatus() throws IOException, JetStreamApiException {
         return new ObjectStoreStatus(jsm.getStreamInfo(streamName));
     }
+
+    // ----------------------------------------------------------------------------------------------------
+    // Keeps up to windowSize chunk publishes in flight during a put. A chunk buffer is only
+    // reused after its ack arrives, by then the chunk has certainly been written to the socket.
+    // ----------------------------------------------------------------------------------------------------
+    static class PutWindow {
+        private final int windowSize;
+        private final boolean pooling;
+        private final int chunkSize;
+        private final ArrayDeque<CompletableFuture<PublishAck>> acks;
+        private final ArrayDeque<byte[]> payloads;
+        private final ArrayDeque<byte[]> free;
+
+        PutWindow(int windowSize, boolean pooling, int chunkSize) {
+            this.windowSize = windowSize;
+            this.pooling = pooling;
+            this.chunkSize = chunkSize;
+            acks = new ArrayDeque<>();
+            payloads = new ArrayDeque<>();
+            free = new ArrayDeque<>();
+        }
+
+        byte[] buffer() {
+            byte[] buffer = pooling ? free.poll() : null;
+            return buffer == null ? new byte[chunkSize] : buffer;
+        }
+
+        void recycle(byte[] buffer) {
+            if (pooling && buffer.length == chunkSize) {
+                free.add(buffer);
+            }
+        }
+
+        void add(CompletableFuture<PublishAck> ack, byte[] payload) throws IOException, JetStreamApiException {
+            if (ack == null) {
+                return; // publish no ack, nothing to wait for and no way to know when the payload is sent
+            }
+            acks.add(ack);
+            payloads.add(payload);
+            if (acks.size() >= windowSize) {
+                awaitOldest();
+            }
+        }
+
+        void awaitAll() throws IOException, JetStreamApiException {
+            while (!acks.isEmpty()) {
+                awaitOldest();
+            }
+        }
+
+        void awaitAllQuietly() {
+            while (!acks.isEmpty()) {
+                try {
+                    awaitOldest();
+                }
+                catch (Exception ignore) {}
+            }
+        }
+
+        private void awaitOldest() throws IOException, JetStreamApiException {
+            CompletableFuture<PublishAck> ack = acks.poll();
+            byte[] payload = payloads.poll();
+            try {
+                ack.get();
+            }
+            catch (CancellationException e) {
+                throw new IOException("Timeout or no response waiting for chunk publish ack.");
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for chunk publish ack.");
+            }
+            catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                while (cause != null) {
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    if (cause instanceof JetStreamApiException) {
+                        throw (JetStreamApiException) cause;
+                    }
+                    cause = cause.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+            recycle(payload);
+        }
+    }
 }
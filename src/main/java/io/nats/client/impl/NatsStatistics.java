@@ -15,6 +15,7 @@ package io.nats.client.impl;
 
 import io.nats.client.Statistics;
 import io.nats.client.StatisticsCollector;
+import io.nats.client.support.LatencyHistogram;
 
 import java.text.NumberFormat;
 import java.util.LongSummaryStatistics;
@@ -44,6 +45,12 @@ class NatsStatistics implements Statistics, StatisticsCollector {
     private AtomicLong errCount;
     private AtomicLong exceptionCount;
     private AtomicLong droppedCount;
+    private AtomicLong batchedAcks;
+    private AtomicLong batchedAckPublishes;
+
+    private final LatencyHistogram requestLatency;
+    private final LatencyHistogram publishAckLatency;
+    private final LatencyHistogram dispatchLatency;
 
     private boolean trackAdvanced;
 
@@ -70,6 +77,12 @@ class NatsStatistics implements Statistics, StatisticsCollector {
         this.errCount = new AtomicLong();
         this.exceptionCount = new AtomicLong();
         this.droppedCount = new AtomicLong();
+        this.batchedAcks = new AtomicLong();
+        this.batchedAckPublishes = new AtomicLong();
+
+        this.requestLatency = new LatencyHistogram();
+        this.publishAckLatency = new LatencyHistogram();
+        this.dispatchLatency = new LatencyHistogram();
     }
 
     @Override
@@ -190,6 +203,33 @@ class NatsStatistics implements Statistics, StatisticsCollector {
         }
     }
 
+    @Override
+    public void registerRequestLatency(long nanos) {
+        if (trackAdvanced) {
+            requestLatency.record(nanos);
+        }
+    }
+
+    @Override
+    public void registerPublishAckLatency(long nanos) {
+        if (trackAdvanced) {
+            publishAckLatency.record(nanos);
+        }
+    }
+
+    @Override
+    public void registerDispatchLatency(long nanos) {
+        if (trackAdvanced) {
+            dispatchLatency.record(nanos);
+        }
+    }
+
+    @Override
+    public void registerAckBatch(long acks, long publishes) {
+        batchedAcks.addAndGet(acks);
+        batchedAckPublishes.addAndGet(publishes);
+    }
+
     @Override
     public long getPings() {
         return this.pingCount.get();
@@ -266,6 +306,31 @@ class NatsStatistics implements Statistics, StatisticsCollector {
     @Override
     public long getOrphanRepliesReceived() { return orphanRepliesReceived.get(); }
 
+    @Override
+    public long getBatchedAcks() {
+        return batchedAcks.get();
+    }
+
+    @Override
+    public long getBatchedAckPublishes() {
+        return batchedAckPublishes.get();
+    }
+
+    @Override
+    public LatencyHistogram getRequestLatency() {
+        return requestLatency;
+    }
+
+    @Override
+    public LatencyHistogram getPublishAckLatency() {
+        return publishAckLatency;
+    }
+
+    @Override
+    public LatencyHistogram getDispatchLatency() {
+        return dispatchLatency;
+    }
+
     void appendNumberStat(StringBuilder builder, String name, long value) {
         builder.append(name);
         builder.append(NumberFormat.getNumberInstance().format(value));
@@ -278,6 +343,17 @@ class NatsStatistics implements Statistics, StatisticsCollector {
         builder.append("\n");
     }
 
+    void appendLatencyStat(StringBuilder builder, String name, LatencyHistogram histogram) {
+        LatencyHistogram snap = histogram.snapshot();
+        NumberFormat nf = NumberFormat.getNumberInstance();
+        builder.append(name);
+        builder.append("count ").append(nf.format(snap.getCount()));
+        builder.append(", p50 ").append(nf.format(snap.getValueAtPercentile(50)));
+        builder.append(", p99 ").append(nf.format(snap.getValueAtPercentile(99)));
+        builder.append(", max ").append(nf.format(snap.getMax()));
+        builder.append("\n");
+    }
+
     public String toString() {
         StringBuilder builder = new StringBuilder();
 
@@ -316,6 +392,8 @@ class NatsStatistics implements Statistics, StatisticsCollector {
         builder.append("### Writer ###\n");
         appendNumberStat(builder, "Messages out:                    ", this.outMsgs.get());
         appendNumberStat(builder, "Bytes out:                       ", this.outBytes.get());
+        appendNumberStat(builder, "Batched Acks:                    ", this.batchedAcks.get());
+        appendNumberStat(builder, "Batched Ack Publishes:           ", this.batchedAckPublishes.get());
         builder.append("\n");
         if (this.trackAdvanced) {
             writeStatsLock.lock();
@@ -327,6 +405,11 @@ class NatsStatistics implements Statistics, StatisticsCollector {
             } finally {
                 writeStatsLock.unlock();
             }
+            builder.append("\n");
+            builder.append("### Latency (nanoseconds) ###\n");
+            appendLatencyStat(builder, "Request Round Trip:              ", requestLatency);
+            appendLatencyStat(builder, "Publish Ack:                     ", publishAckLatency);
+            appendLatencyStat(builder, "Read To Dispatch:                ", dispatchLatency);
         }
 
         return builder.toString();
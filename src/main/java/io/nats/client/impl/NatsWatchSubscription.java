@@ -24,6 +24,8 @@ import java.io.IOException;
 public class NatsWatchSubscription<T> implements AutoCloseable {
     private final JetStream js;
     private NatsDispatcher dispatcher;
+    private WatchDispatcherPool pool;
+    private boolean ownDispatcher;
     private JetStreamSubscription sub;
 
     public NatsWatchSubscription(JetStream js) {
@@ -51,8 +53,24 @@ public class NatsWatchSubscription<T> implements AutoCloseable {
                     .build())
             .build();
 
-        dispatcher = (NatsDispatcher) ((NatsJetStream) js).conn.createDispatcher();
-        sub = js.subscribe(subscribeSubject, dispatcher, handler, false, pso);
+        if (fb.watchDispatcher != null) {
+            dispatcher = fb.watchDispatcher;
+        }
+        else if (fb.watchDispatcherPool != null) {
+            pool = fb.watchDispatcherPool;
+            dispatcher = pool.acquire();
+        }
+        else {
+            ownDispatcher = true;
+            dispatcher = (NatsDispatcher) ((NatsJetStream) js).conn.createDispatcher();
+        }
+        try {
+            sub = js.subscribe(subscribeSubject, dispatcher, handler, false, pso);
+        }
+        catch (IOException | JetStreamApiException | RuntimeException e) {
+            releaseDispatcher();
+            throw e;
+        }
         if (!handler.endOfDataSent) {
             long pending = sub.getConsumerInfo().getCalculatedPending();
             if (pending == 0) {
@@ -78,11 +96,24 @@ public class NatsWatchSubscription<T> implements AutoCloseable {
     public void unsubscribe() {
         if (dispatcher != null) {
             dispatcher.unsubscribe(sub);
+            releaseDispatcher();
+        }
+    }
+
+    private void releaseDispatcher() {
+        if (pool != null) {
+            pool.release(dispatcher);
+            dispatcher = null;
+        }
+        else if (ownDispatcher) {
             if (dispatcher.getSubscriptionHandlers().size() == 0) {
                 dispatcher.connection.closeDispatcher(dispatcher);
                 dispatcher = null;
             }
         }
+        else {
+            dispatcher = null; // supplied by the user, it's theirs to close
+        }
     }
 
     @Override
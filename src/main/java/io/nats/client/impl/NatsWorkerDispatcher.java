@@ -0,0 +1,211 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.DispatchOrdering;
+import io.nats.client.MessageHandler;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A dispatcher that pops messages on its own thread as usual, but runs the handlers on several workers.
+ * Each worker has a lane, a message goes to the lane for its ordering key, so messages with the
+ * same key are handled one at a time in order. With no ordering all the workers share one lane.
+ * Without lanes, each message is handed to its own task on the connection's executor, for handlers that
+ * block on a virtual thread per message, and nothing is in order.
+ * <p>Messages handed to a lane still count as pending until their handler returns, so pending limits,
+ * slow consumer detection and drain see them. Delivered counts and the auto unsubscribe limit are
+ * taken on the dispatcher thread, before the hand off, so they stay exact.</p>
+ */
+class NatsWorkerDispatcher extends NatsDispatcher {
+
+    private final DispatchOrdering ordering;
+    private final LinkedBlockingQueue<Delivery>[] lanes;
+    private final Future<?>[] workers;
+    private final AtomicBoolean workersRunning;
+    private final AtomicLong handedOffMessages;
+    private final AtomicLong handedOffBytes;
+
+    private static class Delivery {
+        final NatsMessage msg;
+        final NatsSubscription sub;
+        final MessageHandler handler;
+
+        Delivery(NatsMessage msg, NatsSubscription sub, MessageHandler handler) {
+            this.msg = msg;
+            this.sub = sub;
+            this.handler = handler;
+        }
+    }
+
+    NatsWorkerDispatcher(NatsConnection conn, MessageHandler handler, int workerCount, DispatchOrdering ordering) {
+        this(conn, handler, ordering == null ? DispatchOrdering.NONE : ordering,
+            ordering == null || ordering == DispatchOrdering.NONE ? 1 : workerCount, validateWorkerCount(workerCount));
+    }
+
+    /**
+     * A dispatcher that runs each message's handler in its own task
+     */
+    NatsWorkerDispatcher(NatsConnection conn, MessageHandler handler) {
+        this(conn, handler, DispatchOrdering.NONE, 0, 0);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private NatsWorkerDispatcher(NatsConnection conn, MessageHandler handler, DispatchOrdering ordering, int laneCount, int workerCount) {
+        super(conn, handler);
+        this.ordering = ordering;
+        lanes = new LinkedBlockingQueue[laneCount];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new LinkedBlockingQueue<>();
+        }
+        workers = new Future<?>[workerCount];
+        workersRunning = new AtomicBoolean(false);
+        handedOffMessages = new AtomicLong();
+        handedOffBytes = new AtomicLong();
+    }
+
+    private static int validateWorkerCount(int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Workers must be at least 1.");
+        }
+        return workerCount;
+    }
+
+    @Override
+    protected void internalStart(String id, boolean threaded) {
+        if (!started.get() && threaded) {
+            workersRunning.set(true);
+            for (int i = 0; i < workers.length; i++) {
+                LinkedBlockingQueue<Delivery> lane = lanes[i % lanes.length];
+                workers[i] = connection.getExecutor().submit(() -> work(lane));
+            }
+        }
+        super.internalStart(id, threaded);
+    }
+
+    @Override
+    void dispatch(NatsMessage msg) {
+        NatsSubscription sub = msg.getNatsSubscription();
+        MessageHandler handler = handlerFor(sub);
+        // the sub is only invalidated once a worker has run the message that reached the limit,
+        // until then the ones after it are dropped here
+        if (handler == null || sub.reachedUnsubLimit()) {
+            msg.release();
+            return;
+        }
+        sub.incrementDeliveredCount();
+        this.incrementDeliveredCount();
+
+        handedOffMessages.incrementAndGet();
+        handedOffBytes.addAndGet(msg.getSizeInBytes());
+        Delivery d = new Delivery(msg, sub, handler);
+        if (lanes.length == 0) {
+            try {
+                connection.getExecutor().execute(() -> deliver(d));
+            }
+            catch (RejectedExecutionException e) {
+                handedOff(d);
+                msg.release();
+            }
+        }
+        else {
+            lanes[laneFor(msg, sub)].add(d);
+        }
+    }
+
+    private void deliver(Delivery d) {
+        try {
+            deliver(d.msg, d.sub, d.handler);
+        }
+        finally {
+            handedOff(d);
+        }
+    }
+
+    private void handedOff(Delivery d) {
+        handedOffMessages.decrementAndGet();
+        handedOffBytes.addAndGet(-d.msg.getSizeInBytes());
+    }
+
+    private int laneFor(NatsMessage msg, NatsSubscription sub) {
+        int h;
+        switch (ordering) {
+            case PER_SUBSCRIPTION: h = sub.getSID().hashCode(); break;
+            case PER_SUBJECT: h = msg.getSubject().hashCode(); break;
+            default: return 0;
+        }
+        return Math.floorMod(h ^ (h >>> 16), lanes.length);
+    }
+
+    private void work(LinkedBlockingQueue<Delivery> lane) {
+        try {
+            while (workersRunning.get()) {
+                Delivery d = lane.poll(waitForMessage.toMillis(), TimeUnit.MILLISECONDS);
+                if (d != null) {
+                    deliver(d);
+                }
+            }
+        }
+        catch (InterruptedException exp) {
+            if (workersRunning.get()) {
+                connection.processException(exp);
+            } //otherwise we did it
+        }
+    }
+
+    @Override
+    void stop(boolean unsubscribeAll) {
+        workersRunning.set(false);
+        for (Future<?> worker : workers) {
+            if (worker != null && !worker.isCancelled()) {
+                try {
+                    worker.cancel(true);
+                } catch (Exception exp) {
+                    // let it go
+                }
+            }
+        }
+        for (LinkedBlockingQueue<Delivery> lane : lanes) {
+            Delivery d;
+            while ((d = lane.poll()) != null) {
+                handedOff(d);
+                d.msg.release();
+            }
+        }
+        super.stop(unsubscribeAll);
+    }
+
+    @Override
+    public long getPendingMessageCount() {
+        return super.getPendingMessageCount() + handedOffMessages.get();
+    }
+
+    @Override
+    public long getPendingByteCount() {
+        return super.getPendingByteCount() + handedOffBytes.get();
+    }
+
+    DispatchOrdering getOrdering() {
+        return ordering;
+    }
+
+    int getWorkerCount() {
+        return workers.length;
+    }
+}
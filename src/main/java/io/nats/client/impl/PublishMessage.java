@@ -0,0 +1,136 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.support.IncomingHeadersProcessor;
+
+import static io.nats.client.support.NatsConstants.*;
+import static io.nats.client.support.Validator.validateReplyTo;
+
+// ----------------------------------------------------------------------------------------------------
+// Outgoing publish used by the connection's publish path - internal use only
+// Nothing is built up front. The writer serializes the PUB / HPUB control line, the headers and the
+// payload straight into its send buffer. The subject bytes come from the connection's subject cache,
+// headers are captured in their serialized form so later changes by the caller are not sent.
+// ----------------------------------------------------------------------------------------------------
+class PublishMessage extends NatsMessage {
+    private final byte[] subjectBytes;
+    private final byte[] headerBytes;
+
+    PublishMessage(String subject, byte[] subjectBytes, String replyTo, Headers headers, byte[] data) {
+        super(data);
+        this.subject = subject;
+        this.subjectBytes = subjectBytes;
+        this.replyTo = validateReplyTo(replyTo, false);
+        if (headers != null && !headers.isEmpty()) {
+            headerBytes = headers.getSerialized();
+            headerLen = headerBytes.length;
+        }
+        else {
+            headerBytes = null;
+        }
+
+        int headerAndDataLen = headerLen + dataLen;
+        int len = headerLen > 0 ? HPUB_SP_BYTES_LEN : PUB_SP_BYTES_LEN;
+        len += subjectBytes.length + 1;
+        if (this.replyTo != null) {
+            len += this.replyTo.length() + 1; // reply to is validated as printable ascii
+        }
+        if (headerLen > 0) {
+            len += digits(headerLen) + 1;
+        }
+        len += digits(headerAndDataLen);
+
+        controlLineLength = len + 2;
+        sizeInBytes = controlLineLength + headerAndDataLen + 2;
+    }
+
+    @Override
+    int copyControlLine(int destPosition, byte[] dest) {
+        int pos = destPosition;
+        if (headerLen > 0) {
+            System.arraycopy(HPUB_SP_BYTES, 0, dest, pos, HPUB_SP_BYTES_LEN);
+            pos += HPUB_SP_BYTES_LEN;
+        }
+        else {
+            System.arraycopy(PUB_SP_BYTES, 0, dest, pos, PUB_SP_BYTES_LEN);
+            pos += PUB_SP_BYTES_LEN;
+        }
+
+        System.arraycopy(subjectBytes, 0, dest, pos, subjectBytes.length);
+        pos += subjectBytes.length;
+        dest[pos++] = SP;
+
+        if (replyTo != null) {
+            int rlen = replyTo.length();
+            for (int i = 0; i < rlen; i++) {
+                dest[pos++] = (byte) replyTo.charAt(i);
+            }
+            dest[pos++] = SP;
+        }
+
+        if (headerLen > 0) {
+            pos = writeInt(headerLen, dest, pos);
+            dest[pos++] = SP;
+        }
+
+        pos = writeInt(headerLen + dataLen, dest, pos);
+        return pos - destPosition;
+    }
+
+    @Override
+    int copyNotEmptyHeaders(int destPosition, byte[] dest) {
+        if (headerBytes != null) {
+            System.arraycopy(headerBytes, 0, dest, destPosition, headerLen);
+            return headerLen;
+        }
+        return 0;
+    }
+
+    @Override
+    byte[] getProtocolBytes() {
+        byte[] bytes = new byte[controlLineLength - 2];
+        copyControlLine(0, bytes);
+        return bytes;
+    }
+
+    @Override
+    public Headers getHeaders() {
+        return headerBytes == null ? null : new IncomingHeadersProcessor(headerBytes).getHeaders();
+    }
+
+    @Override
+    public boolean hasHeaders() {
+        return headerBytes != null;
+    }
+
+    static int digits(int value) {
+        int d = 1;
+        while (value >= 10) {
+            value /= 10;
+            d++;
+        }
+        return d;
+    }
+
+    static int writeInt(int value, byte[] dest, int pos) {
+        int end = pos + digits(value);
+        int i = end;
+        do {
+            dest[--i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        return end;
+    }
+}
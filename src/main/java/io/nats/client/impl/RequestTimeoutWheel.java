@@ -0,0 +1,269 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.support.NatsRequestCompletableFuture;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// ----------------------------------------------------------------------------------------------------
+// Outstanding request futures by response token, with their deadlines kept in a hierarchical timing
+// wheel - internal use only. Lookups go through the map. Every future is also linked into the wheel
+// slot for its deadline, so adding, removing and expiring a request is constant time and a cleaning
+// pass only touches the slots that came due since the last pass, never the whole map.
+// There are LEVELS wheels of SLOTS slots. A slot on level 0 covers one tick, a slot on level n
+// covers SLOTS^n ticks. When a lower level wraps, the next slot of the level above is cascaded down.
+// ----------------------------------------------------------------------------------------------------
+class RequestTimeoutWheel {
+    static final long TICK_MILLIS = 10;
+    static final int SLOT_BITS = 8;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int SLOT_MASK = SLOTS - 1;
+    static final int LEVELS = 4;
+    static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final ConcurrentHashMap<String, Entry> byKey;
+    private final ReentrantLock wheelLock;
+    private final Entry[][] slots;
+    private long currentTick;
+    private int linked;
+
+    static class Entry {
+        final String key;
+        final NatsRequestCompletableFuture future;
+        final long tick;
+        int level = -1; // -1 when not linked into a slot
+        int slot;
+        Entry prev;
+        Entry next;
+
+        Entry(String key, NatsRequestCompletableFuture future) {
+            this.key = key;
+            this.future = future;
+            // round up, so when the tick is reached the deadline has passed
+            this.tick = future.getTimeOutAfter() / TICK_MILLIS + 1;
+        }
+    }
+
+    RequestTimeoutWheel() {
+        this(System.currentTimeMillis());
+    }
+
+    RequestTimeoutWheel(long nowMillis) {
+        byKey = new ConcurrentHashMap<>();
+        wheelLock = new ReentrantLock();
+        slots = new Entry[LEVELS][SLOTS];
+        currentTick = nowMillis / TICK_MILLIS;
+    }
+
+    void put(String key, NatsRequestCompletableFuture future) {
+        Entry entry = new Entry(key, future);
+        Entry replaced = byKey.put(key, entry);
+        if (replaced != null) {
+            unlinkLocked(replaced);
+        }
+        // if it was removed in the meantime it is dropped when it comes due
+        wheelLock.lock();
+        try {
+            link(entry);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    NatsRequestCompletableFuture get(String key) {
+        Entry entry = byKey.get(key);
+        return entry == null ? null : entry.future;
+    }
+
+    NatsRequestCompletableFuture remove(String key) {
+        Entry entry = byKey.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        unlinkLocked(entry);
+        return entry.future;
+    }
+
+    int size() {
+        return byKey.size();
+    }
+
+    /**
+     * Removes every request whose deadline has passed as of now, handing each to the consumer.
+     * Only the slots that came due since the previous call are visited.
+     * @param nowMillis the current time in millis
+     * @param expired called for each removed future, outside the wheel lock
+     * @return the number of expired requests
+     */
+    int expire(long nowMillis, Consumer<NatsRequestCompletableFuture> expired) {
+        long nowTick = nowMillis / TICK_MILLIS;
+        Entry due = null;
+        wheelLock.lock();
+        try {
+            if (linked == 0) {
+                currentTick = Math.max(currentTick, nowTick);
+            }
+            while (currentTick < nowTick) {
+                currentTick++;
+                for (int level = 1; level < LEVELS; level++) {
+                    int shift = SLOT_BITS * level;
+                    if ((currentTick & ((1L << shift) - 1)) != 0) {
+                        break;
+                    }
+                    cascade(level, (int) ((currentTick >>> shift) & SLOT_MASK));
+                }
+
+                int index = (int) (currentTick & SLOT_MASK);
+                Entry entry = slots[0][index];
+                slots[0][index] = null;
+                while (entry != null) {
+                    Entry next = entry.next;
+                    entry.level = -1;
+                    entry.prev = null;
+                    linked--;
+                    if (entry.tick > currentTick) {
+                        link(entry); // not due yet, can only happen after a clock jump
+                    }
+                    else {
+                        entry.next = due;
+                        due = entry;
+                    }
+                    entry = next;
+                }
+                if (linked == 0) {
+                    currentTick = nowTick;
+                }
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+
+        int count = 0;
+        while (due != null) {
+            Entry next = due.next;
+            due.next = null;
+            // a reply may have removed it from the map after it was taken from the wheel
+            if (byKey.remove(due.key, due)) {
+                expired.accept(due.future);
+                count++;
+            }
+            due = next;
+        }
+        return count;
+    }
+
+    /**
+     * Removes every request regardless of its deadline, handing each to the consumer.
+     * @param removed called for each removed future
+     */
+    void removeAll(Consumer<NatsRequestCompletableFuture> removed) {
+        wheelLock.lock();
+        try {
+            for (Entry[] level : slots) {
+                for (int i = 0; i < SLOTS; i++) {
+                    Entry entry = level[i];
+                    level[i] = null;
+                    while (entry != null) {
+                        Entry next = entry.next;
+                        entry.level = -1;
+                        entry.prev = null;
+                        entry.next = null;
+                        entry = next;
+                    }
+                }
+            }
+            linked = 0;
+        } finally {
+            wheelLock.unlock();
+        }
+
+        for (Entry entry : byKey.values()) {
+            if (byKey.remove(entry.key, entry)) {
+                removed.accept(entry.future);
+            }
+        }
+    }
+
+    // wheel lock must be held
+    private void cascade(int level, int index) {
+        Entry entry = slots[level][index];
+        slots[level][index] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.level = -1;
+            entry.prev = null;
+            linked--;
+            link(entry);
+            entry = next;
+        }
+    }
+
+    // wheel lock must be held
+    private void link(Entry entry) {
+        long delta = entry.tick - currentTick;
+        long tick = entry.tick;
+        if (delta <= 0) {
+            delta = 1;
+            tick = currentTick + 1; // already due, goes out on the next tick
+        }
+        else if (delta > MAX_DELTA) {
+            delta = MAX_DELTA;
+            tick = currentTick + MAX_DELTA; // parked on the top level, cascades down again later
+        }
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int index = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        Entry head = slots[level][index];
+        entry.level = level;
+        entry.slot = index;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        slots[level][index] = entry;
+        linked++;
+    }
+
+    private void unlinkLocked(Entry entry) {
+        wheelLock.lock();
+        try {
+            if (entry.level < 0) {
+                return; // already taken off the wheel by expire
+            }
+            if (entry.prev == null) {
+                slots[entry.level][entry.slot] = entry.next;
+            }
+            else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.level = -1;
+            entry.prev = null;
+            entry.next = null;
+            linked--;
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+}
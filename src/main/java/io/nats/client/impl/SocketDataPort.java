@@ -81,7 +81,10 @@ public class SocketDataPort implements DataPort {
                     upgradeToSecure();
                 }
                 try {
-                    socket = new WebSocket(socket, host, options.getHttpRequestInterceptors());
+                    socket = new WebSocket(socket, host, options.getHttpRequestInterceptors(),
+                        options.isWebsocketCompression(),
+                        options.getWebsocketCompressionWindowBits(),
+                        options.getWebsocketCompressionThreshold());
                 } catch (Exception ex) {
                     socket.close();
                     throw ex;
@@ -0,0 +1,64 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import static io.nats.client.support.Validator.validateSubject;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+// ----------------------------------------------------------------------------------------------------
+// Direct mapped cache of validated publish subjects and their UTF-8 bytes - internal use only
+// Publishers usually send to a small set of subjects over and over, a hit skips both the subject
+// validation and the encoding. Entries are immutable so racing publishers at worst cause a miss.
+// ----------------------------------------------------------------------------------------------------
+class SubjectBytesCache {
+    static final int CACHE_SIZE = 1024; // must be a power of 2
+    static final int MAX_CACHED_SUBJECT_LENGTH = 256;
+
+    private final Entry[] entries;
+
+    SubjectBytesCache() {
+        entries = new Entry[CACHE_SIZE];
+    }
+
+    // Returns the bytes for the subject, validating it if it was not already in the cache
+    byte[] get(String subject) {
+        if (subject != null) {
+            Entry entry = entries[index(subject)];
+            if (entry != null && entry.subject.equals(subject)) {
+                return entry.bytes;
+            }
+        }
+        validateSubject(subject, true);
+        byte[] bytes = subject.getBytes(UTF_8);
+        if (subject.length() <= MAX_CACHED_SUBJECT_LENGTH) {
+            entries[index(subject)] = new Entry(subject, bytes);
+        }
+        return bytes;
+    }
+
+    private static int index(String subject) {
+        int hash = subject.hashCode();
+        return (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+    }
+
+    private static class Entry {
+        final String subject;
+        final byte[] bytes;
+
+        Entry(String subject, byte[] bytes) {
+            this.subject = subject;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// ----------------------------------------------------------------------------------------------------
+// Bounded pool of dispatchers shared by the watches of a key value bucket or object store.
+// A watch is bound to one dispatcher for its whole life, and a dispatcher delivers on a single thread,
+// so every watch still sees its messages in order. A watch gets the dispatcher with the fewest watches.
+// A dispatcher is created the first time its slot is used and closed when its last watch is released.
+// ----------------------------------------------------------------------------------------------------
+class WatchDispatcherPool {
+
+    private final NatsConnection conn;
+    private final NatsDispatcher[] dispatchers;
+    private final int[] watches;
+    private final ReentrantLock lock;
+
+    WatchDispatcherPool(NatsConnection conn, int size) {
+        this.conn = conn;
+        this.dispatchers = new NatsDispatcher[size];
+        this.watches = new int[size];
+        this.lock = new ReentrantLock();
+    }
+
+    NatsDispatcher acquire() {
+        lock.lock();
+        try {
+            int slot = 0;
+            for (int i = 1; i < watches.length; i++) {
+                if (watches[i] < watches[slot]) {
+                    slot = i;
+                }
+            }
+            if (dispatchers[slot] == null) {
+                dispatchers[slot] = (NatsDispatcher) conn.createDispatcher();
+            }
+            watches[slot]++;
+            return dispatchers[slot];
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    void release(NatsDispatcher dispatcher) {
+        lock.lock();
+        try {
+            for (int i = 0; i < dispatchers.length; i++) {
+                if (dispatchers[i] == dispatcher) {
+                    if (--watches[i] == 0) {
+                        dispatchers[i] = null;
+                        conn.closeDispatcher(dispatcher);
+                    }
+                    return;
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    int getDispatcherCount() {
+        lock.lock();
+        try {
+            int count = 0;
+            for (NatsDispatcher d : dispatchers) {
+                if (d != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
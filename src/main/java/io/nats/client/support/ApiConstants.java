@@ -83,6 +83,7 @@ public interface ApiConstants {
     String ID                = "id";
     String IDLE_HEARTBEAT    = "idle_heartbeat";
     String INACTIVE_THRESHOLD= "inactive_threshold";
+    String IN_FLIGHT         = "in_flight";
     String INTERNAL          = "internal";
     String JETSTREAM         = "jetstream";
     String KEEP              = "keep";
@@ -138,6 +139,7 @@ public interface ApiConstants {
     String NUM_REDELIVERED   = "num_redelivered";
     String NUM_REPLICAS      = "num_replicas";
     String NUM_REQUESTS      = "num_requests";
+    String NUM_SHED          = "num_shed";
     String NUM_SUBJECTS      = "num_subjects";
     String NUM_WAITING       = "num_waiting";
     String OFFLINE           = "offline";
@@ -148,9 +150,15 @@ public interface ApiConstants {
     String PLACEMENT         = "placement";
     String PORT              = "port";
     String PROCESSING_TIME   = "processing_time";
+    String PROCESSING_TIME_P50  = "processing_time_p50";
+    String PROCESSING_TIME_P90  = "processing_time_p90";
+    String PROCESSING_TIME_P99  = "processing_time_p99";
+    String PROCESSING_TIME_P999 = "processing_time_p999";
+    String PROCESSING_TIME_MAX  = "processing_time_max";
     String PROTO             = "proto";
     String PURGED            = "purged";
     String PUSH_BOUND        = "push_bound";
+    String QUEUE_DEPTH       = "queue_depth";
     String QUEUE_GROUP       = "queue_group";
     String RATE_LIMIT_BPS    = "rate_limit_bps";
     String REPLAY_POLICY     = "replay_policy";
@@ -12,6 +12,7 @@
 // limitations under the License.
 package io.nats.client.support;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
@@ -67,6 +68,12 @@ public class Digester {
         return this;
     }
 
+    public Digester update(ByteBuffer input) {
+        digest.update(input);
+        digestValue = null;
+        return this;
+    }
+
     public Digester reset() {
         digest.reset();
         digestValue = null;
@@ -380,7 +380,7 @@ public class JsonParser {
         }
     }
 
-    private JsonValue asNumber(String val) throws JsonParseException {
+    static JsonValue asNumber(String val) throws JsonParseException {
         char initial = val.charAt(0);
         if ((initial >= '0' && initial <= '9') || initial == '-') {
             // decimal representation
@@ -432,7 +432,7 @@ public class JsonParser {
         throw new JsonParseException("val ["+val+"] is not a valid number.");
     }
 
-    private boolean isDecimalNotation(final String val) {
+    private static boolean isDecimalNotation(final String val) {
         return val.indexOf('.') > -1 || val.indexOf('e') > -1
             || val.indexOf('E') > -1 || "-0".equals(val);
     }
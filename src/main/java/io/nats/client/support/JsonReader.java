@@ -0,0 +1,632 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A pull style reader of UTF-8 JSON bytes. Instead of building a {@link JsonValue} tree of the whole
+ * document, the caller walks it token by token, reads the fields it wants straight into its own fields
+ * and skips the rest without creating anything for them.
+ * <pre>
+ * JsonReader reader = new JsonReader(json);
+ * reader.beginObject();
+ * while (reader.hasNext()) {
+ *     switch (reader.nextName()) {
+ *         case "seq": seq = reader.nextLong(-1); break;
+ *         default: reader.skipValue();
+ *     }
+ * }
+ * reader.endObject();
+ * </pre>
+ * <p>The value readers follow {@link JsonValueUtils}: a value that is null or of another type reads as
+ * null or the default and is skipped. {@link #nextValue()} builds a tree of just the next value, for
+ * parts of a document that are easier to handle as a tree. Like {@link JsonParser}, null fields are
+ * left out of an object tree.
+ * <p>Field names are short and repeat across responses, so they are kept in a small cache
+ * shared by all readers and the same String is returned each time a name is read.
+ */
+public class JsonReader {
+
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END
+    }
+
+    // what is expected next in the current scope
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private static final int NAME_CACHE_SIZE = 256; // power of 2
+    private static final int NAME_CACHE_MAX_LENGTH = 32;
+
+    // shared by all readers, a racing write just replaces a name with another, which is
+    // harmless since every hit is checked against the bytes and Strings are immutable
+    private static final String[] NAME_CACHE = new String[NAME_CACHE_SIZE];
+
+    private final byte[] json;
+    private final int end;
+    private int pos;
+    private int[] scopes;
+    private int depth;
+    private Token peeked;
+    private boolean peekedBoolean;
+    private int tokenStart; // of a number, of the content of a string or name
+
+    public JsonReader(byte[] json) {
+        this(json, 0, json == null ? 0 : json.length);
+    }
+
+    public JsonReader(byte[] json, int offset, int length) {
+        this.json = json;
+        this.pos = offset;
+        this.end = offset + length;
+        this.scopes = new int[16];
+        this.scopes[0] = EMPTY_DOCUMENT;
+        this.depth = 1;
+    }
+
+    /**
+     * The type of the next token without consuming it
+     * @return the token type
+     * @throws JsonParseException if the json is not valid
+     */
+    public Token peek() throws JsonParseException {
+        if (peeked == null) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+
+    /**
+     * Consume the start of an object
+     * @throws JsonParseException if the next token is not the start of an object
+     */
+    public void beginObject() throws JsonParseException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    /**
+     * Consume the end of an object
+     * @throws JsonParseException if the next token is not the end of an object
+     */
+    public void endObject() throws JsonParseException {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+
+    /**
+     * Consume the start of an array
+     * @throws JsonParseException if the next token is not the start of an array
+     */
+    public void beginArray() throws JsonParseException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    /**
+     * Consume the end of an array
+     * @throws JsonParseException if the next token is not the end of an array
+     */
+    public void endArray() throws JsonParseException {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+
+    /**
+     * Whether the current object or array has another element
+     * @return true if there is another element
+     * @throws JsonParseException if the json is not valid
+     */
+    public boolean hasNext() throws JsonParseException {
+        Token t = peek();
+        return t != Token.END_OBJECT && t != Token.END_ARRAY && t != Token.END;
+    }
+
+    /**
+     * Read the name of the next field of an object
+     * @return the name
+     * @throws JsonParseException if the next token is not a name
+     */
+    public String nextName() throws JsonParseException {
+        expect(Token.NAME);
+        int start = tokenStart;
+        int hash = 0;
+        int i = start;
+        while (i < end) {
+            byte b = json[i];
+            if (b == '"' || b == '\\' || b < 0) {
+                break;
+            }
+            hash = 31 * hash + b;
+            i++;
+        }
+        int len = i - start;
+        if (i < end && json[i] == '"' && len <= NAME_CACHE_MAX_LENGTH) {
+            pos = i + 1;
+            int slot = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+            String cached = NAME_CACHE[slot];
+            if (cached != null && asciiEquals(cached, start, len)) {
+                return cached;
+            }
+            String name = new String(json, start, len, StandardCharsets.ISO_8859_1);
+            NAME_CACHE[slot] = name;
+            return name;
+        }
+        return readString(start);
+    }
+
+    /**
+     * Read a string value
+     * @return the string or null if the value is null or not a string
+     * @throws JsonParseException if the json is not valid
+     */
+    public String nextString() throws JsonParseException {
+        if (peek() != Token.STRING) {
+            skipValue();
+            return null;
+        }
+        peeked = null;
+        return readString(tokenStart);
+    }
+
+    /**
+     * Read a date value
+     * @return the date or null if the value is null or not a string
+     * @throws JsonParseException if the json is not valid
+     */
+    public ZonedDateTime nextDate() throws JsonParseException {
+        String s = nextString();
+        return s == null ? null : DateTimeUtils.parseDateTimeThrowParseError(s);
+    }
+
+    /**
+     * Read a whole number value
+     * @param dflt the value to use if the value is not a whole number that fits a long
+     * @return the number or the default
+     * @throws JsonParseException if the json is not valid
+     */
+    public long nextLong(long dflt) throws JsonParseException {
+        if (peek() != Token.NUMBER) {
+            skipValue();
+            return dflt;
+        }
+        peeked = null;
+        boolean negative = json[tokenStart] == '-';
+        int i = negative ? tokenStart + 1 : tokenStart;
+        if (i == pos) {
+            return dflt;
+        }
+        long value = 0;
+        for (; i < pos; i++) {
+            int digit = json[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return dflt; // a decimal
+            }
+            // accumulate negatively so Long.MIN_VALUE fits
+            if (value < -922337203685477580L || (value == -922337203685477580L && digit > (negative ? 8 : 7))) {
+                return dflt;
+            }
+            value = value * 10 - digit;
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * Read a whole number value
+     * @param dflt the value to use if the value is not a whole number that fits an int
+     * @return the number or the default
+     * @throws JsonParseException if the json is not valid
+     */
+    public int nextInt(int dflt) throws JsonParseException {
+        long l = nextLong(Long.MIN_VALUE);
+        return l < Integer.MIN_VALUE || l > Integer.MAX_VALUE ? dflt : (int) l;
+    }
+
+    /**
+     * Read a boolean value
+     * @param dflt the value to use if the value is null or not a boolean
+     * @return the boolean or the default
+     * @throws JsonParseException if the json is not valid
+     */
+    public boolean nextBoolean(boolean dflt) throws JsonParseException {
+        if (peek() != Token.BOOLEAN) {
+            skipValue();
+            return dflt;
+        }
+        peeked = null;
+        return peekedBoolean;
+    }
+
+    /**
+     * Read an array of whole numbers, elements that are not whole numbers that fit a long are left out
+     * @return the list, empty if the value is null or not an array
+     * @throws JsonParseException if the json is not valid
+     */
+    public List<Long> nextLongList() throws JsonParseException {
+        List<Long> list = new ArrayList<>();
+        if (peek() != Token.BEGIN_ARRAY) {
+            skipValue();
+            return list;
+        }
+        beginArray();
+        while (hasNext()) {
+            if (peek() == Token.NUMBER) {
+                long l = nextLong(Long.MIN_VALUE);
+                if (l != Long.MIN_VALUE) {
+                    list.add(l);
+                }
+            }
+            else {
+                skipValue();
+            }
+        }
+        endArray();
+        return list;
+    }
+
+    /**
+     * Read the next value as a tree.
+     * @return the value or null if the value is null
+     * @throws JsonParseException if the json is not valid
+     */
+    public JsonValue nextValue() throws JsonParseException {
+        JsonValue v = readTree();
+        return v == JsonValue.NULL ? null : v;
+    }
+
+    private JsonValue readTree() throws JsonParseException {
+        switch (peek()) {
+            case BEGIN_OBJECT:
+                beginObject();
+                Map<String, JsonValue> map = new HashMap<>();
+                while (hasNext()) {
+                    String name = nextName();
+                    JsonValue v = readTree();
+                    if (v != JsonValue.NULL) {
+                        map.put(name, v);
+                    }
+                }
+                endObject();
+                return new JsonValue(map);
+            case BEGIN_ARRAY:
+                beginArray();
+                List<JsonValue> list = new ArrayList<>();
+                while (hasNext()) {
+                    list.add(readTree());
+                }
+                endArray();
+                return new JsonValue(list);
+            case STRING:
+                return new JsonValue(nextString());
+            case NUMBER:
+                peeked = null;
+                try {
+                    return JsonParser.asNumber(new String(json, tokenStart, pos - tokenStart, StandardCharsets.ISO_8859_1));
+                }
+                catch (Exception e) {
+                    throw new JsonParseException("Invalid value.");
+                }
+            case BOOLEAN:
+                peeked = null;
+                return peekedBoolean ? JsonValue.TRUE : JsonValue.FALSE;
+            case NULL:
+                peeked = null;
+                return JsonValue.NULL;
+        }
+        throw new JsonParseException("Expected a value.");
+    }
+
+    /**
+     * Skip the next value, including everything in it if it is an object or array.
+     * The structure is checked, but skipped strings and numbers are not decoded.
+     * @throws JsonParseException if the json is not valid
+     */
+    public void skipValue() throws JsonParseException {
+        int level = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    level++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    level++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    level--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    level--;
+                    break;
+                case NAME:
+                    peeked = null;
+                    pos = skipString(tokenStart);
+                    break;
+                case STRING:
+                    peeked = null;
+                    pos = skipString(tokenStart);
+                    break;
+                case END:
+                    throw new JsonParseException("Unexpected end of data.");
+                default:
+                    peeked = null;
+            }
+        } while (level > 0);
+    }
+
+    private void expect(Token expected) throws JsonParseException {
+        Token t = peek();
+        if (t != expected) {
+            throw new JsonParseException("Expected " + expected + " but was " + t + " at " + pos);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (depth == scopes.length) {
+            int[] grown = new int[depth * 2];
+            System.arraycopy(scopes, 0, grown, 0, depth);
+            scopes = grown;
+        }
+        scopes[depth++] = scope;
+    }
+
+    private Token doPeek() throws JsonParseException {
+        int scope = scopes[depth - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                scopes[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return Token.END_ARRAY;
+                }
+                if (c == -1) {
+                    throw new JsonParseException("Unexpected end of data.");
+                }
+                pos--;
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw new JsonParseException("Expected a ',' or ']' at " + (pos - 1));
+                }
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return Token.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw new JsonParseException("Expected a ',' or '}' at " + (pos - 1));
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw new JsonParseException("Expected a name at " + (pos - 1));
+                }
+                scopes[depth - 1] = DANGLING_NAME;
+                tokenStart = pos;
+                return Token.NAME;
+            case DANGLING_NAME:
+                scopes[depth - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') {
+                    throw new JsonParseException("Expected a ':' after a name at " + (pos - 1));
+                }
+                break;
+            case EMPTY_DOCUMENT:
+                scopes[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default: // NONEMPTY_DOCUMENT
+                if (nextNonWhitespace() == -1) {
+                    return Token.END;
+                }
+                throw new JsonParseException("Unexpected data after the end at " + (pos - 1));
+        }
+        return peekValue();
+    }
+
+    private Token peekValue() throws JsonParseException {
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                tokenStart = pos;
+                return Token.STRING;
+            case 't':
+                literal("rue");
+                peekedBoolean = true;
+                return Token.BOOLEAN;
+            case 'f':
+                literal("alse");
+                peekedBoolean = false;
+                return Token.BOOLEAN;
+            case 'n':
+                literal("ull");
+                return Token.NULL;
+            case -1:
+                if (depth == 1) {
+                    return Token.END; // an empty document
+                }
+                throw new JsonParseException("Unexpected end of data.");
+        }
+        if (c == '-' || (c >= '0' && c <= '9')) {
+            tokenStart = pos - 1;
+            while (pos < end) {
+                byte b = json[pos];
+                if ((b >= '0' && b <= '9') || b == '.' || b == 'e' || b == 'E' || b == '-' || b == '+') {
+                    pos++;
+                }
+                else {
+                    break;
+                }
+            }
+            return Token.NUMBER;
+        }
+        throw new JsonParseException("Unexpected character '" + (char) c + "' at " + (pos - 1));
+    }
+
+    private void literal(String rest) throws JsonParseException {
+        int len = rest.length();
+        if (pos + len > end) {
+            throw new JsonParseException("Invalid value at " + (pos - 1));
+        }
+        for (int i = 0; i < len; i++) {
+            if (json[pos + i] != rest.charAt(i)) {
+                throw new JsonParseException("Invalid value at " + (pos - 1));
+            }
+        }
+        pos += len;
+    }
+
+    private int nextNonWhitespace() {
+        while (pos < end) {
+            byte b = json[pos++];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    private boolean asciiEquals(String s, int start, int len) {
+        if (s.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (s.charAt(i) != json[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // returns the index after the closing quote of the string starting at start
+    private int skipString(int start) throws JsonParseException {
+        int i = start;
+        while (i < end) {
+            byte b = json[i++];
+            if (b == '"') {
+                return i;
+            }
+            if (b == '\\') {
+                i++;
+            }
+        }
+        throw new JsonParseException("Unterminated string.");
+    }
+
+    // reads the string whose content starts at start and leaves the position after the closing quote
+    private String readString(int start) throws JsonParseException {
+        int i = start;
+        boolean ascii = true;
+        while (i < end) {
+            byte b = json[i];
+            if (b == '"') {
+                pos = i + 1;
+                return new String(json, start, i - start, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+            }
+            if (b == '\\') {
+                return readEscapedString(start, i);
+            }
+            if (b < 0) {
+                ascii = false;
+            }
+            else if (b == '\n' || b == '\r') {
+                break;
+            }
+            i++;
+        }
+        throw new JsonParseException("Unterminated string.");
+    }
+
+    private String readEscapedString(int start, int firstEscape) throws JsonParseException {
+        StringBuilder sb = new StringBuilder(new String(json, start, firstEscape - start, StandardCharsets.UTF_8));
+        int i = firstEscape;
+        int runStart = i;
+        while (i < end) {
+            byte b = json[i];
+            if (b == '"') {
+                sb.append(new String(json, runStart, i - runStart, StandardCharsets.UTF_8));
+                pos = i + 1;
+                return sb.toString();
+            }
+            if (b == '\n' || b == '\r') {
+                break;
+            }
+            if (b != '\\') {
+                i++;
+                continue;
+            }
+            sb.append(new String(json, runStart, i - runStart, StandardCharsets.UTF_8));
+            if (++i == end) {
+                break;
+            }
+            byte e = json[i++];
+            switch (e) {
+                case 'b': sb.append('\b'); break;
+                case 't': sb.append('\t'); break;
+                case 'n': sb.append('\n'); break;
+                case 'f': sb.append('\f'); break;
+                case 'r': sb.append('\r'); break;
+                case '"':
+                case '\'':
+                case '\\':
+                case '/':
+                    sb.append((char) e);
+                    break;
+                case 'u':
+                    if (i + 4 > end) {
+                        throw new JsonParseException("Illegal escape.");
+                    }
+                    int code = 0;
+                    for (int x = 0; x < 4; x++) {
+                        int h = Character.digit(json[i++], 16);
+                        if (h < 0) {
+                            throw new JsonParseException("Illegal escape.");
+                        }
+                        code = (code << 4) + h;
+                    }
+                    sb.append((char) code);
+                    break;
+                default:
+                    throw new JsonParseException("Illegal escape.");
+            }
+            runStart = i;
+        }
+        throw new JsonParseException("Unterminated string.");
+    }
+}
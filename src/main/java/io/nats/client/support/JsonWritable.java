@@ -0,0 +1,36 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+/**
+ * A {@link JsonSerializable} that writes its json with a {@link JsonWriter}, straight to UTF-8 bytes,
+ * instead of building a String. Nested objects that are JsonWritable are written into the same writer.
+ */
+public interface JsonWritable extends JsonSerializable {
+    /**
+     * Write this object, including the enclosing braces
+     * @param writer the writer
+     */
+    void writeJson(JsonWriter writer);
+
+    @Override
+    default String toJson() {
+        return JsonWriter.toJson(this);
+    }
+
+    @Override
+    default byte[] serialize() {
+        return JsonWriter.serialize(this);
+    }
+}
@@ -0,0 +1,568 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static io.nats.client.support.DateTimeUtils.DEFAULT_TIME;
+import static io.nats.client.support.JsonValueUtils.instance;
+
+/**
+ * Writes json as UTF-8 bytes into a growable buffer. The field methods follow the ones in {@link JsonUtils},
+ * they skip the same null, empty and out of range values and the output is the same, without the
+ * StringBuilder and the conversion of the String to bytes.
+ * <p>{@link #serialize(JsonWritable)} and {@link #toJson(JsonWritable)} use a writer kept per thread,
+ * so the buffer is reused and only the result is allocated.
+ */
+public class JsonWriter {
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_KEPT_CAPACITY = 64 * 1024; // a thread doesn't hold on to a buffer larger than this
+
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LONG_MIN = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<JsonWriter> THREAD_WRITER = ThreadLocal.withInitial(JsonWriter::new);
+
+    private byte[] buf;
+    private int len;
+    private boolean inUse;
+
+    public JsonWriter() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public JsonWriter(int initialCapacity) {
+        buf = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Write the object with this thread's writer
+     * @param writable the object
+     * @return the json as UTF-8 bytes
+     */
+    public static byte[] serialize(JsonWritable writable) {
+        JsonWriter writer = acquire();
+        try {
+            writable.writeJson(writer);
+            return writer.toByteArray();
+        }
+        finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * Write the object with this thread's writer
+     * @param writable the object
+     * @return the json
+     */
+    public static String toJson(JsonWritable writable) {
+        JsonWriter writer = acquire();
+        try {
+            writable.writeJson(writer);
+            return writer.toString();
+        }
+        finally {
+            writer.release();
+        }
+    }
+
+    // the thread's writer is busy if a writable calls toJson or serialize while it is being written
+    private static JsonWriter acquire() {
+        JsonWriter writer = THREAD_WRITER.get();
+        if (writer.inUse) {
+            return new JsonWriter();
+        }
+        writer.inUse = true;
+        return writer;
+    }
+
+    private void release() {
+        inUse = false;
+        len = 0;
+        if (buf.length > MAX_KEPT_CAPACITY) {
+            buf = new byte[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Clear the writer so it can be used again
+     */
+    public void reset() {
+        len = 0;
+    }
+
+    /**
+     * The number of bytes written
+     * @return the length
+     */
+    public int length() {
+        return len;
+    }
+
+    /**
+     * A copy of the bytes written
+     * @return the bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, len);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, len, StandardCharsets.UTF_8);
+    }
+
+    // ----------------------------------------------------------------------------------------------------
+    // STRUCTURE
+    // ----------------------------------------------------------------------------------------------------
+    public JsonWriter beginObject() {
+        return append('{');
+    }
+
+    public JsonWriter endObject() {
+        return end('}');
+    }
+
+    public JsonWriter beginArray() {
+        return append('[');
+    }
+
+    public JsonWriter endArray() {
+        return end(']');
+    }
+
+    private JsonWriter end(char c) {
+        // replaces the trailing comma of the last field, same as JsonUtils.endJson
+        if (len > 0 && buf[len - 1] == ',') {
+            buf[len - 1] = (byte) c;
+            return this;
+        }
+        return append(c);
+    }
+
+    // ----------------------------------------------------------------------------------------------------
+    // FIELDS
+    // ----------------------------------------------------------------------------------------------------
+    /**
+     * Appends a json field, raw json is not encoded.
+     * @param fname fieldname
+     * @param json raw json
+     */
+    public void addRawJson(String fname, String json) {
+        if (json != null && json.length() > 0) {
+            name(fname);
+            raw(json);
+            append(',');
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value field value
+     */
+    public void addField(String fname, String value) {
+        if (value != null && value.length() > 0) {
+            name(fname);
+            string(value);
+            append(',');
+        }
+    }
+
+    /**
+     * Appends a json field. Empty and null string are added as value of empty string
+     * @param fname fieldname
+     * @param value field value
+     */
+    public void addFieldEvenEmpty(String fname, String value) {
+        name(fname);
+        string(value == null ? "" : value);
+        append(',');
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value field value
+     */
+    public void addField(String fname, Boolean value) {
+        if (value != null) {
+            name(fname);
+            append(value ? TRUE : FALSE);
+            append(',');
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value field value
+     */
+    public void addFldWhenTrue(String fname, Boolean value) {
+        if (value != null && value) {
+            addField(fname, true);
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value field value
+     */
+    public void addField(String fname, Integer value) {
+        if (value != null && value >= 0) {
+            numberField(fname, value);
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value field value
+     */
+    public void addFieldWhenGtZero(String fname, Integer value) {
+        if (value != null && value > 0) {
+            numberField(fname, value);
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value field value
+     */
+    public void addField(String fname, Long value) {
+        if (value != null && value >= 0) {
+            numberField(fname, value);
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value field value
+     */
+    public void addFieldWhenGtZero(String fname, Long value) {
+        if (value != null && value > 0) {
+            numberField(fname, value);
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value field value
+     */
+    public void addFieldWhenGteMinusOne(String fname, Long value) {
+        if (value != null && value >= -1) {
+            numberField(fname, value);
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value field value
+     * @param gt the number the value must be greater than
+     */
+    public void addFieldWhenGreaterThan(String fname, Long value, long gt) {
+        if (value != null && value > gt) {
+            numberField(fname, value);
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param value duration value
+     */
+    public void addFieldAsNanos(String fname, Duration value) {
+        if (value != null && !value.isZero() && !value.isNegative()) {
+            numberField(fname, value.toNanos());
+        }
+    }
+
+    /**
+     * Appends a json object. A {@link JsonWritable} is written into this writer.
+     * @param fname fieldname
+     * @param value JsonSerializable value
+     */
+    public void addField(String fname, JsonSerializable value) {
+        if (value != null) {
+            name(fname);
+            value(value);
+            append(',');
+        }
+    }
+
+    public void addField(String fname, Map<String, String> map) {
+        if (map != null && map.size() > 0) {
+            addField(fname, instance(map));
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    public void addEnumWhenNot(String fname, Enum e, Enum dontAddIfThis) {
+        if (e != null && e != dontAddIfThis) {
+            addField(fname, e.toString());
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param strings field value
+     */
+    public void addStrings(String fname, String[] strings) {
+        if (strings != null && strings.length > 0) {
+            addStrings(fname, Arrays.asList(strings));
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param strings field value
+     */
+    public void addStrings(String fname, List<String> strings) {
+        if (strings != null && strings.size() > 0) {
+            name(fname);
+            append('[');
+            for (int i = 0; i < strings.size(); i++) {
+                if (i > 0) {
+                    append(',');
+                }
+                string(strings.get(i));
+            }
+            append(']').append(',');
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param jsons field value
+     */
+    public void addJsons(String fname, List<? extends JsonSerializable> jsons) {
+        if (jsons != null && !jsons.isEmpty()) {
+            name(fname);
+            append('[');
+            for (int i = 0; i < jsons.size(); i++) {
+                if (i > 0) {
+                    append(',');
+                }
+                value(jsons.get(i));
+            }
+            append(']').append(',');
+        }
+    }
+
+    /**
+     * Appends a json field.
+     * @param fname fieldname
+     * @param durations list of durations
+     */
+    public void addDurations(String fname, List<Duration> durations) {
+        if (durations != null && durations.size() > 0) {
+            name(fname);
+            append('[');
+            for (int i = 0; i < durations.size(); i++) {
+                if (i > 0) {
+                    append(',');
+                }
+                number(durations.get(i).toNanos());
+            }
+            append(']').append(',');
+        }
+    }
+
+    /**
+     * Appends a date/time as a rfc 3339 formatted field.
+     * @param fname fieldname
+     * @param zonedDateTime field value
+     */
+    public void addField(String fname, ZonedDateTime zonedDateTime) {
+        if (zonedDateTime != null && !DEFAULT_TIME.equals(zonedDateTime)) {
+            name(fname);
+            append('"');
+            raw(DateTimeUtils.toRfc3339(zonedDateTime));
+            append('"').append(',');
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------------------
+    // VALUES
+    // ----------------------------------------------------------------------------------------------------
+    private void numberField(String fname, long value) {
+        name(fname);
+        number(value);
+        append(',');
+    }
+
+    private void name(String fname) {
+        string(fname);
+        append(':');
+    }
+
+    private void value(JsonSerializable value) {
+        if (value instanceof JsonWritable) {
+            ((JsonWritable) value).writeJson(this);
+        }
+        else {
+            raw(value.toJson());
+        }
+    }
+
+    private void number(long value) {
+        if (value == Long.MIN_VALUE) {
+            append(LONG_MIN);
+            return;
+        }
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        int at = len + digits;
+        do {
+            buf[--at] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value > 0);
+        len += digits;
+    }
+
+    // a quoted string, escaped the same as Encoding.jsonEncode and encoded as UTF-8
+    private void string(String s) {
+        int slen = s.length();
+        ensure(slen + 2);
+        buf[len++] = '"';
+        int i = 0;
+        // the common case, ascii that needs no escaping, straight into the buffer
+        for (; i < slen; i++) {
+            char c = s.charAt(i);
+            if (c < ' ' || c > '~' || c == '"' || c == '\\' || c == '/') {
+                break;
+            }
+            buf[len++] = (byte) c;
+        }
+        for (; i < slen; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': escape('"'); break;
+                case '\\': escape('\\'); break;
+                case '\b': escape('b'); break;
+                case '\f': escape('f'); break;
+                case '\n': escape('n'); break;
+                case '\r': escape('r'); break;
+                case '\t': escape('t'); break;
+                case '/': escape('/'); break;
+                default:
+                    if (c < ' ') {
+                        ensure(6);
+                        buf[len++] = '\\';
+                        buf[len++] = 'u';
+                        buf[len++] = '0';
+                        buf[len++] = '0';
+                        buf[len++] = HEX[c >> 4];
+                        buf[len++] = HEX[c & 0xF];
+                    }
+                    else {
+                        i = utf8(s, i, c);
+                    }
+            }
+        }
+        append('"');
+    }
+
+    // raw text, not escaped, encoded as UTF-8
+    private void raw(String s) {
+        int slen = s.length();
+        ensure(slen);
+        for (int i = 0; i < slen; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                ensure(1);
+                buf[len++] = (byte) c;
+            }
+            else {
+                i = utf8(s, i, c);
+            }
+        }
+    }
+
+    private void escape(char c) {
+        ensure(2);
+        buf[len++] = '\\';
+        buf[len++] = (byte) c;
+    }
+
+    // encodes the char at i, and the one after it if it's a surrogate pair, returns the index of the last one used
+    private int utf8(String s, int i, char c) {
+        ensure(4);
+        if (c < 0x80) {
+            buf[len++] = (byte) c;
+        }
+        else if (c < 0x800) {
+            buf[len++] = (byte) (0xC0 | (c >> 6));
+            buf[len++] = (byte) (0x80 | (c & 0x3F));
+        }
+        else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(++i));
+            buf[len++] = (byte) (0xF0 | (cp >> 18));
+            buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buf[len++] = (byte) (0x80 | (cp & 0x3F));
+        }
+        else if (Character.isSurrogate(c)) {
+            buf[len++] = '?'; // unpaired, same as String.getBytes
+        }
+        else {
+            buf[len++] = (byte) (0xE0 | (c >> 12));
+            buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buf[len++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return i;
+    }
+
+    private JsonWriter append(char c) {
+        ensure(1);
+        buf[len++] = (byte) c;
+        return this;
+    }
+
+    private void append(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, len, bytes.length);
+        len += bytes.length;
+    }
+
+    private void ensure(int more) {
+        if (len + more > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + more));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import java.text.NumberFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies in nanoseconds, with log linear buckets in the style of HdrHistogram.
+ * Values below 128 are exact, larger values are kept to within about 1.6 percent.
+ * Values larger than about 18 minutes are counted in the top bucket, the max is still exact.
+ * <p>Recording does not allocate or lock, so it can be done on the hot path. A snapshot can be taken
+ * and the histogram reset at any time while values are still being recorded, no values are lost,
+ * a value recorded during the reset lands either in the snapshot or in the histogram.
+ * Histograms can be merged, for instance to combine the histograms of several connections.
+ */
+public class LatencyHistogram {
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    static final int MAX_VALUE_BITS = 40;
+    static final int BUCKETS = SUB_BUCKETS + (MAX_VALUE_BITS - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final AtomicLong min;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        count = new LongAdder();
+        sum = new LongAdder();
+        min = new AtomicLong(Long.MAX_VALUE);
+        max = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Record a latency
+     * @param nanos the latency in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+
+        long current = min.get();
+        while (value < current && !min.compareAndSet(current, value)) {
+            current = min.get();
+        }
+        current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Add all the values of another histogram to this one
+     * @param other the histogram to merge in
+     */
+    public void merge(LatencyHistogram other) {
+        LatencyHistogram snap = other.snapshot();
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = snap.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        count.add(snap.count.sum());
+        sum.add(snap.sum.sum());
+        long current = min.get();
+        while (snap.min.get() < current && !min.compareAndSet(current, snap.min.get())) {
+            current = min.get();
+        }
+        current = max.get();
+        while (snap.max.get() > current && !max.compareAndSet(current, snap.max.get())) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Take a copy of the histogram. Values recorded while the copy is made may or may not be included.
+     * @return the copy
+     */
+    public LatencyHistogram snapshot() {
+        return copy(false);
+    }
+
+    /**
+     * Take a copy of the histogram and reset this histogram, without stopping recording.
+     * Every value ends up either in the returned copy or in this histogram.
+     * @return the copy
+     */
+    public LatencyHistogram snapshotAndReset() {
+        return copy(true);
+    }
+
+    /**
+     * Reset the histogram
+     */
+    public void reset() {
+        copy(true);
+    }
+
+    private LatencyHistogram copy(boolean reset) {
+        LatencyHistogram snap = new LatencyHistogram();
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = reset ? counts.getAndSet(i, 0) : counts.get(i);
+            if (c != 0) {
+                snap.counts.set(i, c);
+                total += c;
+            }
+        }
+        // the count comes from the copied buckets so percentiles are consistent with it
+        snap.count.add(total);
+        if (reset) {
+            count.add(-total);
+            snap.sum.add(sum.sumThenReset());
+            snap.min.set(min.getAndSet(Long.MAX_VALUE));
+            snap.max.set(max.getAndSet(Long.MIN_VALUE));
+        }
+        else {
+            snap.sum.add(sum.sum());
+            snap.min.set(min.get());
+            snap.max.set(max.get());
+        }
+        return snap;
+    }
+
+    /**
+     * @return the number of values recorded
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the smallest value recorded or 0 if there are none
+     */
+    public long getMin() {
+        long m = min.get();
+        return m == Long.MAX_VALUE ? 0 : m;
+    }
+
+    /**
+     * @return the largest value recorded or 0 if there are none
+     */
+    public long getMax() {
+        long m = max.get();
+        return m == Long.MIN_VALUE ? 0 : m;
+    }
+
+    /**
+     * @return the mean of the values recorded or 0 if there are none
+     */
+    public double getMean() {
+        long c = count.sum();
+        return c == 0 ? 0 : (double) sum.sum() / c;
+    }
+
+    /**
+     * Get the value at a percentile. The value is the highest value that is
+     * equivalent to the recorded values in its bucket, limited to the max.
+     * @param percentile the percentile, 0 to 100
+     * @return the value or 0 if there are none
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        if (percentile <= 0) {
+            return getMin();
+        }
+
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.max(getMin(), Math.min(highestEquivalentValue(i), getMax()));
+            }
+        }
+        return getMax();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        if (msb >= MAX_VALUE_BITS) {
+            return BUCKETS - 1;
+        }
+        int shift = msb - SUB_BUCKET_BITS + 1;
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) (value >>> shift) - HALF_SUB_BUCKETS;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long top = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        NumberFormat nf = NumberFormat.getNumberInstance();
+        return "LatencyHistogram{" +
+            "count=" + nf.format(getCount()) +
+            ", min=" + nf.format(getMin()) +
+            ", mean=" + nf.format(getMean()) +
+            ", p50=" + nf.format(getValueAtPercentile(50)) +
+            ", p90=" + nf.format(getValueAtPercentile(90)) +
+            ", p99=" + nf.format(getValueAtPercentile(99)) +
+            ", p99.9=" + nf.format(getValueAtPercentile(99.9)) +
+            ", max=" + nf.format(getMax()) +
+            '}';
+    }
+}
@@ -0,0 +1,108 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Latencies over a sliding time window, kept as a ring of {@link LatencyHistogram}s that each cover
+ * a slice of the window. A slice is cleared when the ring comes around to it again, so a snapshot
+ * covers between the window less one slice and the whole window.
+ * <p>Recording is as cheap as for a single histogram plus a time check, and does not lock.
+ * A value recorded at the moment its slice is being cleared may be lost.</p>
+ */
+public class LatencyWindow {
+    public static final int DEFAULT_SLICES = 6;
+
+    private final LatencyHistogram[] slices;
+    private final AtomicLongArray epochs; // the time slice each histogram holds
+    private final long sliceNanos;
+    private final LongSupplier nanoTime;
+
+    /**
+     * Construct a window with {@value #DEFAULT_SLICES} slices
+     * @param window the length of the window
+     */
+    public LatencyWindow(Duration window) {
+        this(window, DEFAULT_SLICES, System::nanoTime);
+    }
+
+    LatencyWindow(Duration window, int sliceCount, LongSupplier nanoTime) {
+        if (window == null || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be greater than zero.");
+        }
+        this.nanoTime = nanoTime;
+        sliceNanos = Math.max(1, window.toNanos() / sliceCount);
+        slices = new LatencyHistogram[sliceCount];
+        epochs = new AtomicLongArray(sliceCount);
+        long epoch = epoch();
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new LatencyHistogram();
+            epochs.set(i, epoch - sliceCount); // long enough ago to be stale
+        }
+    }
+
+    private long epoch() {
+        return Math.floorDiv(nanoTime.getAsLong(), sliceNanos);
+    }
+
+    /**
+     * Record a latency
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long epoch = epoch();
+        int i = (int) Math.floorMod(epoch, (long) slices.length);
+        long held = epochs.get(i);
+        if (held != epoch && epochs.compareAndSet(i, held, epoch)) {
+            slices[i].reset();
+        }
+        slices[i].record(nanos);
+    }
+
+    /**
+     * Merge the slices that are still in the window
+     * @return a histogram of the window
+     */
+    public LatencyHistogram snapshot() {
+        long oldest = epoch() - slices.length + 1;
+        LatencyHistogram merged = new LatencyHistogram();
+        for (int i = 0; i < slices.length; i++) {
+            if (epochs.get(i) >= oldest) {
+                merged.merge(slices[i]);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Clear the window
+     */
+    public void reset() {
+        long stale = epoch() - slices.length;
+        for (int i = 0; i < slices.length; i++) {
+            epochs.set(i, stale);
+            slices[i].reset();
+        }
+    }
+
+    /**
+     * @return the length of the window
+     */
+    public Duration getWindow() {
+        return Duration.ofNanos(sliceNanos * slices.length);
+    }
+}
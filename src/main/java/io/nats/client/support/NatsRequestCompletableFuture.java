@@ -16,11 +16,13 @@ public class NatsRequestCompletableFuture extends CompletableFuture<Message> {
 
     private final CancelAction cancelAction;
     private final long timeOutAfter;
+    private final long startNanos;
     private boolean wasCancelledClosing;
     private boolean wasCancelledTimedOut;
 
     public NatsRequestCompletableFuture(CancelAction cancelAction, Duration timeout) {
         this.cancelAction = cancelAction;
+        startNanos = System.nanoTime();
         timeOutAfter = System.currentTimeMillis() + 10 + (timeout == null ? DEFAULT_TIMEOUT : timeout.toMillis());
         // 10 extra millis allows for communication time, probably more than needed but...
     }
@@ -39,6 +41,14 @@ public class NatsRequestCompletableFuture extends CompletableFuture<Message> {
         return cancelAction;
     }
 
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getTimeOutAfter() {
+        return timeOutAfter;
+    }
+
     public boolean hasExceededTimeout() {
         return System.currentTimeMillis() > timeOutAfter;
     }
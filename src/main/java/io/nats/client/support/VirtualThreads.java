@@ -0,0 +1,109 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads, when the running JDK has them (21 and later). The library is built for Java 8,
+ * so the JDK methods are looked up once by reflection, on older JDKs {@link #isSupported()} is false
+ * and the other methods return null.
+ */
+public abstract class VirtualThreads {
+
+    private static final Method OF_VIRTUAL;       // Thread.ofVirtual()
+    private static final Method NAME;             // Thread.Builder.name(String, long)
+    private static final Method FACTORY;          // Thread.Builder.factory()
+    private static final Method PER_TASK;         // Executors.newThreadPerTaskExecutor(ThreadFactory)
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method perTask = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // preview builds have the methods but throw when they are used
+            factory.invoke(ofVirtual.invoke(null));
+        }
+        catch (Throwable t) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        PER_TASK = perTask;
+    }
+
+    private VirtualThreads() {}  /* ensures cannot be constructed */
+
+    /**
+     * @return true if the running JDK can create virtual threads
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * A factory for virtual threads named with the prefix and a counter, like the default executor names its threads
+     * @param prefix the thread name prefix
+     * @return the factory or null if virtual threads are not supported
+     */
+    public static ThreadFactory factory(String prefix) {
+        if (OF_VIRTUAL == null) {
+            return null;
+        }
+        try {
+            return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(null), prefix + ":", 1L));
+        }
+        catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * An executor that starts a new virtual thread for each task
+     * @param prefix the thread name prefix
+     * @return the executor or null if virtual threads are not supported
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = factory(prefix);
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) PER_TASK.invoke(null, factory);
+        }
+        catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * An executor with one thread, a virtual one when supported, for work that must run in order
+     * @param prefix the thread name prefix
+     * @return the executor
+     */
+    public static ExecutorService newSingleThreadExecutor(String prefix) {
+        ThreadFactory factory = factory(prefix);
+        return factory == null ? Executors.newSingleThreadExecutor() : Executors.newSingleThreadExecutor(factory);
+    }
+}
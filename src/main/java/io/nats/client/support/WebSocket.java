@@ -43,14 +43,77 @@ public class WebSocket extends Socket {
     private WebsocketInputStream in;
     private WebsocketOutputStream out;
 
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+    private static final int MAX_WINDOW_BITS = 15;
+
     public WebSocket(Socket wrap, String host, List<Consumer<HttpRequest>> interceptors) throws IOException {
+        this(wrap, host, interceptors, false, MAX_WINDOW_BITS, 0);
+    }
+
+    /**
+     * Upgrade a socket to a websocket, offering permessage-deflate (rfc7692) if compression is requested.
+     * If the server accepts the offer, messages of at least compressionThreshold bytes are compressed and
+     * compressed messages from the server are inflated, otherwise the websocket works without compression.
+     * @param wrap the connected socket
+     * @param host the host for the Host header
+     * @param interceptors interceptors that can modify the upgrade request
+     * @param compression whether to offer permessage-deflate
+     * @param windowBits the largest LZ77 window the server may compress with, 8 to 15,
+     *                   smaller windows use less memory on the server, 15 makes no request
+     * @param compressionThreshold messages smaller than this are sent uncompressed
+     * @throws IOException if the handshake fails
+     */
+    public WebSocket(Socket wrap, String host, List<Consumer<HttpRequest>> interceptors,
+                     boolean compression, int windowBits, int compressionThreshold) throws IOException {
         this.wrap = wrap;
-        handshake(wrap, host, interceptors);
-        this.in = new WebsocketInputStream(wrap.getInputStream());
-        this.out = new WebsocketOutputStream(wrap.getOutputStream(), true);
+        String extension = null;
+        if (compression) {
+            extension = PERMESSAGE_DEFLATE;
+            if (windowBits < MAX_WINDOW_BITS) {
+                extension += "; server_max_window_bits=" + windowBits;
+            }
+        }
+        String accepted = handshake(wrap, host, interceptors, extension);
+        if (accepted == null) {
+            this.in = new WebsocketInputStream(wrap.getInputStream());
+            this.out = new WebsocketOutputStream(wrap.getOutputStream(), true);
+        }
+        else {
+            boolean serverNoContextTakeover = false;
+            boolean clientNoContextTakeover = false;
+            String[] params = accepted.split(";");
+            if (!PERMESSAGE_DEFLATE.equalsIgnoreCase(params[0].trim())) {
+                throw new IllegalStateException("Expected HTTP `Sec-WebSocket-Extensions: " + PERMESSAGE_DEFLATE + "`, but got " + accepted);
+            }
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().toLowerCase();
+                if ("server_no_context_takeover".equals(param)) {
+                    serverNoContextTakeover = true;
+                }
+                else if ("client_no_context_takeover".equals(param)) {
+                    clientNoContextTakeover = true;
+                }
+                else if (!param.startsWith("server_max_window_bits")) {
+                    // client_max_window_bits was not offered, the Deflater can only use a full window
+                    throw new IllegalStateException("Unsupported " + PERMESSAGE_DEFLATE + " parameter " + param);
+                }
+            }
+            this.in = new WebsocketInputStream(wrap.getInputStream(), !serverNoContextTakeover);
+            this.out = new WebsocketOutputStream(wrap.getOutputStream(), true, !clientNoContextTakeover, compressionThreshold);
+        }
+    }
+
+    /**
+     * @return true if the server accepted permessage-deflate
+     */
+    public boolean isCompressed() {
+        return out.isCompressing();
     }
 
-    private static void handshake(Socket socket, String host, List<Consumer<HttpRequest>> interceptors) throws IOException {
+    /**
+     * Perform the handshake, returning the extension the server accepted or null if it accepted none
+     */
+    private static String handshake(Socket socket, String host, List<Consumer<HttpRequest>> interceptors, String extension) throws IOException {
         InputStream in = socket.getInputStream();
         OutputStream out = socket.getOutputStream();
         HttpRequest request = new HttpRequest();
@@ -69,8 +132,10 @@ public class WebSocket extends Socket {
             .add("Sec-WebSocket-Key", key)
             .add("Sec-WebSocket-Protocol", "nats")
             .add("Sec-WebSocket-Version", "13");
-            // TODO: Support Sec-WebSocket-Extensions: permessage-deflate
             // TODO: Support Nats-No-Masking: TRUE
+        if (extension != null) {
+            request.getHeaders().add("Sec-WebSocket-Extensions", extension);
+        }
 
         for (Consumer<HttpRequest> interceptor : interceptors) {
             interceptor.accept(request);
@@ -134,8 +199,16 @@ public class WebSocket extends Socket {
             throw new IllegalStateException(
                 "Expected HTTP `Sec-WebSocket-Accept: " + acceptKey + ", but got " + gotAcceptKey);
         }
-        // 5 & 6 are not valid, since nats-server doesn't
-        // implement extensions or protocols.
+        // 5. Only an extension that was offered may be accepted
+        String accepted = headers.get("sec-websocket-extensions");
+        if (accepted != null && accepted.trim().isEmpty()) {
+            accepted = null;
+        }
+        if (accepted != null && extension == null) {
+            throw new IllegalStateException("Unexpected HTTP `Sec-WebSocket-Extensions: " + accepted + "`");
+        }
+        // 6 is not valid, since nats-server doesn't implement protocols.
+        return accepted;
     }
 
     private static String readLine(byte[] buffer, InputStream in) throws IOException {
@@ -13,6 +13,8 @@
 
 package io.nats.client.support;
 
+import java.nio.ByteBuffer;
+
 public class WebsocketFrameHeader {
     public static int MAX_FRAME_HEADER_SIZE = 14;
 
@@ -60,6 +62,17 @@ public class WebsocketFrameHeader {
         return this;
     }
 
+    /**
+     * Set or clear the RSV1 bit, which permessage-deflate uses to mark the
+     * first frame of a compressed message. Must be called after withOp.
+     * @param compressed whether the message is compressed
+     * @return this header
+     */
+    public WebsocketFrameHeader withCompressed(boolean compressed) {
+        this.byte0 = (byte)(compressed ? (byte0 | 0x40) : (byte0 & ~0x40));
+        return this;
+    }
+
     public WebsocketFrameHeader withNoMask() {
         this.mask = false;
         return this;
@@ -81,6 +94,10 @@ public class WebsocketFrameHeader {
         return (byte0 & 0x80) != 0;
     }
 
+    public boolean isCompressed() {
+        return (byte0 & 0x40) != 0;
+    }
+
     public boolean isMasked() {
         return mask;
     }
@@ -103,7 +120,8 @@ public class WebsocketFrameHeader {
 
     /**
      * Decrement the payloadLength by at most maxSize such that payloadLength is non-negative,
-     * returning the amount decremented.
+     * returning the amount decremented. If the payload is masked, the bytes are unmasked (or masked)
+     * in place, 8 bytes at a time.
      * 
      * @param buffer is the buffer to filter.
      * @param offset is the start offset within buffer to filter.
@@ -115,10 +133,21 @@ public class WebsocketFrameHeader {
         length = Math.min(length, payloadLength > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)payloadLength);
         payloadLength -= length;
         if (mask) {
-            for (int i=0; i < length; i++) {
-                int key = 0xFF & (maskingKey >> (8 * (7 - maskingKeyOffset)));
-                buffer[offset + i] ^= key;
-                maskingKeyOffset = (maskingKeyOffset + 1) % 8;
+            int i = 0;
+            if (length >= 8) {
+                // the key repeats every 4 bytes, so a key rotated to the current offset
+                // and doubled masks 8 bytes and leaves the offset where it was
+                int rotated = Integer.rotateLeft(maskingKey, 8 * maskingKeyOffset);
+                long key8 = ((long) rotated << 32) | (rotated & 0xFFFFFFFFL);
+                ByteBuffer bb = ByteBuffer.wrap(buffer);
+                for (int end = length - 7; i < end; i += 8) {
+                    int at = offset + i;
+                    bb.putLong(at, bb.getLong(at) ^ key8);
+                }
+            }
+            for (; i < length; i++) {
+                buffer[offset + i] ^= (byte) (maskingKey >>> (8 * (3 - maskingKeyOffset)));
+                maskingKeyOffset = (maskingKeyOffset + 1) & 3;
             }
         }
         return length;
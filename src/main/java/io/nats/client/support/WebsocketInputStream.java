@@ -17,6 +17,8 @@ import io.nats.client.support.WebsocketFrameHeader.OpCode;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 public class WebsocketInputStream extends InputStream {
     private byte[] buffer = new byte[WebsocketFrameHeader.MAX_FRAME_HEADER_SIZE];
@@ -24,10 +26,31 @@ public class WebsocketInputStream extends InputStream {
     private InputStream in;
     private byte[] oneByte = new byte[1];
 
+    // permessage-deflate, the inflater is null when compression was not negotiated
+    private static final byte[] DEFLATE_TAIL = new byte[] { 0x00, 0x00, (byte)0xFF, (byte)0xFF };
+    private Inflater inflater;
+    private boolean inflateContextTakeover;
+    private byte[] inflateBuffer;
+    private boolean inflating;
+    private boolean tailInflated;
+
     public WebsocketInputStream(InputStream in) {
         this.in = in;
     }
 
+    /**
+     * Create a websocket input stream that decompresses messages that were compressed with permessage-deflate.
+     * @param in the stream to read frames from
+     * @param contextTakeover whether the peer keeps its compression context from one message to the next,
+     *                        false when it agreed to server_no_context_takeover
+     */
+    public WebsocketInputStream(InputStream in, boolean contextTakeover) {
+        this(in);
+        this.inflater = new Inflater(true);
+        this.inflateContextTakeover = contextTakeover;
+        this.inflateBuffer = new byte[8192];
+    }
+
     @Override
     public int available() throws IOException {
         return in.available();
@@ -36,6 +59,9 @@ public class WebsocketInputStream extends InputStream {
     @Override
     public void close() throws IOException {
         in.close();
+        if (inflater != null) {
+            inflater.end();
+        }
     }
 
     @Override
@@ -55,11 +81,17 @@ public class WebsocketInputStream extends InputStream {
 
     @Override
     public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (inflating) {
+            return inflate(buffer, offset, length);
+        }
         // Just in case we get headers with empty payloads:
         while (0 == header.getPayloadLength()) {
             if (!readHeader()) {
                 return -1;
             }
+            if (inflating) {
+                return inflate(buffer, offset, length);
+            }
         }
         if (header.getOpCode() == OpCode.CLOSE) {
             // Ignore the websocket close message body:
@@ -104,6 +136,65 @@ public class WebsocketInputStream extends InputStream {
             }
         }
         header.write(buffer, 0, headerSize);
+        if (inflater != null && header.isCompressed()) {
+            inflating = true;
+            tailInflated = false;
+        }
         return true;
     }
+
+    /**
+     * Inflate the current compressed message into the buffer, reading its frames as needed.
+     * Once the last frame is read the 0x00 0x00 0xFF 0xFF the sender left off is put back
+     * (rfc7692 7.2.2) and the message is done. Returns at least one byte unless the stream ended,
+     * if the message inflates to nothing the next message is read.
+     */
+    private int inflate(byte[] buffer, int offset, int length) throws IOException {
+        while (true) {
+            int inflated;
+            try {
+                inflated = inflater.inflate(buffer, offset, length);
+            }
+            catch (DataFormatException e) {
+                throw new IOException("Invalid compressed websocket message", e);
+            }
+            if (inflated > 0 || length == 0) {
+                return inflated;
+            }
+            if (inflater.finished()) {
+                // the sender ended the deflate stream, which also ends the context
+                inflater.reset();
+            }
+
+            if (header.getPayloadLength() > 0) {
+                int toRead = (int)Math.min(inflateBuffer.length, header.getPayloadLength());
+                int read = in.read(inflateBuffer, 0, toRead);
+                if (read < 0) {
+                    return -1;
+                }
+                header.filterPayload(inflateBuffer, 0, read);
+                inflater.setInput(inflateBuffer, 0, read);
+            }
+            else if (!header.isFinal()) {
+                if (!readHeader()) {
+                    return -1;
+                }
+                if (header.getOpCode() == OpCode.CLOSE) {
+                    in.skip(header.getPayloadLength());
+                    return -1;
+                }
+            }
+            else if (!tailInflated) {
+                tailInflated = true;
+                inflater.setInput(DEFLATE_TAIL);
+            }
+            else {
+                inflating = false;
+                if (!inflateContextTakeover) {
+                    inflater.reset();
+                }
+                return read(buffer, offset, length);
+            }
+        }
+    }
 }
@@ -18,40 +18,70 @@ import io.nats.client.support.WebsocketFrameHeader.OpCode;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.security.SecureRandom;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.zip.Deflater;
 
 public class WebsocketOutputStream extends OutputStream {
+    /**
+     * Frames with payloads up to this size are copied into the frame buffer behind their header
+     * and written to the wrapped stream in one write. Larger payloads are written in two writes,
+     * the header with the start of the payload and then the rest of the payload.
+     */
+    public static final int MAX_COALESCED_FRAME_SIZE = 1024 * 1024;
+
     private OutputStream wrap;
     private boolean masked;
     private byte[] oneByte = new byte[1];
     /**
-     * Minimize fragmenting, by using a 1440 buffer size. This buffer is used to
-     * store the websocket header + payload for the first write.
-     *
-     * We are using this size since a typical MTU for ethernet is 1500 and the
-     * TCP/IPv6 header consumes 60 bytes, thus by using 1440 we should minimize
-     * the need for further fragmentation at the lower layers and yet minimize
-     * the overhead associated with the fact that a write to the Socket (which
-     * has NO_DELAY set on it) results in a single TCP/IPv6 datagram which has
-     * a 60 byte overhead.
-     *
-     * Note that the effective payload is less due to the websocket frame overhead:
-     * 4 bytes header/length + 4 bytes masking. Which would be a payload
-     * size of 1432. This means any write which is larger than 1432 will be
-     * fragmented into two socket writes and will thus have another 60 bytes
-     * of TCP/IPv6 datagram header overhead.
+     * The frame buffer starts at 1440 bytes, a typical ethernet MTU of 1500 less
+     * the 60 bytes of TCP/IPv6 header, and grows to fit the largest frame written,
+     * up to MAX_COALESCED_FRAME_SIZE plus the frame header.
      */
-    private byte[] headerBuffer = new byte[1440];
+    private byte[] frameBuffer = new byte[1440];
     private WebsocketFrameHeader header = new WebsocketFrameHeader()
         .withOp(OpCode.BINARY, true)
         .withNoMask();
-    private Random random = new SecureRandom();
+    /**
+     * Masking keys only need to be unpredictable to intermediaries, not cryptographically strong,
+     * so they come from a fast generator seeded once from a SecureRandom.
+     */
+    private SplittableRandom random = new SplittableRandom(new SecureRandom().nextLong());
+
+    // permessage-deflate, the deflater is null when compression was not negotiated
+    private Deflater deflater;
+    private boolean deflateContextTakeover;
+    private int compressionThreshold;
+    private byte[] deflateBuffer;
 
     public WebsocketOutputStream(OutputStream wrap, boolean masked) {
         this.wrap = wrap;
         this.masked = masked;
     }
 
+    /**
+     * Create a websocket output stream that compresses messages with permessage-deflate.
+     * @param wrap the stream to write frames to
+     * @param masked whether frames are masked
+     * @param contextTakeover whether the compression context is kept from one message to the next,
+     *                        false when the peer asked for client_no_context_takeover
+     * @param compressionThreshold messages smaller than this are sent uncompressed
+     */
+    public WebsocketOutputStream(OutputStream wrap, boolean masked, boolean contextTakeover, int compressionThreshold) {
+        this(wrap, masked);
+        this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        this.deflateContextTakeover = contextTakeover;
+        this.compressionThreshold = compressionThreshold;
+        this.deflateBuffer = new byte[1440];
+    }
+
+    /**
+     * @return true if messages are compressed with permessage-deflate
+     */
+    public boolean isCompressing() {
+        return deflater != null;
+    }
+
     @Override
     public void close() throws IOException {
         // NOTE: Per spec, we should technically wait to receive the close frame,
@@ -60,9 +90,12 @@ public class WebsocketOutputStream extends OutputStream {
             .withOp(OpCode.CLOSE, true)
             .withNoMask()
             .withPayloadLength(0);
-        int length = header.read(headerBuffer, 0, headerBuffer.length);
-        wrap.write(headerBuffer, 0, length);
+        int length = header.read(frameBuffer, 0, frameBuffer.length);
+        wrap.write(frameBuffer, 0, length);
         wrap.close();
+        if (deflater != null) {
+            deflater.end();
+        }
     }
 
     @Override
@@ -83,21 +116,58 @@ public class WebsocketOutputStream extends OutputStream {
 
     /**
      * NOTE: the buffer will be modified if masking is enabled and the length is greater
-     * than 1432. Regardless of if masking is enabled or not, any writes of length &gt; 1432
-     * will be split into two writes to the underlying OutputStream which is being wrapped.
+     * than MAX_COALESCED_FRAME_SIZE, in which case the write is also split into two writes
+     * to the underlying OutputStream which is being wrapped.
      */
     @Override
     public void write(byte[] buffer, int offset, int length) throws IOException {
+        if (deflater != null && length >= compressionThreshold) {
+            int compressed = deflate(buffer, offset, length);
+            header.withCompressed(true);
+            writeFrame(deflateBuffer, 0, compressed);
+            header.withCompressed(false);
+        }
+        else {
+            writeFrame(buffer, offset, length);
+        }
+    }
+
+    /**
+     * Deflate a whole message into the deflate buffer, leaving off the 0x00 0x00 0xFF 0xFF
+     * that ends the sync flush, which the receiver puts back (rfc7692 7.2.1)
+     * @return the number of compressed bytes
+     */
+    private int deflate(byte[] buffer, int offset, int length) {
+        deflater.setInput(buffer, offset, length);
+        int position = 0;
+        while (true) {
+            position += deflater.deflate(deflateBuffer, position, deflateBuffer.length - position, Deflater.SYNC_FLUSH);
+            if (position < deflateBuffer.length) {
+                break;
+            }
+            deflateBuffer = Arrays.copyOf(deflateBuffer, deflateBuffer.length * 2);
+        }
+        if (!deflateContextTakeover) {
+            deflater.reset();
+        }
+        return position >= 4 && deflateBuffer[position - 1] == (byte)0xFF ? position - 4 : position;
+    }
+
+    private void writeFrame(byte[] buffer, int offset, int length) throws IOException {
         header.withPayloadLength(length);
         if (masked) {
             header.withMask(random.nextInt());
         }
-        int headerBufferOffset = header.read(headerBuffer, 0, headerBuffer.length);
-        int consumed = Math.min(length, headerBuffer.length - headerBufferOffset);
-        System.arraycopy(buffer, offset, headerBuffer, headerBufferOffset, consumed);
+        int consumed = Math.min(length, MAX_COALESCED_FRAME_SIZE);
+        int needed = WebsocketFrameHeader.MAX_FRAME_HEADER_SIZE + consumed;
+        if (frameBuffer.length < needed) {
+            frameBuffer = new byte[Math.max(needed, Math.min(frameBuffer.length * 2, WebsocketFrameHeader.MAX_FRAME_HEADER_SIZE + MAX_COALESCED_FRAME_SIZE))];
+        }
+        int headerLength = header.read(frameBuffer, 0, frameBuffer.length);
+        System.arraycopy(buffer, offset, frameBuffer, headerLength, consumed);
 
-        header.filterPayload(headerBuffer, headerBufferOffset, consumed);
-        wrap.write(headerBuffer, 0, headerBufferOffset + consumed);
+        header.filterPayload(frameBuffer, headerLength, consumed);
+        wrap.write(frameBuffer, 0, headerLength + consumed);
         if (consumed < length) {
             // NOTE: We could perform a "mark" operation before filtering the
             // payload which saves the payloadLength and maskingKeyOffset, then
@@ -3,16 +3,25 @@ package io.nats.service;
 import io.nats.client.Connection;
 import io.nats.client.Dispatcher;
 import io.nats.client.Message;
+import io.nats.client.MessageHandler;
 import io.nats.client.Subscription;
 import io.nats.client.support.DateTimeUtils;
+import io.nats.client.support.LatencyHistogram;
+import io.nats.client.support.LatencyWindow;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Internal class to support service implementation
  */
 class EndpointContext {
+    static final String SHED_ERROR = "Service Unavailable";
+    static final int SHED_CODE = 503;
 
     private final Connection conn;
     private final ServiceEndpoint se;
@@ -24,14 +33,26 @@ class EndpointContext {
     private final Dispatcher dispatcher;
 
     private Subscription sub;
+    private Executor workers;    // null when handlers run on the dispatcher thread
+    private int maxInFlight;     // -1 for no limit
+
+    private final AtomicInteger accepted; // queued plus in flight
+    private final AtomicInteger inFlight;
+    private final AtomicLong numShed;
 
     private ZonedDateTime started;
     private String lastError;
     private final AtomicLong numRequests;
     private final AtomicLong numErrors;
     private final AtomicLong processingTime;
+    private final LatencyHistogram latency;      // since start, when there is no window
+    private final LatencyWindow latencyWindow;
 
     EndpointContext(Connection conn, Dispatcher internalDispatcher, boolean internalEndpoint, ServiceEndpoint se) {
+        this(conn, internalDispatcher, internalEndpoint, se, null);
+    }
+
+    EndpointContext(Connection conn, Dispatcher internalDispatcher, boolean internalEndpoint, ServiceEndpoint se, Duration latencyWindow) {
         this.conn = conn;
         this.se = se;
         handler = se.getHandler();
@@ -50,16 +71,92 @@ class EndpointContext {
         numRequests = new AtomicLong();
         numErrors = new AtomicLong();
         processingTime = new AtomicLong();
+        if (!recordStats) {
+            latency = null;
+            this.latencyWindow = null;
+        }
+        else if (latencyWindow == null) {
+            latency = new LatencyHistogram();
+            this.latencyWindow = null;
+        }
+        else {
+            latency = null;
+            this.latencyWindow = new LatencyWindow(latencyWindow);
+        }
+        accepted = new AtomicInteger();
+        inFlight = new AtomicInteger();
+        numShed = new AtomicLong();
         started = DateTimeUtils.gmtNow();
     }
 
     void start() {
+        start(null, -1);
+    }
+
+    void start(Executor workers, int serviceMaxInFlight) {
+        this.workers = workers;
+        maxInFlight = se.getMaxInFlight() > 0 ? se.getMaxInFlight() : serviceMaxInFlight;
+        MessageHandler handler = workers == null ? this::onMessage : this::submit;
         sub = qGroup == null
-            ? dispatcher.subscribe(se.getSubject(), this::onMessage)
-            : dispatcher.subscribe(se.getSubject(), qGroup, this::onMessage);
+            ? dispatcher.subscribe(se.getSubject(), handler)
+            : dispatcher.subscribe(se.getSubject(), qGroup, handler);
         started = DateTimeUtils.gmtNow();
     }
 
+    // runs on the dispatcher thread, hands the request to a worker or sheds it
+    private void submit(Message msg) {
+        if (accepted.incrementAndGet() > maxInFlight && maxInFlight > 0) {
+            accepted.decrementAndGet();
+            shed(msg);
+            return;
+        }
+        // a pooled buffer goes back to the pool when this returns, so take the data off it before handing over
+        msg.getData();
+        try {
+            workers.execute(() -> {
+                inFlight.incrementAndGet();
+                try {
+                    onMessage(msg);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finally {
+                    inFlight.decrementAndGet();
+                    accepted.decrementAndGet();
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            accepted.decrementAndGet();
+            shed(msg);
+        }
+    }
+
+    private void shed(Message msg) {
+        if (recordStats) {
+            numShed.incrementAndGet();
+        }
+        try {
+            new ServiceMessage(msg).respondStandardError(conn, SHED_ERROR, SHED_CODE);
+        } catch (RuntimeException ignore) {}
+    }
+
+    /**
+     * Wait for the requests handed to workers to finish
+     * @param deadlineNanos the System.nanoTime to give up at
+     * @return true if there are none left
+     */
+    boolean awaitIdle(long deadlineNanos) throws InterruptedException {
+        while (accepted.get() > 0) {
+            if (System.nanoTime() - deadlineNanos >= 0) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
     public void onMessage(Message msg) throws InterruptedException {
         long start = System.nanoTime();
         ServiceMessage smsg = new ServiceMessage(msg);
@@ -80,7 +177,14 @@ class EndpointContext {
         }
         finally {
             if (recordStats) {
-                processingTime.addAndGet(System.nanoTime() - start);
+                long elapsed = System.nanoTime() - start;
+                processingTime.addAndGet(elapsed);
+                if (latency == null) {
+                    latencyWindow.record(elapsed);
+                }
+                else {
+                    latency.record(elapsed);
+                }
             }
         }
     }
@@ -95,13 +199,24 @@ class EndpointContext {
             processingTime.get(),
             lastError,
             se.getStatsDataSupplier() == null ? null : se.getStatsDataSupplier().get(),
-            started);
+            started,
+            inFlight.get(),
+            Math.max(0, accepted.get() - inFlight.get()),
+            numShed.get(),
+            !recordStats ? null : latency == null ? latencyWindow.snapshot() : latency.snapshot());
     }
 
     void reset() {
         numRequests.set(0);
         numErrors.set(0);
         processingTime.set(0);
+        numShed.set(0);
+        if (latency != null) {
+            latency.reset();
+        }
+        if (latencyWindow != null) {
+            latencyWindow.reset();
+        }
         lastError = null;
         started = DateTimeUtils.gmtNow();
     }
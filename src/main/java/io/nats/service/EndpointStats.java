@@ -17,6 +17,7 @@ import io.nats.client.support.JsonSerializable;
 import io.nats.client.support.JsonUtils;
 import io.nats.client.support.JsonValue;
 import io.nats.client.support.JsonValueUtils;
+import io.nats.client.support.LatencyHistogram;
 
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -65,7 +66,12 @@ import static io.nats.client.support.JsonValueUtils.*;
  *          "idata": 2,
  *          "sdata": "s-996409223"
  *     },
- *     "started": "2023-08-15T13:51:41.318000000Z"
+ *     "started": "2023-08-15T13:51:41.318000000Z",
+ *     "processing_time_p50": 356351,
+ *     "processing_time_p90": 520100,
+ *     "processing_time_p99": 520100,
+ *     "processing_time_p999": 520100,
+ *     "processing_time_max": 520100
  * }
  * </code>
  */
@@ -80,12 +86,25 @@ public class EndpointStats implements JsonSerializable {
     private final String lastError;
     private final JsonValue data;
     private final ZonedDateTime started;
+    private final long inFlight;
+    private final long queueDepth;
+    private final long numShed;
+    private final long processingTimeP50;
+    private final long processingTimeP90;
+    private final long processingTimeP99;
+    private final long processingTimeP999;
+    private final long processingTimeMax;
 
     static List<EndpointStats> listOf(JsonValue vEndpointStats) {
         return JsonValueUtils.listOf(vEndpointStats, EndpointStats::new);
     }
 
     EndpointStats(String name, String subject, String queueGroup, long numRequests, long numErrors, long processingTime, String lastError, JsonValue data, ZonedDateTime started) {
+        this(name, subject, queueGroup, numRequests, numErrors, processingTime, lastError, data, started, 0, 0, 0, null);
+    }
+
+    EndpointStats(String name, String subject, String queueGroup, long numRequests, long numErrors, long processingTime, String lastError, JsonValue data, ZonedDateTime started,
+                  long inFlight, long queueDepth, long numShed, LatencyHistogram latency) {
         this.name = name;
         this.subject = subject;
         this.queueGroup = queueGroup;
@@ -96,6 +115,23 @@ public class EndpointStats implements JsonSerializable {
         this.lastError = lastError;
         this.data = data;
         this.started = started;
+        this.inFlight = inFlight;
+        this.queueDepth = queueDepth;
+        this.numShed = numShed;
+        if (latency == null) {
+            processingTimeP50 = 0;
+            processingTimeP90 = 0;
+            processingTimeP99 = 0;
+            processingTimeP999 = 0;
+            processingTimeMax = 0;
+        }
+        else {
+            processingTimeP50 = latency.getValueAtPercentile(50);
+            processingTimeP90 = latency.getValueAtPercentile(90);
+            processingTimeP99 = latency.getValueAtPercentile(99);
+            processingTimeP999 = latency.getValueAtPercentile(99.9);
+            processingTimeMax = latency.getMax();
+        }
     }
 
     EndpointStats(JsonValue vEndpointStats) {
@@ -109,6 +145,14 @@ public class EndpointStats implements JsonSerializable {
         lastError = readString(vEndpointStats, LAST_ERROR);
         data = readValue(vEndpointStats, DATA);
         started = readDate(vEndpointStats, STARTED);
+        inFlight = readLong(vEndpointStats, IN_FLIGHT, 0);
+        queueDepth = readLong(vEndpointStats, QUEUE_DEPTH, 0);
+        numShed = readLong(vEndpointStats, NUM_SHED, 0);
+        processingTimeP50 = readLong(vEndpointStats, PROCESSING_TIME_P50, 0);
+        processingTimeP90 = readLong(vEndpointStats, PROCESSING_TIME_P90, 0);
+        processingTimeP99 = readLong(vEndpointStats, PROCESSING_TIME_P99, 0);
+        processingTimeP999 = readLong(vEndpointStats, PROCESSING_TIME_P999, 0);
+        processingTimeMax = readLong(vEndpointStats, PROCESSING_TIME_MAX, 0);
     }
 
     @Override
@@ -124,6 +168,14 @@ public class EndpointStats implements JsonSerializable {
         JsonUtils.addField(sb, LAST_ERROR, lastError);
         JsonUtils.addField(sb, DATA, data);
         JsonUtils.addField(sb, STARTED, started);
+        JsonUtils.addFieldWhenGtZero(sb, IN_FLIGHT, inFlight);
+        JsonUtils.addFieldWhenGtZero(sb, QUEUE_DEPTH, queueDepth);
+        JsonUtils.addFieldWhenGtZero(sb, NUM_SHED, numShed);
+        JsonUtils.addFieldWhenGtZero(sb, PROCESSING_TIME_P50, processingTimeP50);
+        JsonUtils.addFieldWhenGtZero(sb, PROCESSING_TIME_P90, processingTimeP90);
+        JsonUtils.addFieldWhenGtZero(sb, PROCESSING_TIME_P99, processingTimeP99);
+        JsonUtils.addFieldWhenGtZero(sb, PROCESSING_TIME_P999, processingTimeP999);
+        JsonUtils.addFieldWhenGtZero(sb, PROCESSING_TIME_MAX, processingTimeMax);
         return endJson(sb).toString();
     }
 
@@ -215,6 +267,74 @@ public class EndpointStats implements JsonSerializable {
         return started;
     }
 
+    /**
+     * The number of requests being handled by workers when the stats were taken.
+     * Always 0 when the service does not use workers.
+     * @return the in flight gauge
+     */
+    public long getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * The number of requests waiting for a worker when the stats were taken.
+     * Always 0 when the service does not use workers.
+     * @return the queue depth gauge
+     */
+    public long getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * The number of requests answered with a 503 error because the endpoint already had
+     * its maximum number of requests in flight.
+     * @return the number of shed requests
+     */
+    public long getNumShed() {
+        return numShed;
+    }
+
+    /**
+     * The median processing time, over the latency window if the service has one, otherwise since
+     * the endpoint was started or reset
+     * @return the 50th percentile processing time in nanoseconds
+     */
+    public long getProcessingTimeP50() {
+        return processingTimeP50;
+    }
+
+    /**
+     * The 90th percentile processing time, see {@link #getProcessingTimeP50()} for the period
+     * @return the 90th percentile processing time in nanoseconds
+     */
+    public long getProcessingTimeP90() {
+        return processingTimeP90;
+    }
+
+    /**
+     * The 99th percentile processing time, see {@link #getProcessingTimeP50()} for the period
+     * @return the 99th percentile processing time in nanoseconds
+     */
+    public long getProcessingTimeP99() {
+        return processingTimeP99;
+    }
+
+    /**
+     * The 99.9th percentile processing time, see {@link #getProcessingTimeP50()} for the period
+     * @return the 99.9th percentile processing time in nanoseconds
+     */
+    public long getProcessingTimeP999() {
+        return processingTimeP999;
+    }
+
+    /**
+     * The longest processing time, see {@link #getProcessingTimeP50()} for the period
+     * @return the max processing time in nanoseconds
+     */
+    public long getProcessingTimeMax() {
+        return processingTimeMax;
+    }
+
     @Override
     public String toString() {
         return JsonUtils.toKey(getClass()) + toJson();
@@ -232,6 +352,14 @@ public class EndpointStats implements JsonSerializable {
         if (numErrors != that.numErrors) return false;
         if (processingTime != that.processingTime) return false;
         if (averageProcessingTime != that.averageProcessingTime) return false;
+        if (inFlight != that.inFlight) return false;
+        if (queueDepth != that.queueDepth) return false;
+        if (numShed != that.numShed) return false;
+        if (processingTimeP50 != that.processingTimeP50) return false;
+        if (processingTimeP90 != that.processingTimeP90) return false;
+        if (processingTimeP99 != that.processingTimeP99) return false;
+        if (processingTimeP999 != that.processingTimeP999) return false;
+        if (processingTimeMax != that.processingTimeMax) return false;
         if (!Objects.equals(name, that.name)) return false;
         if (!Objects.equals(subject, that.subject)) return false;
         if (!Objects.equals(queueGroup, that.queueGroup)) return false;
@@ -252,6 +380,14 @@ public class EndpointStats implements JsonSerializable {
         result = 31 * result + (lastError != null ? lastError.hashCode() : 0);
         result = 31 * result + (data != null ? data.hashCode() : 0);
         result = 31 * result + (started != null ? started.hashCode() : 0);
+        result = 31 * result + (int) (inFlight ^ (inFlight >>> 32));
+        result = 31 * result + (int) (queueDepth ^ (queueDepth >>> 32));
+        result = 31 * result + (int) (numShed ^ (numShed >>> 32));
+        result = 31 * result + (int) (processingTimeP50 ^ (processingTimeP50 >>> 32));
+        result = 31 * result + (int) (processingTimeP90 ^ (processingTimeP90 >>> 32));
+        result = 31 * result + (int) (processingTimeP99 ^ (processingTimeP99 >>> 32));
+        result = 31 * result + (int) (processingTimeP999 ^ (processingTimeP999 >>> 32));
+        result = 31 * result + (int) (processingTimeMax ^ (processingTimeMax >>> 32));
         return result;
     }
 }
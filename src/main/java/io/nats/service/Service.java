@@ -25,7 +25,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.nats.client.support.ApiConstants.*;
 import static io.nats.client.support.JsonUtils.endJson;
@@ -50,15 +54,22 @@ public class Service {
     private final List<Dispatcher> dInternals;
     private final PingResponse pingResponse;
     private final InfoResponse infoResponse;
+    private final ExecutorService userWorkers;
+    private final int workerThreads;
+    private final int maxInFlight;
 
     private final Object startStopLock;
     private CompletableFuture<Boolean> runningIndicator;
     private ZonedDateTime started;
+    private ExecutorService ownWorkers;
 
     Service(ServiceBuilder b) {
         String id = new io.nats.client.NUID().next();
         conn = b.conn;
         drainTimeout = b.drainTimeout;
+        userWorkers = b.workerExecutor;
+        workerThreads = b.workerThreads;
+        maxInFlight = b.maxInFlight;
         dInternals = new ArrayList<>();
         startStopLock = new Object();
 
@@ -72,10 +83,10 @@ public class Service {
                 if (dTemp == null) {
                     dTemp = conn.createDispatcher();
                 }
-                serviceContexts.put(se.getName(), new EndpointContext(conn, dTemp, false, se));
+                serviceContexts.put(se.getName(), new EndpointContext(conn, dTemp, false, se, b.latencyWindow));
             }
             else {
-                serviceContexts.put(se.getName(), new EndpointContext(conn, null, false, se));
+                serviceContexts.put(se.getName(), new EndpointContext(conn, null, false, se, b.latencyWindow));
             }
         }
         if (dTemp != null) {
@@ -148,8 +159,13 @@ public class Service {
         synchronized (startStopLock) {
             if (runningIndicator == null) {
                 runningIndicator = new CompletableFuture<>();
+                ExecutorService workers = userWorkers;
+                if (workers == null && workerThreads > 0) {
+                    ownWorkers = Executors.newFixedThreadPool(workerThreads, workerThreadFactory(getName()));
+                    workers = ownWorkers;
+                }
                 for (EndpointContext ctx : serviceContexts.values()) {
-                    ctx.start();
+                    ctx.start(workers, maxInFlight);
                 }
                 for (EndpointContext ctx : discoveryContexts) {
                     ctx.start();
@@ -160,6 +176,15 @@ public class Service {
         }
     }
 
+    private static ThreadFactory workerThreadFactory(String serviceName) {
+        AtomicInteger threadNo = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "service-" + serviceName + "-worker:" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
     /**
      * Get an instance of a ServiceBuilder.
      * @return the instance
@@ -237,6 +262,23 @@ public class Service {
                             // don't care if it completes successfully or not, just that it's done.
                         }
                     }
+
+                    // the dispatchers are drained, but requests handed to workers may still be running
+                    long deadline = System.nanoTime() + drainTimeout.toNanos();
+                    for (EndpointContext c : serviceContexts.values()) {
+                        try {
+                            c.awaitIdle(deadline);
+                        }
+                        catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                    }
+                }
+
+                if (ownWorkers != null) {
+                    ownWorkers.shutdown();
+                    ownWorkers = null;
                 }
 
                 // close internal dispatchers
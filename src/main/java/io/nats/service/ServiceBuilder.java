@@ -6,6 +6,7 @@ import io.nats.client.Dispatcher;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import static io.nats.client.support.Validator.*;
 
@@ -28,6 +29,10 @@ public class ServiceBuilder {
     Dispatcher infoDispatcher;
     Dispatcher schemaDispatcher;
     Dispatcher statsDispatcher;
+    ExecutorService workerExecutor;
+    int workerThreads;
+    int maxInFlight = -1;
+    Duration latencyWindow;
 
     /**
      * The connection the service runs on
@@ -149,6 +154,60 @@ public class ServiceBuilder {
         return this;
     }
 
+    /**
+     * Optional executor to run the endpoint handlers on, instead of the dispatcher thread, so a slow handler
+     * does not hold up requests to the other endpoints. This can be a virtual thread per task executor
+     * on Java 21 or later. The service does not shut down an executor it is given.
+     * Endpoints with their own dispatcher also run their handlers on the workers.
+     * @param workerExecutor the executor
+     * @return the ServiceBuilder
+     */
+    public ServiceBuilder workerExecutor(ExecutorService workerExecutor) {
+        this.workerExecutor = workerExecutor;
+        return this;
+    }
+
+    /**
+     * Run the endpoint handlers on a pool of this many threads that the service starts and stops
+     * with itself. Ignored if a {@link #workerExecutor(ExecutorService) workerExecutor} is set.
+     * Less than 1, the default, means handlers run on the dispatcher thread.
+     * @param workerThreads the number of worker threads
+     * @return the ServiceBuilder
+     */
+    public ServiceBuilder workerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+        return this;
+    }
+
+    /**
+     * The maximum number of requests each endpoint accepts at once, waiting for or running on a worker.
+     * Requests over the limit are answered right away with a 503 error instead of waiting,
+     * see {@link EndpointStats#getNumShed()}. Less than 1, the default, means no limit.
+     * Can be overridden per endpoint with {@link ServiceEndpoint.Builder#maxInFlight(int)}.
+     * Only applies when the service has workers.
+     * @param maxInFlight the max in flight per endpoint
+     * @return the ServiceBuilder
+     */
+    public ServiceBuilder maxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight < 1 ? -1 : maxInFlight;
+        return this;
+    }
+
+    /**
+     * The period the processing time percentiles in the {@link EndpointStats} cover, for instance the
+     * last 60 seconds. The window slides in sixths, so the percentiles cover between five sixths of it and all of it.
+     * Defaults to null, meaning since the endpoint was started or reset, like the other stats.
+     * @param latencyWindow the window
+     * @return the ServiceBuilder
+     */
+    public ServiceBuilder latencyWindow(Duration latencyWindow) {
+        if (latencyWindow != null && (latencyWindow.isNegative() || latencyWindow.isZero())) {
+            throw new IllegalArgumentException("Latency window must be greater than zero.");
+        }
+        this.latencyWindow = latencyWindow;
+        return this;
+    }
+
     /**
      * Build the Service instance.
      * @return the Service instance
@@ -40,6 +40,7 @@ public class ServiceEndpoint {
     private final ServiceMessageHandler handler;
     private final Dispatcher dispatcher;
     private final Supplier<JsonValue> statsDataSupplier;
+    private final int maxInFlight;
 
     private ServiceEndpoint(Builder b, Endpoint e) {
         this.group = b.group;
@@ -47,6 +48,7 @@ public class ServiceEndpoint {
         this.handler = b.handler;
         this.dispatcher = b.dispatcher;
         this.statsDataSupplier = b.statsDataSupplier;
+        this.maxInFlight = b.maxInFlight;
     }
 
     // internal use constructor
@@ -56,6 +58,7 @@ public class ServiceEndpoint {
         this.handler = handler;
         this.dispatcher = dispatcher;
         this.statsDataSupplier = null;
+        this.maxInFlight = -1;
     }
 
     /**
@@ -118,6 +121,15 @@ public class ServiceEndpoint {
         return statsDataSupplier;
     }
 
+    /**
+     * Get the maximum number of requests this endpoint accepts at once when the service runs handlers
+     * on workers, or -1 if it uses the service setting.
+     * @return the max in flight
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
     /**
      * Get an instance of a ServiceEndpoint Builder.
      * @return the instance
@@ -134,6 +146,7 @@ public class ServiceEndpoint {
         private ServiceMessageHandler handler;
         private Dispatcher dispatcher;
         private Supplier<JsonValue> statsDataSupplier;
+        private int maxInFlight = -1;
         private Endpoint.Builder endpointBuilder = Endpoint.builder();
 
         /**
@@ -227,6 +240,19 @@ public class ServiceEndpoint {
             return this;
         }
 
+        /**
+         * Set the maximum number of requests this endpoint accepts at once, waiting for or running on
+         * the service workers. Requests over the limit are answered right away with a 503 error.
+         * Overrides {@link ServiceBuilder#maxInFlight(int)}, less than 1 means use the service setting.
+         * Only applies when the service has workers, see {@link ServiceBuilder#workerExecutor(java.util.concurrent.ExecutorService)}
+         * @param maxInFlight the max in flight
+         * @return the ServiceEndpoint.Builder
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight < 1 ? -1 : maxInFlight;
+            return this;
+        }
+
         /**
          * Build the ServiceEndpoint instance.
          * @return the ServiceEndpoint instance
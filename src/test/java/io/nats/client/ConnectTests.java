@@ -68,6 +68,77 @@ public class ConnectTests {
         }
     }
 
+    private static long timeConnect(Options options) throws Exception {
+        long start = System.nanoTime();
+        Connection nc = Nats.connect(options);
+        long elapsed = System.nanoTime() - start;
+        try {
+            assertConnected(nc);
+        }
+        finally {
+            nc.close();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    @Test
+    public void testConnectionRaceSkipsHungServer() throws Exception {
+        // the first server takes the tcp connection but is slow to send its INFO
+        long sequential;
+        try (NatsServerProtocolMock hung = new NatsServerProtocolMock(ExitAt.SLEEP_BEFORE_INFO);
+             NatsServerProtocolMock good = new NatsServerProtocolMock(ExitAt.NO_EXIT)) {
+            sequential = timeConnect(Options.builder()
+                .servers(new String[]{hung.getURI(), good.getURI()})
+                .noRandomize()
+                .connectionTimeout(Duration.ofSeconds(2))
+                .build());
+        }
+
+        long raced;
+        try (NatsServerProtocolMock hung = new NatsServerProtocolMock(ExitAt.SLEEP_BEFORE_INFO);
+             NatsServerProtocolMock good = new NatsServerProtocolMock(ExitAt.NO_EXIT)) {
+            raced = timeConnect(Options.builder()
+                .servers(new String[]{hung.getURI(), good.getURI()})
+                .noRandomize()
+                .connectionTimeout(Duration.ofSeconds(2))
+                .connectionRace(2)
+                .connectionRaceStagger(Duration.ofMillis(100))
+                .build());
+        }
+
+        assertTrue(sequential >= 2000, "sequential " + sequential);
+        assertTrue(raced < 1500, "raced " + raced);
+    }
+
+    @Test
+    public void testConnectionRaceOnReconnect() throws Exception {
+        CountDownLatch reconnected = new CountDownLatch(1);
+        try (NatsServerProtocolMock first = new NatsServerProtocolMock((ts, r, w) -> sleep(200), NatsTestServer.nextPort(), true);
+             NatsServerProtocolMock hung = new NatsServerProtocolMock(ExitAt.SLEEP_BEFORE_INFO);
+             NatsServerProtocolMock good = new NatsServerProtocolMock(ExitAt.NO_EXIT)) {
+            Options options = Options.builder()
+                .servers(new String[]{first.getURI(), hung.getURI(), good.getURI()})
+                .noRandomize()
+                .connectionTimeout(Duration.ofSeconds(2))
+                .connectionRace(3)
+                .connectionRaceStagger(Duration.ofMillis(100))
+                .connectionListener((conn, type) -> {
+                    if (type == Events.RECONNECTED) {
+                        reconnected.countDown();
+                    }
+                })
+                .build();
+            try (Connection nc = Nats.connect(options)) {
+                // the first server drops the client after 200ms, one at a time the hung server would take 2s
+                long start = System.nanoTime();
+                assertTrue(reconnected.await(5, TimeUnit.SECONDS));
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                assertTrue(elapsed < 1500, "reconnect " + elapsed);
+                assertTrue(nc.getConnectedUrl().endsWith(":" + good.getPort()));
+            }
+        }
+    }
+
     @Test
     public void testFullFakeConnectWithTabs() throws Exception {
         try (NatsServerProtocolMock ts = new NatsServerProtocolMock(ExitAt.NO_EXIT)) {
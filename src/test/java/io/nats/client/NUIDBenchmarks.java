@@ -14,6 +14,8 @@
 package io.nats.client;
 
 import java.text.NumberFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
 
 
 public class NUIDBenchmarks {
@@ -22,6 +24,8 @@ public class NUIDBenchmarks {
         benchmarkGlobalNUIDSpeed();
         System.out.println();
         benchmarkNUIDSpeed();
+        System.out.println();
+        benchmarkContendedNUIDSpeed();
     }
 
     public static void benchmarkNUIDSpeed() {
@@ -49,4 +53,54 @@ public class NUIDBenchmarks {
         System.out.printf("Average generation time for %s global NUIDs was %f ns\n",
                 NumberFormat.getNumberInstance().format(count), (double) elapsedNsec / count);
     }
+
+    // A single shared instance is how the global generator behaved before it was striped
+    public static void benchmarkContendedNUIDSpeed() {
+        int count = 10_000_000;
+        NUID shared = new NUID();
+        for (int threads : new int[]{1, 4, 16, 64}) {
+            runThreads(threads, count / 10, b -> shared.next()); // warm up
+            runThreads(threads, count / 10, b -> NUID.nextGlobal());
+            runThreads(threads, count / 10, b -> NUID.nextGlobal(b, 0));
+            long sharedNanos = runThreads(threads, count, b -> shared.next());
+            long globalNanos = runThreads(threads, count, b -> NUID.nextGlobal());
+            long bytesNanos = runThreads(threads, count, b -> NUID.nextGlobal(b, 0));
+            System.out.printf("%d threads, %s NUIDs\n\tshared instance: %s NUIDs/sec\n\tnextGlobal(): %s NUIDs/sec\n\tnextGlobal(byte[], int): %s NUIDs/sec\n",
+                threads, NumberFormat.getNumberInstance().format(count),
+                NumberFormat.getNumberInstance().format(1_000_000_000L * (double) count / sharedNanos),
+                NumberFormat.getNumberInstance().format(1_000_000_000L * (double) count / globalNanos),
+                NumberFormat.getNumberInstance().format(1_000_000_000L * (double) count / bytesNanos));
+        }
+    }
+
+    private static long runThreads(int threads, int count, Consumer<byte[]> generator) {
+        int perThread = count / threads;
+        CountDownLatch go = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                byte[] b = new byte[NUID.NUID_LENGTH];
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    generator.accept(b);
+                }
+            });
+            workers[t].start();
+        }
+
+        long start = System.nanoTime();
+        go.countDown();
+        try {
+            for (Thread w : workers) {
+                w.join();
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        return System.nanoTime() - start;
+    }
 }
\ No newline at end of file
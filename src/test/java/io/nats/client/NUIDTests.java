@@ -15,7 +15,11 @@ package io.nats.client;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,6 +62,60 @@ public class NUIDTests {
                 nuid.length(), String.format("Expected len of %d, got %d", NUID.totalLen, nuid.length()));
     }
 
+    @Test
+    public void testNextIntoBytes() {
+        NUID nuid = new NUID();
+        nuid.setSeq(NUID.maxSeq - 1); // rolls over on the next call
+        byte[] b = new byte[NUID.NUID_LENGTH + 4];
+        assertEquals(NUID.NUID_LENGTH, nuid.next(b, 2));
+        assertEquals(0, b[0]);
+        assertEquals(0, b[1]);
+        assertEquals(0, b[b.length - 1]);
+        assertEquals(0, b[b.length - 2]);
+        String s = new String(b, 2, NUID.NUID_LENGTH, StandardCharsets.US_ASCII);
+        assertArrayEquals(nuid.getPre(), s.substring(0, NUID.preLen).toCharArray());
+
+        // the string and byte forms share the prefix and sequence
+        String next = nuid.next();
+        assertEquals(s.substring(0, NUID.preLen), next.substring(0, NUID.preLen));
+        assertNotEquals(s, next);
+
+        assertEquals(NUID.NUID_LENGTH, NUID.nextGlobal(b, 0));
+        for (int i = 0; i < NUID.NUID_LENGTH; i++) {
+            assertTrue(Arrays.binarySearch(NUID.digits, (char) b[i]) >= 0);
+        }
+    }
+
+    @Test
+    public void testGlobalUniqueAcrossThreads() throws InterruptedException {
+        int threads = 8;
+        int perThread = 20_000;
+        Set<String> all = ConcurrentHashMap.newKeySet();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            boolean bytes = t % 2 == 0;
+            workers[t] = new Thread(() -> {
+                Set<String> mine = new HashSet<>();
+                byte[] b = new byte[NUID.NUID_LENGTH];
+                for (int i = 0; i < perThread; i++) {
+                    if (bytes) {
+                        NUID.nextGlobal(b, 0);
+                        mine.add(new String(b, StandardCharsets.US_ASCII));
+                    }
+                    else {
+                        mine.add(NUID.nextGlobal());
+                    }
+                }
+                all.addAll(mine);
+            });
+            workers[t].start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        assertEquals(threads * perThread, all.size());
+    }
+
     @Test
     public void testProperPrefix() {
         char min = (char) 255;
@@ -0,0 +1,109 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client;
+
+import io.nats.client.api.ObjectMeta;
+import io.nats.client.api.ObjectStoreConfiguration;
+import io.nats.client.api.StorageType;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.NumberFormat;
+import java.util.Random;
+
+/**
+ * Downloads one object with the OutputStream get and with the channel get.
+ * Requires a local server with JetStream enabled, or a server url as the first argument.
+ * The second argument is the object size in megabytes, 1024 by default.
+ */
+public class ObjectStoreGetBenchmark {
+    public static void main(String args[]) throws Exception {
+        String server = args.length > 0 ? args[0] : Options.DEFAULT_URL;
+        long megabytes = args.length > 1 ? Long.parseLong(args[1]) : 1024;
+        long size = megabytes * 1024 * 1024;
+        String bucket = "get-benchmark";
+
+        System.out.printf("### Running object store get benchmarks with a %s MB object.\n", NumberFormat.getInstance().format(megabytes));
+
+        try (Connection nc = Nats.connect(new Options.Builder().server(server).build())) {
+            ObjectStoreManagement osm = nc.objectStoreManagement();
+            try { osm.delete(bucket); } catch (Exception ignore) {}
+            osm.create(ObjectStoreConfiguration.builder(bucket).storageType(StorageType.File).build());
+
+            ObjectStoreOptions oso = ObjectStoreOptions.builder().putWindowSize(32).putBufferPooling(true).build();
+            ObjectStore os = nc.objectStore(bucket, oso);
+            os.put(ObjectMeta.objectName("object"), new RandomInputStream(size));
+
+            Path path = Files.createTempFile("get-benchmark", ".bin");
+            try {
+                long start = System.nanoTime();
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+                    os.get("object", out);
+                }
+                report("get to OutputStream", size, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                try (FileChannel fc = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    os.get("object", fc);
+                }
+                report("get to FileChannel", size, System.nanoTime() - start);
+            }
+            finally {
+                Files.deleteIfExists(path);
+                osm.delete(bucket);
+            }
+        }
+    }
+
+    private static void report(String label, long size, long nanos) {
+        System.out.printf("\n### %s\n\t%s ms\n\t%s MB/sec\n",
+            label,
+            NumberFormat.getInstance().format(nanos / 1_000_000L),
+            NumberFormat.getInstance().format(1_000_000_000L * ((double) size) / ((double) nanos) / (1024 * 1024)));
+    }
+
+    static class RandomInputStream extends InputStream {
+        private final Random random = new Random();
+        private long remaining;
+
+        RandomInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return random.nextInt(256);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(len, remaining);
+            byte[] bytes = new byte[n];
+            random.nextBytes(bytes);
+            System.arraycopy(bytes, 0, b, off, n);
+            remaining -= n;
+            return n;
+        }
+    }
+}
@@ -17,6 +17,7 @@ import io.nats.client.ConnectionListener.Events;
 import io.nats.client.impl.*;
 import io.nats.client.support.HttpRequest;
 import io.nats.client.support.NatsUri;
+import io.nats.client.support.VirtualThreads;
 import io.nats.client.utils.CloseOnUpgradeAttempt;
 import io.nats.client.utils.CoverageServerPool;
 import io.nats.client.utils.ResourceUtils;
@@ -491,6 +492,13 @@ public class OptionsTests {
         props.setProperty(Options.PROP_CLIENT_SIDE_LIMIT_CHECKS, "true"); // deprecated
         props.setProperty(Options.PROP_IGNORE_DISCOVERED_SERVERS, "true");
         props.setProperty(Options.PROP_NO_RESOLVE_HOSTNAMES, "true");
+        props.setProperty(Options.PROP_POOLED_MESSAGE_BUFFERS, "true");
+        props.setProperty(Options.PROP_VIRTUAL_THREADS, "true");
+        props.setProperty(Options.PROP_CONNECTION_RACE, "3");
+        props.setProperty(Options.PROP_CONNECTION_RACE_STAGGER, "100");
+        props.setProperty(Options.PROP_WEBSOCKET_COMPRESSION, "true");
+        props.setProperty(Options.PROP_WEBSOCKET_COMPRESSION_WINDOW_BITS, "10");
+        props.setProperty(Options.PROP_WEBSOCKET_COMPRESSION_THRESHOLD, "256");
 
         Options o = new Options.Builder(props).build();
         _testPropertiesCoverageOptions(o);
@@ -504,6 +512,50 @@ public class OptionsTests {
         assertTrue(o.clientSideLimitChecks());
         assertTrue(o.isIgnoreDiscoveredServers());
         assertTrue(o.isNoResolveHostnames());
+        assertTrue(o.isPooledMessageBuffers());
+        assertEquals(VirtualThreads.isSupported(), o.isVirtualThreads());
+        assertEquals(3, o.getConnectionRace());
+        assertEquals(Duration.ofMillis(100), o.getConnectionRaceStagger());
+        assertTrue(o.isWebsocketCompression());
+        assertEquals(10, o.getWebsocketCompressionWindowBits());
+        assertEquals(256, o.getWebsocketCompressionThreshold());
+    }
+
+    @Test
+    public void testJetStreamCacheOptions() {
+        Options o = new Options.Builder().build();
+        assertEquals(Options.DEFAULT_JETSTREAM_CACHE_TTL, o.getJetStreamCacheTtl());
+        assertEquals(Options.DEFAULT_JETSTREAM_CACHE_MAX_ENTRIES, o.getJetStreamCacheMaxEntries());
+
+        o = new Options.Builder(o).jetStreamCacheTtl(null).jetStreamCacheMaxEntries(-1).build();
+        assertEquals(Duration.ZERO, o.getJetStreamCacheTtl());
+        assertEquals(Options.DEFAULT_JETSTREAM_CACHE_MAX_ENTRIES, o.getJetStreamCacheMaxEntries());
+
+        Properties props = new Properties();
+        props.setProperty(Options.PROP_JETSTREAM_CACHE_TTL, "5000");
+        props.setProperty(Options.PROP_JETSTREAM_CACHE_MAX_ENTRIES, "50");
+        o = new Options.Builder(props).build();
+        assertEquals(Duration.ofSeconds(5), o.getJetStreamCacheTtl());
+        assertEquals(50, o.getJetStreamCacheMaxEntries());
+        o = new Options.Builder(o).build();
+        assertEquals(Duration.ofSeconds(5), o.getJetStreamCacheTtl());
+        assertEquals(50, o.getJetStreamCacheMaxEntries());
+    }
+
+    @Test
+    public void testWebsocketCompressionOptions() {
+        Options o = new Options.Builder().build();
+        assertFalse(o.isWebsocketCompression());
+        assertEquals(Options.DEFAULT_WEBSOCKET_COMPRESSION_WINDOW_BITS, o.getWebsocketCompressionWindowBits());
+        assertEquals(Options.DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD, o.getWebsocketCompressionThreshold());
+
+        o = new Options.Builder().websocketCompressionWindowBits(7).websocketCompressionThreshold(-1).build();
+        assertEquals(Options.DEFAULT_WEBSOCKET_COMPRESSION_WINDOW_BITS, o.getWebsocketCompressionWindowBits());
+        assertEquals(Options.DEFAULT_WEBSOCKET_COMPRESSION_THRESHOLD, o.getWebsocketCompressionThreshold());
+
+        o = new Options.Builder().websocketCompressionWindowBits(16).websocketCompressionThreshold(0).build();
+        assertEquals(Options.DEFAULT_WEBSOCKET_COMPRESSION_WINDOW_BITS, o.getWebsocketCompressionWindowBits());
+        assertEquals(0, o.getWebsocketCompressionThreshold());
     }
 
     @Test
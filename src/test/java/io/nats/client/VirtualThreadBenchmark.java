@@ -0,0 +1,108 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client;
+
+import io.nats.client.support.VirtualThreads;
+
+import java.lang.management.ManagementFactory;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens hundreds of connections, each with a dispatcher whose handler blocks for a moment as if it called
+ * another service, once on platform threads and once on virtual threads, and reports the platform threads
+ * in use and the message throughput. Virtual threads need JDK 21 or later, on older JDKs only the platform
+ * thread run is done. Requires a local server, or a server url as the first argument.
+ * The second argument is the number of connections, 500 by default, the third the messages per connection,
+ * 200 by default, and the fourth how long a handler blocks in milliseconds, 5 by default.
+ */
+public class VirtualThreadBenchmark {
+    public static void main(String args[]) throws Exception {
+        String server = args.length > 0 ? args[0] : Options.DEFAULT_URL;
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int perConnection = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        long blockMillis = args.length > 3 ? Long.parseLong(args[3]) : 5;
+
+        System.out.printf("### Running virtual thread benchmarks with %s connections and %s messages each, handlers block %s ms.\n",
+            NumberFormat.getInstance().format(connections), NumberFormat.getInstance().format(perConnection), blockMillis);
+
+        run(server, connections, perConnection, blockMillis, false);
+        if (VirtualThreads.isSupported()) {
+            run(server, connections, perConnection, blockMillis, true);
+        }
+        else {
+            System.out.println("\n### Virtual threads are not supported by this JDK, " + System.getProperty("java.version"));
+        }
+    }
+
+    private static void run(String server, int connections, int perConnection, long blockMillis, boolean virtual) throws Exception {
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        CountDownLatch latch = new CountDownLatch(connections * perConnection);
+        MessageHandler handler = msg -> {
+            Thread.sleep(blockMillis);
+            latch.countDown();
+        };
+
+        List<Connection> ncs = new ArrayList<>();
+        try (Connection publisher = Nats.connect(new Options.Builder().server(server).build())) {
+            for (int c = 0; c < connections; c++) {
+                Options.Builder builder = new Options.Builder().server(server).connectionName("vt-bench-" + c);
+                if (virtual) {
+                    builder.virtualThreads();
+                }
+                Connection nc = Nats.connect(builder.build());
+                ncs.add(nc);
+                // a platform thread per message would be thousands of threads, so the platform run uses
+                // a fixed number of workers, as an application would
+                Dispatcher d = virtual
+                    ? nc.createPerMessageDispatcher(handler)
+                    : nc.createDispatcher(handler, 4, DispatchOrdering.NONE);
+                d.setPendingLimits(-1, -1);
+                d.subscribe("vt-bench." + c);
+                nc.flush(null);
+            }
+            int threads = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+
+            long start = System.nanoTime();
+            for (int m = 0; m < perConnection; m++) {
+                for (int c = 0; c < connections; c++) {
+                    publisher.publish("vt-bench." + c, null);
+                }
+            }
+            publisher.flush(null);
+            boolean done = latch.await(5, TimeUnit.MINUTES);
+            long elapsed = System.nanoTime() - start;
+            int peakThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount() - threadsBefore;
+
+            NumberFormat nf = NumberFormat.getInstance();
+            long count = (long) connections * perConnection;
+            System.out.printf("\n### %s%s\n\t%s platform threads added, %s at peak\n\t%s ms to handle all\n\t%s msgs/sec\n",
+                virtual ? "virtual threads, a thread per message" : "platform threads, 4 workers per dispatcher",
+                done ? "" : " (timed out)",
+                nf.format(threads),
+                nf.format(peakThreads),
+                nf.format(elapsed / 1_000_000L),
+                nf.format(((double) (1_000_000_000L * count)) / ((double) elapsed)));
+        }
+        finally {
+            for (Connection nc : ncs) {
+                nc.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client;
+
+import io.nats.client.api.*;
+import io.nats.client.impl.NatsKeyValueWatchSubscription;
+import io.nats.client.support.LatencyHistogram;
+
+import java.lang.management.ManagementFactory;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates thousands of key value watches, one per key, with a dispatcher per watch and with a shared pool,
+ * then updates every key and reports the number of threads and the delivery latency.
+ * Requires a local server with JetStream enabled, or a server url as the first argument.
+ * The second argument is the number of watches, 2000 by default, the third the pool size, 8 by default.
+ */
+public class WatchDispatcherBenchmark {
+    public static void main(String args[]) throws Exception {
+        String server = args.length > 0 ? args[0] : Options.DEFAULT_URL;
+        int watches = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        String bucket = "watch-benchmark";
+
+        System.out.printf("### Running watch dispatcher benchmarks with %s watches.\n", NumberFormat.getInstance().format(watches));
+
+        try (Connection nc = Nats.connect(new Options.Builder().server(server).build())) {
+            KeyValueManagement kvm = nc.keyValueManagement();
+            try { kvm.delete(bucket); } catch (Exception ignore) {}
+            kvm.create(KeyValueConfiguration.builder().name(bucket).storageType(StorageType.Memory).build());
+            try {
+                run(nc, bucket, watches, "dispatcher per watch", KeyValueOptions.builder().build());
+                run(nc, bucket, watches, "pool of " + poolSize + " dispatchers", KeyValueOptions.builder().watchDispatcherPoolSize(poolSize).build());
+            }
+            finally {
+                kvm.delete(bucket);
+            }
+        }
+    }
+
+    private static void run(Connection nc, String bucket, int watches, String label, KeyValueOptions kvo) throws Exception {
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        KeyValue kv = nc.keyValue(bucket, kvo);
+        LatencyHistogram latency = new LatencyHistogram();
+        CountDownLatch latch = new CountDownLatch(watches);
+        List<NatsKeyValueWatchSubscription> subs = new ArrayList<>();
+        for (int w = 0; w < watches; w++) {
+            subs.add(kv.watch("key" + w, new KeyValueWatcher() {
+                @Override
+                public void watch(KeyValueEntry kve) {
+                    latency.record(System.nanoTime() - Long.parseLong(kve.getValueAsString()));
+                    latch.countDown();
+                }
+
+                @Override
+                public void endOfData() {}
+            }, KeyValueWatchOption.UPDATES_ONLY));
+        }
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount() - threadsBefore;
+
+        long start = System.nanoTime();
+        for (int w = 0; w < watches; w++) {
+            kv.put("key" + w, Long.toString(System.nanoTime()));
+        }
+        boolean done = latch.await(60, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+
+        for (NatsKeyValueWatchSubscription sub : subs) {
+            sub.unsubscribe();
+        }
+
+        NumberFormat nf = NumberFormat.getInstance();
+        System.out.printf("\n### %s%s\n\t%s threads added\n\t%s ms to deliver all\n\tlatency p50 %s us, p99 %s us, max %s us\n",
+            label, done ? "" : " (timed out)",
+            nf.format(threads),
+            nf.format(elapsed / 1_000_000L),
+            nf.format(latency.getValueAtPercentile(50) / 1000),
+            nf.format(latency.getValueAtPercentile(99) / 1000),
+            nf.format(latency.getMax() / 1000));
+    }
+}
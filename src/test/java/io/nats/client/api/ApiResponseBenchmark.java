@@ -0,0 +1,124 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.api;
+
+import io.nats.client.Message;
+import io.nats.client.support.JsonParseException;
+import io.nats.client.support.JsonParser;
+import io.nats.client.support.JsonValue;
+
+import java.text.NumberFormat;
+
+import static io.nats.client.support.ApiConstants.SEQ;
+import static io.nats.client.support.ApiConstants.STREAM;
+import static io.nats.client.support.JsonValueUtils.readLong;
+import static io.nats.client.support.JsonValueUtils.readString;
+import static io.nats.client.utils.ResourceUtils.dataAsString;
+import static io.nats.client.utils.TestBase.getDataMessage;
+
+/**
+ * Measures reading captured api responses with the JsonReader, as the Message constructors do,
+ * against parsing them to a JsonValue tree first, as they used to.
+ * The first argument is the number of subjects in the large stream info, 10,000 by default.
+ */
+public class ApiResponseBenchmark {
+
+    interface Reader {
+        long read(Message msg) throws Exception;
+    }
+
+    public static void main(String args[]) throws Exception {
+        int subjects = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+
+        Message pubAck = getDataMessage("{\"stream\":\"benchmark-stream\",\"seq\":123456789,\"domain\":\"hub\"}");
+        Message consumerInfo = getDataMessage(dataAsString("ConsumerInfo.json"));
+        Message streamInfo = getDataMessage(dataAsString("StreamInfo.json"));
+        Message bigStreamInfo = getDataMessage(streamInfoWithSubjects(subjects));
+
+        System.out.printf("### Running api response benchmarks, the large stream info has %s subjects.\n",
+            NumberFormat.getInstance().format(subjects));
+
+        compare("publish ack", pubAck, 1_000_000,
+            msg -> new PublishAck(msg).getSeqno(),
+            msg -> {
+                JsonValue jv = JsonParser.parse(msg.getData());
+                return readString(jv, STREAM).length() + readLong(jv, SEQ, -1);
+            });
+
+        compare("consumer info", consumerInfo, 100_000,
+            msg -> new ConsumerInfo(msg).getNumPending(),
+            msg -> new ConsumerInfo(JsonParser.parse(msg.getData())).getNumPending());
+
+        compare("stream info", streamInfo, 100_000,
+            msg -> new StreamInfo(msg).getStreamState().getMsgCount(),
+            msg -> new StreamInfo(JsonParser.parse(msg.getData())).getStreamState().getMsgCount());
+
+        compare("stream info with subjects", bigStreamInfo, 200,
+            msg -> new StreamInfo(msg).getStreamState().getSubjects().size(),
+            msg -> new StreamInfo(JsonParser.parse(msg.getData())).getStreamState().getSubjects().size());
+    }
+
+    static void compare(String label, Message msg, int count, Reader reader, Reader tree) throws Exception {
+        run(reader, msg, count / 10);
+        run(tree, msg, count / 10);
+
+        long[] sink = new long[1];
+        long start = System.nanoTime();
+        sink[0] += run(reader, msg, count);
+        report(label + ", json reader", msg, count, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        sink[0] += run(tree, msg, count);
+        report(label + ", tree", msg, count, System.nanoTime() - start);
+
+        if (sink[0] == 42) {
+            System.out.println(); // keep the work from being optimized away
+        }
+    }
+
+    static long run(Reader reader, Message msg, int count) throws Exception {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += reader.read(msg);
+        }
+        return total;
+    }
+
+    static String streamInfoWithSubjects(int subjects) throws JsonParseException {
+        StringBuilder sb = new StringBuilder(dataAsString("StreamInfo.json"));
+        int at = sb.indexOf("\"subjects\"", sb.indexOf("\"state\""));
+        int open = sb.indexOf("{", at);
+        int close = sb.indexOf("}", open);
+        StringBuilder map = new StringBuilder("{");
+        for (int i = 0; i < subjects; i++) {
+            if (i > 0) {
+                map.append(',');
+            }
+            map.append("\"benchmark.subject.").append(i).append("\":").append(i + 1);
+        }
+        sb.replace(open, close + 1, map.append('}').toString());
+        String json = sb.toString();
+        JsonParser.parse(json); // make sure it's still valid
+        return json;
+    }
+
+    static void report(String label, Message msg, int count, long nanos) {
+        System.out.printf("\n### %s, %s bytes: %s ms\n\t%f ns/op\n\t%s op/sec\n",
+            label,
+            NumberFormat.getInstance().format(msg.getData().length),
+            NumberFormat.getInstance().format(nanos / 1_000_000L),
+            ((double) nanos) / ((double) count),
+            NumberFormat.getInstance().format(((double) (1_000_000_000L * count)) / ((double) nanos)));
+    }
+}
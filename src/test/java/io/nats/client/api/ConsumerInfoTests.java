@@ -22,6 +22,7 @@ import java.time.Duration;
 import java.util.List;
 
 import static io.nats.client.utils.ResourceUtils.dataAsString;
+import static io.nats.client.utils.TestBase.getDataMessage;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ConsumerInfoTests {
@@ -30,7 +31,17 @@ public class ConsumerInfoTests {
 
     @Test
     public void testConsumerInfo() {
-        ConsumerInfo ci = new ConsumerInfo(vConsumerInfo);
+        validateConsumerInfo(new ConsumerInfo(vConsumerInfo));
+        validateConsumerInfo(new ConsumerInfo(getDataMessage(dataAsString("ConsumerInfo.json"))));
+
+        ConsumerInfo ci = new ConsumerInfo(JsonValue.EMPTY_MAP);
+        validateEmptyConsumerInfo(ci);
+        ci = new ConsumerInfo(getDataMessage("{}"));
+        validateEmptyConsumerInfo(ci);
+        assertEquals(ci.getJv(), JsonValue.EMPTY_MAP);
+    }
+
+    private static void validateConsumerInfo(ConsumerInfo ci) {
         assertEquals("foo-stream", ci.getStreamName());
         assertEquals("foo-consumer", ci.getName());
         assertEquals(DateTimeUtils.parseDateTime("2020-11-05T19:33:21.163377Z"), ci.getCreationTime());
@@ -77,8 +88,9 @@ public class ConsumerInfoTests {
         List<Replica> reps = clusterInfo.getReplicas();
         assertNotNull(reps);
         assertEquals(2, reps.size());
+    }
 
-        ci = new ConsumerInfo(JsonValue.EMPTY_MAP);
+    private static void validateEmptyConsumerInfo(ConsumerInfo ci) {
         assertNull(ci.getStreamName());
         assertNull(ci.getName());
         assertNull(ci.getCreationTime());
@@ -95,5 +107,7 @@ public class ConsumerInfoTests {
     public void testToString() {
         // COVERAGE
         assertNotNull(new ConsumerInfo(vConsumerInfo).toString());
+        assertEquals(new ConsumerInfo(vConsumerInfo).toString(),
+            new ConsumerInfo(getDataMessage(dataAsString("ConsumerInfo.json"))).toString());
     }
 }
@@ -0,0 +1,268 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.Options;
+import io.nats.client.TestSSLUtils;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChannelDataPortTests {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    // accepts one connection and echoes everything back
+    private static CompletableFuture<Void> echo(ServerSocket server) {
+        return CompletableFuture.runAsync(() -> {
+            try (Socket socket = server.accept()) {
+                InputStream in = socket.getInputStream();
+                OutputStream out = socket.getOutputStream();
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            }
+            catch (IOException ignore) {}
+        });
+    }
+
+    // the server side of the test connection, with the certificate the test server configs use
+    private static SSLContext serverContext() throws Exception {
+        String key = new String(Files.readAllBytes(Paths.get("src/test/resources/certs/key.pem")), StandardCharsets.US_ASCII)
+            .replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        PrivateKey privateKey = KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key)));
+        Certificate cert;
+        try (InputStream in = Files.newInputStream(Paths.get("src/test/resources/certs/server.pem"))) {
+            cert = CertificateFactory.getInstance("X.509").generateCertificate(in);
+        }
+        KeyStore ks = KeyStore.getInstance(KeyStore.getDefaultType());
+        ks.load(null, null);
+        ks.setKeyEntry("server", privateKey, TestSSLUtils.PASSWORD_CHARS, new Certificate[]{cert});
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(ks, TestSSLUtils.PASSWORD_CHARS);
+        SSLContext ctx = SSLContext.getInstance(Options.DEFAULT_SSL_PROTOCOL);
+        ctx.init(kmf.getKeyManagers(), null, null);
+        return ctx;
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31 + seed);
+        }
+        return bytes;
+    }
+
+    private static byte[] readFully(DataPort port, int length, int readSize) throws IOException {
+        byte[] result = new byte[length];
+        int total = 0;
+        while (total < length) {
+            int read = port.read(result, total, Math.min(readSize, length - total));
+            assertTrue(read > 0);
+            total += read;
+        }
+        return result;
+    }
+
+    private static void _testRoundTrip(ChannelDataPort port) throws IOException {
+        assertTrue(port.supportsGatheringWrites());
+
+        byte[] first = bytes(100, 1);
+        byte[] large = bytes(100_000, 2);
+        byte[] last = bytes(10, 3);
+
+        port.write(first, first.length);
+        port.write(new ByteBuffer[]{ByteBuffer.wrap(large), ByteBuffer.wrap(last), ByteBuffer.wrap(first, 0, 50)}, 3);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write(first);
+        expected.write(large);
+        expected.write(last);
+        expected.write(first, 0, 50);
+
+        // small reads leave decrypted bytes over, large reads take several records at once
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        actual.write(readFully(port, 1000, 7));
+        actual.write(readFully(port, expected.size() - 1000, 64 * 1024));
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    @Test
+    public void testPlainRoundTrip() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            CompletableFuture<Void> echo = echo(server);
+            MockNatsConnection conn = new MockNatsConnection(Options.builder().build());
+            ChannelDataPort port = new ChannelDataPort();
+            port.connect("nats://localhost:" + server.getLocalPort(), conn, TIMEOUT_NANOS);
+            _testRoundTrip(port);
+            port.shutdownInput();
+            assertEquals(-1, port.read(new byte[10], 0, 10));
+            port.close();
+            echo.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSecureRoundTrip() throws Exception {
+        SSLContext ctx = TestSSLUtils.createTestSSLContext();
+        try (ServerSocket server = serverContext().getServerSocketFactory().createServerSocket(0)) {
+            CompletableFuture<Void> echo = echo(server);
+            MockNatsConnection conn = new MockNatsConnection(Options.builder().sslContext(ctx).build());
+            ChannelDataPort port = new ChannelDataPort();
+            port.connect("tls://localhost:" + server.getLocalPort(), conn, TIMEOUT_NANOS);
+            port.upgradeToSecure();
+            port.upgradeToSecure(); // no-op
+            _testRoundTrip(port);
+            port.close();
+            echo.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testHandshakeTimesOut() throws Exception {
+        SSLContext ctx = TestSSLUtils.createTestSSLContext();
+        try (ServerSocket server = new ServerSocket(0)) {
+            CompletableFuture<Socket> accepted = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return server.accept(); // never answers the handshake
+                }
+                catch (IOException e) {
+                    return null;
+                }
+            });
+            MockNatsConnection conn = new MockNatsConnection(Options.builder()
+                .sslContext(ctx).connectionTimeout(Duration.ofMillis(200)).build());
+            ChannelDataPort port = new ChannelDataPort();
+            port.connect("tls://localhost:" + server.getLocalPort(), conn, TIMEOUT_NANOS);
+            assertThrows(IOException.class, port::upgradeToSecure);
+            port.close();
+            accepted.get(5, TimeUnit.SECONDS).close();
+        }
+    }
+
+    @Test
+    public void testUnsupported() {
+        MockNatsConnection conn = new MockNatsConnection(Options.builder().build());
+        assertThrows(IOException.class, () -> new ChannelDataPort().connect("ws://localhost:4222", conn, TIMEOUT_NANOS));
+
+        MockNatsConnection proxied = new MockNatsConnection(Options.builder()
+            .proxy(new Proxy(Proxy.Type.SOCKS, new InetSocketAddress("localhost", 1080))).build());
+        assertThrows(IOException.class, () -> new ChannelDataPort().connect("nats://localhost:4222", proxied, TIMEOUT_NANOS));
+    }
+
+    static class CapturingDataPort implements DataPort {
+        final boolean gathering;
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int writes;
+
+        CapturingDataPort(boolean gathering) {
+            this.gathering = gathering;
+        }
+
+        @Override public void connect(String serverURI, NatsConnection conn, long timeoutNanos) {}
+        @Override public void upgradeToSecure() {}
+        @Override public int read(byte[] dst, int off, int len) { return -1; }
+        @Override public void shutdownInput() {}
+        @Override public void close() {}
+        @Override public void flush() {}
+
+        @Override
+        public void write(byte[] src, int toWrite) {
+            writes++;
+            out.write(src, 0, toWrite);
+        }
+
+        @Override
+        public boolean supportsGatheringWrites() {
+            return gathering;
+        }
+
+        @Override
+        public void write(ByteBuffer[] srcs, int count) {
+            writes++;
+            for (int i = 0; i < count; i++) {
+                assertNotNull(srcs[i]);
+                byte[] bytes = new byte[srcs[i].remaining()];
+                srcs[i].get(bytes);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+    }
+
+    private static NatsMessage batch(int large) {
+        Headers headers = new Headers().put("key", "value");
+        NatsMessage first = new NatsMessage("small", null, bytes(10, 0));
+        NatsMessage tail = first;
+        for (int i = 0; i < large; i++) {
+            NatsMessage next = i % 3 == 0
+                ? new NatsMessage("large", "reply", headers, bytes(9000 + i, i))
+                : new NatsMessage("large", null, bytes(20_000, i));
+            tail.next = next;
+            tail = next;
+            tail.next = new ProtocolMessage("PING".getBytes(StandardCharsets.US_ASCII));
+            tail = tail.next;
+            tail.next = new NatsMessage("empty", null, null);
+            tail = tail.next;
+        }
+        return first;
+    }
+
+    @Test
+    public void testWriterGathersLargePayloads() throws Exception {
+        for (int bufferSize : new int[]{64, 1024, 64 * 1024}) {
+            for (int large : new int[]{0, 1, 5, 40}) {
+                MockNatsConnection conn = new MockNatsConnection(Options.builder().bufferSize(bufferSize).build());
+
+                CapturingDataPort copied = new CapturingDataPort(false);
+                new NatsConnectionWriter(conn).sendMessageBatch(batch(large), copied, conn.getNatsStatistics());
+
+                CapturingDataPort gathered = new CapturingDataPort(true);
+                new NatsConnectionWriter(conn).sendMessageBatch(batch(large), gathered, conn.getNatsStatistics());
+
+                assertArrayEquals(copied.out.toByteArray(), gathered.out.toByteArray());
+                if (bufferSize == 64 * 1024 && large == 40) {
+                    assertTrue(gathered.writes > 1); // more buffers than one gather takes
+                }
+            }
+        }
+    }
+}
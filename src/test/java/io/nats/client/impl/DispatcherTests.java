@@ -18,8 +18,11 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -924,4 +927,114 @@ public class DispatcherTests {
             }
         });
     }
+
+    @Test
+    public void testWorkersKeepPerSubjectOrder() throws Exception {
+        try (NatsTestServer ts = new NatsTestServer(false);
+                Connection nc = Nats.connect(ts.getURI())) {
+            int subjects = 8;
+            int perSubject = 200;
+            CountDownLatch latch = new CountDownLatch(subjects * perSubject);
+            Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            Dispatcher d = nc.createDispatcher((msg) -> {
+                threads.add(Thread.currentThread().getName());
+                received.computeIfAbsent(msg.getSubject(), k -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(Integer.parseInt(new String(msg.getData())));
+                latch.countDown();
+            }, 4, DispatchOrdering.PER_SUBJECT);
+            assertTrue(d instanceof NatsWorkerDispatcher);
+
+            d.subscribe("order.>");
+            nc.flush(Duration.ofMillis(500));
+
+            for (int i = 0; i < perSubject; i++) {
+                for (int s = 0; s < subjects; s++) {
+                    nc.publish("order." + s, ("" + i).getBytes());
+                }
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+            assertEquals(subjects, received.size());
+            for (List<Integer> list : received.values()) {
+                for (int i = 0; i < perSubject; i++) {
+                    assertEquals(i, list.get(i));
+                }
+            }
+            assertTrue(threads.size() > 1);
+            assertEquals(subjects * perSubject, d.getDeliveredCount());
+        }
+    }
+
+    @Test
+    public void testWorkersCountHandedOffAsPending() throws Exception {
+        try (NatsTestServer ts = new NatsTestServer(false);
+                Connection nc = Nats.connect(ts.getURI())) {
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger handled = new AtomicInteger();
+            Dispatcher d = nc.createDispatcher((msg) -> {
+                release.await();
+                handled.incrementAndGet();
+            }, 2, DispatchOrdering.NONE);
+            d.setPendingLimits(5, -1);
+            d.subscribe("pending");
+            nc.flush(Duration.ofMillis(500));
+
+            for (int i = 0; i < 20; i++) {
+                nc.publish("pending", null);
+            }
+            nc.flush(Duration.ofMillis(1000));
+
+            // the two workers hold one each, the rest are pending or dropped
+            assertTrue(d.getPendingMessageCount() <= 5);
+            assertTrue(d.getDroppedCount() > 0);
+
+            release.countDown();
+            CompletableFuture<Boolean> drained = d.drain(Duration.ofSeconds(5));
+            assertTrue(drained.get(5, TimeUnit.SECONDS));
+            assertEquals(0, d.getPendingMessageCount());
+            assertEquals(20 - d.getDroppedCount(), handled.get());
+            assertFalse(d.isActive());
+        }
+    }
+
+    @Test
+    public void testOneWorkerIsPlainDispatcher() throws Exception {
+        try (NatsTestServer ts = new NatsTestServer(false);
+                Connection nc = Nats.connect(ts.getURI())) {
+            Dispatcher d = nc.createDispatcher((msg) -> {}, 1, DispatchOrdering.PER_SUBSCRIPTION);
+            assertFalse(d instanceof NatsWorkerDispatcher);
+            assertThrows(IllegalArgumentException.class,
+                () -> new NatsWorkerDispatcher((NatsConnection) nc, null, 0, DispatchOrdering.NONE));
+        }
+    }
+
+    @Test
+    public void testPerMessageDispatcher() throws Exception {
+        try (NatsTestServer ts = new NatsTestServer(false);
+                Connection nc = Nats.connect(new Options.Builder().server(ts.getURI()).virtualThreads().build())) {
+            int count = 50;
+            CountDownLatch blocked = new CountDownLatch(count);
+            CountDownLatch release = new CountDownLatch(1);
+            Dispatcher d = nc.createPerMessageDispatcher((msg) -> {
+                blocked.countDown();
+                release.await();
+            });
+            assertTrue(d instanceof NatsWorkerDispatcher);
+            d.subscribe("blocking");
+            nc.flush(Duration.ofMillis(500));
+
+            for (int i = 0; i < count; i++) {
+                nc.publish("blocking", null);
+            }
+            // every handler blocks at once, none waits for another
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            assertEquals(count, d.getPendingMessageCount());
+
+            release.countDown();
+            assertTrue(d.drain(Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS));
+            assertEquals(0, d.getPendingMessageCount());
+            assertEquals(count, d.getDeliveredCount());
+        }
+    }
 }
@@ -0,0 +1,113 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.Connection;
+import io.nats.client.ErrorListener;
+import io.nats.client.JetStreamSubscription;
+import io.nats.client.Options;
+import io.nats.client.PullRequestOptions;
+
+import java.lang.management.ManagementFactory;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the shared connection scheduler used by the message managers for heartbeat
+ * tracking with the previous approach of one java.util.Timer per subscription.
+ * No server is required, the managers never receive messages so every check raises an alarm.
+ */
+public class HeartbeatSchedulerBenchmark {
+    public static void main(String args[]) throws Exception {
+        int subCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long heartbeatMillis = 100;
+        long runMillis = 5_000;
+
+        System.out.printf("### Running heartbeat benchmarks with %s subscriptions.\n", NumberFormat.getInstance().format(subCount));
+
+        AtomicLong alarms = new AtomicLong();
+        Options options = new Options.Builder().errorListener(new ErrorListener() {
+            @Override
+            public void heartbeatAlarm(Connection conn, JetStreamSubscription sub, long lastStreamSequence, long lastConsumerSequence) {
+                alarms.incrementAndGet();
+            }
+        }).build();
+
+        // shared scheduler
+        MockNatsConnection conn = new MockNatsConnection(options);
+        int threadsBefore = threadCount();
+        long cpuBefore = processCpuNanos();
+        PullRequestOptions pro = PullRequestOptions.builder(1).idleHeartbeat(heartbeatMillis).build();
+        List<PullMessageManager> managers = new ArrayList<>();
+        for (int i = 0; i < subCount; i++) {
+            PullMessageManager pmm = new PullMessageManager(conn, null, false);
+            pmm.startPullRequest("pull", pro, false, null);
+            managers.add(pmm);
+        }
+        Thread.sleep(runMillis);
+        report("shared scheduler", threadsBefore, threadCount(), processCpuNanos() - cpuBefore, alarms.getAndSet(0));
+        for (PullMessageManager pmm : managers) {
+            pmm.shutdown();
+        }
+
+        // one timer per subscription, how the managers used to do it
+        threadsBefore = threadCount();
+        cpuBefore = processCpuNanos();
+        long alarmPeriod = heartbeatMillis * MessageManager.THRESHOLD;
+        long lastMsgReceived = System.currentTimeMillis();
+        List<Timer> timers = new ArrayList<>();
+        for (int i = 0; i < subCount; i++) {
+            Timer timer = new Timer();
+            timer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    if (System.currentTimeMillis() - lastMsgReceived > alarmPeriod) {
+                        alarms.incrementAndGet();
+                    }
+                }
+            }, alarmPeriod, alarmPeriod);
+            timers.add(timer);
+        }
+        Thread.sleep(runMillis);
+        report("timer per subscription", threadsBefore, threadCount(), processCpuNanos() - cpuBefore, alarms.getAndSet(0));
+        for (Timer timer : timers) {
+            timer.cancel();
+        }
+        System.exit(0); // the never connected connection still owns non daemon threads
+    }
+
+    private static void report(String label, int threadsBefore, int threadsAfter, long cpuNanos, long alarms) {
+        System.out.printf("\n### %s\n\tthreads added: %s\n\tprocess cpu: %s ms\n\talarms: %s\n",
+            label,
+            NumberFormat.getInstance().format(threadsAfter - threadsBefore),
+            NumberFormat.getInstance().format(cpuNanos / 1_000_000L),
+            NumberFormat.getInstance().format(alarms));
+    }
+
+    private static int threadCount() {
+        return ManagementFactory.getThreadMXBean().getThreadCount();
+    }
+
+    private static long processCpuNanos() {
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return 0;
+    }
+}
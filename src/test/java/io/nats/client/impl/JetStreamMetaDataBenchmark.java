@@ -0,0 +1,89 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import java.text.NumberFormat;
+
+public class JetStreamMetaDataBenchmark {
+    static final String V1 = "$JS.ACK.benchmark-stream.benchmark-consumer.1.123456789.123456700.1605139610113260000.4321";
+    static final String V2 = "$JS.ACK.v2Domain.ABCDEFGHIJKLMNOPQRSTUVWXYZ234567ABCDEFGHIJKLMNOPQRSTUV.benchmark-stream.benchmark-consumer.1.123456789.123456700.1605139610113260000.4321.77";
+
+    public static void main(String args[]) {
+        int warmup = 1_000_000;
+        int count = 10_000_000;
+
+        System.out.printf("### Running benchmarks with %s parses.\n", NumberFormat.getInstance().format(count));
+
+        for (String replyTo : new String[]{V1, V2}) {
+            String label = replyTo == V1 ? "v1" : "v2 (domain)";
+            NatsMessage msg = new IncomingMessageFactory("sid", "subject", replyTo, 0, false).getMessage();
+
+            run(msg, warmup, false);
+            run(msg, warmup, true);
+
+            long[] sink = new long[1];
+            long start = System.nanoTime();
+            sink[0] += run(msg, count, false);
+            long end = System.nanoTime();
+            report(label + " sequences", count, end - start);
+
+            start = System.nanoTime();
+            sink[0] += run(msg, count, true);
+            end = System.nanoTime();
+            report(label + " sequences and names", count, end - start);
+
+            start = System.nanoTime();
+            sink[0] += splitParse(replyTo, count);
+            end = System.nanoTime();
+            report(label + " regex split, for comparison", count, end - start);
+
+            if (sink[0] == 42) {
+                System.out.println(); // keep the work from being optimized away
+            }
+        }
+    }
+
+    static long run(NatsMessage msg, int count, boolean names) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            NatsJetStreamMetaData meta = new NatsJetStreamMetaData(msg);
+            total += meta.streamSequence() + meta.consumerSequence();
+            if (names) {
+                total += meta.getStream().length() + meta.getConsumer().length();
+            }
+        }
+        return total;
+    }
+
+    // the way the meta data used to be parsed
+    static long splitParse(String replyTo, int count) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            String[] parts = replyTo.split("\\.");
+            int streamIndex = parts.length >= 11 ? 4 : 2;
+            total += Long.parseLong(parts[streamIndex + 2]) + Long.parseLong(parts[streamIndex + 3])
+                + Long.parseLong(parts[streamIndex + 4]) + Long.parseLong(parts[streamIndex + 5])
+                + Long.parseLong(parts[streamIndex + 6]);
+        }
+        return total;
+    }
+
+    static void report(String label, int count, long nanos) {
+        System.out.printf("\n### %s: %s ms\n\t%f ns/op\n\t%s op/sec\n",
+            label,
+            NumberFormat.getInstance().format(nanos / 1_000_000L),
+            ((double) nanos) / ((double) count),
+            NumberFormat.getInstance().format(((double) (1_000_000_000L * count)) / ((double) nanos)));
+    }
+}
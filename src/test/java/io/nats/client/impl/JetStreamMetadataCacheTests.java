@@ -0,0 +1,140 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.api.ConsumerInfo;
+import io.nats.client.api.StreamInfo;
+import io.nats.client.support.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JetStreamMetadataCacheTests {
+    private static final String PREFIX = "$JS.API.";
+    private static final String DOMAIN_PREFIX = "$JS.hub.API.";
+
+    private final AtomicLong now = new AtomicLong();
+
+    private JetStreamMetadataCache cache(int maxEntries) {
+        return new JetStreamMetadataCache(Duration.ofSeconds(10), maxEntries, now::get);
+    }
+
+    private static NatsJetStreamImpl.CachedStreamInfo csi(String stream, boolean allowDirect, String... subjects) {
+        StringBuilder sb = new StringBuilder("{\"config\":{\"name\":\"").append(stream)
+            .append("\",\"allow_direct\":").append(allowDirect).append(",\"subjects\":[");
+        for (int i = 0; i < subjects.length; i++) {
+            sb.append(i == 0 ? "\"" : ",\"").append(subjects[i]).append('"');
+        }
+        sb.append("]}}");
+        return new NatsJetStreamImpl.CachedStreamInfo(new StreamInfo(JsonParser.parseUnchecked(sb.toString())));
+    }
+
+    private static ConsumerInfo ci(String stream, String name, boolean durable, String inactiveThresholdNanos) {
+        return new ConsumerInfo(JsonParser.parseUnchecked("{\"stream_name\":\"" + stream + "\",\"name\":\"" + name + "\",\"config\":{"
+            + (durable ? "\"durable_name\":\"" + name + "\"" : "\"name\":\"" + name + "\"")
+            + (inactiveThresholdNanos == null ? "" : ",\"inactive_threshold\":" + inactiveThresholdNanos)
+            + "}}"));
+    }
+
+    @Test
+    public void testStreamsExpireAndAreKeyedByPrefix() {
+        JetStreamMetadataCache cache = cache(100);
+        assertTrue(cache.isEnabled());
+        cache.putStream(PREFIX, "s", csi("s", true, "s.>"));
+        assertTrue(cache.getStream(PREFIX, "s").allowDirect);
+        assertNull(cache.getStream(DOMAIN_PREFIX, "s"));
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos() - 1);
+        assertNotNull(cache.getStream(PREFIX, "s"));
+        now.incrementAndGet();
+        assertNull(cache.getStream(PREFIX, "s"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsDropped() {
+        JetStreamMetadataCache cache = cache(3);
+        cache.putStreamBySubject(PREFIX, "a", "A");
+        cache.putStreamBySubject(PREFIX, "b", "B");
+        cache.putStreamBySubject(PREFIX, "c", "C");
+        assertEquals("A", cache.getStreamBySubject(PREFIX, "a")); // a is now the most recent
+        cache.putStreamBySubject(PREFIX, "d", "D");
+        assertEquals(3, cache.size());
+        assertNull(cache.getStreamBySubject(PREFIX, "b"));
+        assertEquals("A", cache.getStreamBySubject(PREFIX, "a"));
+        assertEquals("D", cache.getStreamBySubject(PREFIX, "d"));
+    }
+
+    @Test
+    public void testInvalidation() {
+        JetStreamMetadataCache cache = cache(100);
+        cache.putStream(PREFIX, "s", csi("s", false, "s.a", "s.b"));
+        cache.putStreamBySubject(PREFIX, "s.a", "s");
+        cache.putStreamBySubject(PREFIX, "t.a", "t");
+        cache.putConsumer(PREFIX, ci("s", "dur", true, null));
+        cache.putConsumer(PREFIX, ci("st", "dur", true, null)); // a stream name starting with the other
+        cache.putStream(DOMAIN_PREFIX, "s", csi("s", false, "s.a"));
+
+        // same subjects keeps the subject lookups
+        cache.putStream(PREFIX, "s", csi("s", true, "s.a", "s.b"));
+        assertEquals("s", cache.getStreamBySubject(PREFIX, "s.a"));
+
+        // changed subjects drops them
+        cache.putStream(PREFIX, "s", csi("s", true, "s.b"));
+        assertNull(cache.getStreamBySubject(PREFIX, "s.a"));
+        assertEquals("t", cache.getStreamBySubject(PREFIX, "t.a"));
+        assertNotNull(cache.getConsumer(PREFIX, "s", "dur"));
+
+        cache.putStreamBySubject(PREFIX, "s.b", "s");
+        cache.removeStream(PREFIX, "s");
+        assertNull(cache.getStream(PREFIX, "s"));
+        assertNull(cache.getStreamBySubject(PREFIX, "s.b"));
+        assertNull(cache.getConsumer(PREFIX, "s", "dur"));
+        assertNotNull(cache.getConsumer(PREFIX, "st", "dur"));
+        assertNotNull(cache.getStream(DOMAIN_PREFIX, "s"));
+        assertEquals("t", cache.getStreamBySubject(PREFIX, "t.a"));
+
+        cache.removeConsumer(PREFIX, "st", "dur");
+        assertNull(cache.getConsumer(PREFIX, "st", "dur"));
+    }
+
+    @Test
+    public void testOnlyLastingConsumersAreHeld() {
+        JetStreamMetadataCache cache = cache(100);
+        cache.putConsumer(PREFIX, ci("s", "eph", false, null));
+        cache.putConsumer(PREFIX, ci("s", "expiring", true, "5000000000"));
+        cache.putConsumer(PREFIX, ci("s", "dur", true, null));
+        assertNull(cache.getConsumer(PREFIX, "s", "eph"));
+        assertNull(cache.getConsumer(PREFIX, "s", "expiring"));
+        assertEquals("dur", cache.getConsumer(PREFIX, "s", "dur").getName());
+    }
+
+    @Test
+    public void testDisabled() {
+        JetStreamMetadataCache cache = new JetStreamMetadataCache(Duration.ZERO, 100, now::get);
+        assertFalse(cache.isEnabled());
+        cache.putStream(PREFIX, "s", csi("s", true, "s.>"));
+        cache.putStreamBySubject(PREFIX, "s.a", "s");
+        assertNull(cache.getStream(PREFIX, "s"));
+        assertNull(cache.getStreamBySubject(PREFIX, "s.a"));
+
+        cache = new JetStreamMetadataCache(Duration.ofSeconds(1), 0, now::get);
+        assertFalse(cache.isEnabled());
+        cache.putStream(PREFIX, "s", csi("s", true, "s.>"));
+        assertNull(cache.getStream(PREFIX, "s"));
+    }
+}
@@ -137,6 +137,42 @@ public class JetStreamPushAsyncTests extends JetStreamTestBase {
         });
     }
 
+    @Test
+    public void testHandlerAutoAckBatched() throws Exception {
+        jsServer.run(nc -> {
+            JetStream js = nc.jetStream();
+            TestingStreamContainer tsc = new TestingStreamContainer(nc);
+            jsPublish(js, tsc.subject(), 25);
+
+            Dispatcher dispatcher = nc.createDispatcher();
+            CountDownLatch msgLatch = new CountDownLatch(25);
+            MessageHandler handler = (Message msg) -> msgLatch.countDown();
+
+            // a max delay much longer than the test, so only full batches and the unsubscribe publish acks
+            PushSubscribeOptions pso = PushSubscribeOptions.builder()
+                .durable(durable(1))
+                .ackBatch(AckBatchOptions.builder().maxAcks(10).maxDelay(Duration.ofMinutes(1)).build())
+                .build();
+            JetStreamSubscription sub = js.subscribe(tsc.subject(), dispatcher, handler, true, pso);
+            awaitAndAssert(msgLatch);
+            sleep(100); // the auto ack happens after the handler returns
+
+            NatsJetStreamAckBatcher batcher = ((NatsJetStreamSubscription) sub).getAckBatcher();
+            assertNotNull(batcher);
+            assertEquals(5, batcher.pending());
+            assertEquals(20, nc.getStatistics().getBatchedAcks());
+
+            // unsubscribing publishes the waiting acks
+            dispatcher.unsubscribe(sub);
+            assertEquals(0, batcher.pending());
+            assertEquals(25, nc.getStatistics().getBatchedAcks());
+            assertEquals(25, nc.getStatistics().getBatchedAckPublishes());
+
+            sub = js.subscribe(tsc.subject(), pso);
+            assertNull(sub.nextMessage(Duration.ofSeconds(1)));
+        });
+    }
+
     @Test
     public void testCantNextMessageOnAsyncPushSub() throws Exception {
         jsServer.run(nc -> {
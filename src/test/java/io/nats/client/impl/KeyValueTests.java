@@ -24,6 +24,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static io.nats.client.JetStreamOptions.DEFAULT_JS_OPTIONS;
@@ -494,6 +495,131 @@ public class KeyValueTests extends JetStreamTestBase {
         });
     }
 
+    @Test
+    public void testView() throws Exception {
+        runInJsServer(nc -> {
+            KeyValueManagement kvm = nc.keyValueManagement();
+            kvm.create(KeyValueConfiguration.builder()
+                .name(BUCKET)
+                .storageType(StorageType.Memory)
+                .maxHistoryPerKey(64)
+                .build());
+
+            KeyValue kv = nc.keyValue(BUCKET);
+            kv.put("a.1", "a1");
+            kv.put("a.1", "a1-2");
+            kv.put("b.1", "b1");
+            long last = kv.put("a.2", "a2");
+
+            try (KeyValueView view = kv.view(null)) {
+                waitUntil(view, last);
+                assertEquals("a1-2", view.get("a.1").getValueAsString());
+                assertNull(view.get("missing"));
+                assertEquals(3, view.keys().size());
+                assertEquals(2, view.history("a.1").size());
+                assertEquals("a1", view.get("a.1", view.history("a.1").get(0).getRevision()).getValueAsString());
+
+                // updates are applied incrementally
+                last = view.put("a.1", "a1-3");
+                waitUntil(view, last);
+                assertEquals("a1-3", view.get("a.1").getValueAsString());
+                view.delete("b.1");
+                waitUntil(view, last + 1);
+                assertNull(view.get("b.1"));
+                assertEquals(2, view.keys().size());
+                assertEquals(last + 1, view.getRevision());
+            }
+
+            // prefix and key limit, evicted keys are read through
+            try (KeyValueView view = kv.view(KeyValueViewOptions.builder().keyPrefix("a.").maxKeys(1).build())) {
+                waitUntil(view, 0);
+                assertEquals("a1-3", view.get("a.1").getValueAsString());
+                assertEquals("a2", view.get("a.2").getValueAsString());
+                assertNull(view.get("b.1"));
+                assertNull(view.get("a.missing"));
+                assertEquals(2, view.keys().size());
+            }
+
+            KeyValueViewOptions kvvo = KeyValueViewOptions.builder().keyPrefix("").maxKeys(0).build();
+            assertNull(kvvo.getKeyPrefix());
+            assertEquals(KeyValueViewOptions.DEFAULT_MAX_KEYS, kvvo.getMaxKeys());
+        });
+    }
+
+    @Test
+    public void testWatchDispatcherPool() throws Exception {
+        runInJsServer(nc -> {
+            KeyValueManagement kvm = nc.keyValueManagement();
+            kvm.create(KeyValueConfiguration.builder()
+                .name(BUCKET)
+                .storageType(StorageType.Memory)
+                .build());
+
+            int watchCount = 20;
+            int before = NatsPackageScopeWorkarounds.getDispatchers(nc).size();
+            KeyValue kv = nc.keyValue(BUCKET, KeyValueOptions.builder().watchDispatcherPoolSize(3).build());
+            List<List<String>> received = new ArrayList<>();
+            List<NatsKeyValueWatchSubscription> subs = new ArrayList<>();
+            for (int w = 0; w < watchCount; w++) {
+                List<String> list = Collections.synchronizedList(new ArrayList<>());
+                received.add(list);
+                subs.add(kv.watch("key" + w, new KeyValueWatcher() {
+                    @Override
+                    public void watch(KeyValueEntry kve) {
+                        list.add(kve.getValueAsString());
+                    }
+
+                    @Override
+                    public void endOfData() {}
+                }, UPDATES_ONLY));
+            }
+            assertEquals(before + 3, NatsPackageScopeWorkarounds.getDispatchers(nc).size());
+
+            for (int v = 0; v < 10; v++) {
+                for (int w = 0; w < watchCount; w++) {
+                    kv.put("key" + w, "" + v);
+                }
+            }
+
+            // every watch sees only its own key, in order
+            long end = System.currentTimeMillis() + 5000;
+            for (List<String> list : received) {
+                while (list.size() < 10 && System.currentTimeMillis() < end) {
+                    Thread.sleep(10);
+                }
+                assertEquals(Arrays.asList("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"), list);
+            }
+
+            // dispatchers are closed when their last watch is gone
+            for (NatsKeyValueWatchSubscription sub : subs) {
+                sub.unsubscribe();
+            }
+            assertEquals(before, NatsPackageScopeWorkarounds.getDispatchers(nc).size());
+
+            // a supplied dispatcher is used by every watch and left open
+            Dispatcher d = nc.createDispatcher();
+            kv = nc.keyValue(BUCKET, KeyValueOptions.builder().watchDispatcher(d).watchDispatcherPoolSize(3).build());
+            kv.watchAll(new KeyValueWatcher() {
+                @Override
+                public void watch(KeyValueEntry kve) {}
+
+                @Override
+                public void endOfData() {}
+            }).unsubscribe();
+            assertEquals(before + 1, NatsPackageScopeWorkarounds.getDispatchers(nc).size());
+            assertTrue(d.isActive());
+        });
+    }
+
+    private static void waitUntil(KeyValueView view, long revision) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while ((!view.isInitialDataLoaded() || view.getRevision() < revision) && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertTrue(view.isInitialDataLoaded());
+        assertTrue(view.getRevision() >= revision);
+    }
+
     @Test
     public void testHistoryDeletePurge() throws Exception {
         runInJsServer(nc -> {
@@ -1184,6 +1310,12 @@ public class KeyValueTests extends JetStreamTestBase {
 
         kvo = KeyValueOptions.builder().jsRequestTimeout(Duration.ofSeconds(10)).build();
         assertEquals(Duration.ofSeconds(10), kvo.getJetStreamOptions().getRequestTimeout());
+
+        assertNull(kvo.getWatchDispatcher());
+        assertEquals(0, kvo.getWatchDispatcherPoolSize());
+        kvo = KeyValueOptions.builder(KeyValueOptions.builder().watchDispatcherPoolSize(4).build()).build();
+        assertEquals(4, kvo.getWatchDispatcherPoolSize());
+        assertEquals(0, KeyValueOptions.builder().watchDispatcherPoolSize(-1).build().getWatchDispatcherPoolSize());
     }
 
     private void assertKvo(JetStreamOptions expected, KeyValueOptions kvo) {
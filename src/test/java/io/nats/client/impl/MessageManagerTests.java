@@ -249,7 +249,7 @@ public class MessageManagerTests extends JetStreamTestBase {
             pullMgr.startup(sub);
             pullMgr.startPullRequest("pullSubject", PullRequestOptions.builder(1).build(), false, null);
             assertEquals(0, handler.getHeartbeatAlarms().size());
-            assertNull(pullMgr.heartbeatTimer);
+            assertNull(pullMgr.heartbeatTask);
 
             handler.reset();
             handler.prepForHeartbeatAlarm();
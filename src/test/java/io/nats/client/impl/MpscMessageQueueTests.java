@@ -0,0 +1,226 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MpscMessageQueueTests {
+    byte[] PING = "PING".getBytes();
+    byte[] ONE = "one".getBytes();
+    byte[] TWO = "two".getBytes();
+    byte[] THREE = "three".getBytes();
+
+    @Test
+    public void testPushPopOrder() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue();
+        NatsMessage msg1 = new ProtocolMessage(ONE);
+        NatsMessage msg2 = new ProtocolMessage(TWO);
+        NatsMessage msg3 = new ProtocolMessage(THREE);
+        q.push(msg1);
+        q.push(msg2);
+        assertEquals(msg1, q.popNow());
+        q.push(msg3);
+        assertEquals(2, q.length());
+        assertEquals(msg2, q.popNow());
+        assertEquals(msg3, q.popNow());
+        assertNull(q.popNow());
+        assertEquals(0, q.length());
+        assertEquals(0, q.sizeInBytes());
+    }
+
+    @Test
+    public void testAccumulateKeepsOrder() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue();
+        NatsMessage msg1 = new ProtocolMessage(ONE);
+        NatsMessage msg2 = new ProtocolMessage(TWO);
+        NatsMessage msg3 = new ProtocolMessage(THREE);
+        q.push(msg1);
+        q.push(msg2);
+        q.push(msg3);
+
+        NatsMessage msg = q.accumulate(1000, 2, null);
+        assertEquals(msg1, msg);
+        assertEquals(msg2, msg.next);
+        assertNull(msg.next.next);
+        assertEquals(1, q.length());
+        assertEquals(msg3.getSizeInBytes(), q.sizeInBytes());
+
+        msg = q.accumulate(1000, 2, null);
+        assertEquals(msg3, msg);
+        assertNull(msg.next);
+    }
+
+    @Test
+    public void testAccumulateOnSize() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue();
+        NatsMessage msg1 = new ProtocolMessage(ONE);
+        NatsMessage msg2 = new ProtocolMessage(TWO);
+        q.push(msg1);
+        q.push(msg2);
+
+        NatsMessage msg = q.accumulate(msg1.getSizeInBytes() + 1, 100, null);
+        assertEquals(msg1, msg);
+        assertNull(msg.next);
+        assertEquals(1, q.length());
+    }
+
+    @Test
+    public void testMultipleWritersOneAccumulator() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue();
+        int threads = 8;
+        int msgPerThread = 1000;
+        int msgCount = threads * msgPerThread;
+        int[] lastSeen = new int[threads];
+        Arrays.fill(lastSeen, -1);
+
+        for (int i = 0; i < threads; i++) {
+            int id = i;
+            Thread t = new Thread(() -> {
+                for (int j = 0; j < msgPerThread; j++) {
+                    q.push(new ProtocolMessage((id + " " + j).getBytes(StandardCharsets.US_ASCII)));
+                }
+            });
+            t.start();
+        }
+
+        int count = 0;
+        while (count < msgCount) {
+            NatsMessage msg = q.accumulate(5000, 10, Duration.ofMillis(5000));
+            assertNotNull(msg);
+            while (msg != null) {
+                // each producer's messages must come out in the order they were pushed
+                String[] parts = new String(msg.getProtocolBytes(), StandardCharsets.US_ASCII).split(" ");
+                int id = Integer.parseInt(parts[0]);
+                int seq = Integer.parseInt(parts[1]);
+                assertEquals(lastSeen[id] + 1, seq);
+                lastSeen[id] = seq;
+                count++;
+                msg = msg.next;
+            }
+        }
+
+        assertEquals(msgCount, count);
+        assertNull(q.popNow());
+        assertEquals(0, q.length());
+    }
+
+    @Test
+    public void testPauseWakesAccumulate() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue();
+        Thread t = new Thread(() -> {try {Thread.sleep(100);}catch(Exception e){} q.pause();});
+        t.start();
+        NatsMessage msg = q.accumulate(100,100, Duration.ZERO);
+        assertNull(msg);
+    }
+
+    @Test
+    public void testPushWakesAccumulate() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue();
+        NatsMessage msg1 = new ProtocolMessage(ONE);
+        Thread t = new Thread(() -> {try {Thread.sleep(100);}catch(Exception e){} q.push(msg1);});
+        t.start();
+        NatsMessage msg = q.accumulate(100,100, Duration.ZERO);
+        assertEquals(msg1, msg);
+    }
+
+    @Test
+    public void testTimeout() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue();
+        long start = System.nanoTime();
+        NatsMessage msg = q.pop(Duration.ofMillis(200));
+        long elapsed = System.nanoTime() - start;
+        assertNull(msg);
+        assertTrue(elapsed >= Duration.ofMillis(200).toNanos());
+    }
+
+    @Test
+    public void testFilter() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue();
+        NatsMessage msg1 = new ProtocolMessage(ONE);
+        NatsMessage msg2 = new ProtocolMessage(TWO);
+        NatsMessage msg3 = new ProtocolMessage(THREE);
+        NatsMessage msg4 = new ProtocolMessage(PING);
+        q.push(msg1);
+        q.push(msg2);
+        assertEquals(msg1, q.popNow()); // leaves msg2 on the consumer side
+        q.push(msg3);
+        q.push(msg4);
+
+        q.pause();
+        q.filter((msg) -> msg == msg2 || msg == msg4);
+        q.resume();
+
+        assertEquals(1, q.length());
+        assertEquals(msg3.getSizeInBytes(), q.sizeInBytes());
+        NatsMessage msg5 = new ProtocolMessage(ONE);
+        q.push(msg5);
+        assertEquals(msg3, q.popNow());
+        assertEquals(msg5, q.popNow());
+        assertNull(q.popNow());
+    }
+
+    @Test
+    public void testThrowOnFilterIfRunning() {
+        MessageQueue q = new MpscMessageQueue();
+        assertThrows(IllegalStateException.class, () -> q.filter((msg) -> true));
+    }
+
+    @Test
+    public void testExceptionWhenQueueIsFull() {
+        MessageQueue q = new MpscMessageQueue(2, false);
+        assertTrue(q.push(new ProtocolMessage(ONE)));
+        assertTrue(q.push(new ProtocolMessage(TWO)));
+        IllegalStateException ise = assertThrows(IllegalStateException.class, () -> q.push(new ProtocolMessage(THREE)));
+        assertEquals("Output queue is full 2", ise.getMessage());
+    }
+
+    @Test
+    public void testFullQueueWaitsForSpace() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue(1, false);
+        NatsMessage msg1 = new ProtocolMessage(ONE);
+        NatsMessage msg2 = new ProtocolMessage(TWO);
+        assertTrue(q.push(msg1));
+        Thread t = new Thread(() -> {try {Thread.sleep(100); q.popNow();}catch(Exception e){}});
+        t.start();
+        assertTrue(q.push(msg2));
+        t.join();
+        assertEquals(1, q.length());
+        assertEquals(msg2, q.popNow());
+    }
+
+    @Test
+    public void testDiscardMessageWhenQueueFull() throws InterruptedException {
+        MessageQueue q = new MpscMessageQueue(2, true);
+        AtomicInteger pushed = new AtomicInteger();
+        for (byte[] b : new byte[][]{ONE, TWO, THREE}) {
+            if (q.push(new ProtocolMessage(b))) {
+                pushed.incrementAndGet();
+            }
+        }
+        assertEquals(2, pushed.get());
+        assertEquals(2, q.length());
+
+        // internal messages are never discarded
+        q.popNow();
+        assertTrue(q.push(new ProtocolMessage(PING), true));
+        assertEquals(2, q.length());
+    }
+}
@@ -0,0 +1,144 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.AckBatchOptions;
+import io.nats.client.Options;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NatsJetStreamAckBatcherTests extends JetStreamTestBase {
+
+    static class PublishRecorder extends MockNatsConnection {
+        final List<String> published = new CopyOnWriteArrayList<>();
+
+        PublishRecorder() {
+            super(Options.builder().build());
+        }
+
+        @Override
+        public void publish(String subject, byte[] body) {
+            assertArrayEquals(AckType.AckAck.bytes, body);
+            published.add(subject);
+        }
+    }
+
+    @Test
+    public void testBatchIsPublishedWhenFull() {
+        PublishRecorder conn = new PublishRecorder();
+        AckBatchOptions abo = AckBatchOptions.builder().maxAcks(3).maxDelay(Duration.ofHours(1)).build();
+        NatsJetStreamAckBatcher batcher = new NatsJetStreamAckBatcher(conn, abo, false);
+
+        batcher.ack(getTestJsMessage(1));
+        batcher.ack(getTestJsMessage(2));
+        assertEquals(2, batcher.pending());
+        assertEquals(0, conn.published.size());
+
+        batcher.ack(getTestJsMessage(3));
+        assertEquals(0, batcher.pending());
+        assertEquals(3, conn.published.size());
+        assertEquals(getTestJsMessage(1).getReplyTo(), conn.published.get(0));
+        assertEquals(getTestJsMessage(3).getReplyTo(), conn.published.get(2));
+
+        batcher.ack(getTestJsMessage(4));
+        batcher.close();
+        assertEquals(4, conn.published.size());
+        assertEquals(4, conn.getStatistics().getBatchedAcks());
+        assertEquals(4, conn.getStatistics().getBatchedAckPublishes());
+    }
+
+    @Test
+    public void testAckAllPublishesOnlyTheHighest() {
+        PublishRecorder conn = new PublishRecorder();
+        AckBatchOptions abo = AckBatchOptions.builder().maxAcks(4).maxDelay(Duration.ofHours(1)).build();
+        NatsJetStreamAckBatcher batcher = new NatsJetStreamAckBatcher(conn, abo, true);
+
+        batcher.ack(getTestJsMessage(2));
+        batcher.ack(getTestJsMessage(5));
+        batcher.ack(getTestJsMessage(3)); // acked late, still covered by 5
+        batcher.ack(getTestJsMessage(4));
+        assertEquals(1, conn.published.size());
+        assertEquals(getTestJsMessage(5).getReplyTo(), conn.published.get(0));
+
+        batcher.flush(); // nothing waiting
+        assertEquals(1, conn.published.size());
+
+        batcher.ack(getTestJsMessage(6));
+        batcher.close();
+        assertEquals(2, conn.published.size());
+        assertEquals(getTestJsMessage(6).getReplyTo(), conn.published.get(1));
+        assertEquals(5, conn.getStatistics().getBatchedAcks());
+        assertEquals(2, conn.getStatistics().getBatchedAckPublishes());
+    }
+
+    @Test
+    public void testAckAfterCloseIsPublished() {
+        PublishRecorder conn = new PublishRecorder();
+        AckBatchOptions abo = AckBatchOptions.builder().maxAcks(10).maxDelay(Duration.ofHours(1)).build();
+        NatsJetStreamAckBatcher batcher = new NatsJetStreamAckBatcher(conn, abo, true);
+
+        batcher.ack(getTestJsMessage(1));
+        batcher.close();
+        assertEquals(1, conn.published.size());
+
+        batcher.ack(getTestJsMessage(2));
+        assertEquals(0, batcher.pending());
+        assertEquals(2, conn.published.size());
+        assertEquals(getTestJsMessage(2).getReplyTo(), conn.published.get(1));
+
+        batcher.close(); // closing again sends nothing more
+        assertEquals(2, conn.published.size());
+    }
+
+    @Test
+    public void testBatchIsPublishedAfterMaxDelay() throws InterruptedException {
+        PublishRecorder conn = new PublishRecorder();
+        AckBatchOptions abo = AckBatchOptions.builder().maxAcks(1000).maxDelay(20).build();
+        NatsJetStreamAckBatcher batcher = new NatsJetStreamAckBatcher(conn, abo, false);
+
+        batcher.ack(getTestJsMessage(1));
+        batcher.ack(getTestJsMessage(2));
+        long stop = System.currentTimeMillis() + 5000;
+        while (conn.published.size() < 2 && System.currentTimeMillis() < stop) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, conn.published.size());
+        assertEquals(0, batcher.pending());
+        batcher.close();
+    }
+
+    @Test
+    public void testAckBatchOptions() {
+        AckBatchOptions abo = AckBatchOptions.builder().build();
+        assertEquals(AckBatchOptions.DEFAULT_MAX_ACKS, abo.getMaxAcks());
+        assertEquals(AckBatchOptions.DEFAULT_MAX_DELAY, abo.getMaxDelay());
+        assertNotNull(abo.toString()); // coverage
+
+        abo = AckBatchOptions.builder().maxAcks(0).maxDelay(0).build();
+        assertEquals(AckBatchOptions.DEFAULT_MAX_ACKS, abo.getMaxAcks());
+        assertEquals(AckBatchOptions.DEFAULT_MAX_DELAY, abo.getMaxDelay());
+
+        abo = AckBatchOptions.builder().maxAcks(50).maxDelay((Duration) null).build();
+        assertEquals(50, abo.getMaxAcks());
+        assertEquals(AckBatchOptions.DEFAULT_MAX_DELAY, abo.getMaxDelay());
+
+        abo = AckBatchOptions.builder().maxDelay(Duration.ofMillis(250)).build();
+        assertEquals(Duration.ofMillis(250), abo.getMaxDelay());
+    }
+}
@@ -43,6 +43,13 @@ public class NatsJetStreamMetaDataTests extends JetStreamTestBase {
         NatsMessage nm = getTestMessage(InvalidMetaLt8Tokens);
         nm.replyTo = InvalidMetaNoAck;
         assertThrows(IllegalArgumentException.class, nm::metaData);
+
+        // numbers must be plain unsigned longs
+        assertThrows(IllegalArgumentException.class, () -> getTestMessage("$JS.ACK.test-stream.test-consumer.1.-2.3.1605139610113260000.4").metaData());
+        assertThrows(IllegalArgumentException.class, () -> getTestMessage("$JS.ACK.test-stream.test-consumer.1..3.1605139610113260000.4").metaData());
+        assertThrows(IllegalArgumentException.class, () -> getTestMessage("$JS.ACK.test-stream.test-consumer.1.2.3.1605139610113260000.").metaData());
+        assertThrows(IllegalArgumentException.class, () -> getTestMessage("$JS.ACK.test-stream.test-consumer.1.2.9223372036854775808.1605139610113260000.4").metaData());
+        assertEquals(Long.MAX_VALUE, getTestMessage("$JS.ACK.test-stream.test-consumer.1.2.9223372036854775807.1605139610113260000.4").metaData().consumerSequence());
     }
 
     private void validateMeta(boolean hasPending, boolean hasDomainHashToken, NatsJetStreamMetaData meta) {
@@ -18,6 +18,7 @@ import io.nats.client.NatsServerProtocolMock.ExitAt;
 import io.nats.client.support.IncomingHeadersProcessor;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
@@ -108,6 +109,52 @@ public class NatsMessageTests {
         assertEquals(protocol.getBytes(StandardCharsets.UTF_8).length + 4, msg.getSizeInBytes(), "Size is correct");
     }
 
+    @Test
+    public void testPublishMessageMatchesNatsMessage() {
+        SubjectBytesCache cache = new SubjectBytesCache();
+        Headers headers = new Headers().add("Content-Type", "text/plain");
+        String[] replies = {null, "reply"};
+        Headers[] headerOptions = {null, new Headers(), headers};
+        byte[][] bodies = {null, new byte[0], "0123456789".getBytes(), new byte[1234]};
+        for (String subject : new String[]{"subj", "sub\u00e9"}) {
+            for (String replyTo : replies) {
+                for (Headers h : headerOptions) {
+                    for (byte[] body : bodies) {
+                        NatsMessage expected = new NatsMessage(subject, replyTo, h, body);
+                        NatsMessage msg = new PublishMessage(subject, cache.get(subject), replyTo, h, body);
+                        assertEquals(expected.getSizeInBytes(), msg.getSizeInBytes());
+                        assertEquals(expected.getControlLineLength(), msg.getControlLineLength());
+                        assertByteArraysEqual(expected.getProtocolBytes(), msg.getProtocolBytes());
+                        assertEquals(expected.hasHeaders(), msg.hasHeaders());
+
+                        byte[] expectedHeaders = new byte[expected.getSizeInBytes() < 100 ? 100 : (int) expected.getSizeInBytes()];
+                        byte[] actualHeaders = new byte[expectedHeaders.length];
+                        assertEquals(expected.copyNotEmptyHeaders(0, expectedHeaders), msg.copyNotEmptyHeaders(0, actualHeaders));
+                        assertByteArraysEqual(expectedHeaders, actualHeaders);
+                    }
+                }
+            }
+        }
+
+        // headers are captured when the message is made
+        NatsMessage msg = new PublishMessage("subj", cache.get("subj"), null, headers, null);
+        headers.add("Content-Type", "more");
+        assertEquals(1, msg.getHeaders().get("Content-Type").size());
+    }
+
+    @Test
+    public void testSubjectBytesCache() {
+        SubjectBytesCache cache = new SubjectBytesCache();
+        byte[] bytes = cache.get("foo.bar");
+        assertByteArraysEqual("foo.bar".getBytes(StandardCharsets.UTF_8), bytes);
+        assertSame(bytes, cache.get("foo.bar"));
+        assertSame(bytes, cache.get(new String("foo.bar")));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(null));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(""));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("foo bar"));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("foo."));
+    }
+
     @Test
     public void testCustomMaxControlLine() {
         assertThrows(IllegalArgumentException.class, () -> {
@@ -304,6 +351,55 @@ public class NatsMessageTests {
         assertNotNull(sm.toString());
     }
 
+    @Test
+    public void testFactoryProducesPooledMessage() {
+        MessageBufferPool pool = new MessageBufferPool(16);
+        MessageBufferPool.PooledBuffer pb = pool.acquire();
+        byte[] payload = "hello".getBytes(StandardCharsets.US_ASCII);
+        int offset = pb.reserve(2); // something else is already in the buffer
+        offset = pb.reserve(payload.length);
+        System.arraycopy(payload, 0, pb.bytes, offset, payload.length);
+
+        IncomingMessageFactory factory = new IncomingMessageFactory("sid", "subj", null, 0, false);
+        pb.retain();
+        factory.setPooledData(pb, offset, payload.length);
+        NatsMessage m = factory.getMessage();
+        assertTrue(m.isPooled());
+        assertEquals(2, pb.refCount());
+
+        ByteBuffer bb = m.getDataBuffer();
+        assertTrue(bb.isReadOnly());
+        assertEquals(payload.length, bb.remaining());
+        byte[] fromBuffer = new byte[bb.remaining()];
+        bb.get(fromBuffer);
+        assertByteArraysEqual(payload, fromBuffer);
+        assertTrue(m.toString().contains("pooled"));
+
+        m.release();
+        assertFalse(m.isPooled());
+        assertEquals(1, pb.refCount());
+        assertThrows(IllegalStateException.class, m::getData);
+        assertThrows(IllegalStateException.class, m::getDataBuffer);
+        m.release(); // already released, does nothing
+        assertEquals(1, pb.refCount());
+
+        // getData copies the payload out of the pool
+        factory.reset("sid", "subj", null, 0, false);
+        pb.retain();
+        factory.setPooledData(pb, offset, payload.length);
+        m = factory.getMessage();
+        assertByteArraysEqual(payload, m.getData());
+        assertFalse(m.isPooled());
+        assertEquals(1, pb.refCount());
+        m.release();
+        assertByteArraysEqual(payload, m.getData());
+
+        assertEquals(0, pool.available());
+        pb.release();
+        assertEquals(1, pool.available());
+        assertSame(pb, pool.acquire());
+    }
+
     private NatsMessage testMessage() {
         Headers h = new Headers();
         h.add("key", "value");
@@ -17,8 +17,13 @@ import io.nats.client.api.*;
 import org.junit.jupiter.api.Test;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.ZoneId;
@@ -26,6 +31,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static io.nats.client.JetStreamOptions.DEFAULT_JS_OPTIONS;
 import static io.nats.client.api.ObjectStoreWatchOption.IGNORE_DELETE;
@@ -153,6 +159,68 @@ public class ObjectStoreTests extends JetStreamTestBase {
         });
     }
 
+    @Test
+    public void testPipelinedPut() throws Exception {
+        runInJsServer(nc -> {
+            ObjectStoreManagement osm = nc.objectStoreManagement();
+            osm.create(ObjectStoreConfiguration.builder(BUCKET).storageType(StorageType.Memory).build());
+
+            byte[] input = new byte[4096 * 25 + 100];
+            new Random().nextBytes(input);
+            ObjectMeta meta = ObjectMeta.builder("sync").chunkSize(4096).build();
+            ObjectInfo syncInfo = nc.objectStore(BUCKET).put(meta, new ByteArrayInputStream(input));
+
+            for (boolean pooling : new boolean[]{false, true}) {
+                ObjectStoreOptions oso = ObjectStoreOptions.builder().putWindowSize(8).putBufferPooling(pooling).build();
+                ObjectStore os = nc.objectStore(BUCKET, oso);
+                String name = "pipelined-" + pooling;
+                ObjectInfo oi = os.put(ObjectMeta.builder(name).chunkSize(4096).build(), new ByteArrayInputStream(input));
+                assertEquals(syncInfo.getSize(), oi.getSize());
+                assertEquals(syncInfo.getChunks(), oi.getChunks());
+                assertEquals(syncInfo.getDigest(), oi.getDigest());
+
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                os.get(name, baos);
+                assertArrayEquals(input, baos.toByteArray());
+            }
+        });
+    }
+
+    @Test
+    public void testGetToChannel() throws Exception {
+        runInJsServer(nc -> {
+            ObjectStoreManagement osm = nc.objectStoreManagement();
+            osm.create(ObjectStoreConfiguration.builder(BUCKET).storageType(StorageType.Memory).build());
+
+            byte[] input = new byte[4096 * 25 + 100];
+            new Random().nextBytes(input);
+            ObjectStore os = nc.objectStore(BUCKET, ObjectStoreOptions.builder().prefetchChunks(4).build());
+            os.put(ObjectMeta.builder("multi").chunkSize(4096).build(), new ByteArrayInputStream(input));
+            os.put(ObjectMeta.builder("single").chunkSize(4096).build(), new ByteArrayInputStream(input, 0, 100));
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ObjectInfo oi = os.get("multi", Channels.newChannel(baos));
+            assertEquals(input.length, oi.getSize());
+            assertArrayEquals(input, baos.toByteArray());
+
+            baos = new ByteArrayOutputStream();
+            os.get("single", Channels.newChannel(baos));
+            assertArrayEquals(Arrays.copyOf(input, 100), baos.toByteArray());
+
+            File file = File.createTempFile("channel", ".bin");
+            file.deleteOnExit();
+            try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                fc.write(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+                os.get("multi", fc);
+                assertEquals(3 + input.length, fc.position());
+            }
+            byte[] written = Files.readAllBytes(file.toPath());
+            assertArrayEquals(input, Arrays.copyOfRange(written, 3, written.length));
+
+            assertThrows(IllegalArgumentException.class, () -> os.get("multi", (WritableByteChannel) null));
+        });
+    }
+
     private static void validateStatus(ObjectStoreStatus status) {
         assertEquals(BUCKET, status.getBucketName());
         assertEquals(PLAIN, status.getDescription());
@@ -286,6 +354,26 @@ public class ObjectStoreTests extends JetStreamTestBase {
 
         oso = ObjectStoreOptions.builder().jsRequestTimeout(Duration.ofSeconds(10)).build();
         assertEquals(Duration.ofSeconds(10), oso.getJetStreamOptions().getRequestTimeout());
+
+        oso = ObjectStoreOptions.builder().build();
+        assertEquals(ObjectStoreOptions.DEFAULT_PUT_WINDOW_SIZE, oso.getPutWindowSize());
+        assertFalse(oso.isPutBufferPooling());
+
+        oso = ObjectStoreOptions.builder().putWindowSize(16).putBufferPooling(true).build();
+        assertEquals(16, oso.getPutWindowSize());
+        assertTrue(oso.isPutBufferPooling());
+        oso = ObjectStoreOptions.builder(oso).build();
+        assertEquals(16, oso.getPutWindowSize());
+        assertTrue(oso.isPutBufferPooling());
+
+        oso = ObjectStoreOptions.builder().putWindowSize(0).build();
+        assertEquals(ObjectStoreOptions.DEFAULT_PUT_WINDOW_SIZE, oso.getPutWindowSize());
+
+        assertEquals(ObjectStoreOptions.DEFAULT_PREFETCH_CHUNKS, ObjectStoreOptions.builder().build().getPrefetchChunks());
+        oso = ObjectStoreOptions.builder().prefetchChunks(8).build();
+        assertEquals(8, oso.getPrefetchChunks());
+        assertEquals(8, ObjectStoreOptions.builder(oso).build().getPrefetchChunks());
+        assertEquals(ObjectStoreOptions.DEFAULT_PREFETCH_CHUNKS, ObjectStoreOptions.builder().prefetchChunks(0).build().getPrefetchChunks());
     }
 
     private void assertOso(ObjectStoreOptions oso) {
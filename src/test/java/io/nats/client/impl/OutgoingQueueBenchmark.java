@@ -0,0 +1,81 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.Options;
+
+import java.time.Duration;
+import java.text.NumberFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * Compares the blocking MessageQueue with the lock free MpscMessageQueue used for the writer's
+ * outgoing queue. Producers push while a single consumer accumulates, the way the writer does.
+ */
+public class OutgoingQueueBenchmark {
+    public static void main(String args[]) throws InterruptedException {
+        int msgCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int[] producerCounts = {1, 4, 16, 64};
+        byte[] proto = "PUB foo 16".getBytes();
+
+        System.out.printf("### Running outgoing queue benchmarks with %s messages.\n", NumberFormat.getInstance().format(msgCount));
+
+        for (int producers : producerCounts) {
+            Supplier<MessageQueue> blocking = () -> new MessageQueue(true, Options.DEFAULT_MAX_MESSAGES_IN_OUTGOING_QUEUE);
+            Supplier<MessageQueue> mpsc = () -> new MpscMessageQueue(Options.DEFAULT_MAX_MESSAGES_IN_OUTGOING_QUEUE, false);
+            run(blocking, producers, msgCount / 10, proto); // warm up
+            run(mpsc, producers, msgCount / 10, proto);
+            long blockingNanos = run(blocking, producers, msgCount, proto);
+            long mpscNanos = run(mpsc, producers, msgCount, proto);
+            System.out.printf("\n### %d producers\n\tMessageQueue: %s msgs/sec\n\tMpscMessageQueue: %s msgs/sec\n",
+                producers,
+                NumberFormat.getInstance().format(1_000_000_000L * ((double) msgCount) / ((double) blockingNanos)),
+                NumberFormat.getInstance().format(1_000_000_000L * ((double) msgCount) / ((double) mpscNanos)));
+        }
+    }
+
+    private static long run(Supplier<MessageQueue> supplier, int producers, int msgCount, byte[] proto) throws InterruptedException {
+        MessageQueue q = supplier.get();
+        int perProducer = msgCount / producers;
+        int total = perProducer * producers;
+        CountDownLatch go = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            Thread t = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    q.push(new ProtocolMessage(proto));
+                }
+            });
+            t.start();
+        }
+
+        long start = System.nanoTime();
+        go.countDown();
+        int received = 0;
+        Duration wait = Duration.ofSeconds(10);
+        while (received < total) {
+            NatsMessage msg = q.accumulate(Options.DEFAULT_BUFFER_SIZE, 1000, wait);
+            while (msg != null) {
+                received++;
+                msg = msg.next;
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -20,10 +20,11 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 
 import static io.nats.client.support.NatsConstants.*;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class ParseTests {
 
@@ -40,6 +41,26 @@ public class ParseTests {
 
     }
 
+    @Test
+    public void testGoodNumbersFromChars() {
+        int i=1;
+
+        while (i < 2_000_000_000 && i > 0) {
+            char[] chars = ("x " + i + " ").toCharArray();
+            assertEquals(i, NatsConnectionReader.parseLength(chars, 2, chars.length - 1));
+            i *= 11;
+        }
+
+        assertEquals(0, NatsConnectionReader.parseLength("0".toCharArray(), 0, 1));
+        assertThrows(NumberFormatException.class,
+                () -> NatsConnectionReader.parseLength("2221a".toCharArray(), 0, 5));
+        assertThrows(NumberFormatException.class,
+                () -> NatsConnectionReader.parseLength("-1".toCharArray(), 0, 2));
+        char[] tooBig = String.valueOf(100_000_000_000L).toCharArray();
+        assertThrows(NumberFormatException.class,
+                () -> NatsConnectionReader.parseLength(tooBig, 0, tooBig.length));
+    }
+
     @Test
     public void testBadChars() {
         assertThrows(NumberFormatException.class,
@@ -256,4 +277,117 @@ public class ParseTests {
     private void assertUnknownOpFor(int len, char[] chars) {
         assertEquals(UNKNOWN_OP, NatsConnectionReader.opFor(chars, len));
     }
-}
\ No newline at end of file
+
+    private static NatsConnectionReader reader() {
+        return new NatsConnectionReader(new MockNatsConnection(Options.builder().build()));
+    }
+
+    private static void assertElements(NatsConnectionReader reader, String line, String... expected) {
+        assertEquals(expected.length, reader.splitMessageLineForTest(line), line);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], reader.elementString(i), line);
+            assertEquals(expected[i].isEmpty(), reader.elementIsEmpty(i), line);
+        }
+    }
+
+    @Test
+    public void testSplitMessageLine() {
+        NatsConnectionReader reader = reader();
+
+        // MSG subject sid [replyTo] length
+        assertElements(reader, "subject 1 5", "subject", "1", "5");
+        assertElements(reader, "subject 1 reply.to 5", "subject", "1", "reply.to", "5");
+        assertEquals(5, reader.elementLength(3));
+
+        // HMSG subject sid [replyTo] hdrLen totLen
+        assertElements(reader, "subject 22 10 15", "subject", "22", "10", "15");
+        assertElements(reader, "subject 22 reply.to 10 15", "subject", "22", "reply.to", "10", "15");
+        assertEquals(10, reader.elementLength(3));
+        assertEquals(15, reader.elementLength(4));
+
+        // tabs are delimiters too
+        assertElements(reader, "subject\t1\treply\t5", "subject", "1", "reply", "5");
+
+        // each extra delimiter makes an empty element, a trailing one does not
+        assertElements(reader, "subject  1 5", "subject", "", "1", "5");
+        assertElements(reader, " subject 1 5", "", "subject", "1", "5");
+        assertElements(reader, "subject 1 5 ", "subject", "1", "5");
+
+        // a shorter line after a longer one only has its own elements
+        assertElements(reader, "a b", "a", "b");
+        assertElements(reader, "", new String[0]);
+
+        // at most 5 elements, the rest of the line is not split
+        assertEquals(5, reader.splitMessageLineForTest("a b c d e f g"));
+        assertEquals("e", reader.elementString(4));
+        assertThrows(NumberFormatException.class, () -> {
+            reader.splitMessageLineForTest("subject 1 x");
+            reader.elementLength(2);
+        });
+    }
+
+    private static void parse(NatsConnectionReader reader, String line) throws IOException {
+        byte[] bytes = (line + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        reader.fakeReadForTest(bytes);
+        reader.gatherOp(bytes.length);
+        reader.gatherMessageProtocol(bytes.length);
+        reader.parseProtocolMessage();
+    }
+
+    @Test
+    public void testMalformedMessageLines() throws IOException {
+        for (String line : new String[]{"MSG subject", "MSG subject 1", "MSG  1 5", "MSG subject  5",
+                "MSG subject 1 x", "MSG subject 1 reply x", "HMSG subject 1 5", "HMSG  1 5 10",
+                "HMSG subject  5 10", "HMSG subject 1 x 10", "HMSG subject 1 reply 5 x"}) {
+            assertThrows(IOException.class, () -> parse(reader(), line), line);
+        }
+
+        // well formed lines parse without error
+        parse(reader(), "MSG subject 1 5");
+        parse(reader(), "MSG subject 1 reply 5");
+        parse(reader(), "HMSG subject 1 5 10");
+        parse(reader(), "HMSG subject 1 reply 5 10");
+    }
+
+    @Test
+    public void testElementStringCache() {
+        NatsConnectionReader reader = reader();
+
+        // the same content at different positions gives the same String
+        reader.splitMessageLineForTest("subject 1 5");
+        String subject = reader.cachedElementString(0);
+        String sid = reader.cachedElementString(1);
+        reader.splitMessageLineForTest("x subject 1 5");
+        assertSame(subject, reader.cachedElementString(1));
+        assertSame(sid, reader.cachedElementString(2));
+
+        // find two different strings of the same length that share a slot
+        Map<Integer, String> bySlot = new HashMap<>();
+        String first = null;
+        String second = null;
+        for (int i = 0; second == null; i++) {
+            String s = String.format("sub.%05d", i);
+            char[] chars = s.toCharArray();
+            String other = bySlot.putIfAbsent(NatsConnectionReader.stringCacheIndex(chars, 0, chars.length), s);
+            if (other != null) {
+                first = other;
+                second = s;
+            }
+        }
+
+        reader.splitMessageLineForTest(first + " 1 5");
+        String cachedFirst = reader.cachedElementString(0);
+        assertEquals(first, cachedFirst);
+
+        // the collision replaces the slot and still returns the right content
+        reader.splitMessageLineForTest(second + " 1 5");
+        String cachedSecond = reader.cachedElementString(0);
+        assertEquals(second, cachedSecond);
+        assertSame(cachedSecond, reader.cachedElementString(0));
+
+        reader.splitMessageLineForTest(first + " 1 5");
+        String again = reader.cachedElementString(0);
+        assertEquals(first, again);
+        assertNotSame(cachedFirst, again); // it was evicted
+    }
+}
@@ -0,0 +1,131 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.Options;
+
+import java.lang.management.ManagementFactory;
+import java.text.NumberFormat;
+
+import static io.nats.client.support.NatsConstants.SP;
+import static io.nats.client.support.NatsConstants.TAB;
+
+/**
+ * Measures msgs/sec and bytes allocated per message for parsing MSG control lines, the in place split with
+ * the sid and subject string cache the reader uses now, against the one String per element parse it used to do.
+ * Both runs take the same lines, copy each into the reader's char array, then find the subject, sid, reply to
+ * and length and fill a message factory; the old way builds a new factory per message, as the reader did.
+ * No server is required.
+ */
+public class ReaderParseBenchmark {
+    static final String[] LINES = {
+        "foo.bar.baz 12 _INBOX.UmRLsdtYI8eB9a8fDvWBfd.ZhZ2R6xp 16",
+        "orders.eu-west.created 13 _INBOX.UmRLsdtYI8eB9a8fDvWBfd.W1tq0Rr4 2048",
+        "foo.bar.baz 12 _INBOX.UmRLsdtYI8eB9a8fDvWBfd.b9KfQ0ac 16",
+        "metrics.cpu 7 128",
+    };
+
+    public static void main(String args[]) throws Exception {
+        int count = 5_000_000;
+
+        NatsConnectionReader reader = new MockNatsConnection(new Options.Builder().build()).getReader();
+        char[] lineChars = new char[Options.DEFAULT_MAX_CONTROL_LINE];
+
+        System.out.printf("### Running control line parse benchmarks with %s messages.\n", NumberFormat.getInstance().format(count));
+
+        for (int x = 0; x < 2; x++) {
+            runInPlace(reader, count / 10); // warm up
+            runStringElements(lineChars, count / 10);
+        }
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        runInPlace(reader, count);
+        long end = System.nanoTime();
+        report("in place split and string cache", count, end - start, allocatedBytes() - allocated);
+
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        runStringElements(lineChars, count);
+        end = System.nanoTime();
+        report("string per element, for comparison", count, end - start, allocatedBytes() - allocated);
+
+        System.exit(0); // the never connected connection still owns non daemon threads
+    }
+
+    static IncomingMessageFactory lastFactory; // so the work is not optimized away
+    static int lastLength;
+    static int pos;
+
+    private static void runInPlace(NatsConnectionReader reader, int count) {
+        IncomingMessageFactory factory = new IncomingMessageFactory();
+        for (int x = 0; x < count; x++) {
+            String line = LINES[x & 3];
+            int elements = reader.splitMessageLineForTest(line);
+            int lengthElement = elements == 3 ? 2 : 3;
+            lastLength = reader.elementLength(lengthElement);
+            factory.reset(reader.cachedElementString(1), reader.cachedElementString(0),
+                elements == 3 ? null : reader.elementString(2), line.length() + 4, false);
+        }
+        lastFactory = factory;
+    }
+
+    private static void runStringElements(char[] lineChars, int count) {
+        for (int x = 0; x < count; x++) {
+            String line = LINES[x & 3];
+            line.getChars(0, line.length(), lineChars, 0);
+            int max = line.length();
+            pos = 0;
+            String subject = grab(lineChars, max);
+            String sid = grab(lineChars, max);
+            String replyTo = grab(lineChars, max);
+            String lengthChars;
+            if (pos < max) {
+                lengthChars = grab(lineChars, max);
+            }
+            else {
+                lengthChars = replyTo;
+                replyTo = null;
+            }
+            lastLength = NatsConnectionReader.parseLength(lengthChars);
+            lastFactory = new IncomingMessageFactory(sid, subject, replyTo, max + 4, false);
+        }
+    }
+
+    // the element parse the reader used to do
+    private static String grab(char[] chars, int max) {
+        int start = pos;
+        while (pos < max) {
+            char c = chars[pos++];
+            if (c == SP || c == TAB) {
+                return new String(chars, start, pos - start - 1);
+            }
+        }
+        return new String(chars, start, pos - start);
+    }
+    private static void report(String label, long msgCount, long nanos, long allocated) {
+        System.out.printf("\n### %s\n\t%s msgs/sec\n\t%s bytes allocated/msg\n",
+            label,
+            NumberFormat.getInstance().format(1_000_000_000L * ((double) msgCount) / ((double) nanos)),
+            NumberFormat.getInstance().format(((double) allocated) / ((double) msgCount)));
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean tmx = ManagementFactory.getThreadMXBean();
+        if (tmx instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) tmx).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,135 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.support.NatsRequestCompletableFuture;
+
+import java.text.NumberFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.nats.client.support.NatsRequestCompletableFuture.CancelAction.CANCEL;
+
+/**
+ * Keeps many requests in flight, replacing a slice of them between cleaning passes the way replies
+ * and new requests would, and times the cleaning passes. Compares the full map sweep the connection
+ * used to do with the timing wheel.
+ */
+public class RequestTimeoutBenchmark {
+    public static void main(String args[]) {
+        int inFlight = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        System.out.printf("### Running request timeout benchmarks with %s requests in flight.\n", NumberFormat.getInstance().format(inFlight));
+
+        run("warm up sweep", new Sweep(), inFlight, rounds / 5);
+        run("warm up wheel", new Wheel(), inFlight, rounds / 5);
+        run("ConcurrentHashMap sweep", new Sweep(), inFlight, rounds);
+        run("RequestTimeoutWheel", new Wheel(), inFlight, rounds);
+    }
+
+    interface Tracker {
+        void put(String key, NatsRequestCompletableFuture f);
+        void remove(String key);
+        int clean();
+    }
+
+    static class Sweep implements Tracker {
+        final Map<String, NatsRequestCompletableFuture> map = new ConcurrentHashMap<>();
+
+        public void put(String key, NatsRequestCompletableFuture f) {
+            map.put(key, f);
+        }
+
+        public void remove(String key) {
+            map.remove(key);
+        }
+
+        // what cleanResponses did before the wheel
+        public int clean() {
+            ArrayList<String> toRemove = new ArrayList<>();
+            map.forEach((key, future) -> {
+                if (future.hasExceededTimeout()) {
+                    future.cancelTimedOut();
+                    toRemove.add(key);
+                }
+                else if (future.isDone()) {
+                    toRemove.add(key);
+                }
+            });
+            for (String token : toRemove) {
+                map.remove(token);
+            }
+            return toRemove.size();
+        }
+    }
+
+    static class Wheel implements Tracker {
+        final RequestTimeoutWheel wheel = new RequestTimeoutWheel();
+
+        public void put(String key, NatsRequestCompletableFuture f) {
+            wheel.put(key, f);
+        }
+
+        public void remove(String key) {
+            wheel.remove(key);
+        }
+
+        public int clean() {
+            return wheel.expire(System.currentTimeMillis(), NatsRequestCompletableFuture::cancelTimedOut);
+        }
+    }
+
+    private static void run(String label, Tracker tracker, int inFlight, int rounds) {
+        Random r = new Random(42);
+        String[] keys = new String[inFlight];
+        for (int i = 0; i < inFlight; i++) {
+            keys[i] = Integer.toString(i);
+            tracker.put(keys[i], new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(1000 + r.nextInt(30_000))));
+        }
+
+        int churn = inFlight / 10;
+        int next = inFlight;
+        long churnNanos = 0;
+        long cleanNanos = 0;
+        long maxCleanNanos = 0;
+        int expired = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < churn; i++) {
+                int slot = r.nextInt(inFlight);
+                tracker.remove(keys[slot]); // a reply arrived
+                keys[slot] = Integer.toString(next++);
+                tracker.put(keys[slot], new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(1000 + r.nextInt(30_000))));
+            }
+            churnNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            expired += tracker.clean();
+            long elapsed = System.nanoTime() - start;
+            cleanNanos += elapsed;
+            maxCleanNanos = Math.max(maxCleanNanos, elapsed);
+        }
+
+        System.out.printf("\n### %s\n\t%s ns per request put and remove\n\t%s us average cleaning pass\n\t%s us longest cleaning pass\n\t%d expired\n",
+            label,
+            NumberFormat.getInstance().format(churnNanos / ((long) churn * rounds)),
+            NumberFormat.getInstance().format(cleanNanos / rounds / 1000),
+            NumberFormat.getInstance().format(maxCleanNanos / 1000),
+            expired);
+    }
+}
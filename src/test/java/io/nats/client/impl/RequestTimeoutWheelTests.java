@@ -0,0 +1,137 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.impl;
+
+import io.nats.client.support.NatsRequestCompletableFuture;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static io.nats.client.support.NatsRequestCompletableFuture.CancelAction.CANCEL;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestTimeoutWheelTests {
+
+    @Test
+    public void testExpiresOnlyWhenDue() {
+        long now = System.currentTimeMillis();
+        RequestTimeoutWheel wheel = new RequestTimeoutWheel(now);
+        NatsRequestCompletableFuture f = new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(100));
+        wheel.put("a", f);
+        assertEquals(1, wheel.size());
+        assertSame(f, wheel.get("a"));
+
+        List<NatsRequestCompletableFuture> expired = new ArrayList<>();
+        assertEquals(0, wheel.expire(now + 50, expired::add));
+        assertEquals(1, wheel.size());
+
+        assertEquals(1, wheel.expire(f.getTimeOutAfter() + RequestTimeoutWheel.TICK_MILLIS + 1, expired::add));
+        assertEquals(1, expired.size());
+        assertSame(f, expired.get(0));
+        assertEquals(0, wheel.size());
+        assertNull(wheel.get("a"));
+    }
+
+    @Test
+    public void testRemoveTakesItOffTheWheel() {
+        long now = System.currentTimeMillis();
+        RequestTimeoutWheel wheel = new RequestTimeoutWheel(now);
+        NatsRequestCompletableFuture f1 = new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(100));
+        NatsRequestCompletableFuture f2 = new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(100));
+        NatsRequestCompletableFuture f3 = new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(100));
+        wheel.put("1", f1);
+        wheel.put("2", f2);
+        wheel.put("3", f3);
+        assertSame(f2, wheel.remove("2"));
+        assertNull(wheel.remove("2"));
+
+        List<NatsRequestCompletableFuture> expired = new ArrayList<>();
+        assertEquals(2, wheel.expire(now + 10_000, expired::add));
+        assertTrue(expired.contains(f1));
+        assertTrue(expired.contains(f3));
+        assertFalse(expired.contains(f2));
+    }
+
+    @Test
+    public void testReplaceSameKey() {
+        long now = System.currentTimeMillis();
+        RequestTimeoutWheel wheel = new RequestTimeoutWheel(now);
+        NatsRequestCompletableFuture f1 = new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(100));
+        NatsRequestCompletableFuture f2 = new NatsRequestCompletableFuture(CANCEL, Duration.ofSeconds(100));
+        wheel.put("a", f1);
+        wheel.put("a", f2);
+        assertEquals(1, wheel.size());
+        assertEquals(0, wheel.expire(now + 10_000, f -> {}));
+        assertSame(f2, wheel.get("a"));
+    }
+
+    @Test
+    public void testCascadesFromUpperLevels() {
+        long now = System.currentTimeMillis();
+        RequestTimeoutWheel wheel = new RequestTimeoutWheel(now);
+        long[] timeouts = {5, 2_000, 60_000, 3_600_000, 2 * 86_400_000L};
+        NatsRequestCompletableFuture[] futures = new NatsRequestCompletableFuture[timeouts.length];
+        for (int i = 0; i < timeouts.length; i++) {
+            futures[i] = new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(timeouts[i]));
+            wheel.put("" + i, futures[i]);
+        }
+
+        for (int i = 0; i < timeouts.length; i++) {
+            NatsRequestCompletableFuture f = futures[i];
+            List<NatsRequestCompletableFuture> expired = new ArrayList<>();
+            assertEquals(0, wheel.expire(f.getTimeOutAfter() - RequestTimeoutWheel.TICK_MILLIS, expired::add), "early " + i);
+            assertEquals(1, wheel.expire(f.getTimeOutAfter() + 2 * RequestTimeoutWheel.TICK_MILLIS, expired::add), "due " + i);
+            assertSame(f, expired.get(0));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testManyRandomDeadlines() {
+        long now = System.currentTimeMillis();
+        RequestTimeoutWheel wheel = new RequestTimeoutWheel(now);
+        Random r = new Random();
+        int count = 10_000;
+        long latest = 0;
+        for (int i = 0; i < count; i++) {
+            NatsRequestCompletableFuture f = new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(r.nextInt(200_000)));
+            latest = Math.max(latest, f.getTimeOutAfter());
+            wheel.put("" + i, f);
+        }
+
+        int expired = 0;
+        for (long t = now; t <= latest + 1000; t += 997) {
+            long at = t;
+            expired += wheel.expire(at, f -> assertTrue(f.getTimeOutAfter() < at));
+        }
+        assertEquals(count, expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRemoveAll() {
+        RequestTimeoutWheel wheel = new RequestTimeoutWheel();
+        for (int i = 0; i < 100; i++) {
+            wheel.put("" + i, new NatsRequestCompletableFuture(CANCEL, Duration.ofMillis(i * 1000)));
+        }
+        List<NatsRequestCompletableFuture> removed = new ArrayList<>();
+        wheel.removeAll(removed::add);
+        assertEquals(100, removed.size());
+        assertEquals(0, wheel.size());
+        assertEquals(0, wheel.expire(System.currentTimeMillis() + 1_000_000, f -> fail()));
+    }
+}
@@ -380,6 +380,55 @@ public class SimplificationTests extends JetStreamTestBase {
         });
     }
 
+    @Test
+    public void testConsumeWithAckBatch() throws Exception {
+        jsServer.run(TestBase::atLeast2_9_1, nc -> {
+            JetStreamManagement jsm = nc.jetStreamManagement();
+
+            TestingStreamContainer tsc = new TestingStreamContainer(jsm);
+
+            JetStream js = nc.jetStream();
+            jsPublish(js, tsc.subject(), 1000);
+
+            for (AckPolicy ackPolicy : new AckPolicy[]{AckPolicy.Explicit, AckPolicy.All}) {
+                String durable = tsc.name() + ackPolicy;
+                ConsumerConfiguration cc = ConsumerConfiguration.builder().durable(durable).ackPolicy(ackPolicy).build();
+                jsm.addOrUpdateConsumer(tsc.stream, cc);
+                ConsumerContext consumerContext = js.getConsumerContext(tsc.stream, durable);
+
+                long acksBefore = nc.getStatistics().getBatchedAcks();
+                long publishesBefore = nc.getStatistics().getBatchedAckPublishes();
+
+                ConsumeOptions co = ConsumeOptions.builder()
+                    .ackBatch(AckBatchOptions.builder().maxAcks(50).build())
+                    .build();
+                CountDownLatch latch = new CountDownLatch(1000);
+                try (MessageConsumer consumer = consumerContext.consume(co, msg -> {
+                    msg.ack();
+                    latch.countDown();
+                })) {
+                    assertTrue(latch.await(10, TimeUnit.SECONDS));
+                    consumer.stop();
+                }
+
+                long acks = nc.getStatistics().getBatchedAcks() - acksBefore;
+                long publishes = nc.getStatistics().getBatchedAckPublishes() - publishesBefore;
+                assertEquals(1000, acks);
+                if (ackPolicy == AckPolicy.All) {
+                    assertTrue(publishes < acks);
+                }
+                else {
+                    assertEquals(acks, publishes);
+                }
+
+                nc.flush(Duration.ofSeconds(1));
+                ConsumerInfo ci = jsm.getConsumerInfo(tsc.stream, durable);
+                assertEquals(0, ci.getNumAckPending());
+                assertEquals(1000, ci.getAckFloor().getStreamSequence());
+            }
+        });
+    }
+
     @Test
     public void testNext() throws Exception {
         jsServer.run(TestBase::atLeast2_9_1, nc -> {
@@ -542,6 +591,10 @@ public class SimplificationTests extends JetStreamTestBase {
 
         assertThrows(IllegalArgumentException.class,
             () -> ConsumeOptions.builder().expiresIn(MIN_EXPIRES_MILLS - 1).build());
+
+        assertNull(ConsumeOptions.builder().build().getAckBatch());
+        AckBatchOptions abo = AckBatchOptions.builder().build();
+        assertSame(abo, ConsumeOptions.builder().ackBatch(abo).build().getAckBatch());
     }
 
     // this sim is different from the other sim b/c next has a new sub every message
@@ -0,0 +1,156 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static io.nats.client.support.JsonReader.Token.*;
+import static io.nats.client.utils.ResourceUtils.dataAsString;
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class JsonReaderTests {
+
+    private static JsonReader reader(String json) {
+        return new JsonReader(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testTreeIsSameAsParser() throws JsonParseException {
+        String[] files = new String[]{"AccountStatistics.json", "ConsumerConfiguration.json", "ConsumerInfo.json",
+            "ConsumerListResponse.json", "GenericErrorResponse.json", "ListResponsePage1.json", "MirrorsSources.json",
+            "ObjectInfo.json", "PurgeResponse.json", "StreamConfiguration.json", "StreamInfo.json", "StreamListResponse.json"};
+        for (String file : files) {
+            byte[] json = dataAsString(file).getBytes(StandardCharsets.UTF_8);
+            JsonReader reader = new JsonReader(json);
+            assertEquals(JsonParser.parse(json), reader.nextValue(), file);
+            assertEquals(END, reader.peek(), file);
+        }
+    }
+
+    @Test
+    public void testTokens() throws JsonParseException {
+        JsonReader reader = reader(" {\"a\" : [1, -2.5e3, \"x\\ty\", true, false, null, {}, []], \"b\":{\"c\":\"\\u00e9\"}} ");
+        reader.beginObject();
+        assertEquals(NAME, reader.peek());
+        assertEquals("a", reader.nextName());
+        reader.beginArray();
+        assertEquals(NUMBER, reader.peek());
+        assertEquals(1, reader.nextLong(0));
+        assertEquals(NUMBER, reader.peek());
+        assertEquals(new JsonValue(new BigDecimal("-2.5e3")), reader.nextValue());
+        assertEquals(STRING, reader.peek());
+        assertEquals("x\ty", reader.nextString());
+        assertEquals(BOOLEAN, reader.peek());
+        assertTrue(reader.nextBoolean(false));
+        assertFalse(reader.nextBoolean(true));
+        assertEquals(NULL, reader.peek());
+        assertNull(reader.nextValue());
+        reader.beginObject();
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        reader.beginArray();
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertEquals("b", reader.nextName());
+        reader.beginObject();
+        assertEquals("c", reader.nextName());
+        assertEquals("\u00e9", reader.nextString());
+        reader.endObject();
+        reader.endObject();
+        assertEquals(END, reader.peek());
+
+        assertEquals(END, reader("").peek());
+        assertEquals(END, new JsonReader(null).peek());
+    }
+
+    @Test
+    public void testNamesAreCached() throws JsonParseException {
+        JsonReader reader = reader("[{\"name\":1},{\"name\":2}]");
+        reader.beginArray();
+        reader.beginObject();
+        String first = reader.nextName();
+        reader.skipValue();
+        reader.endObject();
+        reader.beginObject();
+        assertSame(first, reader.nextName());
+    }
+
+    @Test
+    public void testLenientValues() throws JsonParseException {
+        JsonReader reader = reader("{\"s\":1,\"l\":\"x\",\"i\":99999999999,\"b\":\"true\",\"d\":null,"
+            + "\"ll\":[1,\"2\",3.5,null,4],\"nl\":{\"x\":1},\"big\":123456789012345678901234567890}");
+        reader.beginObject();
+        reader.nextName();
+        assertNull(reader.nextString());
+        reader.nextName();
+        assertEquals(-1, reader.nextLong(-1));
+        reader.nextName();
+        assertEquals(-1, reader.nextInt(-1));
+        reader.nextName();
+        assertFalse(reader.nextBoolean(false));
+        reader.nextName();
+        assertNull(reader.nextDate());
+        reader.nextName();
+        assertEquals(Arrays.asList(1L, 4L), reader.nextLongList());
+        reader.nextName();
+        assertEquals(Collections.emptyList(), reader.nextLongList());
+        reader.nextName();
+        assertEquals(-1, reader.nextLong(-1));
+        assertFalse(reader.hasNext());
+        reader.endObject();
+    }
+
+    @Test
+    public void testSkipValue() throws JsonParseException {
+        JsonReader reader = reader("{\"skip\":{\"a\":[1,{\"b\":\"}]\\\"\"},[]],\"c\":null},\"keep\":42}");
+        reader.beginObject();
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertEquals("keep", reader.nextName());
+        assertEquals(42, reader.nextLong(0));
+        reader.endObject();
+    }
+
+    @Test
+    public void testInvalid() {
+        String[] invalids = new String[]{"{", "[", "{\"a\"", "{\"a\":", "{\"a\":1", "[1,", "[1 2]", "{\"a\" 1}",
+            "{1:2}", "\"abc", "tru", "nul", "{\"a\":1,}", "[1,]", "}", "]"};
+        for (String invalid : invalids) {
+            assertThrows(JsonParseException.class, () -> reader(invalid).nextValue(), invalid);
+            assertThrows(JsonParseException.class, () -> reader(invalid).skipValue(), invalid);
+        }
+
+        // skipped values are not decoded, so only reading them finds these
+        String[] undecoded = new String[]{"-", "{\"a\":\"\\x\"}", "{\"a\":\"\\u12\"}"};
+        for (String invalid : undecoded) {
+            assertThrows(JsonParseException.class, () -> reader(invalid).nextValue(), invalid);
+            assertDoesNotThrow(() -> reader(invalid).skipValue(), invalid);
+        }
+
+        assertThrows(JsonParseException.class, () -> reader("[1]").beginObject());
+        assertThrows(JsonParseException.class, () -> reader("{}").beginArray());
+        assertThrows(JsonParseException.class, () -> {
+            JsonReader reader = reader("{\"a\":1}");
+            reader.beginObject();
+            reader.endObject();
+        });
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import io.nats.client.api.*;
+
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static io.nats.client.support.ApiConstants.*;
+
+/**
+ * Measures serializing the consumer create request of an ephemeral pull consumer, written with the
+ * JsonWriter as it is now, against the StringBuilder, JsonUtils and getBytes way it used to be written.
+ */
+public class JsonWriterBenchmark {
+
+    static final String STREAM = "benchmark-stream";
+    static final String CONSUMER_NAME = "eph-Nq7JzRcVyT0Rr3p1wX2b4k";
+    static final String FILTER = "orders.eu-west.>";
+    static final Duration ACK_WAIT_TIME = Duration.ofSeconds(30);
+    static final Duration INACTIVE = Duration.ofMinutes(5);
+
+    public static void main(String args[]) {
+        int warmup = 200_000;
+        int count = 2_000_000;
+
+        ConsumerConfiguration cc = ConsumerConfiguration.builder()
+            .name(CONSUMER_NAME)
+            .deliverPolicy(DeliverPolicy.New)
+            .ackPolicy(AckPolicy.Explicit)
+            .ackWait(ACK_WAIT_TIME)
+            .maxDeliver(5)
+            .maxAckPending(1000)
+            .filterSubject(FILTER)
+            .inactiveThreshold(INACTIVE)
+            .numReplicas(1)
+            .memStorage(true)
+            .build();
+        ConsumerCreateRequest ccr = new ConsumerCreateRequest(STREAM, cc);
+
+        byte[] written = ccr.serialize();
+        byte[] built = stringBuilderSerialize();
+        if (!Arrays.equals(written, built)) {
+            throw new IllegalStateException("The outputs differ\n" + new String(written, StandardCharsets.UTF_8)
+                + "\n" + new String(built, StandardCharsets.UTF_8));
+        }
+
+        System.out.printf("### Running benchmarks with %s serializations of a %s byte consumer create request.\n",
+            NumberFormat.getInstance().format(count), written.length);
+
+        for (int x = 0; x < 2; x++) {
+            writer(ccr, warmup);
+            stringBuilder(warmup);
+        }
+
+        long[] sink = new long[1];
+        long start = System.nanoTime();
+        sink[0] += writer(ccr, count);
+        report("JsonWriter", count, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        sink[0] += stringBuilder(count);
+        report("StringBuilder, for comparison", count, System.nanoTime() - start);
+
+        if (sink[0] == 42) {
+            System.out.println(); // keep the work from being optimized away
+        }
+    }
+
+    static long writer(ConsumerCreateRequest ccr, int count) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += ccr.serialize().length;
+        }
+        return total;
+    }
+
+    static long stringBuilder(int count) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += stringBuilderSerialize().length;
+        }
+        return total;
+    }
+
+    // the way the request used to be serialized, the same fields in the same order
+    static byte[] stringBuilderSerialize() {
+        StringBuilder sbc = JsonUtils.beginJson();
+        JsonUtils.addField(sbc, NAME, CONSUMER_NAME);
+        JsonUtils.addField(sbc, DELIVER_POLICY, DeliverPolicy.New.toString());
+        JsonUtils.addField(sbc, ACK_POLICY, AckPolicy.Explicit.toString());
+        JsonUtils.addFieldAsNanos(sbc, ACK_WAIT, ACK_WAIT_TIME);
+        JsonUtils.addFieldWhenGtZero(sbc, MAX_DELIVER, 5L);
+        JsonUtils.addField(sbc, MAX_ACK_PENDING, 1000L);
+        JsonUtils.addField(sbc, REPLAY_POLICY, ReplayPolicy.Instant.toString());
+        JsonUtils.addFieldAsNanos(sbc, INACTIVE_THRESHOLD, INACTIVE);
+        JsonUtils.addField(sbc, NUM_REPLICAS, 1);
+        JsonUtils.addField(sbc, MEM_STORAGE, true);
+        JsonUtils.addField(sbc, FILTER_SUBJECT, FILTER);
+        String config = JsonUtils.endJson(sbc).toString();
+
+        StringBuilder sb = JsonUtils.beginJson();
+        JsonUtils.addField(sb, STREAM_NAME, STREAM);
+        JsonUtils.addRawJson(sb, CONFIG, config);
+        return JsonUtils.endJson(sb).toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static void report(String label, int count, long nanos) {
+        System.out.printf("\n### %s: %s ms\n\t%f ns/op\n\t%s op/sec\n",
+            label,
+            NumberFormat.getInstance().format(nanos / 1_000_000L),
+            ((double) nanos) / ((double) count),
+            NumberFormat.getInstance().format(((double) (1_000_000_000L * count)) / ((double) nanos)));
+    }
+}
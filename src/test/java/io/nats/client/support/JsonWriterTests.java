@@ -0,0 +1,208 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import io.nats.client.PullRequestOptions;
+import io.nats.client.api.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static io.nats.client.utils.ResourceUtils.dataAsLines;
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class JsonWriterTests {
+
+    private static void assertSame(StringBuilder sb, JsonWriter writer) {
+        byte[] expected = JsonUtils.endJson(sb).toString().getBytes(StandardCharsets.UTF_8);
+        writer.endObject();
+        assertArrayEquals(expected, writer.toByteArray());
+        assertEquals(new String(expected, StandardCharsets.UTF_8), writer.toString());
+    }
+
+    @Test
+    public void testStringsAreEncodedTheSame() {
+        List<String> strings = new ArrayList<>(dataAsLines("utf8-test-strings.txt"));
+        strings.add("b4\\after");
+        strings.add("b4/after");
+        strings.add("b4\"after");
+        strings.add("b4\b\f\n\r\tafter");
+        strings.add("b4" + (char) 0 + (char) 1 + (char) 0x1f + (char) 0x7f + "after");
+        strings.add("pair 😀 end");
+        strings.add("unpaired \ud83d end");
+        strings.add("unpaired \ude00 end");
+        strings.add("é中ࠀ߿");
+
+        for (String s : strings) {
+            StringBuilder sb = JsonUtils.beginJson();
+            JsonWriter writer = new JsonWriter(16).beginObject();
+            JsonUtils.addField(sb, s, s);
+            writer.addField(s, s);
+            JsonUtils.addStrings(sb, "list", Arrays.asList(s, s));
+            writer.addStrings("list", Arrays.asList(s, s));
+            assertSame(sb, writer);
+        }
+    }
+
+    @Test
+    public void testFieldsAreWrittenTheSame() {
+        ZonedDateTime zdt = DateTimeUtils.gmtNow();
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("k1", "v1");
+        metadata.put("k2", "v2");
+        List<Duration> durations = Arrays.asList(Duration.ofMillis(1), Duration.ofSeconds(2));
+
+        StringBuilder sb = JsonUtils.beginJson();
+        JsonWriter writer = new JsonWriter().beginObject();
+
+        for (Long l : new Long[]{null, Long.MIN_VALUE, -2L, -1L, 0L, 1L, 9L, 10L, 1234567890123L, Long.MAX_VALUE}) {
+            JsonUtils.addField(sb, "long", l);
+            writer.addField("long", l);
+            JsonUtils.addFieldWhenGtZero(sb, "gtz", l);
+            writer.addFieldWhenGtZero("gtz", l);
+            JsonUtils.addFieldWhenGteMinusOne(sb, "gtem1", l);
+            writer.addFieldWhenGteMinusOne("gtem1", l);
+            JsonUtils.addFieldWhenGreaterThan(sb, "gt", l, Long.MIN_VALUE);
+            writer.addFieldWhenGreaterThan("gt", l, Long.MIN_VALUE);
+        }
+        for (Integer i : new Integer[]{null, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE}) {
+            JsonUtils.addField(sb, "int", i);
+            writer.addField("int", i);
+            JsonUtils.addFieldWhenGtZero(sb, "igtz", i);
+            writer.addFieldWhenGtZero("igtz", i);
+        }
+        for (Boolean b : new Boolean[]{null, true, false}) {
+            JsonUtils.addField(sb, "bool", b);
+            writer.addField("bool", b);
+            JsonUtils.addFldWhenTrue(sb, "whenTrue", b);
+            writer.addFldWhenTrue("whenTrue", b);
+        }
+        for (String s : new String[]{null, "", "x"}) {
+            JsonUtils.addField(sb, "str", s);
+            writer.addField("str", s);
+            JsonUtils.addFieldEvenEmpty(sb, "even", s);
+            writer.addFieldEvenEmpty("even", s);
+            JsonUtils.addRawJson(sb, "raw", s == null || s.isEmpty() ? s : "{\"x\":\"é\"}");
+            writer.addRawJson("raw", s == null || s.isEmpty() ? s : "{\"x\":\"é\"}");
+        }
+        for (Duration d : new Duration[]{null, Duration.ZERO, Duration.ofNanos(-1), Duration.ofSeconds(30)}) {
+            JsonUtils.addFieldAsNanos(sb, "nanos", d);
+            writer.addFieldAsNanos("nanos", d);
+        }
+        JsonUtils.addField(sb, "zdt", zdt);
+        writer.addField("zdt", zdt);
+        JsonUtils.addField(sb, "zdtDefault", DateTimeUtils.DEFAULT_TIME);
+        writer.addField("zdtDefault", DateTimeUtils.DEFAULT_TIME);
+        JsonUtils.addField(sb, "metadata", metadata);
+        writer.addField("metadata", metadata);
+        JsonUtils.addField(sb, "noMetadata", new HashMap<>());
+        writer.addField("noMetadata", new HashMap<>());
+        JsonUtils.addDurations(sb, "durations", durations);
+        writer.addDurations("durations", durations);
+        JsonUtils.addDurations(sb, "noDurations", null);
+        writer.addDurations("noDurations", null);
+        JsonUtils.addStrings(sb, "array", new String[]{"a", "b"});
+        writer.addStrings("array", new String[]{"a", "b"});
+        JsonUtils.addStrings(sb, "noArray", new String[0]);
+        writer.addStrings("noArray", new String[0]);
+        JsonUtils.addEnumWhenNot(sb, "enum", AckPolicy.All, AckPolicy.None);
+        writer.addEnumWhenNot("enum", AckPolicy.All, AckPolicy.None);
+        JsonUtils.addEnumWhenNot(sb, "notEnum", AckPolicy.None, AckPolicy.None);
+        writer.addEnumWhenNot("notEnum", AckPolicy.None, AckPolicy.None);
+
+        // a JsonSerializable that is not a JsonWritable is written from its toJson
+        JsonValue jv = JsonValueUtils.mapBuilder().put("a", 1).put("b", "é").toJsonValue();
+        JsonUtils.addField(sb, "serializable", jv);
+        writer.addField("serializable", jv);
+        JsonUtils.addJsons(sb, "serializables", Arrays.asList(jv, jv));
+        writer.addJsons("serializables", Arrays.asList(jv, jv));
+
+        assertSame(sb, writer);
+
+        assertEquals("{}", new JsonWriter().beginObject().endObject().toString());
+        assertEquals("[]", new JsonWriter().beginArray().endArray().toString());
+        writer.reset();
+        assertEquals(0, writer.length());
+    }
+
+    @Test
+    public void testConfigurationsAreWrittenTheSame() {
+        StreamConfiguration sc = StreamConfiguration.builder()
+            .name("stream")
+            .subjects("a.>", "b.*")
+            .maxAge(Duration.ofDays(1))
+            .placement(Placement.builder().cluster("cluster").tags("t1", "t2").build())
+            .republish(Republish.builder().source("a.>").destination("r.>").build())
+            .subjectTransform(SubjectTransform.builder().source("b.*").destination("t.{{wildcard(1)}}").build())
+            .consumerLimits(ConsumerLimits.builder().maxAckPending(42).build())
+            .sources(Source.builder().name("source").external(External.builder().api("api").build()).build())
+            .build();
+        String json = sc.toJson();
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), sc.serialize());
+        JsonValue jv = JsonParser.parseUnchecked(json);
+        assertEquals("t.{{wildcard(1)}}", jv.map.get("subject_transform").map.get("dest").string);
+        assertEquals("api", jv.map.get("sources").array.get(0).map.get("external").map.get("api").string);
+
+        ConsumerConfiguration cc = ConsumerConfiguration.builder()
+            .durable("durable")
+            .description("déscription/\"quoted\"")
+            .filterSubjects("a.>", "b.*")
+            .ackWait(Duration.ofSeconds(30))
+            .backoff(Duration.ofSeconds(1), Duration.ofSeconds(2))
+            .metadata(Collections.singletonMap("meta", "data"))
+            .build();
+        ConsumerCreateRequest ccr = new ConsumerCreateRequest("stream", cc);
+        json = ccr.toJson();
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), ccr.serialize());
+        assertTrue(json.startsWith("{\"stream_name\":\"stream\",\"config\":{\"description\":\"déscription\\/\\\"quoted\\\"\""));
+        jv = JsonParser.parseUnchecked(json).map.get("config");
+        assertEquals(2, jv.map.get("backoff").array.size());
+        assertEquals("data", jv.map.get("metadata").map.get("meta").string);
+        assertEquals(2, jv.map.get("filter_subjects").array.size());
+    }
+
+    @Test
+    public void testWriterInUseIsNotShared() {
+        // a writable that asks for json of another writable while it is being written
+        JsonWritable inner = w -> w.beginObject().endObject();
+        JsonWritable outer = w -> {
+            w.beginObject();
+            w.addRawJson("inner", inner.toJson());
+            w.addField("innerBytes", new String(inner.serialize(), StandardCharsets.UTF_8));
+            w.endObject();
+        };
+        assertEquals("{\"inner\":{},\"innerBytes\":\"{}\"}", outer.toJson());
+        assertEquals("{\"inner\":{},\"innerBytes\":\"{}\"}", new String(outer.serialize(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testLargeOutput() {
+        List<String> subjects = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            subjects.add("subject.é." + i);
+        }
+        StreamConfiguration sc = StreamConfiguration.builder().name("big").subjects(subjects).build();
+        String json = sc.toJson();
+        assertTrue(json.length() > 64 * 1024);
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), sc.serialize());
+        assertEquals(10_000, JsonParser.parseUnchecked(json).map.get("subjects").array.size());
+
+        // the thread's writer is still good after a large output
+        PullRequestOptions pro = PullRequestOptions.builder(10).expiresIn(1000).build();
+        assertEquals("{\"batch\":10,\"max_bytes\":0,\"expires\":1000000000}", pro.toJson());
+    }
+}
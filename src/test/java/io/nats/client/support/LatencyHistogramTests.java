@@ -0,0 +1,131 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTests {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMin());
+        assertEquals(0, h.getMax());
+        assertEquals(0, h.getMean());
+        assertEquals(0, h.getValueAtPercentile(50));
+        assertNotNull(h.toString()); // coverage
+    }
+
+    @Test
+    public void testBucketsAreContiguous() {
+        int last = -1;
+        for (long v = 0; v < 1_000_000; v++) {
+            int index = LatencyHistogram.bucketIndex(v);
+            assertTrue(index == last || index == last + 1, "value " + v);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= v);
+            last = index;
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketIndex((1L << LatencyHistogram.MAX_VALUE_BITS) - 1));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) {
+            h.record(v * 1000);
+        }
+        assertEquals(10_000, h.getCount());
+        assertEquals(1000, h.getMin());
+        assertEquals(10_000_000, h.getMax());
+        assertEquals(5_000_500, h.getMean(), 0.1);
+        assertWithin(5_000_000, h.getValueAtPercentile(50));
+        assertWithin(9_900_000, h.getValueAtPercentile(99));
+        assertEquals(10_000_000, h.getValueAtPercentile(100));
+        assertEquals(1000, h.getValueAtPercentile(0));
+
+        h.record(-5);
+        assertEquals(0, h.getMin());
+    }
+
+    @Test
+    public void testSnapshotMergeAndReset() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(10);
+        h.record(20);
+
+        LatencyHistogram snap = h.snapshot();
+        h.record(30);
+        assertEquals(2, snap.getCount());
+        assertEquals(20, snap.getMax());
+        assertEquals(3, h.getCount());
+
+        LatencyHistogram reset = h.snapshotAndReset();
+        assertEquals(3, reset.getCount());
+        assertEquals(10, reset.getMin());
+        assertEquals(30, reset.getMax());
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMax());
+
+        h.record(5);
+        h.merge(reset);
+        assertEquals(4, h.getCount());
+        assertEquals(5, h.getMin());
+        assertEquals(30, h.getMax());
+        assertEquals(16.25, h.getMean(), 0.001);
+
+        h.reset();
+        assertEquals(0, h.getCount());
+    }
+
+    @Test
+    public void testNothingLostResettingWhileRecording() throws InterruptedException {
+        LatencyHistogram h = new LatencyHistogram();
+        AtomicBoolean go = new AtomicBoolean(true);
+        AtomicLong recorded = new AtomicLong();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                long v = 0;
+                while (go.get()) {
+                    h.record(v++ % 5000);
+                    recorded.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+
+        long snapped = 0;
+        for (int i = 0; i < 50; i++) {
+            snapped += h.snapshotAndReset().getCount();
+            Thread.sleep(2);
+        }
+        go.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+        snapped += h.snapshotAndReset().getCount();
+        assertEquals(recorded.get(), snapped);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected * 0.02, "expected about " + expected + " got " + actual);
+    }
+}
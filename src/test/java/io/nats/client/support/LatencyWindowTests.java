@@ -0,0 +1,75 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyWindowTests {
+
+    @Test
+    public void testWindowSlides() {
+        AtomicLong now = new AtomicLong(-5_000); // works across negative nano times
+        LatencyWindow w = new LatencyWindow(Duration.ofNanos(60_000), 6, now::get);
+        assertEquals(Duration.ofNanos(60_000), w.getWindow());
+        assertEquals(0, w.snapshot().getCount());
+
+        // one value in each of the 6 slices
+        for (int i = 1; i <= 6; i++) {
+            w.record(i * 100);
+            now.addAndGet(10_000);
+        }
+        now.addAndGet(-10_000); // back into the last slice
+        LatencyHistogram h = w.snapshot();
+        assertEquals(6, h.getCount());
+        assertEquals(100, h.getMin());
+        assertEquals(600, h.getMax());
+
+        // each slice forward drops the oldest
+        now.addAndGet(10_000);
+        h = w.snapshot();
+        assertEquals(5, h.getCount());
+        assertEquals(200, h.getMin());
+
+        // recording into a reused slice clears what it held
+        w.record(50);
+        h = w.snapshot();
+        assertEquals(6, h.getCount());
+        assertEquals(50, h.getMin());
+
+        // a quiet period empties the window
+        now.addAndGet(60_000);
+        assertEquals(0, w.snapshot().getCount());
+
+        w.record(1);
+        w.record(2);
+        assertEquals(2, w.snapshot().getCount());
+        w.reset();
+        assertEquals(0, w.snapshot().getCount());
+        w.record(3);
+        assertEquals(1, w.snapshot().getCount());
+    }
+
+    @Test
+    public void testConstruction() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyWindow(null));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyWindow(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyWindow(Duration.ofSeconds(-1)));
+        assertEquals(Duration.ofSeconds(60), new LatencyWindow(Duration.ofSeconds(60)).getWindow());
+    }
+}
@@ -0,0 +1,90 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import io.nats.client.Options;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class VirtualThreadsTests {
+
+    private static boolean isVirtual(Thread t) throws Exception {
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(t);
+    }
+
+    @Test
+    public void testSupportMatchesJdk() throws Exception {
+        boolean hasOfVirtual;
+        try {
+            Thread.class.getMethod("ofVirtual");
+            hasOfVirtual = true;
+        }
+        catch (NoSuchMethodException e) {
+            hasOfVirtual = false;
+        }
+        // a preview build can have the method without supporting it
+        if (!hasOfVirtual) {
+            assertFalse(VirtualThreads.isSupported());
+        }
+
+        ThreadFactory factory = VirtualThreads.factory("vt");
+        ExecutorService perTask = VirtualThreads.newThreadPerTaskExecutor("vt");
+        if (VirtualThreads.isSupported()) {
+            assertNotNull(factory);
+            Thread t = factory.newThread(() -> {});
+            assertTrue(isVirtual(t));
+            assertEquals("vt:1", t.getName());
+            assertNotNull(perTask);
+            assertTrue(isVirtual(perTask.submit(Thread::currentThread).get(5, TimeUnit.SECONDS)));
+            perTask.shutdown();
+        }
+        else {
+            assertNull(factory);
+            assertNull(perTask);
+        }
+    }
+
+    @Test
+    public void testSingleThreadExecutorAlwaysWorks() throws Exception {
+        ExecutorService es = VirtualThreads.newSingleThreadExecutor("single");
+        Thread first = es.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+        Thread second = es.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+        assertSame(first, second);
+        if (VirtualThreads.isSupported()) {
+            assertTrue(isVirtual(first));
+        }
+        es.shutdown();
+        assertTrue(es.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOptions() throws Exception {
+        assertFalse(Options.builder().build().isVirtualThreads());
+        Options o = Options.builder().virtualThreads().build();
+        assertEquals(VirtualThreads.isSupported(), o.isVirtualThreads());
+        if (VirtualThreads.isSupported()) {
+            assertTrue(isVirtual(o.getExecutor().submit(Thread::currentThread).get(5, TimeUnit.SECONDS)));
+        }
+        else {
+            // falls back to the default platform pool
+            assertFalse(o.getExecutor().submit(Thread::currentThread).get(5, TimeUnit.SECONDS).isDaemon());
+        }
+        o.getExecutor().shutdown();
+    }
+}
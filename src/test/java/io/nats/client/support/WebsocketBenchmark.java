@@ -0,0 +1,111 @@
+// Copyright 2023 The NATS Authors
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at:
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package io.nats.client.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.NumberFormat;
+import java.util.Random;
+
+/**
+ * Measures websocket masking, byte at a time as it used to be done and 8 bytes at a time,
+ * and the throughput of masked frames written through a WebsocketOutputStream and read back
+ * through a WebsocketInputStream, in memory so only the framing is measured.
+ * The first argument is the payload size in bytes, 8192 by default.
+ */
+public class WebsocketBenchmark {
+    public static void main(String args[]) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 8192;
+        long totalBytes = 2L * 1024 * 1024 * 1024;
+        int rounds = (int) (totalBytes / size);
+        byte[] payload = new byte[size];
+        new Random().nextBytes(payload);
+        int maskingKey = new Random().nextInt();
+
+        System.out.printf("### Running websocket benchmarks with %s byte payloads.\n", NumberFormat.getInstance().format(size));
+
+        for (int warmup = 0; warmup < 2; warmup++) {
+            bytewiseMask(payload, maskingKey, rounds / 10);
+            wordwiseMask(payload, maskingKey, rounds / 10);
+        }
+
+        long start = System.nanoTime();
+        bytewiseMask(payload, maskingKey, rounds);
+        report("mask byte at a time", totalBytes, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        wordwiseMask(payload, maskingKey, rounds);
+        report("mask 8 bytes at a time", totalBytes, System.nanoTime() - start);
+
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {}
+
+            @Override
+            public void write(byte[] b, int off, int len) {}
+        };
+        WebsocketOutputStream wout = new WebsocketOutputStream(sink, true);
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            wout.write(payload, 0, size);
+        }
+        report("masked frame writes", totalBytes, System.nanoTime() - start);
+
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        wout = new WebsocketOutputStream(frames, true);
+        int framesPerBatch = Math.max(1, (64 * 1024 * 1024) / size);
+        for (int i = 0; i < framesPerBatch; i++) {
+            wout.write(payload, 0, size);
+        }
+        byte[] framed = frames.toByteArray();
+        byte[] readBuffer = new byte[size];
+        long batches = Math.max(1, rounds / framesPerBatch);
+        start = System.nanoTime();
+        for (long b = 0; b < batches; b++) {
+            WebsocketInputStream win = new WebsocketInputStream(new ByteArrayInputStream(framed));
+            while (win.read(readBuffer, 0, size) > 0) {
+                // just reading
+            }
+        }
+        report("masked frame reads", batches * framesPerBatch * size, System.nanoTime() - start);
+    }
+
+    private static void bytewiseMask(byte[] payload, int maskingKey, int rounds) {
+        int maskingKeyOffset = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < payload.length; i++) {
+                int key = 0xFF & (maskingKey >> (8 * (7 - maskingKeyOffset)));
+                payload[i] ^= key;
+                maskingKeyOffset = (maskingKeyOffset + 1) % 8;
+            }
+        }
+    }
+
+    private static void wordwiseMask(byte[] payload, int maskingKey, int rounds) {
+        WebsocketFrameHeader header = new WebsocketFrameHeader().withMask(maskingKey);
+        for (int r = 0; r < rounds; r++) {
+            header.withPayloadLength(payload.length);
+            header.filterPayload(payload, 0, payload.length);
+        }
+    }
+
+    private static void report(String label, long bytes, long nanos) {
+        System.out.printf("\n### %s\n\t%s ms\n\t%s MB/sec\n",
+            label,
+            NumberFormat.getInstance().format(nanos / 1_000_000L),
+            NumberFormat.getInstance().format(1_000_000_000L * ((double) bytes) / ((double) nanos) / (1024 * 1024)));
+    }
+}
@@ -19,13 +19,16 @@ import org.junit.jupiter.api.Test;
 import java.io.*;
 import java.net.*;
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
 
 import static io.nats.client.support.WebsocketFrameHeader.OpCode;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -172,6 +175,263 @@ public class WebsocketSupportClassesTests {
         assertEquals(0, header.write(new byte[] { 2, 127 }, 0, 2));
     }
 
+    @Test
+    public void testMaskingMatchesBytewise() {
+        int maskingKey = new SecureRandom().nextInt();
+        for (int length = 0; length < 40; length++) {
+            for (int split = 0; split <= length; split++) {
+                for (int offset = 0; offset < 3; offset++) {
+                    byte[] fuzz = getFuzz(length + offset);
+                    byte[] expected = fuzz.clone();
+                    for (int i = 0; i < length; i++) {
+                        expected[offset + i] ^= (byte) (maskingKey >>> (8 * (3 - (i % 4))));
+                    }
+
+                    // filter in two calls so the key offset has to carry over
+                    WebsocketFrameHeader header = new WebsocketFrameHeader().withMask(maskingKey).withPayloadLength(length);
+                    assertEquals(split, header.filterPayload(fuzz, offset, split));
+                    assertEquals(length - split, header.filterPayload(fuzz, offset + split, length - split));
+                    assertArrayEquals(expected, fuzz, "length=" + length + " split=" + split + " offset=" + offset);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testOutputStreamFrameInOneWrite() throws IOException {
+        int[] writes = new int[1];
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                writes[0]++;
+                super.write(b, off, len);
+            }
+        };
+        WebsocketOutputStream wout = new WebsocketOutputStream(out, true);
+        byte[] fuzz = getFuzz(65536);
+        byte[] copy = fuzz.clone();
+        wout.write(copy);
+        assertEquals(1, writes[0]);
+        assertArrayEquals(fuzz, copy); // the caller's buffer is left alone
+
+        writes[0] = 0;
+        wout.write(new byte[WebsocketOutputStream.MAX_COALESCED_FRAME_SIZE + 1]);
+        assertEquals(2, writes[0]);
+    }
+
+    @Test
+    public void testCompressedRoundTrip() throws IOException {
+        for (boolean contextTakeover : new boolean[] { true, false }) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            WebsocketOutputStream wout = new WebsocketOutputStream(out, true, contextTakeover, 100);
+            assertTrue(wout.isCompressing());
+            byte[][] messages = new byte[][] { compressible(5000), compressible(5000), getFuzz(3000), compressible(99), compressible(100), compressible(200_000), new byte[100] };
+            for (byte[] message : messages) {
+                wout.write(message.clone());
+            }
+            byte[] frames = out.toByteArray();
+
+            // only messages from the threshold up are compressed and they are smaller
+            WebsocketFrameHeader header = new WebsocketFrameHeader();
+            int offset = 0;
+            for (byte[] message : messages) {
+                offset += header.write(frames, offset, frames.length - offset);
+                assertEquals(message.length >= 100, header.isCompressed());
+                if (message.length > 1000 && message[0] == 'a') {
+                    assertTrue(header.getPayloadLength() < message.length / 4, "length " + message.length);
+                }
+                offset += header.getPayloadLength();
+            }
+            assertEquals(frames.length, offset);
+
+            WebsocketInputStream win = new WebsocketInputStream(new ByteArrayInputStream(frames), contextTakeover);
+            for (byte[] message : messages) {
+                byte[] got = new byte[message.length];
+                readFully(win, got);
+                assertArrayEquals(message, got);
+            }
+            assertEquals(-1, win.read(new byte[10]));
+            win.close();
+            wout.close();
+        }
+    }
+
+    @Test
+    public void testCompressedFromStandInServer() throws Exception {
+        byte[] fromServer = compressible(50_000);
+        byte[] fromClient = compressible(3000);
+        AtomicReference<String> offered = new AtomicReference<>();
+        AtomicReference<byte[]> received = new AtomicReference<>();
+        WebSocket ws = standIn("permessage-deflate; server_no_context_takeover; client_no_context_takeover", offered, (in, out) -> {
+            // a compressed message in two frames, then a plain one
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            deflater.setInput(fromServer);
+            byte[] compressed = new byte[fromServer.length];
+            int length = deflater.deflate(compressed, 0, compressed.length, Deflater.SYNC_FLUSH) - 4;
+            deflater.end();
+            int half = length / 2;
+            writeFrame(out, new WebsocketFrameHeader().withOp(OpCode.BINARY, false).withCompressed(true), compressed, 0, half);
+            writeFrame(out, new WebsocketFrameHeader().withOp(OpCode.CONTINUATION, true), compressed, half, length - half);
+            byte[] plain = "plain".getBytes(UTF_8);
+            writeFrame(out, new WebsocketFrameHeader().withOp(OpCode.BINARY, true), plain, 0, plain.length);
+
+            WebsocketInputStream win = new WebsocketInputStream(in, false);
+            byte[] got = new byte[fromClient.length];
+            readFully(win, got);
+            received.set(got);
+        }, true, 10);
+
+        assertTrue(ws.isCompressed());
+        assertTrue(offered.get().startsWith("permessage-deflate"));
+        assertTrue(offered.get().contains("server_max_window_bits=10"));
+
+        byte[] got = new byte[fromServer.length];
+        readFully(ws.getInputStream(), got);
+        assertArrayEquals(fromServer, got);
+        got = new byte[5];
+        readFully(ws.getInputStream(), got);
+        assertEquals("plain", new String(got, UTF_8));
+
+        ws.getOutputStream().write(fromClient.clone());
+        ws.getOutputStream().flush();
+        long end = System.currentTimeMillis() + 5000;
+        while (received.get() == null && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertArrayEquals(fromClient, received.get());
+        ws.close();
+    }
+
+    @Test
+    public void testCompressionNegotiation() throws Exception {
+        AtomicReference<String> offered = new AtomicReference<>();
+
+        // server declines
+        WebSocket ws = standIn(null, offered, (in, out) -> {}, true, 15);
+        assertFalse(ws.isCompressed());
+        assertEquals("permessage-deflate", offered.get());
+        ws.close();
+
+        // not offered
+        ws = standIn(null, offered, (in, out) -> {}, false, 15);
+        assertFalse(ws.isCompressed());
+        assertNull(offered.get());
+        ws.close();
+
+        // accepted but not offered
+        IllegalStateException ise = assertThrows(IllegalStateException.class,
+            () -> standIn("permessage-deflate", offered, (in, out) -> {}, false, 15));
+        assertTrue(ise.getMessage().startsWith("Unexpected HTTP `Sec-WebSocket-Extensions"));
+
+        // a window for the client, which was not offered
+        ise = assertThrows(IllegalStateException.class,
+            () -> standIn("permessage-deflate; client_max_window_bits=10", offered, (in, out) -> {}, true, 15));
+        assertTrue(ise.getMessage().startsWith("Unsupported permessage-deflate parameter"));
+
+        // some other extension
+        ise = assertThrows(IllegalStateException.class,
+            () -> standIn("x-other", offered, (in, out) -> {}, true, 15));
+        assertTrue(ise.getMessage().startsWith("Expected HTTP `Sec-WebSocket-Extensions: permessage-deflate`"));
+    }
+
+    @FunctionalInterface
+    interface StandInScript {
+        void run(InputStream in, OutputStream out) throws Exception;
+    }
+
+    /**
+     * A stand in for a websocket server that answers the upgrade with the given extensions header, then runs the script
+     */
+    private WebSocket standIn(String extensions, AtomicReference<String> offered, StandInScript script, boolean compression, int windowBits) throws Exception {
+        ServerSocket serverSocket = new ServerSocket(0, 10, InetAddress.getByName("localhost"));
+        Thread server = new Thread(() -> {
+            try (ServerSocket ss = serverSocket; Socket s = ss.accept()) {
+                InputStream in = s.getInputStream();
+                OutputStream out = s.getOutputStream();
+                String key = null;
+                offered.set(null);
+                String line;
+                while (!(line = readHeaderLine(in)).isEmpty()) {
+                    int colon = line.indexOf(':');
+                    String name = line.substring(0, Math.max(0, colon)).trim();
+                    String value = line.substring(colon + 1).trim();
+                    if ("Sec-WebSocket-Key".equalsIgnoreCase(name)) {
+                        key = value;
+                    }
+                    else if ("Sec-WebSocket-Extensions".equalsIgnoreCase(name)) {
+                        offered.set(value);
+                    }
+                }
+                MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+                sha1.update((key + "258EAFA5-E914-47DA-95CA-C5AB0DC85B11").getBytes(UTF_8));
+                String response = "HTTP/1.1 101 Switching Protocols\r\n" +
+                    "Upgrade: websocket\r\n" +
+                    "Connection: Upgrade\r\n" +
+                    "Sec-WebSocket-Accept: " + Base64.getEncoder().encodeToString(sha1.digest()) + "\r\n" +
+                    (extensions == null ? "" : "Sec-WebSocket-Extensions: " + extensions + "\r\n") +
+                    "\r\n";
+                out.write(response.getBytes(UTF_8));
+                script.run(in, out);
+                out.flush();
+                while (in.read() >= 0) {
+                    // wait for the client to close
+                }
+            }
+            catch (Exception ignore) {
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+
+        Socket client = new Socket("localhost", serverSocket.getLocalPort());
+        try {
+            return new WebSocket(client, "localhost", Collections.emptyList(), compression, windowBits, 100);
+        }
+        catch (Exception e) {
+            client.close();
+            throw e;
+        }
+    }
+
+    private static String readHeaderLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int ch;
+        while ((ch = in.read()) >= 0 && ch != '\n') {
+            if (ch != '\r') {
+                sb.append((char) ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void writeFrame(OutputStream out, WebsocketFrameHeader header, byte[] payload, int offset, int length) throws IOException {
+        byte[] headerBytes = new byte[WebsocketFrameHeader.MAX_FRAME_HEADER_SIZE];
+        int headerLength = header.withNoMask().withPayloadLength(length).read(headerBytes, 0, headerBytes.length);
+        out.write(headerBytes, 0, headerLength);
+        out.write(payload, offset, length);
+    }
+
+    private static void readFully(InputStream in, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = in.read(buffer, offset, buffer.length - offset);
+            assertTrue(read > 0, "unexpected end of stream");
+            offset += read;
+        }
+    }
+
+    private static byte[] compressible(int size) {
+        byte[] bytes = new byte[size];
+        String text = "{\"subject\":\"orders.created\",\"id\":12345,\"status\":\"pending\"}";
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) text.charAt(i % text.length());
+        }
+        if (size > 0) {
+            bytes[0] = 'a';
+        }
+        return bytes;
+    }
+
     private byte[] getFuzz(int size) {
         byte[] fuzz = new byte[size];
         new SecureRandom().nextBytes(fuzz);
@@ -19,9 +19,11 @@ import io.nats.client.impl.JetStreamTestBase;
 import io.nats.client.impl.MockNatsConnection;
 import io.nats.client.impl.NatsMessage;
 import io.nats.client.support.DateTimeUtils;
+import io.nats.client.support.JsonParser;
 import io.nats.client.support.JsonSerializable;
 import io.nats.client.support.JsonUtils;
 import io.nats.client.support.JsonValue;
+import io.nats.client.support.LatencyHistogram;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +32,7 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -601,6 +604,156 @@ public class ServiceTests extends JetStreamTestBase {
         });
     }
 
+    @Test
+    public void testWorkersAndShedding() throws Exception {
+        runInServer(nc -> {
+            CountDownLatch slowStarted = new CountDownLatch(1);
+            CountDownLatch releaseSlow = new CountDownLatch(1);
+            ServiceEndpoint slow = ServiceEndpoint.builder()
+                .endpointName("slowEndpoint")
+                .endpointSubject("slowSubject")
+                .maxInFlight(1)
+                .handler(m -> {
+                    slowStarted.countDown();
+                    try {
+                        releaseSlow.await();
+                    }
+                    catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    m.respond(nc, "slow");
+                })
+                .build();
+            ServiceEndpoint fast = ServiceEndpoint.builder()
+                .endpointName("fastEndpoint")
+                .endpointSubject("fastSubject")
+                .handler(m -> m.respond(nc, "fast"))
+                .build();
+
+            Service service = new ServiceBuilder()
+                .connection(nc)
+                .name("WorkerService")
+                .version("0.0.1")
+                .addServiceEndpoint(slow)
+                .addServiceEndpoint(fast)
+                .workerThreads(4)
+                .build();
+            CompletableFuture<Boolean> done = service.startService();
+
+            CompletableFuture<Message> slowFuture = nc.request("slowSubject", null);
+            assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+
+            // the slow handler doesn't hold up the other endpoint
+            assertEquals("fast", new String(nc.request("fastSubject", null).get(5, TimeUnit.SECONDS).getData()));
+            assertTrue(service.getEndpointStats("fastEndpoint").getProcessingTimeMax() > 0);
+
+            // the slow endpoint is full, so the next request is shed
+            Message shed = nc.request("slowSubject", null).get(5, TimeUnit.SECONDS);
+            assertEquals(EndpointContext.SHED_ERROR, shed.getHeaders().getFirst(NATS_SERVICE_ERROR));
+            assertEquals("503", shed.getHeaders().getFirst(NATS_SERVICE_ERROR_CODE));
+
+            EndpointStats es = service.getEndpointStats("slowEndpoint");
+            assertEquals(1, es.getInFlight());
+            assertEquals(0, es.getQueueDepth());
+            assertEquals(1, es.getNumShed());
+            assertEquals(1, es.getNumRequests());
+            assertEquals(0, es.getNumErrors());
+
+            releaseSlow.countDown();
+            assertEquals("slow", new String(slowFuture.get(5, TimeUnit.SECONDS).getData()));
+            service.stop();
+            done.get(5, TimeUnit.SECONDS);
+            assertEquals(0, service.getEndpointStats("slowEndpoint").getInFlight());
+        });
+    }
+
+    @Test
+    public void testWorkersWithPooledMessageBuffers() throws Exception {
+        runInServer(new Options.Builder().pooledMessageBuffers(), nc -> {
+            ServiceEndpoint echo = ServiceEndpoint.builder()
+                .endpointName("echoEndpoint")
+                .endpointSubject("echoSubject")
+                .handler(m -> {
+                    try {
+                        Thread.sleep(10); // let the dispatcher move on before the data is read
+                    }
+                    catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    m.respond(nc, m.getData());
+                })
+                .build();
+
+            Service service = new ServiceBuilder()
+                .connection(nc)
+                .name("PooledService")
+                .version("0.0.1")
+                .addServiceEndpoint(echo)
+                .workerThreads(4)
+                .build();
+            CompletableFuture<Boolean> done = service.startService();
+
+            List<CompletableFuture<Message>> futures = new ArrayList<>();
+            for (int x = 0; x < 20; x++) {
+                futures.add(nc.request("echoSubject", ("data" + x).getBytes()));
+            }
+            for (int x = 0; x < 20; x++) {
+                assertEquals("data" + x, new String(futures.get(x).get(5, TimeUnit.SECONDS).getData()));
+            }
+            assertEquals(0, service.getEndpointStats("echoEndpoint").getNumErrors());
+
+            service.stop();
+            done.get(5, TimeUnit.SECONDS);
+        });
+    }
+
+    @Test
+    public void testEndpointStatsGauges() {
+        ZonedDateTime started = DateTimeUtils.gmtNow();
+        EndpointStats es = new EndpointStats("name", "subject", "q", 10, 1, 1000, null, null, started, 3, 2, 5, null);
+        EndpointStats parsed = new EndpointStats(JsonParser.parseUnchecked(es.toJson()));
+        assertEquals(es, parsed);
+        assertEquals(3, parsed.getInFlight());
+        assertEquals(2, parsed.getQueueDepth());
+        assertEquals(5, parsed.getNumShed());
+
+        // the gauges are left out when zero, same as before they existed
+        EndpointStats old = new EndpointStats("name", "subject", "q", 10, 1, 1000, null, null, started);
+        String json = old.toJson();
+        assertFalse(json.contains("in_flight"));
+        assertFalse(json.contains("queue_depth"));
+        assertFalse(json.contains("num_shed"));
+        assertEquals(old, new EndpointStats(JsonParser.parseUnchecked(json)));
+    }
+
+    @Test
+    public void testEndpointStatsPercentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 1000; v++) {
+            h.record(v * 1000);
+        }
+        EndpointStats es = new EndpointStats("name", "subject", "q", 1000, 0, 500_500_000, null, null, DateTimeUtils.gmtNow(), 0, 0, 0, h);
+        assertEquals(h.getValueAtPercentile(50), es.getProcessingTimeP50());
+        assertEquals(h.getValueAtPercentile(90), es.getProcessingTimeP90());
+        assertEquals(h.getValueAtPercentile(99), es.getProcessingTimeP99());
+        assertEquals(h.getValueAtPercentile(99.9), es.getProcessingTimeP999());
+        assertEquals(1_000_000, es.getProcessingTimeMax());
+        assertTrue(es.getProcessingTimeP50() < es.getProcessingTimeP99());
+
+        String json = es.toJson();
+        assertTrue(json.contains("\"processing_time_p99\":"));
+        EndpointStats parsed = new EndpointStats(JsonParser.parseUnchecked(json));
+        assertEquals(es, parsed);
+        assertEquals(es.getProcessingTimeP999(), parsed.getProcessingTimeP999());
+
+        // stats from a service that doesn't send percentiles
+        parsed = new EndpointStats(JsonParser.parseUnchecked("{\"name\":\"n\",\"num_requests\":1,\"processing_time\":5}"));
+        assertEquals(0, parsed.getProcessingTimeP50());
+        assertEquals(0, parsed.getProcessingTimeMax());
+
+        assertThrows(IllegalArgumentException.class, () -> Service.builder().latencyWindow(Duration.ZERO));
+    }
+
     @Test
     public void testServiceMessage() throws Exception {
         runInServer(nc -> {